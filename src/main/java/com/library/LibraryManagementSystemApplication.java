@@ -3,9 +3,11 @@ package com.library;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing      // jpa auditing 활성화 (createdAt, uploadedAt 자동 관리)
+@EnableScheduling       // @Scheduled 작업 활성화 (조회수 flush 등)
 public class LibraryManagementSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,81 @@
+package com.library.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    쓰기 직후 원본 고정(read-your-writes) 필터
+        - 요청 중 쓰기 트랜잭션이 있었으면 그 사용자를 pinMillis 동안 원본(primary)에 고정
+            - 복제본 반영이 늦어도 글 작성 -> 상세 페이지 리다이렉트 시 자기 글이 보이도록 함
+        - 사용자 구분 : 로그인 회원 이메일, 비로그인은 세션 ID (둘 다 없으면 고정하지 않음)
+        - Spring Security 필터 뒤에서 실행되므로 요청 전/후 모두 로그인 정보를 알 수 있음
+            - 로그인 요청처럼 처리 중에 사용자가 바뀌면 처리 후의 사용자를 고정
+        - 고정 정보는 서버 메모리에만 있음 (서버가 여러 대면 고정 세션(sticky)과 함께 사용)
+ */
+public class PrimaryPinFilter extends OncePerRequestFilter {
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long pinMillis;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public PrimaryPinFilter(long pinMillis) {
+        this.pinMillis = pinMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ReplicaRoutingDataSource.pinToPrimary(isPinned(userKey(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (ReplicaRoutingDataSource.wroteToPrimary()) {
+                pin(userKey(request));
+            }
+            ReplicaRoutingDataSource.reset();
+        }
+    }
+
+    boolean isPinned(String userKey) {
+        if (userKey == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userKey);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            pinnedUntil.remove(userKey, until);
+            return false;
+        }
+        return true;
+    }
+
+    void pin(String userKey) {
+        if (userKey == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (pinnedUntil.size() > CLEANUP_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until < now);
+        }
+        pinnedUntil.put(userKey, now + pinMillis);
+    }
+
+    private static String userKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        HttpSession session = request.getSession(false);
+        return session == null ? null : "session:" + session.getId();
+    }
+}
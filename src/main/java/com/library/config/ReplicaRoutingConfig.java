@@ -0,0 +1,82 @@
+package com.library.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    읽기 복제본(replica) 라우팅 설정
+        - datasource.replica.enabled=true 일 때만 적용 (기본은 기존처럼 원본 하나만 사용)
+        - DataSource 구성
+            - 원본 : spring.datasource.* 설정 그대로 (Hikari)
+            - 복제본 : datasource.replica.urls 의 URL마다 Hikari 풀 하나씩
+            - ReplicaRoutingDataSource로 묶고 LazyConnectionDataSourceProxy로 감쌈
+                - 트랜잭션 시작 시점이 아니라 첫 SQL 실행 시점에 커넥션을 고르므로 readOnly 여부로 라우팅 가능
+        - 복제 지연 대응
+            - PrimaryPinFilter가 쓰기 직후 pin-after-write-ms 동안 그 사용자를 원본에 고정
+            - 캐시(BoardListCache / BoardDetailCache / DownloadFileLookup)는 무효화 후 pin-after-write-ms 동안
+              다시 채우는 조회를 원본에서 실행 (다른 사용자의 캐시 미스가 지연된 복제본 값을 다시 저장하지 않도록)
+            - 따라서 복제 지연이 pin-after-write-ms보다 짧으면 캐시된 화면에서도 쓰기 직후 최신 값이 보임
+        - 설정
+            - datasource.replica.enabled : 사용 여부 (기본 false)
+            - datasource.replica.urls : 복제본 JDBC URL 목록 (쉼표 구분)
+            - datasource.replica.username / password : 복제본 계정 (없으면 원본 계정 사용)
+            - datasource.replica.pin-after-write-ms : 쓰기 후 원본 고정 시간, 캐시 무효화 후 원본 조회 시간 (기본 3초)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${datasource.replica.urls}") String[] replicaUrls,
+                                 @Value("${datasource.replica.username:}") String replicaUsername,
+                                 @Value("${datasource.replica.password:}") String replicaPassword) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            if (!StringUtils.hasText(replicaUrls[i])) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(replicaUrls[i].trim())
+                    .username(StringUtils.hasText(replicaUsername) ? replicaUsername : properties.determineUsername())
+                    .password(StringUtils.hasText(replicaUsername) ? replicaPassword : properties.determinePassword())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("datasource.replica.urls에 복제본 URL이 없습니다.");
+        }
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicas));
+    }
+
+    // Spring Security 필터 뒤에서 실행되도록 가장 낮은 우선순위로 등록
+    @Bean
+    public FilterRegistrationBean<PrimaryPinFilter> primaryPinFilter(@Value("${datasource.replica.pin-after-write-ms:3000}") long pinMillis) {
+        FilterRegistrationBean<PrimaryPinFilter> registration = new FilterRegistrationBean<>(new PrimaryPinFilter(pinMillis));
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
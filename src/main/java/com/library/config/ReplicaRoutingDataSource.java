@@ -0,0 +1,98 @@
+package com.library.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+    읽기 전용 트랜잭션을 복제본(replica)으로 보내는 라우팅 DataSource
+        - @Transactional(readOnly = true) 트랜잭션 => 복제본 중 하나 (라운드 로빈)
+        - 쓰기 트랜잭션, 트랜잭션 밖의 접근 => 원본(primary)
+        - 현재 스레드가 원본에 고정(pin)되어 있으면 읽기 전용이어도 원본 사용
+            - 방금 쓴 사용자가 복제 지연 때문에 자기 글을 못 보는 일을 막기 위함 (PrimaryPinFilter가 설정)
+            - 무효화 직후의 캐시 적재처럼 한 작업만 원본에서 읽어야 하면 callOnPrimary 사용
+        - 트랜잭션 시작 시점에는 아직 readOnly 여부가 설정되지 않으므로
+          반드시 LazyConnectionDataSourceProxy로 감싸서 첫 SQL 실행 시점에 커넥션을 고르도록 해야 함
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PINNED = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> WROTE = ThreadLocal.withInitial(() -> false);
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // 현재 스레드(요청)를 원본에 고정
+    public static void pinToPrimary(boolean pinned) {
+        PINNED.set(pinned);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get();
+    }
+
+    /*
+        action 실행 동안만 현재 스레드를 원본에 고정 (끝나면 이전 상태로 되돌림)
+            - 트랜잭션이 이미 커넥션을 받았으면 그 커넥션을 계속 쓰므로, 트랜잭션의 첫 SQL보다 먼저 호출해야 함
+     */
+    public static <T> T callOnPrimary(Supplier<T> action) {
+        boolean previous = PINNED.get();
+        PINNED.set(true);
+        try {
+            return action.get();
+        } finally {
+            PINNED.set(previous);
+        }
+    }
+
+    // 현재 스레드에서 쓰기 트랜잭션이 원본 커넥션을 사용했는지
+    public static boolean wroteToPrimary() {
+        return WROTE.get();
+    }
+
+    /*
+        현재 스레드가 원본에 쓴 것으로 표시
+            - 다른 스레드(댓글 그룹 커밋 저장 스레드 등)가 대신 저장한 경우 요청 스레드에서 호출
+     */
+    public static void markWroteToPrimary() {
+        WROTE.set(true);
+    }
+
+    // 요청 종료 시 스레드 상태 정리
+    public static void reset() {
+        PINNED.remove();
+        WROTE.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (readOnly && !PINNED.get() && !replicaKeys.isEmpty()) {
+            return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+        }
+        if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+            WROTE.set(true);
+        }
+        return PRIMARY;
+    }
+}
@@ -1,10 +1,15 @@
 package com.library.controller;
 
 import com.library.dto.board.BoardCreateDto;
+import com.library.dto.board.BoardCursorPageDto;
 import com.library.dto.board.BoardDetailDto;
+import com.library.dto.board.BoardDetailVersion;
 import com.library.dto.board.BoardListDto;
+import com.library.dto.board.BoardSearchResultDto;
 import com.library.dto.board.BoardUpdateDto;
 import com.library.entity.board.BoardCategory;
+import com.library.service.BoardLikeService;
+import com.library.service.BoardSearchService;
 import com.library.service.BoardService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,9 +18,11 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.security.Principal;
+import java.util.List;
 
 /*
     게시글 Controller
@@ -26,7 +33,12 @@ import java.security.Principal;
 @RequiredArgsConstructor
 @RequestMapping("/boards")
 public class BoardController {
+    private static final int TRENDING_SIZE = 5;     // 목록 상단 인기 게시글 수
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;    // 검색 결과 페이지 크기 상한
     private final BoardService boardService;
+    private final BoardSearchService boardSearchService;
+    private final BoardLikeService boardLikeService;
+    private final BoardHttpCache boardHttpCache;
 
     /*
         게시글 목록 페이지
@@ -34,15 +46,23 @@ public class BoardController {
             - View와 로직 분리 원칙에 따라 페이징 계산은 Controller에서 처리함
             - 작성일 최신순 정렬로 인해 ID
         1-based 페이징 시스템(URL : page=1부터 시작)
-            - URL : get /board?page=?&size=?
+            - URL : get /board?page=?&size=?&category=?
+            - category 파라미터가 있으면 해당 카테고리 게시글만 조회 (페이지 링크에도 유지)
+            - 목록이 바뀌지 않았으면 조회/렌더링 없이 304 응답 (BoardHttpCache)
         페이징 그룹 개념
             - 한 번에 10개의 페이지 번호만
         -
      */
     @GetMapping("")
-    public String list(@RequestParam(defaultValue = "1") int page, @RequestParam(defaultValue = "10") int size, Model model) {
+    public String list(@RequestParam(defaultValue = "1") int page, @RequestParam(defaultValue = "10") int size,
+                       @RequestParam(required = false) BoardCategory category, Model model,
+                       Principal principal, ServletWebRequest webRequest) {
+        // 조건부 요청 : 바뀐 것이 없으면 304
+        if (boardHttpCache.listNotModified(webRequest, principal, category, page, size)) {
+            return null;
+        }
         // Service를 통해 게시글 목록 조회
-        Page<BoardListDto> boards = boardService.getBoardList(page - 1, size);
+        Page<BoardListDto> boards = boardService.getBoardList(page - 1, size, category);
 //      전체 페이지 수
         int totalPages = boards.getTotalPages();
         // 한 그룹에 표시할 페이지 버튼 개수
@@ -68,15 +88,63 @@ public class BoardController {
         model.addAttribute("hasNextGroup", hasNextGroup);
         model.addAttribute("prevGroupPage", prevGroupPage); // 이전 그룹으로 이동 시 페이지 번호
         model.addAttribute("nextGroupPage", nextGroupPage);
+        model.addAttribute("cursorMode", false);
+        model.addAttribute("category", category);
+        model.addAttribute("categoryCounts", boardService.getCategoryCounts());
+        model.addAttribute("trendingBoards", boardService.getTrendingBoards(category, TRENDING_SIZE));
+        return "board/list";
+    }
+
+    /*
+        게시글 목록 페이지 (커서 기반 연속 보기)
+            - 페이지 번호 대신 커서로 다음 목록을 이어서 조회함
+            - 전체 개수/페이지 번호는 표시하지 않고 "다음" 링크만 제공
+            - URL : get /boards/scroll?cursor=?&size=?
+     */
+    @GetMapping("/scroll")
+    public String scroll(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size, Model model) {
+        BoardCursorPageDto boards = boardService.getBoardListByCursor(cursor, size);
+        model.addAttribute("boards", boards);
+        model.addAttribute("cursorMode", true);
+        model.addAttribute("nextCursor", boards.getNextCursor());
+        model.addAttribute("size", size);
+        model.addAttribute("currentPage", 1);
+        model.addAttribute("categoryCounts", boardService.getCategoryCounts());
         return "board/list";
     }
 
+    /*
+        게시글 검색 페이지
+            - 제목/본문 전문 검색 (BM25 점수순), 검색어 하이라이트
+            - URL : get /boards/search?q=?&page=?&size=?
+            - size는 1 ~ MAX_SEARCH_PAGE_SIZE로 제한 (큰 값으로 색인 전체를 한 번에 읽지 않도록)
+     */
+    @GetMapping("/search")
+    public String search(@RequestParam(defaultValue = "") String q, @RequestParam(defaultValue = "1") int page, @RequestParam(defaultValue = "10") int size, Model model) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        Page<BoardSearchResultDto> results = boardSearchService.search(q, Math.max(0, page - 1), pageSize);
+        model.addAttribute("q", q);
+        model.addAttribute("results", results);
+        model.addAttribute("currentPage", page);
+        model.addAttribute("size", pageSize);
+        return "board/search";
+    }
+
     @GetMapping("/{id}")
-    public String detail(@PathVariable Long id, @RequestParam(defaultValue = "1") int page, Model model) {
-        // Service를 통해 게시글 상세 정보 조회
+    public String detail(@PathVariable Long id, @RequestParam(defaultValue = "1") int page, Model model, Principal principal,
+                         ServletWebRequest webRequest) {
+        // 검증값만 조회 (캐시 스냅샷 또는 board 행의 컬럼만), 조회수는 304여도 증가
+        BoardDetailVersion version = boardService.getBoardVersion(id);
+        boardService.recordView(id, version.getCategory());
+        // 조건부 요청 : 게시글이 바뀌지 않았으면 상세 조회, 좋아요 여부 조회와 렌더링 없이 304
+        if (boardHttpCache.detailNotModified(webRequest, principal, version)) {
+            return null;
+        }
         BoardDetailDto board = boardService.getBoard(id);
         model.addAttribute("board", board);
         model.addAttribute("currentPage", page);
+        // 현재 회원의 좋아요 여부 (좋아요 버튼 상태)
+        model.addAttribute("liked", boardLikeService.isLiked(id, principal == null ? null : principal.getName()));
         return "board/detail";
     }
 
@@ -141,6 +209,22 @@ public class BoardController {
         return "redirect:/boards";
     }
 
+    /*
+        게시글 숨김 처리
+            - 삭제와 같은 흐름, 상태만 HIDDEN으로 변경
+            - URL : patch /boards/hide/{id}
+     */
+    @PatchMapping("/hide/{id}")
+    public String hideBoard(@PathVariable Long id, Principal principal, RedirectAttributes redirectAttributes) {
+        try {
+            boardService.hideBoard(id, principal.getName());
+            redirectAttributes.addFlashAttribute("success", "게시글이 숨김 처리되었습니다.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/boards";
+    }
+
     /*
         게시글 수정 폼 페이지
             - 기존 게시글 정보를 조회하여 폼에 표시함
@@ -184,12 +268,7 @@ public class BoardController {
             model.addAttribute("categories", BoardCategory.values());
             model.addAttribute("boardId", id);
             model.addAttribute("isEditMode", true);
-            try {
-                BoardDetailDto board = boardService.getBoardForEdit(id, principal.getName());
-                model.addAttribute("existingFiles", board.getFiles());
-            } catch (Exception e) {
-                redirectAttributes.addFlashAttribute("error", e.getMessage());
-            }
+            addExistingFiles(model, id, principal.getName());
             return "board/form";
         }
         try {
@@ -205,15 +284,20 @@ public class BoardController {
             model.addAttribute("categories", BoardCategory.values());
             model.addAttribute("board", updateDto);
             model.addAttribute("isEditMode", true);
-            // 기존 파일 목록 다시 조회
-            try {
-                BoardDetailDto board = boardService.getBoardForEdit(id, principal.getName());
-                model.addAttribute("existingFiles", board.getFiles());
-            } catch (Exception ex) {
-                // 파일 목록 실패해도 폼은 표시
-                throw new RuntimeException(ex);
-            }
+            addExistingFiles(model, id, principal.getName());
             return "board/form";
         }
     }
+    /*
+        수정 폼 오류 화면용 기존 첨부파일 목록
+            - getBoardForEdit는 상세 캐시 스냅샷을 사용하므로 보통 SQL 없이 처리됨
+            - 파일 목록 조회에 실패해도 폼은 표시 (빈 목록)
+     */
+    private void addExistingFiles(Model model, Long id, String userEmail) {
+        try {
+            model.addAttribute("existingFiles", boardService.getBoardForEdit(id, userEmail).getFiles());
+        } catch (RuntimeException e) {
+            model.addAttribute("existingFiles", List.of());
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package com.library.controller;
+
+import com.library.dto.board.BoardDetailVersion;
+import com.library.entity.board.BoardCategory;
+import com.library.service.BoardListCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.security.Principal;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/*
+    게시글 목록/상세 HTTP 조건부 요청 처리 (ETag, Last-Modified, 304)
+        - 다시 방문한 브라우저나 크롤러가 If-None-Match / If-Modified-Since를 보내면
+          내용이 바뀌지 않은 경우 템플릿 렌더링 없이 304(본문 없음)로 응답함
+        - 검증값(ETag)에 포함되는 것
+            - 목록 : 카테고리, 페이지, 크기, BoardListCache의 범위 버전(생성/삭제/숨김/수정 시 변경),
+                     max-staleness 시간 구간 (조회수/좋아요/댓글 수/인기 게시글은 이 시간 안에만 늦게 반영됨)
+            - 상세 : 게시글 ID, updatedAt(Last-Modified로도 사용), 좋아요 수, 댓글 수
+                - 조회수는 조회할 때마다 바뀌므로 제외 (304 응답 화면의 조회수는 이전 값)
+            - 공통 : 로그인 회원(글쓰기/수정 버튼, 좋아요 상태)과 세션(CSRF 토큰)의 해시값,
+                     서버 시작 시각 (버전 번호가 재시작 시 0부터 다시 시작하므로 이전 ETag와 섞이지 않게 함)
+        - Cache-Control
+            - 페이지에 세션별 CSRF 토큰이 들어가므로 항상 private (공유 캐시 저장 금지)
+            - 비로그인 : anonymous-max-age 동안은 재검증 없이 사용, 이후 재검증
+            - 로그인 : 매번 재검증 (no-cache)
+            - 직접 지정하면 Spring Security의 기본 no-store 헤더는 추가되지 않음
+        - 지표 : board.http.conditional (page = list / detail, result = not-modified / modified)
+            - If-None-Match를 보낸 요청만 기록, not-modified 비율만큼 렌더링과 본문 전송이 생략됨
+        - 설정
+            - board.http-cache.anonymous-max-age-seconds : 비로그인 응답 max-age (기본 10초)
+            - board.list-cache.max-staleness-ms : 목록 ETag 시간 구간 (목록 캐시와 같은 값, 기본 30초)
+ */
+@Component
+public class BoardHttpCache {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final BoardListCache boardListCache;
+    private final MeterRegistry meterRegistry;
+    @Value("${board.http-cache.anonymous-max-age-seconds:10}")
+    private long anonymousMaxAgeSeconds;
+    @Value("${board.list-cache.max-staleness-ms:30000}")
+    private long listStalenessMillis;
+
+    public BoardHttpCache(BoardListCache boardListCache, MeterRegistry meterRegistry) {
+        this.boardListCache = boardListCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /*
+        목록 페이지 조건부 요청 확인 (목록 조회 전에 호출)
+        @return true면 304 응답이 준비된 상태이므로 컨트롤러는 null을 반환하면 됨
+     */
+    public boolean listNotModified(ServletWebRequest request, Principal principal, BoardCategory category, int page, int size) {
+        long bucket = System.currentTimeMillis() / Math.max(1, listStalenessMillis);
+        String etag = etag("l", (category == null ? "ALL" : category.name()) + "-" + page + "-" + size + "-"
+                + boardListCache.version(category) + "-" + bucket, request, principal);
+        applyCacheControl(request, principal);
+        return record("list", request, request.checkNotModified(etag));
+    }
+
+    /*
+        상세 페이지 조건부 요청 확인 (검증값만 조회한 뒤, 상세 조회/렌더링 전에 호출)
+        @return true면 304 응답이 준비된 상태이므로 컨트롤러는 null을 반환하면 됨
+     */
+    public boolean detailNotModified(ServletWebRequest request, Principal principal, BoardDetailVersion board) {
+        long lastModified = board.getUpdatedAt() == null ? -1
+                : board.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String etag = etag("d", board.getId() + "-" + Long.toString(lastModified, 36) + "-"
+                + board.getLikeCount() + "-" + board.getCommentCount(), request, principal);
+        applyCacheControl(request, principal);
+        return record("detail", request, request.checkNotModified(etag, lastModified));
+    }
+
+    private String etag(String page, String version, ServletWebRequest request, Principal principal) {
+        HttpSession session = request.getRequest().getSession(false);
+        String user = principal == null ? "anon" : Integer.toHexString(principal.getName().hashCode());
+        String sessionHash = session == null ? "none" : Integer.toHexString(session.getId().hashCode());
+        return "W/\"" + page + "-" + version + "-" + user + "-" + sessionHash + "-" + epoch + "\"";
+    }
+
+    private void applyCacheControl(ServletWebRequest request, Principal principal) {
+        HttpServletResponse response = request.getResponse();
+        if (response == null) {
+            return;
+        }
+        CacheControl cacheControl = principal == null
+                ? CacheControl.maxAge(anonymousMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate().mustRevalidate()
+                : CacheControl.noCache().cachePrivate();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+    }
+
+    private boolean record(String page, ServletWebRequest request, boolean notModified) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            meterRegistry.counter("board.http.conditional", "page", page, "result", notModified ? "not-modified" : "modified").increment();
+        }
+        return notModified;
+    }
+}
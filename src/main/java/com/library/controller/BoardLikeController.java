@@ -0,0 +1,36 @@
+package com.library.controller;
+
+import com.library.dto.board.BoardLikeDto;
+import com.library.service.BoardLikeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+/*
+    게시글 좋아요 API
+        - POST   /api/boards/{boardId}/like : 좋아요 (이미 누른 경우 그대로)
+        - DELETE /api/boards/{boardId}/like : 좋아요 취소
+        - 로그인 사용자만 가능 (SecurityConfig의 anyRequest().authenticated())
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/boards/{boardId}/like")
+@Slf4j
+public class BoardLikeController {
+    private final BoardLikeService boardLikeService;
+
+    @PostMapping
+    public ResponseEntity<BoardLikeDto> like(@PathVariable Long boardId, @AuthenticationPrincipal UserDetails userDetails) {
+        log.info("좋아요 요청 - 게시글 ID : {}, 회원 : {}", boardId, userDetails.getUsername());
+        return ResponseEntity.ok(boardLikeService.like(boardId, userDetails.getUsername()));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<BoardLikeDto> unlike(@PathVariable Long boardId, @AuthenticationPrincipal UserDetails userDetails) {
+        log.info("좋아요 취소 요청 - 게시글 ID : {}, 회원 : {}", boardId, userDetails.getUsername());
+        return ResponseEntity.ok(boardLikeService.unlike(boardId, userDetails.getUsername()));
+    }
+}
@@ -1,18 +1,28 @@
 package com.library.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.library.dto.comment.CommentCreateDTO;
+import com.library.dto.comment.CommentCursorPageDto;
 import com.library.dto.comment.CommentDTO;
 import com.library.dto.comment.CommentUpdateDto;
+import com.library.service.CommentGroupCommitter;
 import com.library.service.CommentService;
+import com.library.service.CommentStreamRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -21,25 +31,90 @@ import java.util.List;
 @Slf4j
 public class CommentController {
     private final CommentService commentService;
+    private final CommentStreamRegistry commentStreamRegistry;
+    private final CommentGroupCommitter commentGroupCommitter;
+    private final ObjectMapper objectMapper;
 
+    /*
+        댓글 목록 조회 API (커서 기반)
+            - get /api/comments/boards/{boardId}?cursor=&size=&depth=
+            - 첫 요청은 cursor 없이, 다음 요청은 응답의 nextCursor를 전달
+            - hasNext가 false면 마지막 페이지
+            - size는 최상위 댓글 수, 각 최상위 댓글 뒤에 depth 단계까지의 답글이 스레드 순서로 붙음 (depth=0이면 답글 제외)
+     */
     @GetMapping("/boards/{boardId}")
-    public ResponseEntity<List<CommentDTO>> getCommentsByBoardId(@PathVariable Long boardId) {
-        log.info("댓글 목록 조회 요청 - 게시글 ID {}", boardId);
-        List<CommentDTO> comments = commentService.getComments(boardId);
-        log.info("댓글 목록 조회 완료 - 댓글 수 : {}", comments.size());
+    public ResponseEntity<CommentCursorPageDto> getCommentsByBoardId(@PathVariable Long boardId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                     @RequestParam(defaultValue = "3") int depth) {
+        log.info("댓글 목록 조회 요청 - 게시글 ID {}, 커서 {}", boardId, cursor);
+        CommentCursorPageDto comments = commentService.getCommentsByCursor(boardId, cursor, size, depth);
+        log.info("댓글 목록 조회 완료 - 댓글 수 : {}, 다음 페이지 : {}", comments.getContent().size(), comments.isHasNext());
         return ResponseEntity.ok(comments);
     }
 
+    /*
+        댓글 전체 목록 조회 API
+            - get /api/comments/boards/{boardId}?all=true
+            - 모든 활성 댓글을 배열 하나로 반환 (기존 응답 형식, 댓글이 많은 게시글에서는 사용 자제)
+            - DTO 리스트를 만들지 않고 조회한 행을 응답에 바로 JSON으로 출력
+     */
+    @GetMapping(value = "/boards/{boardId}", params = "all=true")
+    public void getAllCommentsByBoardId(@PathVariable Long boardId, HttpServletResponse response) throws IOException {
+        log.info("댓글 전체 목록 조회 요청 - 게시글 ID {}", boardId);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            int count = commentService.writeComments(boardId, generator);
+            log.info("댓글 전체 목록 조회 완료 - 댓글 수 : {}", count);
+        }
+    }
+
+    /*
+        답글 조회 API
+            - get /api/comments/{commentId}/replies?depth=
+            - 댓글 아래의 답글을 depth 단계까지 스레드 순서로 반환 (목록에서 잘린 깊은 답글을 펼칠 때 사용)
+     */
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<List<CommentDTO>> getReplies(@PathVariable Long commentId, @RequestParam(defaultValue = "3") int depth) {
+        log.info("답글 조회 요청 - 댓글 ID {}, 깊이 {}", commentId, depth);
+        return ResponseEntity.ok(commentService.getReplies(commentId, depth));
+    }
+
+    /*
+        댓글 실시간 스트림 API (Server-Sent Events)
+            - get /api/comments/boards/{boardId}/stream
+            - 댓글 작성/수정/삭제가 커밋되면 "comment" 이벤트로 {type, boardId, commentId, comment} 전달
+            - 없거나 삭제/숨김된 게시글이면 404 (구독 자리를 차지하지 않도록 구독 전에 확인)
+            - 구독자 수 제한을 넘으면 503 (브라우저는 스트림 없이 목록 조회만 사용)
+     */
+    @GetMapping(value = "/boards/{boardId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamComments(@PathVariable Long boardId) {
+        if (!commentService.isBoardActive(boardId)) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = commentStreamRegistry.subscribe(boardId);
+        if (emitter == null) {
+            log.warn("댓글 스트림 구독 거절 - 게시글 ID : {}", boardId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     /*
         댓글 작성 API
             - post
             - 특정 게시글에 새 댓글 작성
+            - 그룹 커밋 모드면 동시에 들어온 작성 요청과 함께 한 트랜잭션으로 저장
      */
     @PostMapping("/boards/{boardId}")
     public ResponseEntity<CommentDTO> createComment(@PathVariable Long boardId, @Valid @RequestBody CommentCreateDTO commentCreateDTO, @AuthenticationPrincipal UserDetails userDetails) {
         String userEmail = userDetails.getUsername();
         log.info("댓글 작성 요청 - 게시글 ID : {}, 작성자 : {}", boardId, userEmail);
-        CommentDTO comment = commentService.createComment(boardId, commentCreateDTO, userEmail);
+        // 답글은 부모 댓글 확인과 경로 지정이 필요하므로 그룹 커밋 대상이 아님
+        CommentDTO comment = commentGroupCommitter.isEnabled() && commentCreateDTO.getParentId() == null
+                ? commentGroupCommitter.submit(boardId, commentCreateDTO, userEmail)
+                : commentService.createComment(boardId, commentCreateDTO, userEmail);
         log.info("댓글 작성 완료 - 댓글 ID : {}", comment.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(comment);
     }
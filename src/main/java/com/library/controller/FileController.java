@@ -1,62 +1,106 @@
 package com.library.controller;
 
-import com.library.entity.board.BoardFile;
-import com.library.repository.BoardFileRepository;
+import com.library.service.DownloadCountBuffer;
+import com.library.service.DownloadFileLookup;
+import com.library.service.DownloadFileLookup.DownloadFile;
 import com.library.service.FileStorageService;
+import com.library.service.ThumbnailGenerator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
 /*
     파일 다운로드 Controller
-        - 첨부파일 다운로드 처리
-        - 다운로드 횟수 증가
+        - 첨부파일 다운로드 처리 (Range 요청 / 실제 MIME 타입 / sendfile 전송은 FileRangeWriter)
+        - 다운로드 횟수 증가 (DownloadCountBuffer에 모았다가 주기적으로 반영)
+        - 트랜잭션 없음 : 메타데이터는 DownloadFileLookup(읽기 전용 + 캐시)으로 조회하므로 파일 전송 중에 DB 커넥션을 잡지 않음
+        - 이미지 첨부파일 썸네일 (ThumbnailGenerator)
  */
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/files")
 public class FileController {
     private final FileStorageService fileStorageService;
-    private final BoardFileRepository boardFileRepository;
+    private final DownloadFileLookup downloadFileLookup;
+    private final DownloadCountBuffer downloadCountBuffer;
+    private final FileRangeWriter fileRangeWriter;
+    private final ThumbnailGenerator thumbnailGenerator;
     /*
         파일 다운로드
-            - 파일 ID로 파일 정보 조회
-            - 물리적 파일 로드
-            - 다운로드 횟수 증가(더티 체킹)
-            - 파일 다운로드 응답 반환
+            - 파일 ID로 파일 정보 조회 (캐시)
+            - 물리적 파일 경로 확인
+            - 파일 전송 (Range 요청이면 206 부분 응답)
+            - 다운로드 횟수 증가(메모리) - 파일 처음부터 받는 요청만 집계 (이어받기 요청은 제외)
             - url files/download/id
      */
-    @Transactional
     @GetMapping("/download/{fileId}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long fileId){
+    public void downloadFile(@PathVariable Long fileId, HttpServletRequest request, HttpServletResponse response) throws IOException {
         // 1. 파일 정보 조회
-        BoardFile boardFile = boardFileRepository.findById(fileId).orElseThrow(() -> new RuntimeException("파일을 찾을 수 없습니다."));
-        // 2. 물리적 파일 다운로드
-        Resource resource = fileStorageService.loadFileAsResource(boardFile.getFilePath(), boardFile.getStoredFileName());
-        // 3. 다운로드 횟수 증가
-        boardFile.increaseDownloadCount();
-        // @Transactional로 인해 메소드 종료시 더티 체킹으로 자동 업데이트
-        // 4. 파일명 인코딩(한글 파일명 처리)
-        String encodedFileName =
-        URLEncoder.encode(boardFile.getOriginalFileName(), StandardCharsets.UTF_8);
-//        try {
-//            // 한글 깨짐 방지
-//            encodedFileName = URLEncoder.encode(boardFile.getOriginalFileName(), StandardCharsets.UTF_8.toString());
-//		} catch (UnsupportedEncodingException e) {
-//            encodedFileName = boardFile.getOriginalFileName();
-//        }
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName +"\"")
-                .body(resource);
+        DownloadFile boardFile = downloadFileLookup.find(fileId);
+        // 2. 물리적 파일 경로
+        Path file = fileStorageService.loadFilePath(boardFile.getFilePath(), boardFile.getStoredFileName());
+        // 3. 파일명 인코딩(한글 파일명 처리)
+        String encodedFileName = URLEncoder.encode(boardFile.getOriginalFileName(), StandardCharsets.UTF_8);
+        String contentType = StringUtils.hasText(boardFile.getMimeType()) ? boardFile.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        // 4. 파일 전송
+        boolean fromStart = fileRangeWriter.write(request, response, file, contentType, "attachment; filename=\"" + encodedFileName + "\"");
+        // 5. 다운로드 횟수 증가
+        if (fromStart) {
+            downloadCountBuffer.increase(fileId);
+        }
+    }
+    /*
+        이미지 첨부파일 썸네일
+            - w 이상인 가장 작은 썸네일로 응답 (기본 160, w보다 큰 썸네일이 없으면 가장 큰 썸네일)
+            - 썸네일은 만들어진 뒤 바뀌지 않으므로 1년 캐시 (immutable, 로그인 사용자만 볼 수 있으므로 private)
+                - If-Modified-Since가 같으면 304
+            - 아직 없으면(생성 대기 중 / 기존 첨부파일) 원본을 no-cache로 응답 (다음 요청에서 썸네일로 바뀜)
+                - 원본은 파일 내용을 ImageIO로 확인한 이미지 타입으로만 inline 응답
+                  (업로드 시 받은 MIME 타입을 그대로 쓰면 확장자만 이미지인 HTML 등이 사이트 출처에서 실행될 수 있음)
+                - 이미지로 확인되지 않으면(생성 실패 포함) 404
+            - 다운로드 횟수는 증가하지 않음
+            - url files/thumbnail/id?w=160
+     */
+    @GetMapping("/thumbnail/{fileId}")
+    public void thumbnail(@PathVariable Long fileId, @RequestParam(defaultValue = "160") int w,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        DownloadFile boardFile = downloadFileLookup.find(fileId);
+        if (!ThumbnailGenerator.supports(boardFile.getFileExtension())) {
+            throw new RuntimeException("이미지 파일이 아닙니다.");
+        }
+        Path original = fileStorageService.loadFilePath(boardFile.getFilePath(), boardFile.getStoredFileName());
+        Path thumbnail = thumbnailGenerator.find(original, boardFile.getFileExtension(), w);
+        if (thumbnail == null) {
+            String contentType = ThumbnailGenerator.detectContentType(original);
+            if (contentType == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+            fileRangeWriter.write(request, response, original, contentType, "inline");
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(Files.getLastModifiedTime(thumbnail).toMillis())) {
+            return;
+        }
+        fileRangeWriter.write(request, response, thumbnail, ThumbnailGenerator.contentType(boardFile.getFileExtension()), "inline");
     }
 }
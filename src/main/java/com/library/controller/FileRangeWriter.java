@@ -0,0 +1,219 @@
+package com.library.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    첨부파일 본문 전송 (HTTP Range, 206 부분 응답)
+        - 중단된 다운로드를 이어받을 수 있도록 Range 요청 지원
+            - Range 없음 : 200 + 파일 전체
+            - 범위 1개 : 206 + Content-Range
+            - 범위 여러 개 : 206 + multipart/byteranges (범위마다 Content-Type, Content-Range 헤더)
+            - 만족할 수 없는 범위(파일 크기 밖, 형식 오류, 범위 합이 파일보다 큼) : 416 + Content-Range (bytes * / 파일 크기)
+            - If-Range가 현재 ETag/Last-Modified와 다르면(파일이 바뀜) Range를 무시하고 전체 전송
+        - 전송 방식
+            - 전체 / 범위 1개 : Tomcat sendfile (커넥터가 지원할 때, 이 경우만 zero-copy)
+                - 요청 속성에 파일 경로와 범위만 지정하면, 컨트롤러가 끝난 뒤 Tomcat이 커널 sendfile로 소켓에 직접 전송
+                - 파일 내용이 JVM 힙을 거치지 않고, 전송하는 동안 요청 스레드를 점유하지 않음
+            - 그 외 (multipart, sendfile 미지원, sendfile-min-bytes 미만) : FileChannel.transferTo로 응답 스트림에 전송
+                - 대상이 Channels.newChannel(응답 스트림)이므로 JDK가 힙 버퍼로 읽어 스트림에 쓰는 복사가 일어남
+                - 전체를 메모리에 올리지 않고 버퍼 크기만큼 나눠 복사하므로 파일 크기와 상관없이 메모리 사용은 일정함
+        - 지표 : file.download (range = none / single / multi, mode = sendfile / transfer)
+        - 설정
+            - file.download.sendfile-min-bytes : 이 크기 이상일 때만 sendfile 사용 (기본 48KB, Tomcat 기본값과 같음)
+ */
+@Component
+public class FileRangeWriter {
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.Globals)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MeterRegistry meterRegistry;
+    @Value("${file.download.sendfile-min-bytes:49152}")
+    private long sendfileMinBytes;
+
+    public FileRangeWriter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /*
+        파일 응답 작성 (헤더 + 본문)
+        @param contentType 범위/전체 응답의 Content-Type (BoardFile.mimeType)
+        @param contentDisposition Content-Disposition 헤더 값
+        @return 파일 처음부터 전송하는 응답이면 true (다운로드 횟수 집계용, 이어받기는 제외)
+     */
+    public boolean write(HttpServletRequest request, HttpServletResponse response, Path file,
+                         String contentType, String contentDisposition) throws IOException {
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            send(request, response, file, 0, length, "none");
+            return true;
+        }
+        List<long[]> ranges = parseRanges(rangeHeader, length);
+        if (ranges == null) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return false;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, length));
+            send(request, response, file, range[0], range[1] - range[0] + 1, "single");
+            return range[0] == 0;
+        }
+        sendMultipart(request, response, file, ranges, contentType, length);
+        return ranges.get(0)[0] == 0;
+    }
+
+    // If-Range : ETag(강한 비교) 또는 HTTP 날짜가 현재 파일과 같을 때만 Range 적용
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            // HTTP 날짜는 초 단위
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /*
+        Range 헤더 -> [시작, 끝(포함)] 목록
+        @return 만족할 수 없는 범위면 null
+            - 범위 길이의 합이 파일 크기보다 크면 거절 (겹치는 범위를 반복해 같은 바이트를 여러 번 보내게 하는 요청 방지)
+     */
+    private static List<long[]> parseRanges(String rangeHeader, long length) {
+        try {
+            List<long[]> ranges = new ArrayList<>();
+            long total = 0;
+            for (HttpRange range : HttpRange.parseRanges(rangeHeader)) {
+                long start = range.getRangeStart(length);
+                long end = range.getRangeEnd(length);
+                if (start > end) {
+                    return null;
+                }
+                total += end - start + 1;
+                ranges.add(new long[]{start, end});
+            }
+            return ranges.isEmpty() || total > length ? null : ranges;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String contentRange(long[] range, long length) {
+        return "bytes " + range[0] + "-" + range[1] + "/" + length;
+    }
+
+    // 연속 구간 하나 전송 (sendfile 가능하면 Tomcat에 위임)
+    private void send(HttpServletRequest request, HttpServletResponse response, Path file,
+                      long start, long count, String range) throws IOException {
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (count >= sendfileMinBytes && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            record(range, "sendfile");
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            transfer(channel, start, count, Channels.newChannel(out));
+            out.flush();
+        }
+        record(range, "transfer");
+    }
+
+    // multipart/byteranges 전송 (Content-Length는 본문을 쓰기 전에 계산)
+    private void sendMultipart(HttpServletRequest request, HttpServletResponse response, Path file,
+                               List<long[]> ranges, String contentType, long length) throws IOException {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(range, length) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + range[1] - range[0] + 1;
+        }
+        byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += end.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+                out.write(partHeaders.get(i));
+                transfer(channel, range[0], range[1] - range[0] + 1, target);
+            }
+            out.write(end);
+            out.flush();
+        }
+        record("multi", "transfer");
+    }
+
+    // FileChannel.transferTo는 요청한 길이보다 적게 보낼 수 있으므로 다 보낼 때까지 반복
+    static void transfer(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+        long end = position + count;
+        while (position < end) {
+            long sent = channel.transferTo(position, end - position, target);
+            if (sent <= 0) {
+                // 전송 중 파일이 줄어든 경우
+                throw new EOFException("파일 전송 중 파일 크기가 바뀌었습니다.");
+            }
+            position += sent;
+        }
+    }
+
+    private void record(String range, String mode) {
+        meterRegistry.counter("file.download", "range", range, "mode", mode).increment();
+    }
+}
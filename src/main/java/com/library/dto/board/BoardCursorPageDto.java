@@ -0,0 +1,24 @@
+package com.library.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+    커서(Keyset) 기반 게시글 목록 DTO
+        - 전체 개수(count) 쿼리 없이 "다음 페이지가 있는지"만 알려줌
+        - nextCursor : 다음 페이지 요청 시 전달할 커서 (마지막 행의 createdAt + id)
+        - hasContent() / getContent() 는 Page와 같은 이름이라 목록 템플릿을 그대로 사용할 수 있음
+ */
+@Getter
+@AllArgsConstructor
+public class BoardCursorPageDto {
+    private List<BoardListDto> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public boolean hasContent() {
+        return !content.isEmpty();
+    }
+}
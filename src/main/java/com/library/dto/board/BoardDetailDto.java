@@ -11,6 +11,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.With;
 
 /*
     게시글 상세 조회용 DTO
@@ -31,7 +32,9 @@ public class BoardDetailDto {
     private String content;
     private String authorEmail;
     private String authorName;
+    @With   // 조회수 보정용 (DB 값 + 아직 반영되지 않은 조회수)
     private Long viewCount;
+    @With   // 좋아요 수 보정용 (DB 값 + 아직 반영되지 않은 증감량)
     private Long likeCount;
     private Long commentCount;
     private BoardCategory category;
@@ -53,7 +56,7 @@ public class BoardDetailDto {
                 .authorName(board.getAuthor().getName())
                 .viewCount(board.getViewCount())
                 .likeCount(board.getLikeCount())
-                .commentCount(0L)
+                .commentCount(board.getCommentCount())
                 .category(board.getCategory())
                 .createdAt(board.getCreatedAt())
                 .updatedAt(board.getUpdatedAt())
@@ -0,0 +1,30 @@
+package com.library.dto.board;
+
+import java.time.LocalDateTime;
+
+import com.library.entity.board.BoardCategory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+/*
+    게시글 상세 페이지 검증값 DTO (HTTP 조건부 요청용)
+        - 상세 스냅샷 전체를 만들지 않고 ETag/Last-Modified 계산에 필요한 값만 가짐
+        - 상세 캐시에 스냅샷이 있으면 스냅샷에서, 없으면 board 행의 컬럼만 조회하여 생성
+        - category : 조회 기록(인기 게시글 점수)용
+ */
+@Getter
+@AllArgsConstructor
+public class BoardDetailVersion {
+    private Long id;
+    private BoardCategory category;
+    private LocalDateTime updatedAt;
+    @With   // 좋아요 수 보정용 (DB 값 + 아직 반영되지 않은 증감량)
+    private Long likeCount;
+    private Long commentCount;
+
+    public static BoardDetailVersion from(BoardDetailDto board) {
+        return new BoardDetailVersion(board.getId(), board.getCategory(), board.getUpdatedAt(), board.getLikeCount(), board.getCommentCount());
+    }
+}
@@ -0,0 +1,16 @@
+package com.library.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+    게시글 좋아요 상태 응답 DTO
+        - liked : 현재 회원이 좋아요를 눌렀는지
+        - likeCount : 좋아요 수 (DB 값 + 아직 반영되지 않은 증감량)
+ */
+@Getter
+@AllArgsConstructor
+public class BoardLikeDto {
+    private boolean liked;
+    private long likeCount;
+}
@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.With;
 
 /**
  * 게시글 목록 조회용 DTO
@@ -29,7 +30,9 @@ public class BoardListDto{
     private String title;
     private BoardCategory category;
     private String authorName;
+    @With   // 조회수 보정용 (DB 값 + 아직 반영되지 않은 조회수)
     private Long viewCount;
+    @With   // 좋아요 수 보정용 (DB 값 + 아직 반영되지 않은 증감량)
     private Long LikeCount;
     private Long CommentCount;
     /*
@@ -44,7 +47,7 @@ public class BoardListDto{
                 .authorName(board.getAuthor().getName())
                 .viewCount(board.getViewCount())
                 .LikeCount(board.getLikeCount())
-                .CommentCount(0L)
+                .CommentCount(board.getCommentCount())
                 .createdAt(board.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,25 @@
+package com.library.dto.board;
+
+import com.library.entity.board.BoardCategory;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/*
+    게시글 검색 결과 DTO
+        - titleHtml, snippetHtml : 검색어가 <mark>로 감싸진 HTML (원문은 escape 되어 있음, th:utext로 출력)
+        - snippetHtml : 본문 중 검색어가 처음 나오는 부근의 일부
+ */
+@Getter
+@Builder
+public class BoardSearchResultDto {
+    private Long id;
+    private String titleHtml;
+    private String snippetHtml;
+    private BoardCategory category;
+    private String authorName;
+    private LocalDateTime createdAt;
+    private Long viewCount;
+    private Long commentCount;
+}
@@ -8,6 +8,7 @@ import lombok.*;
     댓글 작성 DTO
         - 댓글 작성 시 사용
         - 유효성 검증 포함
+        - parentId : 답글이면 부모 댓글 ID (없으면 최상위 댓글)
  */
 @Getter
 @Setter
@@ -19,6 +20,7 @@ public class CommentCreateDTO {
     @NotBlank(message = "댓글 내용을 입력해주세요.")
     @Size(max = 1000, message = "댓글은 최대 1000자까지 입력 가능합니다.")
     private String content;
+    private Long parentId;
 }
 
 
@@ -0,0 +1,20 @@
+package com.library.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+    커서(Keyset) 기반 댓글 목록 DTO
+        - 전체 개수(count) 쿼리 없이 "다음 페이지가 있는지"만 알려줌
+        - content : 최상위 댓글마다 그 뒤에 답글이 스레드 순서로 이어지는 평평한 목록 (parentId, depth로 구조 표시)
+        - nextCursor : 다음 페이지 요청 시 전달할 커서 (마지막 최상위 댓글의 createdAt + id)
+ */
+@Getter
+@AllArgsConstructor
+public class CommentCursorPageDto {
+    private List<CommentDTO> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
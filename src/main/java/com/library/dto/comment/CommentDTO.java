@@ -9,6 +9,7 @@ package com.library.dto.comment;
 import com.library.entity.comment.Comment;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 @Getter
@@ -17,30 +18,47 @@ import java.time.format.DateTimeFormatter;
 @AllArgsConstructor
 @Builder
 public class CommentDTO {
+    // 날짜/시간 포맷터 (예: "2025-10-21 16:28"), 불변 객체이므로 하나를 재사용
+    // 패턴설명: yyyy(년 4자리) - MM(월 2자리) - dd(일 2자리) - HH (시 24시간) : mm (분)
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private Long id;
     private String content;
     private String authorName;      //작성자 이름
     private String authorEmail;     //작성자 이메일 (권장 확인용)
     private String createdAt;        //포맷팅된 작성일시
     private String updatedAt;       //포맷팅된 수정일시
+    private Long parentId;          //부모 댓글 ID (최상위 댓글은 null)
+    private int depth;              //답글 깊이 (최상위 댓글 0)
 
     public static CommentDTO from(Comment comment) {
-        // 날짜/시간 포맷터 생성 (예: "2025-10-21 16:28")
-        // 패턴설명: yyyy(년 4자리) - MM(월 2자리) - dd(일 2자리) - HH (시 24시간) : mm (분)
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
         // 빌더 패턴으로 DTO 객체 생성 및  반환
         return CommentDTO.builder()
                 .id(comment.getId())            // 댓글 ID (수정/삭제 시 식별용)
                 .content(comment.getContent())  // 댓글 내용 (화면에 표시될 텍스트)
                 .authorName(comment.getAuthor().getName())  //작성자 이름 (Member 엔티티에서 추출)
                 .authorEmail(comment.getAuthor().getEmail()) // 작성자 이메일 (수정/삭제 시 권한 확인용)
-                .createdAt(comment.getCreatedAt().format(formatter))  //작성일시를 문자열로 포맷팅
-                .updatedAt(comment.getUpdatedAt().format(formatter)) //수정일시를 문자열로 포맷팅
+                .createdAt(comment.getCreatedAt().format(DATE_TIME_FORMATTER))  //작성일시를 문자열로 포맷팅
+                .updatedAt(comment.getUpdatedAt().format(DATE_TIME_FORMATTER)) //수정일시를 문자열로 포맷팅
+                .parentId(comment.getParentId())  // 답글 구조 (화면에서 들여쓰기)
+                .depth(comment.getDepth() == null ? 0 : comment.getDepth())
                 .build();
 
     }
 
+    // Entity 없이 JDBC로 저장한 새 최상위 댓글 -> DTO (그룹 커밋 저장용, 작성일시 = 수정일시)
+    public static CommentDTO of(Long id, String content, String authorName, String authorEmail, LocalDateTime createdAt) {
+        String formatted = createdAt.format(DATE_TIME_FORMATTER);
+        return CommentDTO.builder()
+                .id(id)
+                .content(content)
+                .authorName(authorName)
+                .authorEmail(authorEmail)
+                .createdAt(formatted)
+                .updatedAt(formatted)
+                .build();
+    }
+
 }
 
 
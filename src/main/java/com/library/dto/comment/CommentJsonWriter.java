@@ -0,0 +1,109 @@
+package com.library.dto.comment;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+
+/*
+    댓글 목록 스트리밍 JSON 출력
+        - 댓글 수만큼 CommentDTO 리스트를 만든 뒤 Jackson으로 직렬화하는 대신, 조회한 행을 바로 JsonGenerator로 출력
+            - 중간 리스트, CommentDTO, 날짜 문자열을 만들지 않음
+            - 필드 이름은 미리 인코딩한 SerializedString 재사용
+            - 날짜는 "yyyy-MM-dd HH:mm" 형식을 재사용 버퍼(char[])에 직접 기록
+        - 출력 형식은 CommentDTO 리스트 직렬화 결과와 같음
+            - [{"id":..,"content":..,"authorName":..,"authorEmail":..,"createdAt":..,"updatedAt":..,"parentId":..,"depth":..}, ...]
+        - 인스턴스 하나는 요청 하나(스레드 하나)에서만 사용
+ */
+public class CommentJsonWriter {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString AUTHOR_NAME = new SerializedString("authorName");
+    private static final SerializedString AUTHOR_EMAIL = new SerializedString("authorEmail");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString PARENT_ID = new SerializedString("parentId");
+    private static final SerializedString DEPTH = new SerializedString("depth");
+    private static final int DATE_TIME_LENGTH = 16;
+
+    private final JsonGenerator generator;
+    private final char[] dateTime = new char[DATE_TIME_LENGTH];
+
+    public CommentJsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    /*
+        댓글 행들을 JSON 배열 하나로 출력
+        @return 출력한 댓글 수
+     */
+    public int writeArray(Iterator<CommentRow> rows) throws IOException {
+        int count = 0;
+        generator.writeStartArray();
+        while (rows.hasNext()) {
+            write(rows.next());
+            count++;
+        }
+        generator.writeEndArray();
+        generator.flush();
+        return count;
+    }
+
+    public void write(CommentRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(row.getId());
+        generator.writeFieldName(CONTENT);
+        generator.writeString(row.getContent());
+        generator.writeFieldName(AUTHOR_NAME);
+        generator.writeString(row.getAuthorName());
+        generator.writeFieldName(AUTHOR_EMAIL);
+        generator.writeString(row.getAuthorEmail());
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(row.getCreatedAt());
+        generator.writeFieldName(UPDATED_AT);
+        writeDateTime(row.getUpdatedAt());
+        generator.writeFieldName(PARENT_ID);
+        if (row.getParentId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(row.getParentId());
+        }
+        generator.writeFieldName(DEPTH);
+        generator.writeNumber(row.getDepth() == null ? 0 : row.getDepth());
+        generator.writeEndObject();
+    }
+
+    // "yyyy-MM-dd HH:mm" (CommentDTO와 같은 형식)
+    private void writeDateTime(LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        dateTime[0] = digit(year / 1000);
+        dateTime[1] = digit(year / 100);
+        dateTime[2] = digit(year / 10);
+        dateTime[3] = digit(year);
+        dateTime[4] = '-';
+        twoDigits(5, value.getMonthValue());
+        dateTime[7] = '-';
+        twoDigits(8, value.getDayOfMonth());
+        dateTime[10] = ' ';
+        twoDigits(11, value.getHour());
+        dateTime[13] = ':';
+        twoDigits(14, value.getMinute());
+        generator.writeString(dateTime, 0, DATE_TIME_LENGTH);
+    }
+
+    private void twoDigits(int offset, int value) {
+        dateTime[offset] = digit(value / 10);
+        dateTime[offset + 1] = digit(value);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value % 10);
+    }
+}
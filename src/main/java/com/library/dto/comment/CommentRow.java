@@ -0,0 +1,24 @@
+package com.library.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/*
+    댓글 전체 목록 출력용 Projection
+        - Comment / Member Entity를 만들지 않고 필요한 컬럼만 조회 (영속성 컨텍스트에 쌓이지 않음)
+        - CommentJsonWriter가 한 행씩 바로 JSON으로 출력함
+ */
+@Getter
+@AllArgsConstructor
+public class CommentRow {
+    private Long id;
+    private String content;
+    private String authorName;
+    private String authorEmail;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long parentId;
+    private Integer depth;
+}
@@ -24,7 +24,12 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // jpa 스펙상 기본생상자 필요. 외부에서 직접 생성 방지
 @Getter
 @Entity
-@Table(name = "board")
+@Table(name = "board", indexes = {
+        // 목록 조회(상태별 최신순) 및 Keyset 페이지네이션용 복합 인덱스
+        @Index(name = "idx_board_status_created_at_id", columnList = "status, created_at, id"),
+        // 카테고리별 목록 조회용 복합 인덱스 (status, category로 범위를 좁힌 뒤 최신순으로 읽음)
+        @Index(name = "idx_board_status_category_created_at", columnList = "status, category, created_at, id")
+})
 public class Board extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -70,6 +75,15 @@ public class Board extends BaseEntity {
     @Column(nullable = false)
     @Builder.Default
     private Long likeCount = 0L;
+    /*
+        댓글 수 (비정규화 컬럼)
+            - 목록/상세에서 게시글마다 count 쿼리를 실행하지 않기 위해 board 테이블에 직접 저장
+            - CommentService가 댓글 작성/삭제 시 원자적 UPDATE(comment_count = comment_count ± 1)로 갱신
+            - 오차는 CommentCountReconciler가 주기적으로 보정
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Long commentCount = 0L;
     /*
         개시글 상태
             - EnumType.STRING을 사용하여 문자열로 저장
@@ -127,6 +141,14 @@ public class Board extends BaseEntity {
     public void delete() {
         this.status = BoardStatus.DELETED;
     }
+    /*
+        게시글 숨김
+            - 삭제와 마찬가지로 목록/상세에서 보이지 않게 됨
+            - 삭제와 구분되는 상태로 남겨 복구/관리 용도로 사용
+     */
+    public void hide() {
+        this.status = BoardStatus.HIDDEN;
+    }
     /*
         연관 관계 편의 메소드
             - 양뱡향 관계를 안전하게 설정
@@ -40,11 +40,9 @@ public class BoardFile extends BaseEntity {
     private String fileExtension;    // 파일 확장자 소문자
     @Column(nullable = false,length = 100)
     private String mimeType;    // mime 타입 pdf, jpg...
+    @Column(length = 64)
+    private String contentHash; // 중복 제거 저장(FileBlob)일 때 내용 SHA-256, 기존 방식(UUID 파일)이면 null
     @Column(nullable = false)
     @Builder.Default
-    private Long downloadCount = 0L;
-    // 다운로드 횟수 증가
-    public void increaseDownloadCount() {
-        this.downloadCount++;
-    }
+    private Long downloadCount = 0L;    // 다운로드 수는 DownloadCountBuffer가 모아서 JDBC로 반영
 }
\ No newline at end of file
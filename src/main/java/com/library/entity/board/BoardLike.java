@@ -0,0 +1,37 @@
+package com.library.entity.board;
+
+import com.library.entity.member.Member;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/*
+    게시글 좋아요 Entity
+        - 회원 한 명은 게시글 하나에 한 번만 좋아요 가능 (board_id, member_id 유니크)
+        - 유니크 제약의 인덱스가 게시글별 좋아요 회원 조회, 좋아요 취소(delete)에도 사용됨
+        - 행은 BoardLikeStore가 JDBC batch로 한 번에 insert/delete 하므로
+          BaseEntity(Auditing)를 상속하지 않고 created_at을 직접 기록함
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "board_like", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_board_like_board_member", columnNames = {"board_id", "member_id"})
+})
+public class BoardLike {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false)
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "board_id", nullable = false)
+    private Board board;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private Member member;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
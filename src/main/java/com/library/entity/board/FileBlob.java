@@ -0,0 +1,43 @@
+package com.library.entity.board;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/*
+    첨부파일 실제 내용(blob) Entity - 내용 주소 방식(content-addressed) 저장
+        - 같은 내용(SHA-256)의 업로드는 디스크에 파일 하나만 두고 BoardFile 여러 개가 함께 사용
+            - BoardFile.contentHash = FileBlob.sha256
+            - BoardFile의 filePath / storedFileName도 blob 파일 위치를 가리키므로 다운로드는 기존과 같음
+        - refCount : 이 blob을 가리키는 BoardFile 수
+        - releasedAt : refCount가 0이 된 시각 (참조 중이면 null)
+            - 0이 되어도 바로 지우지 않고, 유예 시간이 지난 뒤 FileBlobStore.collectGarbage가 행과 파일을 삭제
+        - 행은 FileBlobStore가 JDBC로 insert/update/delete 하므로
+          BaseEntity(Auditing)를 상속하지 않고 created_at을 직접 기록함
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "file_blob", indexes = {
+        // 참조가 없는 blob 정리(collectGarbage) 대상 조회용
+        @Index(name = "idx_file_blob_released_at", columnList = "released_at")
+})
+public class FileBlob {
+    @Id
+    @Column(nullable = false, length = 64)
+    private String sha256;
+    @Column(nullable = false, length = 500)
+    private String filePath;
+    @Column(nullable = false)
+    private String storedFileName;
+    @Column(nullable = false)
+    private Long fileSize;
+    @Column(nullable = false)
+    private Long refCount;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime releasedAt;
+}
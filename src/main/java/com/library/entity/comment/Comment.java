@@ -6,12 +6,36 @@ import com.library.entity.member.Member;
 import jakarta.persistence.*;
 import lombok.*;
 
+/*
+    댓글 Entity
+        - 답글(대댓글)은 경로 구체화(materialized path) 방식으로 저장
+            - parentId : 부모 댓글 ID (최상위 댓글은 null)
+            - rootId : 스레드 최상위 댓글 ID (최상위 댓글은 null)
+            - depth : 최상위 댓글 0, 답글 1, 답글의 답글 2 ...
+            - path : 최상위 댓글부터 자기 자신까지의 ID를 고정 길이(13자리 36진수) + "/"로 이어 붙인 문자열
+                - 예) 최상위 1 -> 답글 5 -> 답글 9 : "0000000000001/0000000000005/0000000000009/"
+                - 고정 길이이므로 문자열 순서 = 스레드 순서 (부모 다음에 자식들이 작성 순으로, 깊이 우선)
+                - 최상위 댓글은 path를 저장하지 않음 (threadPath()로 계산, 기존 댓글도 그대로 사용 가능)
+        - 조회
+            - 최상위 댓글 : parent_id IS NULL 조건으로 작성 순 페이지네이션
+            - 스레드/하위 트리 : (root_id, path) 인덱스 범위 조회 한 번 (재귀 조회 없음)
+ */
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Entity
+@Table(name = "comment", indexes = {
+        // 게시글별 최상위 댓글 목록 조회 및 Keyset 페이지네이션용 복합 인덱스
+        @Index(name = "idx_comment_board_status_parent_created_at_id", columnList = "board_id, status, parent_id, created_at, id"),
+        // 스레드(하위 트리) 범위 조회용 인덱스
+        @Index(name = "idx_comment_root_path", columnList = "root_id, path")
+})
 public class Comment extends BaseEntity {
+    // 답글 최대 깊이, path 길이 = MAX_DEPTH + 1 단계 x 14자
+    public static final int MAX_DEPTH = 8;
+    private static final int PATH_SEGMENT_DIGITS = 13;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(nullable = false)
@@ -32,11 +56,36 @@ public class Comment extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private Member author;
+    // 답글 구조 (materialized path)
+    @Column(name = "parent_id")
+    private Long parentId;
+    @Column(name = "root_id")
+    private Long rootId;
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer depth = 0;
+    @Column(length = 140)
+    private String path;
     public void update(String content) {
         this.content = content;
     }
     public void delete(){
         this.status = CommentStatus.DELETED;
     }
-
-}
\ No newline at end of file
+    // 스레드 경로 (최상위 댓글은 저장하지 않으므로 ID로 계산)
+    public String threadPath() {
+        return path != null ? path : pathSegment(id);
+    }
+    // 답글 경로 지정 (ID가 생성된 저장 이후에 호출, 부모 경로 + 자기 ID)
+    public void assignPath(Comment parent) {
+        this.path = parent.threadPath() + pathSegment(id);
+    }
+    public boolean isReply() {
+        return parentId != null;
+    }
+    // ID -> 고정 길이 36진수 경로 조각 (문자열 정렬 = 숫자 정렬)
+    public static String pathSegment(Long id) {
+        String digits = Long.toString(id, 36);
+        return "0".repeat(PATH_SEGMENT_DIGITS - digits.length()) + digits + "/";
+    }
+}
@@ -0,0 +1,19 @@
+package com.library.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+    첨부파일 저장 이벤트
+        - BoardService가 게시글 작성/수정 트랜잭션에서 BoardFile을 추가할 때 발행함
+        - 수신 측(ThumbnailGenerator)은 @TransactionalEventListener(AFTER_COMMIT)로 받아
+          커밋된 첨부파일만 후처리함 (롤백되어 지워진 파일은 무시됨)
+        - filePath, storedFileName : 업로드 기본 경로 기준 상대 경로와 저장 파일명 (중복 제거 저장이면 blob 위치)
+ */
+@Getter
+@AllArgsConstructor
+public class AttachmentStoredEvent {
+    private final String filePath;
+    private final String storedFileName;
+    private final String fileExtension;
+}
@@ -0,0 +1,44 @@
+package com.library.event;
+
+import com.library.entity.board.BoardCategory;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+    게시글 활동 이벤트 (조회, 좋아요, 댓글)
+        - 인기 게시글 순위(TrendingBoardRanker) 계산용
+        - BoardService(조회), BoardLikeService(좋아요/취소), CommentService(댓글 작성/삭제)가 발행함
+        - category : 발행하는 쪽에서 알고 있을 때만 채움 (좋아요는 게시글을 다시 조회하지 않으므로 null)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BoardActivityEvent {
+    public enum Type {
+        VIEWED, LIKED, UNLIKED, COMMENTED, COMMENT_DELETED
+    }
+
+    private final Type type;
+    private final Long boardId;
+    private final BoardCategory category;
+
+    public static BoardActivityEvent viewed(Long boardId, BoardCategory category) {
+        return new BoardActivityEvent(Type.VIEWED, boardId, category);
+    }
+
+    public static BoardActivityEvent liked(Long boardId) {
+        return new BoardActivityEvent(Type.LIKED, boardId, null);
+    }
+
+    public static BoardActivityEvent unliked(Long boardId) {
+        return new BoardActivityEvent(Type.UNLIKED, boardId, null);
+    }
+
+    public static BoardActivityEvent commented(Long boardId, BoardCategory category) {
+        return new BoardActivityEvent(Type.COMMENTED, boardId, category);
+    }
+
+    public static BoardActivityEvent commentDeleted(Long boardId, BoardCategory category) {
+        return new BoardActivityEvent(Type.COMMENT_DELETED, boardId, category);
+    }
+}
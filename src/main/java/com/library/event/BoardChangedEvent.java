@@ -0,0 +1,52 @@
+package com.library.event;
+
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+    게시글 변경 이벤트
+        - BoardService가 게시글을 생성/수정/삭제/숨김 처리할 때 발행함
+        - 게시글 수 집계, 캐시 무효화 등 부가 작업을 BoardService에서 분리하기 위해 사용
+        - 수신 측은 @TransactionalEventListener(AFTER_COMMIT)로 받아
+          트랜잭션이 실제로 커밋된 변경만 반영함 (롤백된 변경은 무시됨)
+        - previousCategory : 수정 전 카테고리 (카테고리가 바뀐 경우 집계 이동용)
+        - title, content : 생성/수정 시점의 제목과 본문 (검색 색인용, 삭제/숨김은 null)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BoardChangedEvent {
+    public enum Type {
+        CREATED, UPDATED, DELETED, HIDDEN
+    }
+
+    private final Type type;
+    private final Long boardId;
+    private final BoardCategory previousCategory;
+    private final BoardCategory category;
+    private final String title;
+    private final String content;
+
+    public static BoardChangedEvent created(Board board) {
+        return new BoardChangedEvent(Type.CREATED, board.getId(), null, board.getCategory(), board.getTitle(), board.getContent());
+    }
+
+    public static BoardChangedEvent updated(Board board, BoardCategory previousCategory) {
+        return new BoardChangedEvent(Type.UPDATED, board.getId(), previousCategory, board.getCategory(), board.getTitle(), board.getContent());
+    }
+
+    public static BoardChangedEvent deleted(Board board) {
+        return new BoardChangedEvent(Type.DELETED, board.getId(), board.getCategory(), board.getCategory(), null, null);
+    }
+
+    public static BoardChangedEvent hidden(Board board) {
+        return new BoardChangedEvent(Type.HIDDEN, board.getId(), board.getCategory(), board.getCategory(), null, null);
+    }
+
+    // 게시글 수(상태/카테고리별 집계)가 바뀌는 이벤트인지
+    public boolean isCountChanged() {
+        return type != Type.UPDATED || previousCategory != category;
+    }
+}
@@ -0,0 +1,26 @@
+package com.library.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/*
+    게시글 카운터 flush 이벤트
+        - ViewCountBuffer(조회수), BoardLikeStore(좋아요 수)가 메모리에 모아둔 증감량을
+          DB에 반영(커밋)한 직후 발행함
+        - 카운터 값을 스냅샷으로 들고 있는 캐시(BoardDetailCache 등)가
+          해당 게시글의 스냅샷을 버리기 위해 사용
+            - flush 후에는 미반영 증감량(pending)이 0이 되므로 스냅샷을 그대로 쓰면 값이 줄어 보임
+            - 캐시는 좋아요(LIKE)만 무효화에 사용 (조회수는 인기 게시글마다 매 주기 flush되므로 max-staleness로 처리)
+ */
+@Getter
+@AllArgsConstructor
+public class BoardCountersFlushedEvent {
+    public enum Counter {
+        VIEW, LIKE
+    }
+
+    private final Counter counter;
+    private final Set<Long> boardIds;
+}
@@ -0,0 +1,39 @@
+package com.library.event;
+
+import com.library.dto.comment.CommentDTO;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+    댓글 변경 이벤트 (작성, 수정, 삭제)
+        - 게시글 상세 페이지의 실시간 댓글 스트림(CommentStreamRegistry) 전송용
+        - CommentService가 발행하고, 커밋 이후에만 구독자에게 전달됨
+        - comment : 작성/수정은 변경된 댓글, 삭제는 null (commentId만 전달)
+        - removed : 삭제로 줄어든 댓글 수 (삭제된 댓글 + 함께 삭제된 답글, 작성/수정은 0)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CommentChangedEvent {
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long boardId;
+    private final Long commentId;
+    private final CommentDTO comment;
+    private final long removed;
+
+    public static CommentChangedEvent created(Long boardId, CommentDTO comment) {
+        return new CommentChangedEvent(Type.CREATED, boardId, comment.getId(), comment, 0);
+    }
+
+    public static CommentChangedEvent updated(Long boardId, CommentDTO comment) {
+        return new CommentChangedEvent(Type.UPDATED, boardId, comment.getId(), comment, 0);
+    }
+
+    public static CommentChangedEvent deleted(Long boardId, Long commentId, long removed) {
+        return new CommentChangedEvent(Type.DELETED, boardId, commentId, null, removed);
+    }
+}
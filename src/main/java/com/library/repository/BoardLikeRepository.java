@@ -0,0 +1,12 @@
+package com.library.repository;
+
+import com.library.entity.board.BoardLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/*
+    게시글 좋아요 Repository
+        - 좋아요 추가/취소와 회원 목록 적재는 BoardLikeStore가 JDBC로 직접 처리함 (batch, 스트리밍)
+ */
+public interface BoardLikeRepository extends JpaRepository<BoardLike, Long> {
+    long countByBoardId(Long boardId);
+}
@@ -1,12 +1,20 @@
 package com.library.repository;
 
+import com.library.dto.board.BoardDetailVersion;
+import com.library.dto.board.BoardListDto;
 import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
 import com.library.entity.board.BoardStatus;
-import org.springframework.data.domain.Page;
+import com.library.entity.comment.CommentStatus;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /*
@@ -17,33 +25,6 @@ import java.util.Optional;
                 - findBy : select 쿼리 생성
  */
 public interface BoardRepository extends JpaRepository<Board, Long> {
-    /*
-        게시글 상태별 목록 조회(페이징, 작성자 정보 포함)
-            - N + 1 문제를 방지하기 위해 Fetch Join을 사용함
-            - Fetch Join은 메소드 네이밍으로 표현할 수 없어 @Query로 명시적 작성이 필요함
-            - 명시적 작성 필요
-            - countQuery분리 이유
-                - 전체 개수 조회 시 Join 불필요(성능 최적화)
-                - Board 테이블만 Count 하면 충분
-                - order by 도 불필요(개수만 세면 됨)
-        파라미터 바인딩 :
-            - :status <= 메소드의 BoardStatus status 파라미터와 자동 매칭
-        @param status : 조회할 게시글 상태
-        @param pageable : 페이징 정보
-     */
-	@Query(
-            // 데이터 조회 쿼리
-            value = "Select b " +
-                    "From Board b " +
-                    "JOIN FETCH b.author " +   // Member도 함께 로드(N+1 방지)
-                    "Where b.status = :status " +
-                    "ORDER By b.createdAt DESC",
-            // 갯수 조회 쿼리(페이징용)
-            countQuery = "select count(b) " +   // 개수 세기
-                         "from Board b " +
-                    "where b.status = :status"
-    )
-    Page<Board> findByStatusWithAuthor(BoardStatus status, Pageable pageable);
     /*
         게시글 단건 조회 Id+상태, 작성자 정보 포함
             - N+1 문제를 방지하기 위해 FetchJoin을 사용함
@@ -51,4 +32,155 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
      */
     @Query("select b from Board b join fetch b.author where b.id = :id and b.status = :status")
     Optional<Board> findByIdAndStatusWithAuthor(Long id, BoardStatus status);
+    /*
+        게시글 상세 조회용 단건 조회 (작성자 + 첨부파일 포함)
+            - 작성자는 join fetch, 첨부파일은 left join fetch로 한 번의 SQL로 가져옴
+                - 첨부파일 없는 게시글도 조회되어야 하므로 left join
+                - 기존에는 BoardDetailDto 변환 시 files 지연 로딩으로 SQL이 한 번 더 나갔음
+            - 첨부파일 수만큼 행이 늘어나지만 Hibernate 6이 같은 Board로 중복 제거함
+            - 상세 조회, 수정 폼 조회, 수정 처리에서 사용
+     */
+    @Query("select b from Board b join fetch b.author left join fetch b.files where b.id = :id and b.status = :status")
+    Optional<Board> findDetailByIdAndStatus(Long id, BoardStatus status);
+    /*
+        게시글 상세 검증값 조회 (HTTP 조건부 요청용)
+            - 상세 캐시에 스냅샷이 없을 때 304 여부만 판단하기 위해 사용
+            - 본문/작성자/첨부파일 없이 board 행의 컬럼만 읽음 (PK 조회 1번)
+     */
+    @Query("select new com.library.dto.board.BoardDetailVersion(b.id, b.category, b.updatedAt, b.likeCount, b.commentCount) " +
+            "from Board b where b.id = :id and b.status = :status")
+    Optional<BoardDetailVersion> findDetailVersion(Long id, BoardStatus status);
+    /*
+        게시글 목록 조회용 Projection 쿼리 (BoardListDto 직접 생성)
+            - 목록 화면에 필요한 컬럼 + 작성자 이름만 select
+                - @Lob TEXT 컬럼인 content는 읽지 않음 => DB/네트워크 전송량, 힙 사용량 감소
+            - 생성자 표현식(select new ...)으로 DTO를 바로 만들기 때문에
+                - 영속성 컨텍스트에 엔티티가 올라가지 않음 (스냅샷/더티 체킹 비용 없음)
+                - author는 fetch join이 아닌 일반 join으로 이름만 가져옴
+            - 생성자 인자 순서는 BoardListDto 필드 선언 순서(@AllArgsConstructor)와 같아야 함
+     */
+    String LIST_PROJECTION = "select new com.library.dto.board.BoardListDto(" +
+            "b.createdAt, b.id, b.title, b.category, a.name, b.viewCount, b.likeCount, b.commentCount) " +
+            "from Board b join b.author a ";
+
+    /*
+        게시글 상태별 목록 조회(페이지 번호 방식 + Keyset(커서) 첫 페이지, count 쿼리 없음)
+            - (createdAt DESC, id DESC) 순서로 정렬
+            - idx_board_status_created_at_id 인덱스 (status, created_at, id) 사용
+            - Slice로 반환하여 count(b) 쿼리를 실행하지 않음 (size + 1건을 읽어 다음 페이지 존재 여부만 확인)
+            - 전체 개수는 BoardStatistics가 메모리에 유지하는 값을 사용함
+     */
+    @Query(LIST_PROJECTION +
+            "where b.status = :status " +
+            "order by b.createdAt desc, b.id desc")
+    Slice<BoardListDto> findListByStatus(BoardStatus status, Pageable pageable);
+    /*
+        카테고리별 목록 조회(페이지 번호 방식, count 쿼리 없음)
+            - idx_board_status_category_created_at 인덱스 (status, category, created_at, id) 사용
+                - 인덱스 순서대로 읽으므로 정렬(filesort) 없이 필요한 행까지만 읽음
+            - 전체 개수는 BoardStatistics의 카테고리별 집계값 사용
+     */
+    @Query(LIST_PROJECTION +
+            "where b.status = :status and b.category = :category " +
+            "order by b.createdAt desc, b.id desc")
+    Slice<BoardListDto> findListByStatusAndCategory(BoardStatus status, BoardCategory category, Pageable pageable);
+    /*
+        ID 목록으로 목록용 Projection 조회 (인기 게시글 표시용)
+            - PK IN 조회이므로 개수만큼만 읽음, 순서는 호출하는 쪽에서 맞춤
+     */
+    @Query(LIST_PROJECTION +
+            "where b.id in :ids and b.status = :status")
+    List<BoardListDto> findListByIdIn(Collection<Long> ids, BoardStatus status);
+    /*
+        게시글 목록 Keyset(커서) 조회 - 다음 페이지
+            - 마지막으로 본 행(createdAt, id) 보다 "뒤"에 있는 행부터 조회
+            - OFFSET이 없으므로 몇 번째 페이지든 인덱스에서 바로 시작 위치를 찾음
+     */
+    @Query(LIST_PROJECTION +
+            "where b.status = :status " +
+            "and (b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id)) " +
+            "order by b.createdAt desc, b.id desc")
+    Slice<BoardListDto> findListSliceAfter(BoardStatus status, LocalDateTime createdAt, Long id, Pageable pageable);
+    /*
+        상태 + 카테고리별 게시글 수 (집계 보정용)
+            - group by 한 번으로 모든 상태/카테고리 조합의 개수를 조회함
+     */
+    @Query("select b.status as status, b.category as category, count(b) as total " +
+            "from Board b group by b.status, b.category")
+    List<StatusCategoryCount> countGroupByStatusAndCategory();
+
+    // 상태/카테고리별 개수 조회 결과 (인터페이스 기반 Projection)
+    interface StatusCategoryCount {
+        BoardStatus getStatus();
+        BoardCategory getCategory();
+        Long getTotal();
+    }
+
+    /*
+        댓글 수 증감 (원자적 UPDATE)
+            - comment_count = comment_count + :delta 형태로 DB에서 직접 계산
+            - 엔티티를 읽고 더티 체킹으로 쓰는 방식과 달리 동시에 댓글이 달려도 값이 유실되지 않음
+            - 벌크 연산이므로 호출하는 쪽에 트랜잭션이 필요함
+     */
+    @Modifying
+    @Query("update Board b set b.commentCount = b.commentCount + :delta where b.id = :id")
+    int adjustCommentCount(Long id, long delta);
+
+    /*
+        저장된 댓글 수와 실제 활성 댓글 수를 한 쿼리로 조회 (보정 대상 비교용)
+            - 두 값을 같은 SQL 문에서 읽으므로 같은 시점의 값 (사이에 커밋된 댓글 작성/삭제가 한쪽에만 반영되지 않음)
+            - 보정은 차이(actual - stored)만큼 adjustCommentCount로 더함 (그 뒤에 커밋된 증감도 유지됨)
+     */
+    @Query("select b.id as boardId, b.commentCount as stored, " +
+            "(select count(c) from Comment c where c.board = b and c.status = :status) as actual " +
+            "from Board b where b.id in :ids")
+    List<CommentCountDrift> findCommentCountDrift(Collection<Long> ids, CommentStatus status);
+
+    interface CommentCountDrift {
+        Long getBoardId();
+        Long getStored();
+        Long getActual();
+    }
+
+    // ID 순으로 게시글 ID를 잘라서 조회 (배치 보정 작업용 Keyset 조회)
+    @Query("select b.id from Board b where b.id > :lastId order by b.id asc")
+    List<Long> findIdsAfter(Long lastId, Pageable pageable);
+
+    // 저장된 좋아요 수 조회 (ACTIVE 게시글만, 좋아요 API 응답용)
+    @Query("select b.likeCount from Board b where b.id = :id and b.status = :status")
+    Optional<Long> findLikeCount(Long id, BoardStatus status);
+
+    // 검색 결과 게시글 조회 (ID 목록, 작성자 Fetch Join)
+    @Query("select b from Board b join fetch b.author where b.id in :ids and b.status = :status")
+    List<Board> findAllByIdInAndStatusWithAuthor(Collection<Long> ids, BoardStatus status);
+
+    // 게시글 상태 확인 (댓글 스트림 구독 전 확인용)
+    boolean existsByIdAndStatus(Long id, BoardStatus status);
+
+    // 게시글 작성자 이메일 조회 (수정 요청의 첨부파일을 저장하기 전 권한 확인용)
+    @Query("select a.email from Board b join b.author a where b.id = :id and b.status = :status")
+    Optional<String> findAuthorEmailByIdAndStatus(Long id, BoardStatus status);
+
+    // 검색 색인 초기 구축용 (ID 순 Keyset 조회, 제목/본문만)
+    @Query("select b.id as id, b.title as title, b.content as content from Board b " +
+            "where b.status = :status and b.id > :lastId order by b.id asc")
+    List<SearchDocument> findSearchDocumentsAfter(BoardStatus status, Long lastId, Pageable pageable);
+
+    /*
+        검색 색인 복구용 (재시작 시 마지막 flush 이후 수정된 게시글, 상태와 상관없이 ID 순 Keyset 조회)
+            - 삭제/숨김도 updated_at이 바뀌므로 상태를 함께 읽어 색인에서 제거함
+     */
+    @Query("select b.id as id, b.title as title, b.content as content, b.status as status from Board b " +
+            "where b.updatedAt > :since and b.id > :lastId order by b.id asc")
+    List<ChangedSearchDocument> findSearchDocumentsUpdatedAfter(LocalDateTime since, Long lastId, Pageable pageable);
+
+    interface SearchDocument {
+        Long getId();
+        String getTitle();
+        String getContent();
+    }
+
+    interface ChangedSearchDocument extends SearchDocument {
+        BoardStatus getStatus();
+    }
 }
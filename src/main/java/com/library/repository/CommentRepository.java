@@ -1,12 +1,22 @@
 package com.library.repository;
 
+import com.library.dto.comment.CommentRow;
 import com.library.entity.board.Board;
 import com.library.entity.comment.Comment;
 import com.library.entity.comment.CommentStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 public interface CommentRepository extends CrudRepository<Comment, Long> {
@@ -18,6 +28,65 @@ public interface CommentRepository extends CrudRepository<Comment, Long> {
     @Query("select c FROM Comment c join fetch c.author where c.board.id = :boardId and c.status = :status " +
             "order by c.createdAt asc ")
     List<Comment> findByBoardIdAndStatus(Long boardId, CommentStatus status);
+    /*
+        특정 게시글 활성화 상태 댓글 전체를 Projection 스트림으로 조회 (전체 목록 JSON 출력용)
+            - Entity 대신 필요한 컬럼만 CommentRow로 받으므로 영속성 컨텍스트에 쌓이지 않음
+            - 결과를 List로 모으지 않고 fetch size 단위로 읽으며 바로 출력
+                - MySQL에서 실제로 나눠 읽으려면 useCursorFetch=true 필요 (없으면 드라이버가 결과를 한 번에 받음)
+            - 트랜잭션 안에서 사용하고 반드시 close 해야 함 (try-with-resources)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.library.dto.comment.CommentRow(c.id, c.content, a.name, a.email, c.createdAt, c.updatedAt, c.parentId, c.depth) " +
+            "from Comment c join c.author a where c.board.id = :boardId and c.status = :status " +
+            "order by c.createdAt asc, c.id asc")
+    Stream<CommentRow> streamRowsByBoardIdAndStatus(Long boardId, CommentStatus status);
+    /*
+        특정 게시글 최상위 댓글 Keyset(커서) 조회 - 첫 페이지
+            - 답글(parent_id가 있는 댓글)은 제외하고 최상위 댓글만 (createdAt ASC, id ASC) 순서로 정렬
+            - Slice 반환 : count 쿼리 없이 size + 1건을 읽어 다음 페이지 존재 여부만 확인
+            - idx_comment_board_status_parent_created_at_id 인덱스 (board_id, status, parent_id, created_at, id) 사용
+     */
+    @Query("select c FROM Comment c join fetch c.author where c.board.id = :boardId and c.status = :status " +
+            "and c.parentId is null order by c.createdAt asc, c.id asc")
+    Slice<Comment> findFirstSlice(Long boardId, CommentStatus status, Pageable pageable);
+    /*
+        특정 게시글 최상위 댓글 Keyset(커서) 조회 - 다음 페이지
+            - 마지막으로 본 최상위 댓글(createdAt, id) 보다 "뒤"에 있는 댓글부터 조회
+            - 댓글이 수만 건이어도 인덱스에서 바로 시작 위치를 찾으므로 뒤 페이지도 일정한 속도
+     */
+    @Query("select c FROM Comment c join fetch c.author where c.board.id = :boardId and c.status = :status " +
+            "and c.parentId is null and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) " +
+            "order by c.createdAt asc, c.id asc")
+    Slice<Comment> findSliceAfter(Long boardId, CommentStatus status, LocalDateTime createdAt, Long id, Pageable pageable);
+    /*
+        여러 스레드의 답글을 한 번에 조회 (최상위 댓글 한 페이지의 답글)
+            - root_id IN 조건 + depth 제한, path 순으로 정렬하면 스레드별로 부모 다음에 자식이 오는 순서가 됨
+            - idx_comment_root_path 인덱스 (root_id, path) 사용, 깊이와 상관없이 쿼리 한 번
+     */
+    @Query("select c FROM Comment c join fetch c.author where c.rootId in :rootIds and c.status = :status " +
+            "and c.depth <= :maxDepth order by c.path asc")
+    List<Comment> findRepliesByRootIds(Collection<Long> rootIds, CommentStatus status, int maxDepth);
+    /*
+        하위 트리 조회 (특정 답글 아래의 답글)
+            - 같은 스레드(root_id)에서 path가 부모 경로로 시작하는 댓글 = 하위 트리 전체 => 인덱스 범위 조회 한 번
+            - minDepth로 기준 댓글 자신을 제외하고, maxDepth로 깊이를 제한
+        @param pathPrefix 기준 댓글 path + "%"
+     */
+    @Query("select c FROM Comment c join fetch c.author where c.rootId = :rootId and c.path like :pathPrefix " +
+            "and c.status = :status and c.depth > :minDepth and c.depth <= :maxDepth order by c.path asc")
+    List<Comment> findSubtree(Long rootId, String pathPrefix, CommentStatus status, int minDepth, int maxDepth);
+    /*
+        하위 트리 일괄 삭제 (soft delete)
+            - 댓글을 삭제할 때 그 아래 답글도 함께 DELETED로 바꿈 (화면에서 숨겨지는 답글이 댓글 수에 남지 않도록)
+            - findSubtree와 같은 (root_id, path) 인덱스 범위, minDepth로 기준 댓글 자신은 제외
+        @param pathPrefix 기준 댓글 path + "%"
+        @return 삭제된 답글 수
+     */
+    @Modifying
+    @Query("update Comment c set c.status = com.library.entity.comment.CommentStatus.DELETED " +
+            "where c.rootId = :rootId and c.path like :pathPrefix and c.depth > :minDepth " +
+            "and c.status = com.library.entity.comment.CommentStatus.ACTIVE")
+    int deleteSubtree(Long rootId, String pathPrefix, int minDepth);
     /*
         특정 게시글 활성 상태 댓글 갯수 조회
             - spring data jpa의 쿼리 메소드 네이밍 규칙 사용
@@ -26,4 +95,19 @@ public interface CommentRepository extends CrudRepository<Comment, Long> {
      */
     Long countByBoardIdAndStatus(Long boardId, CommentStatus status);
     long countByBoardAndStatus(Board board, CommentStatus status);
+    /*
+        여러 게시글의 활성 댓글 수를 한 번에 조회
+            - 게시글마다 countByBoardIdAndStatus를 호출하면 N번의 쿼리가 실행됨
+            - group by board_id 로 한 페이지 분량의 게시글 댓글 수를 SQL 한 번에 집계
+            - 댓글이 없는 게시글은 결과에 포함되지 않음 (0으로 처리)
+     */
+    @Query("select c.board.id as boardId, count(c) as total from Comment c " +
+            "where c.board.id in :boardIds and c.status = :status group by c.board.id")
+    List<BoardCommentCount> countGroupByBoardIds(Collection<Long> boardIds, CommentStatus status);
+
+    // 게시글별 댓글 수 조회 결과 (인터페이스 기반 Projection)
+    interface BoardCommentCount {
+        Long getBoardId();
+        Long getTotal();
+    }
 }
@@ -0,0 +1,82 @@
+package com.library.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+    검색용 토크나이저 (한글 2-gram)
+        - 한글은 조사/어미가 붙어서 공백 단위로 자르면 검색이 잘 안 됨
+            - 예) "도서관에서" 로 저장된 글을 "도서관" 으로 찾을 수 없음
+        - 한글(한자, 일본어 포함) 구간은 글자 2개씩 겹쳐서 자름 (bigram)
+            - "도서관에서" => [도서, 서관, 관에, 에서]
+            - "도서관" => [도서, 서관] => 위 문서와 매칭됨
+            - 한 글자 단어는 그대로 한 글자 토큰
+        - 영문/숫자 구간은 단어 그대로 사용 (소문자 변환)
+            - "Spring부트" => [spring, 부트]
+        - 문서와 검색어에 같은 토크나이저를 사용해야 함
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = normalize(text);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = normalized.codePointAt(i);
+            if (!Character.isLetterOrDigit(codePoint)) {
+                i += Character.charCount(codePoint);
+                continue;
+            }
+            // 같은 종류(CJK / 그 외)의 글자가 이어지는 구간을 하나의 run으로 자름
+            boolean cjk = isCjk(codePoint);
+            int start = i;
+            while (i < length) {
+                int current = normalized.codePointAt(i);
+                if (!Character.isLetterOrDigit(current) || isCjk(current) != cjk) {
+                    break;
+                }
+                i += Character.charCount(current);
+            }
+            String run = normalized.substring(start, i);
+            if (cjk) {
+                addBigrams(run, tokens);
+            } else {
+                tokens.add(run);
+            }
+        }
+        return tokens;
+    }
+
+    // 유니코드 정규화(NFC, 한글 자모 조합) + 소문자 변환
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    private static void addBigrams(String run, List<String> tokens) {
+        int[] codePoints = run.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int i = 0; i < codePoints.length - 1; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
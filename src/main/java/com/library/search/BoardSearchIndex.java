@@ -0,0 +1,486 @@
+package com.library.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    게시글 전문 검색 색인 (역색인 + BM25)
+        - LIKE '%검색어%' 는 인덱스를 탈 수 없어 게시글이 많아지면 전체 스캔이 됨
+            => 제목/본문을 BigramTokenizer로 잘라 "토큰 => 게시글" 역색인을 별도로 유지
+        - 구성
+            - 메모리 버퍼(MemorySegment) : 최근 추가/수정된 게시글, 주기적으로 파일로 flush
+            - 디스크 세그먼트(IndexSegment) : 불변 파일, 시작 시 메모리 맵으로 열기만 함 (DB에서 재색인 불필요)
+            - 삭제 마커 : 게시글 ID => 세대 번호, 마커보다 오래된 세대의 문서는 검색에서 제외
+        - 상태 파일(index.state)
+            - built : 초기 구축이 끝났는지 (구축 도중 종료되어 파일이 없으면 재시작 시 처음부터 다시 구축)
+            - checkpoint : 마지막으로 세그먼트 파일에 기록된 버퍼가 받은 마지막 변경 시각 (epoch ms)
+                - flush 전에 종료되면 메모리 버퍼의 변경이 사라지므로, 재시작 시 이 시각 이후 수정된 게시글을 다시 색인함
+        - 세그먼트가 max-segments 개를 넘으면 전체를 하나로 병합(full merge)
+            - 초기 구축 중에는 chunk마다 세그먼트만 기록하고 병합은 구축이 끝난 뒤 한 번만 수행
+            - 병합은 락 밖에서 수행하므로 병합 중에도 검색/색인 가능
+            - 병합 결과는 새 파일로 만든 뒤 교체하고, 이전 파일은 오래된 세대부터 삭제함
+              (중간에 장애가 나도 재시작 시 병합 파일에 포함된 세그먼트를 정리함)
+        - 점수 계산 : BM25 (k1 = 1.2, b = 0.75)
+            - 문서 수, 평균 길이, df는 세그먼트 합계를 사용하는 근사값 (삭제된 문서가 병합 전까지 포함됨)
+            - 제목 토큰은 TITLE_WEIGHT 배로 계산
+        - 설정
+            - search.index-dir : 색인 파일 디렉토리 (기본 search-index)
+            - search.index.flush-interval-ms : 메모리 버퍼 flush 주기 (기본 10초)
+            - search.index.max-segments : 병합 기준 세그먼트 수 (기본 8)
+ */
+@Slf4j
+@Component
+public class BoardSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final String SEGMENT_PREFIX = "seg-";
+    private static final String SEGMENT_SUFFIX = ".idx";
+    private static final String STATE_FILE = "index.state";
+
+    private final Path indexDir;
+    private final int maxSegments;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 아래 필드는 lock 으로 보호됨
+    private final Map<Long, Long> markers = new HashMap<>();
+    private volatile List<IndexSegment> segments = List.of();
+    private MemorySegment active = new MemorySegment(1);
+    private MemorySegment flushing;
+    // flushing 버퍼로 옮긴 시각 (이 시각 전에 반영된 변경은 모두 flushing 버퍼에 있음)
+    private long flushingSince;
+    private volatile boolean built = false;
+    private volatile long checkpoint = 0;
+    private volatile boolean bulkLoading = false;
+
+    @Autowired
+    public BoardSearchIndex(@Value("${search.index-dir:search-index}") String indexDir,
+                            @Value("${search.index.max-segments:8}") int maxSegments) {
+        this.indexDir = Paths.get(indexDir).toAbsolutePath().normalize();
+        this.maxSegments = maxSegments;
+    }
+
+    /*
+        색인 디렉토리의 세그먼트 파일 열기
+            - 쓰다 만 임시 파일(.tmp) 삭제
+            - 병합 파일에 이미 포함된 세그먼트(병합 후 삭제 전에 종료된 경우) 삭제
+            - 세그먼트에 저장된 삭제 마커를 모아 메모리에 올림
+            - 상태 파일에서 구축 완료 여부와 checkpoint를 읽음
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(indexDir);
+        List<IndexSegment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(indexDir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    loaded.add(IndexSegment.open(file));
+                }
+            }
+        }
+        List<IndexSegment> live = new ArrayList<>();
+        for (IndexSegment segment : loaded) {
+            boolean covered = loaded.stream().anyMatch(other -> other != segment
+                    && other.getBaseGeneration() <= segment.getBaseGeneration()
+                    && segment.getGeneration() <= other.getGeneration()
+                    && other.getGeneration() - other.getBaseGeneration() > segment.getGeneration() - segment.getBaseGeneration());
+            if (covered) {
+                deleteQuietly(segment.getPath());
+            } else {
+                live.add(segment);
+            }
+        }
+        live.sort(Comparator.comparingLong(IndexSegment::getGeneration));
+        lock.writeLock().lock();
+        try {
+            markers.clear();
+            for (IndexSegment segment : live) {
+                segment.getMarkers().forEach((boardId, generation) -> markers.merge(boardId, generation, Math::max));
+            }
+            segments = List.copyOf(live);
+            long lastGeneration = live.isEmpty() ? 0 : live.get(live.size() - 1).getGeneration();
+            active = new MemorySegment(lastGeneration + 1);
+            flushing = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        readState();
+        log.info("검색 색인 로드 완료 - 세그먼트 {}개, 구축 완료 : {}, 디렉토리 : {}", live.size(), built, indexDir);
+    }
+
+    // 새 게시글 색인 (이전 세그먼트에 같은 ID가 없는 경우)
+    public void add(long boardId, String title, String content) {
+        put(boardId, title, content, false);
+    }
+
+    // 수정된 게시글 재색인 (이전 세그먼트의 문서는 삭제 마커로 무효화)
+    public void update(long boardId, String title, String content) {
+        put(boardId, title, content, true);
+    }
+
+    // 삭제/숨김 처리된 게시글을 검색에서 제외
+    public void remove(long boardId) {
+        lock.writeLock().lock();
+        try {
+            markDeleted(boardId);
+            active.remove(boardId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.readLock().lock();
+        try {
+            return segments.isEmpty() && active.isEmpty() && flushing == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 초기 구축이 끝난 색인인지 (상태 파일 기준)
+    public boolean isBuilt() {
+        return built;
+    }
+
+    // 마지막으로 파일에 기록된 변경 시각 (epoch ms, 기록된 적이 없으면 0)
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /*
+        초기 구축 시작
+            - 기존 세그먼트와 상태 파일을 모두 지우고 빈 색인에서 시작 (구축 도중 종료된 색인 정리)
+            - 구축이 끝날 때까지 flush는 세그먼트만 기록하고 병합하지 않음
+     */
+    public synchronized void startBuild() throws IOException {
+        lock.writeLock().lock();
+        try {
+            segments = List.of();
+            markers.clear();
+            active = new MemorySegment(1);
+            flushing = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        built = false;
+        checkpoint = 0;
+        bulkLoading = true;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(indexDir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.equals(STATE_FILE) || (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /*
+        초기 구축 완료
+            - 남은 버퍼를 기록하고, 세그먼트가 많으면 한 번만 병합한 뒤 상태 파일에 완료 표시
+        @param startedAt 구축을 시작한 시각 (이 시각 전에 수정된 게시글은 모두 구축에서 읽음)
+     */
+    public synchronized void finishBuild(long startedAt) throws IOException {
+        bulkLoading = false;
+        flush();
+        if (flushing != null) {
+            throw new IOException("검색 색인 구축 마지막 flush 실패");
+        }
+        if (segments.size() > maxSegments) {
+            merge();
+        }
+        built = true;
+        checkpoint = Math.max(checkpoint, startedAt);
+        writeState();
+    }
+
+    /*
+        검색
+            - 검색어를 토큰화하여 각 토큰의 포스팅 목록을 모든 세그먼트에서 읽어 BM25 점수를 합산
+            - 점수 내림차순(같으면 최신 게시글 ID 우선)으로 정렬 후 offset ~ offset + limit 범위만 반환
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(BigramTokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return new SearchHits(0, List.of(), terms);
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            List<PostingSource> sources = sources();
+            long docCount = 0;
+            long totalLength = 0;
+            for (PostingSource source : sources) {
+                docCount += source.docCount();
+                totalLength += source.getTotalLength();
+            }
+            if (docCount == 0) {
+                return new SearchHits(0, List.of(), terms);
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / docCount);
+            for (String term : terms) {
+                long df = 0;
+                for (PostingSource source : sources) {
+                    df += source.docFrequency(term);
+                }
+                if (df == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+                for (PostingSource source : sources) {
+                    long generation = source.getGeneration();
+                    source.forEachPosting(term, (boardId, tf, docLength) -> {
+                        if (isLive(boardId, generation)) {
+                            double norm = tf + K1 * (1 - B + B * docLength / averageLength);
+                            scores.merge(boardId, idf * tf * (K1 + 1) / norm, Double::sum);
+                        }
+                    });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> boardIds = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new SearchHits(scores.size(), boardIds, terms);
+    }
+
+    /*
+        메모리 버퍼를 세그먼트 파일로 기록
+            - 버퍼를 flushing으로 옮기고 새 버퍼를 만든 뒤, 파일 쓰기는 락 밖에서 수행
+              (쓰는 동안에도 flushing 버퍼가 검색에 포함됨)
+            - 기록이 끝나면 checkpoint를 버퍼로 옮긴 시각으로 갱신 (구축이 끝난 색인이면 상태 파일에도 기록)
+            - 세그먼트 수가 max-segments를 넘으면 병합 (초기 구축 중에는 병합하지 않음)
+     */
+    @Scheduled(initialDelayString = "${search.index.flush-interval-ms:10000}", fixedDelayString = "${search.index.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        MemorySegment target;
+        long since;
+        lock.writeLock().lock();
+        try {
+            if (flushing == null) {
+                if (active.isEmpty()) {
+                    return;
+                }
+                flushing = active;
+                flushingSince = System.currentTimeMillis();
+                active = new MemorySegment(flushing.getGeneration() + 1);
+            }
+            // flushing이 남아있으면 이전 flush가 실패한 것이므로 그 버퍼부터 다시 기록
+            target = flushing;
+            since = flushingSince;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Path path = segmentPath(target.getGeneration(), target.getGeneration());
+            target.writeTo(path);
+            IndexSegment segment = IndexSegment.open(path);
+            lock.writeLock().lock();
+            try {
+                List<IndexSegment> next = new ArrayList<>(segments);
+                next.add(segment);
+                segments = List.copyOf(next);
+                flushing = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("검색 색인 flush 완료 - 세대 {}, 문서 {}건", target.getGeneration(), target.docCount());
+        } catch (IOException e) {
+            log.error("검색 색인 flush 실패 - 세대 {}", target.getGeneration(), e);
+            return;
+        }
+        checkpoint = since;
+        if (built) {
+            try {
+                writeState();
+            } catch (IOException e) {
+                // 이전 checkpoint가 남으므로 재시작 시 다시 색인하는 게시글이 늘어날 뿐
+                log.warn("검색 색인 상태 파일 기록 실패", e);
+            }
+        }
+        if (!bulkLoading && segments.size() > maxSegments) {
+            merge();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /*
+        전체 병합
+            - 현재 세그먼트 목록을 스냅샷으로 잡고, 살아있는 문서만 모아 새 세그먼트 하나로 기록
+            - 병합 결과의 세대 = 입력 중 가장 최신 세대, base = 가장 오래된 세대
+            - 병합 중 새로 생긴 세그먼트는 그대로 유지됨
+            - 병합 결과에 반영된 삭제 마커(세대 <= 병합 세대)는 메모리에서도 제거
+     */
+    synchronized void merge() {
+        List<IndexSegment> inputs;
+        Map<Long, Long> markerSnapshot;
+        lock.readLock().lock();
+        try {
+            inputs = segments;
+            markerSnapshot = new HashMap<>(markers);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (inputs.size() < 2) {
+            return;
+        }
+        long baseGeneration = inputs.get(0).getBaseGeneration();
+        long generation = inputs.get(inputs.size() - 1).getGeneration();
+        Map<Long, Integer> docLengths = new LinkedHashMap<>();
+        TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        for (IndexSegment segment : inputs) {
+            long segmentGeneration = segment.getGeneration();
+            for (String term : segment.terms()) {
+                segment.forEachPosting(term, (boardId, tf, docLength) -> {
+                    Long marker = markerSnapshot.get(boardId);
+                    if (marker == null || marker <= segmentGeneration) {
+                        docLengths.put(boardId, docLength);
+                        postings.computeIfAbsent(term, key -> new HashMap<>()).put(boardId, tf);
+                    }
+                });
+            }
+        }
+        try {
+            Path path = segmentPath(baseGeneration, generation);
+            IndexSegment.write(path, baseGeneration, generation, Map.of(), docLengths, postings);
+            IndexSegment merged = IndexSegment.open(path);
+            lock.writeLock().lock();
+            try {
+                List<IndexSegment> next = new ArrayList<>();
+                next.add(merged);
+                next.addAll(segments.subList(inputs.size(), segments.size()));
+                segments = List.copyOf(next);
+                markers.values().removeIf(markerGeneration -> markerGeneration <= generation);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // 오래된 세대부터 삭제 (중간에 종료되어도 남은 마커가 남은 문서를 계속 가림)
+            for (IndexSegment input : inputs) {
+                deleteQuietly(input.getPath());
+            }
+            log.info("검색 색인 병합 완료 - 세그먼트 {}개 => 1개, 문서 {}건", inputs.size(), docLengths.size());
+        } catch (IOException e) {
+            log.error("검색 색인 병합 실패", e);
+        }
+    }
+
+    // 상태 파일 읽기 (없으면 구축 전 또는 구축 도중 종료된 색인)
+    private void readState() throws IOException {
+        Path path = indexDir.resolve(STATE_FILE);
+        built = false;
+        checkpoint = 0;
+        if (!Files.exists(path)) {
+            return;
+        }
+        Properties state = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            state.load(reader);
+        }
+        built = Boolean.parseBoolean(state.getProperty("built"));
+        checkpoint = Long.parseLong(state.getProperty("checkpoint", "0"));
+    }
+
+    // 상태 파일 쓰기 (임시 파일에 쓰고 원자적으로 교체, 남은 .tmp는 open()에서 삭제됨)
+    private void writeState() throws IOException {
+        Path path = indexDir.resolve(STATE_FILE);
+        Path temp = path.resolveSibling(STATE_FILE + ".tmp");
+        Properties state = new Properties();
+        state.setProperty("built", Boolean.toString(built));
+        state.setProperty("checkpoint", Long.toString(checkpoint));
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            state.store(writer, null);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // 검색 대상 (오래된 세대 => 최신 세대 순)
+    private List<PostingSource> sources() {
+        List<PostingSource> sources = new ArrayList<>(segments);
+        if (flushing != null) {
+            sources.add(flushing);
+        }
+        sources.add(active);
+        return sources;
+    }
+
+    private boolean isLive(long boardId, long generation) {
+        Long marker = markers.get(boardId);
+        return marker == null || marker <= generation;
+    }
+
+    private void markDeleted(long boardId) {
+        markers.put(boardId, active.getGeneration());
+        active.mark(boardId);
+    }
+
+    private void put(long boardId, String title, String content, boolean replace) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = countTerms(title, TITLE_WEIGHT, termFrequencies) + countTerms(content, 1, termFrequencies);
+        lock.writeLock().lock();
+        try {
+            if (replace) {
+                markDeleted(boardId);
+            }
+            active.put(boardId, termFrequencies, length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int countTerms(String text, int weight, Map<String, Integer> termFrequencies) {
+        List<String> tokens = BigramTokenizer.tokenize(text);
+        for (String token : tokens) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private Path segmentPath(long baseGeneration, long generation) {
+        return indexDir.resolve(SEGMENT_PREFIX + baseGeneration + "-" + generation + SEGMENT_SUFFIX);
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("검색 색인 파일 삭제 실패 : {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.library.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+/*
+    역색인 세그먼트 파일 (불변)
+        - 한 번 쓰면 수정하지 않는 파일 단위 역색인
+        - 시작 시 파일을 메모리 맵(mmap)으로 열기 때문에 DB에서 색인을 다시 만들 필요가 없음
+            - 용어 사전(term => 위치)만 힙에 올리고, 포스팅 목록은 mmap 영역에서 바로 읽음
+        - 파일 구조 (DataOutputStream, big-endian)
+            int    MAGIC
+            long   baseGeneration              병합된 세그먼트면 포함하는 가장 오래된 세대, 아니면 generation과 동일
+            long   generation                  세그먼트 세대 번호
+            int    markerCount                 삭제 마커 수
+              (long boardId, long generation)*   이 세대에서 삭제/재색인된 게시글
+            int    docCount                    문서 수
+              (long boardId, int length)*        문서 순번(ordinal) 순서
+            int    termCount                   용어 수 (사전순)
+              (int byteLength, byte[] utf8, int df, (int ordinal, int tf)*df)*
+        - 삭제 마커
+            - 마커(boardId => g)가 있으면 세대가 g보다 작은 세그먼트의 해당 문서는 무시됨
+            - 게시글 수정/삭제 시 기존 세그먼트 파일을 고치지 않고 마커만 추가하는 방식
+ */
+public class IndexSegment implements PostingSource {
+    private static final int MAGIC = 0x42534731;    // "BSG1"
+
+    private final Path path;
+    private final long baseGeneration;
+    private final long generation;
+    private final MappedByteBuffer buffer;
+    private final Map<Long, Long> markers;
+    private final long[] boardIds;
+    private final int[] lengths;
+    private final long totalLength;
+    private final Map<String, Integer> postingOffsets;
+
+    private IndexSegment(Path path, long baseGeneration, long generation, MappedByteBuffer buffer, Map<Long, Long> markers,
+                         long[] boardIds, int[] lengths, long totalLength, Map<String, Integer> postingOffsets) {
+        this.path = path;
+        this.baseGeneration = baseGeneration;
+        this.generation = generation;
+        this.buffer = buffer;
+        this.markers = markers;
+        this.boardIds = boardIds;
+        this.lengths = lengths;
+        this.totalLength = totalLength;
+        this.postingOffsets = postingOffsets;
+    }
+
+    /*
+        세그먼트 파일 열기
+            - 파일 전체를 READ_ONLY로 메모리 맵
+            - 헤더, 마커, 문서 목록, 용어 사전만 읽어 힙에 올림
+     */
+    public static IndexSegment open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("검색 색인 세그먼트 형식이 아닙니다: " + path);
+        }
+        long baseGeneration = buffer.getLong();
+        long generation = buffer.getLong();
+        int markerCount = buffer.getInt();
+        Map<Long, Long> markers = new HashMap<>();
+        for (int i = 0; i < markerCount; i++) {
+            markers.put(buffer.getLong(), buffer.getLong());
+        }
+        int docCount = buffer.getInt();
+        long[] boardIds = new long[docCount];
+        int[] lengths = new int[docCount];
+        long totalLength = 0;
+        for (int i = 0; i < docCount; i++) {
+            boardIds[i] = buffer.getLong();
+            lengths[i] = buffer.getInt();
+            totalLength += lengths[i];
+        }
+        int termCount = buffer.getInt();
+        Map<String, Integer> postingOffsets = new HashMap<>(termCount * 2);
+        for (int i = 0; i < termCount; i++) {
+            byte[] termBytes = new byte[buffer.getInt()];
+            buffer.get(termBytes);
+            int offset = buffer.position();
+            int df = buffer.getInt();
+            postingOffsets.put(new String(termBytes, StandardCharsets.UTF_8), offset);
+            buffer.position(buffer.position() + df * 8);    // (ordinal, tf) 쌍 건너뛰기
+        }
+        return new IndexSegment(path, baseGeneration, generation, buffer, Collections.unmodifiableMap(markers),
+                boardIds, lengths, totalLength, postingOffsets);
+    }
+
+    /*
+        세그먼트 파일 쓰기
+            - 임시 파일에 쓰고 디스크 동기화(fsync) 후 원자적으로 이름 변경
+            - 쓰는 도중 장애가 나도 반쯤 쓰인 세그먼트가 읽히지 않음
+        @param docLengths 문서 ID => 문서 길이 (반복 순서가 문서 순번이 됨)
+        @param postings   용어(사전순) => (문서 ID => 출현 횟수)
+     */
+    public static void write(Path path, long baseGeneration, long generation, Map<Long, Long> markers,
+                             Map<Long, Integer> docLengths, SortedMap<String, Map<Long, Integer>> postings) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Map<Long, Integer> ordinals = new HashMap<>(docLengths.size() * 2);
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeLong(baseGeneration);
+            out.writeLong(generation);
+            out.writeInt(markers.size());
+            for (Map.Entry<Long, Long> marker : markers.entrySet()) {
+                out.writeLong(marker.getKey());
+                out.writeLong(marker.getValue());
+            }
+            out.writeInt(docLengths.size());
+            for (Map.Entry<Long, Integer> doc : docLengths.entrySet()) {
+                ordinals.put(doc.getKey(), ordinals.size());
+                out.writeLong(doc.getKey());
+                out.writeInt(doc.getValue());
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Map<Long, Integer>> term : postings.entrySet()) {
+                byte[] termBytes = term.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(termBytes.length);
+                out.write(termBytes);
+                out.writeInt(term.getValue().size());
+                for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+                    out.writeInt(ordinals.get(posting.getKey()));
+                    out.writeInt(posting.getValue());
+                }
+            }
+            out.flush();
+            fileOut.getChannel().force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public int docFrequency(String term) {
+        Integer offset = postingOffsets.get(term);
+        return offset == null ? 0 : buffer.getInt(offset);
+    }
+
+    // 용어의 포스팅 목록을 mmap 영역에서 직접 순회 (절대 위치 읽기라 여러 스레드에서 동시에 호출 가능)
+    @Override
+    public void forEachPosting(String term, PostingVisitor visitor) {
+        Integer offset = postingOffsets.get(term);
+        if (offset == null) {
+            return;
+        }
+        int df = buffer.getInt(offset);
+        int position = offset + 4;
+        for (int i = 0; i < df; i++) {
+            int ordinal = buffer.getInt(position);
+            int termFrequency = buffer.getInt(position + 4);
+            visitor.visit(boardIds[ordinal], termFrequency, lengths[ordinal]);
+            position += 8;
+        }
+    }
+
+    public Iterable<String> terms() {
+        return postingOffsets.keySet();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getBaseGeneration() {
+        return baseGeneration;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
+    }
+
+    public Map<Long, Long> getMarkers() {
+        return markers;
+    }
+
+    @Override
+    public int docCount() {
+        return boardIds.length;
+    }
+
+    @Override
+    public long getTotalLength() {
+        return totalLength;
+    }
+}
@@ -0,0 +1,94 @@
+package com.library.search;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+    메모리 색인 버퍼
+        - 마지막 flush 이후 추가/수정된 게시글을 모아두는 쓰기 가능한 세그먼트
+        - flush 시 같은 세대 번호의 IndexSegment 파일로 기록됨
+        - 스레드 안전하지 않음 (BoardSearchIndex의 읽기/쓰기 락 안에서만 사용)
+ */
+class MemorySegment implements PostingSource {
+    private final long generation;
+    private final Map<Long, Map<String, Integer>> docTerms = new LinkedHashMap<>();
+    private final Map<Long, Integer> docLengths = new LinkedHashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Long> markers = new HashMap<>();
+    private long totalLength = 0;
+
+    MemorySegment(long generation) {
+        this.generation = generation;
+    }
+
+    // 문서 추가 (같은 ID가 이미 있으면 교체)
+    void put(long boardId, Map<String, Integer> termFrequencies, int length) {
+        remove(boardId);
+        docTerms.put(boardId, termFrequencies);
+        docLengths.put(boardId, length);
+        totalLength += length;
+        termFrequencies.forEach((term, tf) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(boardId, tf));
+    }
+
+    void remove(long boardId) {
+        Map<String, Integer> terms = docTerms.remove(boardId);
+        if (terms == null) {
+            return;
+        }
+        totalLength -= docLengths.remove(boardId);
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(boardId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // 이전 세대 세그먼트의 문서를 무효화하는 삭제 마커 (파일로 기록될 때 함께 저장됨)
+    void mark(long boardId) {
+        markers.put(boardId, generation);
+    }
+
+    boolean isEmpty() {
+        return docTerms.isEmpty() && markers.isEmpty();
+    }
+
+    void writeTo(Path path) throws IOException {
+        IndexSegment.write(path, generation, generation, markers, docLengths, new TreeMap<>(postings));
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public int docCount() {
+        return docTerms.size();
+    }
+
+    @Override
+    public long getTotalLength() {
+        return totalLength;
+    }
+
+    @Override
+    public int docFrequency(String term) {
+        Map<Long, Integer> posting = postings.get(term);
+        return posting == null ? 0 : posting.size();
+    }
+
+    @Override
+    public void forEachPosting(String term, PostingVisitor visitor) {
+        Map<Long, Integer> posting = postings.get(term);
+        if (posting == null) {
+            return;
+        }
+        posting.forEach((boardId, tf) -> visitor.visit(boardId, tf, docLengths.get(boardId)));
+    }
+}
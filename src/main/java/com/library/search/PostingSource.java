@@ -0,0 +1,26 @@
+package com.library.search;
+
+/*
+    포스팅 목록 제공자
+        - 디스크 세그먼트(IndexSegment)와 메모리 버퍼(MemorySegment)를 검색 시 같은 방식으로 읽기 위한 인터페이스
+        - generation : 이 소스의 세대 번호 (삭제 마커와 비교하여 문서가 살아있는지 판단)
+ */
+public interface PostingSource {
+
+    // 포스팅 목록 방문자 (게시글 ID, 출현 횟수, 문서 길이)
+    @FunctionalInterface
+    interface PostingVisitor {
+        void visit(long boardId, int termFrequency, int docLength);
+    }
+
+    long getGeneration();
+
+    int docCount();
+
+    long getTotalLength();
+
+    // 용어의 문서 빈도(df), 없으면 0
+    int docFrequency(String term);
+
+    void forEachPosting(String term, PostingVisitor visitor);
+}
@@ -0,0 +1,94 @@
+package com.library.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/*
+    검색어 하이라이트
+        - 원문에서 검색 토큰과 일치하는 부분을 <mark>로 감싼 HTML을 만듦
+        - 원문은 HtmlUtils로 escape 하므로 th:utext로 출력해도 안전함
+        - 토큰이 bigram이므로 "도서관" 검색 시 "도서", "서관" 이 이어져 "도서관" 전체가 표시됨
+ */
+public final class SearchHighlighter {
+    private static final String ELLIPSIS = "…";
+
+    private SearchHighlighter() {
+    }
+
+    // 전체 텍스트 하이라이트 (제목용)
+    public static String highlight(String text, Collection<String> terms) {
+        if (text == null) {
+            return "";
+        }
+        return render(text, mark(text, terms), 0, text.length());
+    }
+
+    /*
+        본문 요약 하이라이트
+            - 첫 번째 일치 위치 앞쪽 1/3 지점부터 maxLength 글자만 잘라서 보여줌
+            - 잘린 경우 앞/뒤에 말줄임표 추가
+     */
+    public static String snippet(String text, Collection<String> terms, int maxLength) {
+        if (text == null) {
+            return "";
+        }
+        boolean[] marked = mark(text, terms);
+        int first = 0;
+        while (first < marked.length && !marked[first]) {
+            first++;
+        }
+        if (first == marked.length) {
+            first = 0;
+        }
+        int start = Math.max(0, Math.min(first - maxLength / 3, text.length() - maxLength));
+        int end = Math.min(text.length(), start + maxLength);
+        // 서로게이트 쌍 중간에서 자르지 않도록 보정
+        if (start > 0 && Character.isLowSurrogate(text.charAt(start))) {
+            start--;
+        }
+        if (end < text.length() && Character.isLowSurrogate(text.charAt(end))) {
+            end++;
+        }
+        return (start > 0 ? ELLIPSIS : "") + render(text, marked, start, end) + (end < text.length() ? ELLIPSIS : "");
+    }
+
+    // 검색 토큰과 일치하는 글자 위치 표시 (대소문자 무시)
+    private static boolean[] mark(String text, Collection<String> terms) {
+        boolean[] marked = new boolean[text.length()];
+        String lower = text.toLowerCase(Locale.ROOT);
+        // 소문자 변환으로 길이가 바뀌는 특수 문자가 있으면 원문 그대로 비교
+        String haystack = lower.length() == text.length() ? lower : text;
+        for (String term : terms) {
+            int from = 0;
+            int index;
+            while ((index = haystack.indexOf(term, from)) >= 0) {
+                for (int i = index; i < index + term.length(); i++) {
+                    marked[i] = true;
+                }
+                from = index + 1;
+            }
+        }
+        return marked;
+    }
+
+    private static String render(String text, boolean[] marked, int start, int end) {
+        StringBuilder html = new StringBuilder();
+        int i = start;
+        while (i < end) {
+            int j = i;
+            while (j < end && marked[j] == marked[i]) {
+                j++;
+            }
+            String escaped = HtmlUtils.htmlEscape(text.substring(i, j));
+            if (marked[i]) {
+                html.append("<mark>").append(escaped).append("</mark>");
+            } else {
+                html.append(escaped);
+            }
+            i = j;
+        }
+        return html.toString();
+    }
+}
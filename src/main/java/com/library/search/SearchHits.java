@@ -0,0 +1,20 @@
+package com.library.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+    검색 결과 (한 페이지)
+        - totalHits : 검색어와 일치하는 전체 게시글 수
+        - boardIds : 요청한 페이지 범위의 게시글 ID (점수 높은 순)
+        - terms : 검색어를 토큰화한 결과 (하이라이트용)
+ */
+@Getter
+@AllArgsConstructor
+public class SearchHits {
+    private long totalHits;
+    private List<Long> boardIds;
+    private List<String> terms;
+}
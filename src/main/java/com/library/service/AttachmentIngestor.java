@@ -0,0 +1,162 @@
+package com.library.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    첨부파일 병렬 저장 (게시글 트랜잭션 전에 실행)
+        - 기존 : 게시글 작성/수정 트랜잭션 안에서 첨부파일을 하나씩 디스크에 저장 => 파일 수/크기만큼 DB 커넥션 점유
+        - 변경 : 트랜잭션을 열기 전에 첨부파일을 병렬로 저장(FileBlobStore.prepare)하고,
+                 트랜잭션에서는 BoardFile 메타데이터 insert(중복 제거면 blob 참조 획득)만 실행
+        - 실행기
+            - Java 21 이상이면 가상 스레드(작업마다 스레드 하나), 아니면 고정 크기 스레드 풀 + 제한된 대기열
+              (대기열이 가득 차면 요청 스레드가 직접 실행 => 업로드가 몰려도 작업이 무한히 쌓이지 않음)
+            - 동시에 디스크에 쓰는 파일 수는 threads 개로 제한 (가상 스레드도 Semaphore로 제한)
+            - 파일이 하나면 요청 스레드에서 바로 저장
+        - 일부 실패
+            - 모든 파일 작업이 끝날 때까지 기다린 뒤, 성공한 파일을 지우고 첫 번째 예외를 다시 던짐
+              (기다리는 중 인터럽트되면 끝난 파일까지 모두 받은 뒤 지우고 예외를 던짐, 인터럽트 상태는 유지)
+              (InvalidFileException 등 예외 종류는 그대로 유지되어 기존 예외 처리 화면 사용)
+            - 트랜잭션이 실패한 경우의 정리는 호출한 쪽에서 discard 호출
+        - 지표 : file.ingest (게시글 하나의 첨부파일 전체 저장 시간)
+        - 설정
+            - file.ingest.threads : 동시에 저장할 최대 파일 수 (기본 4)
+            - file.ingest.queue-capacity : 스레드 풀 대기열 크기 (기본 64)
+            - file.ingest.virtual-threads : 가상 스레드 사용 여부 (기본 true, Java 21 미만이면 무시)
+ */
+@Component
+@Slf4j
+public class AttachmentIngestor {
+    private final FileBlobStore fileBlobStore;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Timer ingestTimer;
+
+    @Autowired
+    public AttachmentIngestor(FileBlobStore fileBlobStore, MeterRegistry meterRegistry,
+                              @Value("${file.ingest.threads:4}") int threads,
+                              @Value("${file.ingest.queue-capacity:64}") int queueCapacity,
+                              @Value("${file.ingest.virtual-threads:true}") boolean virtualThreads) {
+        int parallelism = Math.max(1, threads);
+        ExecutorService virtual = virtualThreads ? virtualThreadExecutor() : null;
+        this.fileBlobStore = fileBlobStore;
+        this.executor = virtual != null ? virtual : platformExecutor(parallelism, queueCapacity);
+        this.permits = new Semaphore(parallelism);
+        this.ingestTimer = Timer.builder("file.ingest").register(meterRegistry);
+        log.info("첨부파일 저장 실행기 - {} (동시 저장 {}개)", virtual != null ? "가상 스레드" : "스레드 풀", parallelism);
+    }
+
+    /*
+        첨부파일 병렬 저장 (빈 파일은 건너뜀)
+        @return 저장된 첨부파일 (요청 순서 유지)
+     */
+    public List<StoredAttachment> ingest(List<MultipartFile> files, String subDirectory) {
+        List<MultipartFile> targets = files == null ? List.of() : files.stream().filter(file -> !file.isEmpty()).toList();
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        long startedAt = System.nanoTime();
+        try {
+            if (targets.size() == 1) {
+                return List.of(fileBlobStore.prepare(targets.get(0), subDirectory));
+            }
+            return ingestParallel(targets, subDirectory);
+        } finally {
+            ingestTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 준비한 첨부파일 정리 (게시글 저장 실패 시)
+    public void discard(List<StoredAttachment> attachments) {
+        attachments.forEach(fileBlobStore::discard);
+    }
+
+    private List<StoredAttachment> ingestParallel(List<MultipartFile> targets, String subDirectory) {
+        List<Future<StoredAttachment>> futures = new ArrayList<>(targets.size());
+        for (MultipartFile file : targets) {
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return fileBlobStore.prepare(file, subDirectory);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        // 모든 작업이 끝날 때까지 기다림 (실패가 있어도 나머지를 기다려야 성공한 파일을 정리할 수 있음)
+        // 인터럽트되어도 결과를 받을 때까지 다시 기다리고, 인터럽트 여부는 따로 기록했다가 모두 모은 뒤 처리
+        List<StoredAttachment> stored = new ArrayList<>(targets.size());
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        for (Future<StoredAttachment> future : futures) {
+            while (true) {
+                try {
+                    stored.add(future.get());
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException runtime ? runtime
+                                : new RuntimeException("파일을 저장하는 중 오류가 발생했습니다.", e.getCause());
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            if (failure == null) {
+                failure = new RuntimeException("파일 저장이 중단되었습니다.");
+            }
+        }
+        if (failure != null) {
+            discard(stored);
+            throw failure;
+        }
+        return stored;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    // Java 21 이상의 Executors.newVirtualThreadPerTaskExecutor (Java 17로 컴파일하므로 리플렉션으로 찾음)
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService platformExecutor(int threads, int queueCapacity) {
+        AtomicLong sequence = new AtomicLong();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                task -> {
+                    Thread thread = new Thread(task, "attachment-ingest-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
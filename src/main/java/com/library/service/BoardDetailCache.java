@@ -0,0 +1,182 @@
+package com.library.service;
+
+import com.library.config.ReplicaRoutingDataSource;
+import com.library.dto.board.BoardDetailDto;
+import com.library.dto.board.BoardFileDto;
+import com.library.event.BoardChangedEvent;
+import com.library.event.BoardCountersFlushedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/*
+    게시글 상세(BoardDetailDto) 스냅샷 캐시
+        - 인기 게시글은 상세 조회마다 게시글 + 작성자 + 첨부파일 조회가 반복되므로
+          변환이 끝난 BoardDetailDto를 게시글 ID별로 보관함 (DTO는 불변 객체로만 사용)
+        - 크기 제한 : 본문/제목/첨부파일 정보로 대략적인 바이트 수를 계산하여
+          합계가 max-bytes를 넘으면 가장 오래 사용하지 않은 게시글부터 제거 (LRU)
+        - 무효화
+            - BoardChangedEvent(커밋 이후) : 수정(첨부파일 변경 포함)/삭제/숨김된 게시글
+            - BoardCountersFlushedEvent(좋아요) : 좋아요 수가 DB에 반영된 게시글
+                - 화면 값 = 스냅샷 + 미반영 증감량 이므로, flush 후에는 스냅샷을 다시 읽어야 정확함
+                - 조회수 flush는 무효화하지 않음 (인기 게시글은 조회수 flush 주기마다 포함되므로 무효화하면 캐시가 거의 적중하지 않음)
+                    - 조회수는 flush 직후 최대 max-staleness-ms 동안 조금 적게 보일 수 있음 (BoardListCache와 같은 기준)
+            - 조회 도중 무효화된 결과는 저장하지 않음 (게시글 ID 해시별 버전 번호 비교)
+            - 무효화 후 pin-after-write-ms 동안은 다시 채우는 조회를 원본(primary)에서 실행
+                - 복제 지연 중인 복제본에서 무효화 전 값을 읽어 다시 저장하지 않도록 (쓴 사용자가 아닌 요청이 채워도 최신 값)
+        - 이벤트가 없는 변경(댓글 수, 다운로드 수)은 max-staleness-ms 이내로만 늦게 반영됨
+        - 지표 (actuator /metrics)
+            - board.detail.cache (result = hit / miss)
+            - board.detail.cache.evictions : 크기 초과로 제거된 수
+            - board.detail.cache.size, board.detail.cache.bytes
+        - 설정
+            - board.detail-cache.max-bytes : 최대 크기 (기본 16MB)
+            - board.detail-cache.max-staleness-ms : 스냅샷 최대 유지 시간 (기본 60초)
+            - datasource.replica.pin-after-write-ms : 무효화 후 원본에서 다시 채우는 시간 (기본 3초, 복제본이 없으면 영향 없음)
+ */
+@Component
+public class BoardDetailCache {
+    private static final int VERSION_STRIPES = 1024;
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+    private static final long FILE_OVERHEAD_BYTES = 128;
+
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    // 게시글 ID 해시별 마지막 무효화 시각
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(VERSION_STRIPES);
+    // 접근 순서(access-order) LinkedHashMap, this로 동기화
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    @Value("${board.detail-cache.max-bytes:16777216}")
+    private long maxBytes;
+    @Value("${board.detail-cache.max-staleness-ms:60000}")
+    private long maxStalenessMillis;
+    @Value("${datasource.replica.pin-after-write-ms:3000}")
+    private long primaryReadMillis;
+
+    public BoardDetailCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("board.detail.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("board.detail.cache").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("board.detail.cache.evictions").register(meterRegistry);
+        Gauge.builder("board.detail.cache.size", this, BoardDetailCache::size).register(meterRegistry);
+        Gauge.builder("board.detail.cache.bytes", this, BoardDetailCache::bytes).register(meterRegistry);
+    }
+
+    /*
+        게시글 상세 스냅샷 조회
+            - 유효한 스냅샷이 있으면 반환, 없으면 loader로 조회 후 저장
+            - loader가 예외를 던지면(없는 게시글 등) 아무것도 저장하지 않음
+     */
+    public BoardDetailDto get(Long boardId, Supplier<BoardDetailDto> loader) {
+        int stripe = stripe(boardId);
+        long version = versions.get(stripe);
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry entry = entries.get(boardId);
+            if (entry != null && now - entry.loadedAt < maxStalenessMillis) {
+                hits.increment();
+                return entry.snapshot;
+            }
+        }
+        misses.increment();
+        BoardDetailDto snapshot = now - invalidatedAt.get(stripe) < primaryReadMillis
+                ? ReplicaRoutingDataSource.callOnPrimary(loader)
+                : loader.get();
+        store(boardId, stripe, version, new Entry(snapshot, now, estimateBytes(snapshot)));
+        return snapshot;
+    }
+
+    // 유효한 스냅샷이 있으면 반환, 없으면 null (DB 조회/저장 없음, HTTP 검증값 계산용)
+    public synchronized BoardDetailDto peek(Long boardId) {
+        Entry entry = entries.get(boardId);
+        return entry != null && System.currentTimeMillis() - entry.loadedAt < maxStalenessMillis ? entry.snapshot : null;
+    }
+
+    public void invalidate(Long boardId) {
+        invalidatedAt.set(stripe(boardId), System.currentTimeMillis());
+        versions.incrementAndGet(stripe(boardId));
+        synchronized (this) {
+            Entry removed = entries.remove(boardId);
+            if (removed != null) {
+                totalBytes -= removed.bytes;
+            }
+        }
+    }
+
+    // 게시글 수정(첨부파일 포함)/삭제/숨김 시 무효화 (트랜잭션 커밋 이후에만 호출됨)
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.getType() != BoardChangedEvent.Type.CREATED) {
+            invalidate(event.getBoardId());
+        }
+    }
+
+    // 좋아요 수 flush 후 무효화 (조회수 flush는 무시)
+    @EventListener
+    public void onCountersFlushed(BoardCountersFlushedEvent event) {
+        if (event.getCounter() == BoardCountersFlushedEvent.Counter.LIKE) {
+            event.getBoardIds().forEach(this::invalidate);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return totalBytes;
+    }
+
+    // 조회 시작 후 무효화되지 않았을 때만 저장하고, 크기를 넘으면 오래된 것부터 제거
+    private synchronized void store(Long boardId, int stripe, long version, Entry entry) {
+        if (versions.get(stripe) != version || entry.bytes > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(boardId, entry);
+        totalBytes += entry.bytes - (previous == null ? 0 : previous.bytes);
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().bytes;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    // 문자열은 UTF-16 기준 글자당 2바이트로 대략 계산
+    private static long estimateBytes(BoardDetailDto dto) {
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * (length(dto.getTitle()) + length(dto.getContent())
+                + length(dto.getAuthorName()) + length(dto.getAuthorEmail()));
+        for (BoardFileDto file : dto.getFiles()) {
+            bytes += FILE_OVERHEAD_BYTES + 2L * (length(file.getOriginalFileName()) + length(file.getStoredFileName()) + length(file.getFilePath()));
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static int stripe(Long boardId) {
+        return (int) ((boardId ^ (boardId >>> 32)) & (VERSION_STRIPES - 1));
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final BoardDetailDto snapshot;
+        private final long loadedAt;
+        private final long bytes;
+    }
+}
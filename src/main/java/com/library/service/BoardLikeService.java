@@ -0,0 +1,64 @@
+package com.library.service;
+
+import com.library.dto.board.BoardLikeDto;
+import com.library.entity.board.BoardStatus;
+import com.library.entity.member.Member;
+import com.library.event.BoardActivityEvent;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/*
+    게시글 좋아요 Service
+        - 회원 한 명당 게시글 하나에 한 번만 좋아요 가능 (중복 요청은 무시)
+        - 좋아요/취소 자체는 BoardLikeStore(메모리)에만 기록되고 주기적으로 DB에 반영됨
+            - 그래서 이 Service는 트랜잭션을 열지 않음 (게시글/회원 확인 조회만 수행)
+        - 응답의 좋아요 수 = DB 값 + 아직 반영되지 않은 증감량
+        - 실제로 상태가 바뀐 요청만 BoardActivityEvent 발행 (인기 게시글 순위용)
+ */
+@Service
+@RequiredArgsConstructor
+public class BoardLikeService {
+    private final BoardLikeStore boardLikeStore;
+    private final BoardRepository boardRepository;
+    private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 좋아요
+    public BoardLikeDto like(Long boardId, String email) {
+        long savedCount = findLikeCount(boardId);
+        if (boardLikeStore.like(boardId, findMemberId(email))) {
+            eventPublisher.publishEvent(BoardActivityEvent.liked(boardId));
+        }
+        return new BoardLikeDto(true, savedCount + boardLikeStore.pendingDelta(boardId));
+    }
+
+    // 좋아요 취소
+    public BoardLikeDto unlike(Long boardId, String email) {
+        long savedCount = findLikeCount(boardId);
+        if (boardLikeStore.unlike(boardId, findMemberId(email))) {
+            eventPublisher.publishEvent(BoardActivityEvent.unliked(boardId));
+        }
+        return new BoardLikeDto(false, savedCount + boardLikeStore.pendingDelta(boardId));
+    }
+
+    // 현재 회원의 좋아요 여부 (비로그인이면 false)
+    public boolean isLiked(Long boardId, String email) {
+        if (email == null) {
+            return false;
+        }
+        return memberRepository.findByEmail(email)
+                .map(member -> boardLikeStore.isLiked(boardId, member.getId()))
+                .orElse(false);
+    }
+
+    private long findLikeCount(Long boardId) {
+        return boardRepository.findLikeCount(boardId, BoardStatus.ACTIVE).orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다."));
+    }
+
+    private Long findMemberId(String email) {
+        return memberRepository.findByEmail(email).map(Member::getId).orElseThrow(() -> new IllegalArgumentException("회원을 찾을 수 없습니다."));
+    }
+}
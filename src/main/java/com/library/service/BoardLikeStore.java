@@ -0,0 +1,334 @@
+package com.library.service;
+
+import com.library.event.BoardCountersFlushedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    게시글 좋아요 저장소 (메모리 회원 집합 + 쓰기 지연)
+        - 게시글별로 좋아요 누른 회원 ID 집합을 Roaring 비트맵으로 메모리에 유지
+            - 압축 비트맵이라 좋아요 수십만 건도 수백 KB 이하, 포함 여부 확인은 상수 시간
+            - 게시글에 처음 접근할 때 board_like에서 회원 ID를 스트리밍으로 읽어 적재 (lazy)
+        - 좋아요/취소는 비트맵과 대기 목록(pending)만 변경 (DB 접근 없음)
+            - 같은 회원의 좋아요 -> 취소 처럼 서로 상쇄되는 요청은 대기 목록에서 바로 지워짐
+        - 스케줄러가 주기적으로 대기 목록을 게시글별 트랜잭션으로 반영
+            - board_like batch delete / batch insert (이미 있는 행은 넣지 않으므로 다시 실행해도 결과가 같음)
+            - board.like_count 는 실제로 추가/삭제된 행 수만큼 더하는 UPDATE (클릭마다 UPDATE 하지 않음)
+            - 무결성 오류(영구 삭제된 게시글, 없는 회원 등)로 실패한 게시글은 요청 하나씩 다시 반영하고,
+              그래도 실패하는 요청만 로그를 남기고 버림 (한 요청 때문에 대기 목록 전체가 계속 실패하지 않도록)
+            - 그 밖의 오류(연결 실패 등)면 아직 반영하지 못한 게시글의 대기 목록을 되돌려 다음 주기에 재시도
+            - 커밋 후 BoardCountersFlushedEvent 발행 (좋아요 수 스냅샷을 가진 캐시 무효화용)
+        - 화면에 표시되는 좋아요 수 = DB 값 + 아직 반영되지 않은 증감량(pendingDelta)
+        - 메모리 관리 : 적재된 게시글이 max-loaded-boards를 넘으면 대기 목록이 없는 게시글부터
+          오래 사용하지 않은 순으로 비트맵을 버림 (다음 접근 시 다시 적재)
+        - 설정
+            - board.like.flush-interval-ms : flush 주기 (기본 5초)
+            - board.like.max-loaded-boards : 메모리에 유지할 게시글 수 (기본 10000)
+ */
+@Slf4j
+@Component
+public class BoardLikeStore {
+    private static final String LOAD_SQL = "SELECT member_id FROM board_like WHERE board_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO board_like (board_id, member_id, created_at) SELECT ?, ?, ? FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM board_like WHERE board_id = ? AND member_id = ?)";
+    private static final String DELETE_SQL = "DELETE FROM board_like WHERE board_id = ? AND member_id = ?";
+    private static final String COUNT_SQL = "UPDATE board SET like_count = like_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Long, BoardLikes> boards = new ConcurrentHashMap<>();
+    @Value("${board.like.max-loaded-boards:10000}")
+    private int maxLoadedBoards;
+
+    public BoardLikeStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // 좋아요 (이미 눌렀으면 false)
+    public boolean like(Long boardId, Long memberId) {
+        return apply(boardId, memberId, true);
+    }
+
+    // 좋아요 취소 (누르지 않았으면 false)
+    public boolean unlike(Long boardId, Long memberId) {
+        return apply(boardId, memberId, false);
+    }
+
+    public boolean isLiked(Long boardId, Long memberId) {
+        while (true) {
+            BoardLikes likes = load(boardId);
+            synchronized (likes) {
+                if (!likes.evicted) {
+                    likes.lastAccess = System.currentTimeMillis();
+                    return likes.members.contains(memberId);
+                }
+            }
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 좋아요 증감량 (적재되지 않은 게시글은 0)
+    public long pendingDelta(Long boardId) {
+        BoardLikes likes = boards.get(boardId);
+        if (likes == null) {
+            return 0;
+        }
+        synchronized (likes) {
+            return likes.pendingDelta + likes.flushingDelta;
+        }
+    }
+
+    /*
+        대기 중인 좋아요/취소를 DB에 반영
+            - 게시글별 대기 목록을 꺼내(drain) 게시글 하나씩 별도 트랜잭션에서 delete/insert/like_count UPDATE
+            - 무결성 오류는 요청 단위로 나눠 반영하고 실패한 요청만 버림
+            - 그 밖의 오류면 남은 게시글의 목록을 다시 적용해 다음 주기에 재시도
+     */
+    @Scheduled(fixedDelayString = "${board.like.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, Map<Long, Boolean>> drained = new TreeMap<>();
+        for (Map.Entry<Long, BoardLikes> entry : boards.entrySet()) {
+            BoardLikes likes = entry.getValue();
+            synchronized (likes) {
+                if (!likes.pending.isEmpty()) {
+                    drained.put(entry.getKey(), likes.pending);
+                    likes.pending = new HashMap<>();
+                    likes.flushingDelta = likes.pendingDelta;
+                    likes.pendingDelta = 0;
+                    likes.flushing = true;
+                }
+            }
+        }
+        if (!drained.isEmpty()) {
+            Set<Long> written = new TreeSet<>();
+            try {
+                boolean failed = false;
+                for (Map.Entry<Long, Map<Long, Boolean>> entry : drained.entrySet()) {
+                    if (failed) {
+                        restore(entry.getKey(), entry.getValue());
+                        continue;
+                    }
+                    try {
+                        writeBoard(entry.getKey(), entry.getValue());
+                        written.add(entry.getKey());
+                    } catch (DataAccessException | TransactionException e) {
+                        log.error("좋아요 flush 실패 - 다음 주기에 재시도 (게시글 {}건)", drained.size() - written.size(), e);
+                        restore(entry.getKey(), entry.getValue());
+                        failed = true;
+                    }
+                }
+                log.debug("좋아요 flush 완료 - 게시글 {}건", written.size());
+            } finally {
+                drained.keySet().forEach(boardId -> {
+                    BoardLikes likes = boards.get(boardId);
+                    synchronized (likes) {
+                        likes.flushing = false;
+                        likes.flushingDelta = 0;
+                    }
+                });
+            }
+            if (!written.isEmpty()) {
+                eventPublisher.publishEvent(new BoardCountersFlushedEvent(BoardCountersFlushedEvent.Counter.LIKE, written));
+            }
+        }
+        evictIfNeeded();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("애플리케이션 종료 - 남은 좋아요 flush");
+        flush();
+    }
+
+    private boolean apply(Long boardId, Long memberId, boolean liked) {
+        while (true) {
+            BoardLikes likes = load(boardId);
+            synchronized (likes) {
+                if (likes.evicted) {
+                    continue;   // flush 스레드가 방금 버린 객체면 다시 적재
+                }
+                likes.lastAccess = System.currentTimeMillis();
+                if (likes.members.contains(memberId) == liked) {
+                    return false;
+                }
+                if (liked) {
+                    likes.members.addLong(memberId);
+                } else {
+                    likes.members.removeLong(memberId);
+                }
+                likes.addPending(memberId, liked);
+                return true;
+            }
+        }
+    }
+
+    /*
+        게시글 하나의 대기 목록 반영 (한 트랜잭션)
+            - 무결성 오류면 요청 하나씩 별도 트랜잭션으로 다시 반영하고, 그래도 실패하는 요청은 버림
+     */
+    private void writeBoard(Long boardId, Map<Long, Boolean> ops) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(boardId, ops));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("좋아요 flush 무결성 오류 - 요청 단위로 다시 반영 (게시글 ID {}, {}건)", boardId, ops.size());
+            for (Map.Entry<Long, Boolean> op : ops.entrySet()) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(boardId, Map.of(op.getKey(), op.getValue())));
+                } catch (DataIntegrityViolationException rejected) {
+                    log.warn("좋아요 반영 불가 - 버림 (게시글 ID {}, 회원 ID {}, 좋아요 {})", boardId, op.getKey(), op.getValue(), rejected);
+                    discard(boardId, op.getKey(), op.getValue());
+                }
+            }
+        }
+    }
+
+    // 삭제 후 추가, like_count는 실제로 바뀐 행 수만큼 반영 (같은 목록을 다시 써도 결과가 같음)
+    private void write(Long boardId, Map<Long, Boolean> ops) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Map.Entry<Long, Boolean> op : ops.entrySet()) {
+            if (op.getValue()) {
+                inserts.add(new Object[]{boardId, op.getKey(), now, boardId, op.getKey()});
+            } else {
+                deletes.add(new Object[]{boardId, op.getKey()});
+            }
+        }
+        long delta = 0;
+        if (!deletes.isEmpty()) {
+            delta -= affectedRows(jdbcTemplate.batchUpdate(DELETE_SQL, deletes));
+        }
+        if (!inserts.isEmpty()) {
+            delta += affectedRows(jdbcTemplate.batchUpdate(INSERT_SQL, inserts));
+        }
+        if (delta != 0) {
+            jdbcTemplate.update(COUNT_SQL, delta, boardId);
+        }
+    }
+
+    // batch 결과의 변경 행 수 (드라이버가 행 수를 알려주지 않으면(SUCCESS_NO_INFO) 1건으로 봄)
+    private static long affectedRows(int[] counts) {
+        long rows = 0;
+        for (int count : counts) {
+            rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    // flush 실패 시 꺼냈던 요청을 다시 대기 목록에 적용 (그 사이 들어온 반대 요청과는 상쇄)
+    private void restore(Long boardId, Map<Long, Boolean> ops) {
+        BoardLikes likes = boards.get(boardId);
+        synchronized (likes) {
+            ops.forEach(likes::addPending);
+        }
+    }
+
+    // 버린 요청을 메모리 상태에서도 되돌림 (그 사이 같은 회원의 새 요청이 있으면 그대로 둠)
+    private void discard(Long boardId, Long memberId, boolean liked) {
+        BoardLikes likes = boards.get(boardId);
+        synchronized (likes) {
+            if (likes.pending.containsKey(memberId)) {
+                return;
+            }
+            if (liked) {
+                likes.members.removeLong(memberId);
+            } else {
+                likes.members.addLong(memberId);
+            }
+        }
+    }
+
+    // 게시글의 좋아요 회원 집합 (없으면 DB에서 적재)
+    private BoardLikes load(Long boardId) {
+        BoardLikes likes = boards.get(boardId);
+        if (likes != null) {
+            return likes;
+        }
+        Roaring64Bitmap members = new Roaring64Bitmap();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            members.addLong(rs.getLong(1));
+        }, boardId);
+        members.runOptimize();
+        BoardLikes loaded = new BoardLikes(members);
+        BoardLikes existing = boards.putIfAbsent(boardId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // 적재된 게시글이 너무 많으면 대기 목록이 없는 게시글부터 오래된 순으로 버림
+    private void evictIfNeeded() {
+        int overflow = boards.size() - maxLoadedBoards;
+        if (overflow <= 0) {
+            return;
+        }
+        List<Map.Entry<Long, BoardLikes>> candidates = new ArrayList<>(boards.entrySet());
+        candidates.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+        for (Map.Entry<Long, BoardLikes> entry : candidates) {
+            if (overflow <= 0) {
+                break;
+            }
+            BoardLikes likes = entry.getValue();
+            synchronized (likes) {
+                if (likes.pending.isEmpty() && !likes.flushing) {
+                    likes.evicted = true;
+                    boards.remove(entry.getKey(), likes);
+                    overflow--;
+                }
+            }
+        }
+    }
+
+    /*
+        게시글 하나의 좋아요 상태 (이 객체의 모니터로 동기화)
+            - members : 좋아요 누른 회원 ID (DB + 대기 중인 변경이 반영된 현재 상태)
+            - pending : 회원 ID => true(추가) / false(삭제), DB에 아직 반영되지 않은 변경
+     */
+    private static class BoardLikes {
+        private final Roaring64Bitmap members;
+        private Map<Long, Boolean> pending = new HashMap<>();
+        private long pendingDelta = 0;
+        private long flushingDelta = 0;     // DB에 쓰는 중인 증감량 (커밋 전까지 화면 표시에 포함)
+        private long lastAccess = System.currentTimeMillis();
+        private boolean flushing = false;
+        private boolean evicted = false;
+
+        private BoardLikes(Roaring64Bitmap members) {
+            this.members = members;
+        }
+
+        // 반대 방향의 대기 요청이 있으면 상쇄, 없으면 추가
+        private void addPending(Long memberId, boolean liked) {
+            Boolean previous = pending.get(memberId);
+            if (previous != null && previous != liked) {
+                pending.remove(memberId);
+            } else {
+                pending.put(memberId, liked);
+            }
+            pendingDelta += liked ? 1 : -1;
+        }
+    }
+}
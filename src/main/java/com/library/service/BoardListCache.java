@@ -0,0 +1,221 @@
+package com.library.service;
+
+import com.library.config.ReplicaRoutingDataSource;
+import com.library.dto.board.BoardListDto;
+import com.library.entity.board.BoardCategory;
+import com.library.event.BoardChangedEvent;
+import com.library.event.BoardCountersFlushedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+    게시글 목록 앞쪽 페이지 캐시 (전체 목록 + 카테고리별 목록)
+        - 목록 요청 대부분이 앞쪽 몇 페이지에 몰리므로 앞에서 N 페이지의 결과(BoardListDto 목록)만 메모리에 보관
+        - 무효화 (BoardChangedEvent, 트랜잭션 커밋 이후)
+            - 생성/삭제/숨김 : 페이지 경계가 밀리므로 해당 카테고리 목록과 전체 목록의 캐시를 모두 버림
+            - 수정 : 그 게시글이 들어있는 페이지만 버림 (순서는 작성일 기준이라 바뀌지 않음)
+                - 카테고리가 바뀐 경우 이전/새 카테고리 목록은 구성이 바뀌므로 모두 버림
+        - 조회 도중 무효화가 일어난 결과는 캐시하지 않음
+            - 목록 범위(전체/카테고리)마다 버전 번호를 두고 조회 시작 시점과 비교
+            - 수정 이벤트는 어느 페이지에 들어갈지 미리 알 수 없으므로 수정 번호가 바뀌었으면 저장하지 않음
+        - 무효화 후 pin-after-write-ms 동안은 다시 채우는 조회를 원본(primary)에서 실행
+            - 복제 지연 중인 복제본에서 무효화 전 목록을 읽어 다시 저장하지 않도록
+        - 최대 지연(max-staleness)
+            - 이벤트가 없는 변경(댓글 수, 좋아요 수, flush된 조회수)은 이 시간 안에 반영됨
+            - 조회수는 캐시 값 + ViewCountBuffer의 미반영 조회수로 보여주므로
+              flush 직후에는 최대 max-staleness 동안 조금 적게 보일 수 있음
+        - 인기 게시글 목록 캐시 (목록 화면마다 보여주는 인기 게시글 상자, 카테고리별)
+            - 순위(TrendingBoardRanker)의 정리 주기 번호(generation)가 바뀌면 다시 조회
+            - 생성/수정/삭제/숨김 이벤트가 오면 모두 버림 (제목/카테고리/상태 변경 반영)
+            - 좋아요 수가 flush된 게시글이 들어있으면 버림 (화면 값 = 캐시 값 + 미반영 좋아요 증감량)
+            - 정리 주기 사이에 순위가 바뀌어도 다음 정리(또는 max-staleness)까지는 이전 순서로 보여줌
+        - 지표 : board.list.cache (result = hit / miss)
+        - 설정
+            - board.list-cache.page-size : 캐시할 페이지 크기 (기본 10, 다른 크기 요청은 캐시하지 않음)
+            - board.list-cache.pages : 캐시할 앞쪽 페이지 수 (기본 3)
+            - board.list-cache.max-staleness-ms : 캐시 최대 유지 시간 (기본 30초)
+            - datasource.replica.pin-after-write-ms : 무효화 후 원본에서 다시 채우는 시간 (기본 3초, 복제본이 없으면 영향 없음)
+ */
+@Component
+public class BoardListCache {
+    private final AtomicLong allVersion = new AtomicLong();
+    private final Map<BoardCategory, AtomicLong> categoryVersions = new EnumMap<>(BoardCategory.class);
+    private final AtomicLong updateSequence = new AtomicLong();
+    private volatile long invalidatedAt = 0;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong trendingVersion = new AtomicLong();
+    private final AtomicLong likeFlushSequence = new AtomicLong();
+    private final Map<Key, TrendingEntry> trendingEntries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    @Value("${board.list-cache.page-size:10}")
+    private int pageSize;
+    @Value("${board.list-cache.pages:3}")
+    private int pages;
+    @Value("${board.list-cache.max-staleness-ms:30000}")
+    private long maxStalenessMillis;
+    @Value("${datasource.replica.pin-after-write-ms:3000}")
+    private long primaryReadMillis;
+
+    public BoardListCache(MeterRegistry meterRegistry) {
+        for (BoardCategory category : BoardCategory.values()) {
+            categoryVersions.put(category, new AtomicLong());
+        }
+        this.hits = Counter.builder("board.list.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("board.list.cache").tag("result", "miss").register(meterRegistry);
+        meterRegistry.gaugeMapSize("board.list.cache.size", List.of(), entries);
+    }
+
+    /*
+        목록 페이지 조회
+            - 캐시에 유효한 결과가 있으면 반환, 없으면 loader로 조회 후 저장
+            - 캐시 대상(앞쪽 pages 페이지, page-size 크기)이 아니면 항상 loader 결과를 그대로 반환
+        @param category 카테고리 (null이면 전체 목록)
+        @param page 페이지 번호 (0부터 시작)
+     */
+    public List<BoardListDto> getPage(BoardCategory category, int page, int size, Supplier<List<BoardListDto>> loader) {
+        if (size != pageSize || page >= pages) {
+            return loader.get();
+        }
+        Key key = new Key(category, page);
+        long version = scopeVersion(category).get();
+        long sequence = updateSequence.get();
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == version && now - entry.loadedAt < maxStalenessMillis) {
+            hits.increment();
+            return entry.content;
+        }
+        misses.increment();
+        List<BoardListDto> content = List.copyOf(now - invalidatedAt < primaryReadMillis
+                ? ReplicaRoutingDataSource.callOnPrimary(loader)
+                : loader.get());
+        // 조회하는 동안 무효화되지 않았을 때만 저장
+        if (scopeVersion(category).get() == version && updateSequence.get() == sequence) {
+            entries.put(key, new Entry(version, now, content));
+        }
+        return content;
+    }
+
+    /*
+        인기 게시글 목록 조회
+            - 같은 정리 주기(rankerGeneration)에 저장한 결과가 있으면 반환, 없으면 loader로 조회 후 저장
+        @param category 카테고리 (null이면 전체)
+        @param rankerGeneration TrendingBoardRanker.generation()
+     */
+    public List<BoardListDto> getTrending(BoardCategory category, int limit, long rankerGeneration, Supplier<List<BoardListDto>> loader) {
+        Key key = new Key(category, limit);
+        long version = trendingVersion.get();
+        long sequence = likeFlushSequence.get();
+        long now = System.currentTimeMillis();
+        TrendingEntry entry = trendingEntries.get(key);
+        if (entry != null && entry.version == version && entry.generation == rankerGeneration && now - entry.loadedAt < maxStalenessMillis) {
+            hits.increment();
+            return entry.content;
+        }
+        misses.increment();
+        List<BoardListDto> content = List.copyOf(now - invalidatedAt < primaryReadMillis
+                ? ReplicaRoutingDataSource.callOnPrimary(loader)
+                : loader.get());
+        // 조회하는 동안 무효화되거나 좋아요 수가 flush되지 않았을 때만 저장
+        if (trendingVersion.get() == version && likeFlushSequence.get() == sequence) {
+            trendingEntries.put(key, new TrendingEntry(version, rankerGeneration, now, content));
+        }
+        return content;
+    }
+
+    // 게시글 변경 시 캐시 무효화 (트랜잭션 커밋 이후에만 호출됨)
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        invalidateTrending();
+        if (event.getType() == BoardChangedEvent.Type.UPDATED) {
+            updateSequence.incrementAndGet();
+            if (event.isCountChanged()) {
+                invalidateScope(event.getPreviousCategory());
+                invalidateScope(event.getCategory());
+            }
+            invalidateBoard(event.getBoardId());
+        } else {
+            invalidateScope(null);
+            invalidateScope(event.getCategory());
+        }
+    }
+
+    /*
+        목록 범위의 현재 버전 (HTTP 조건부 요청의 ETag용)
+            - 생성/삭제/숨김(범위 버전)과 수정(수정 번호)이 있을 때마다 바뀜
+            - 조회수/좋아요/댓글 수 변화는 포함하지 않음 (max-staleness와 같은 기준으로 호출하는 쪽에서 처리)
+     */
+    public String version(BoardCategory category) {
+        return scopeVersion(category).get() + "." + updateSequence.get();
+    }
+
+    // 좋아요 수 flush 후 해당 게시글이 들어있는 인기 게시글 목록 무효화
+    @EventListener
+    public void onCountersFlushed(BoardCountersFlushedEvent event) {
+        if (event.getCounter() != BoardCountersFlushedEvent.Counter.LIKE) {
+            return;
+        }
+        likeFlushSequence.incrementAndGet();
+        trendingEntries.values().removeIf(entry -> entry.content.stream().anyMatch(board -> event.getBoardIds().contains(board.getId())));
+    }
+
+    // 인기 게시글 목록 전체 무효화
+    public void invalidateTrending() {
+        invalidatedAt = System.currentTimeMillis();
+        trendingVersion.incrementAndGet();
+        trendingEntries.clear();
+    }
+
+    // 목록 범위 전체 무효화 (category가 null이면 전체 목록)
+    public void invalidateScope(BoardCategory category) {
+        invalidatedAt = System.currentTimeMillis();
+        scopeVersion(category).incrementAndGet();
+        entries.keySet().removeIf(key -> key.category == category);
+    }
+
+    // 해당 게시글이 들어있는 페이지만 무효화
+    public void invalidateBoard(Long boardId) {
+        invalidatedAt = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.content.stream().anyMatch(board -> board.getId().equals(boardId)));
+    }
+
+    private AtomicLong scopeVersion(BoardCategory category) {
+        return category == null ? allVersion : categoryVersions.get(category);
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class Key {
+        private final BoardCategory category;
+        private final int page;
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final long version;
+        private final long loadedAt;
+        private final List<BoardListDto> content;
+    }
+
+    @AllArgsConstructor
+    private static class TrendingEntry {
+        private final long version;
+        private final long generation;
+        private final long loadedAt;
+        private final List<BoardListDto> content;
+    }
+}
@@ -0,0 +1,239 @@
+package com.library.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    삭제된 게시글 영구 삭제(purge) 작업
+        - Board.delete()는 상태만 DELETED로 바꾸므로 board, board_file, comment, board_like 행과
+          업로드 파일이 계속 쌓여 테이블/인덱스가 커짐
+        - 삭제(DELETED) 후 retention-days가 지난 게시글을 chunk 단위로 실제 삭제
+            - 삭제 시점 = updated_at (삭제 시 더티 체킹으로 갱신되고, 이후에는 수정되지 않음)
+            - chunk 하나가 한 트랜잭션 : comment -> board_like -> board_file -> board 순으로 DELETE
+            - 업로드 파일은 커밋 이후에 FileStorageService로 삭제 (롤백되면 파일은 그대로 남음)
+            - 중복 제거 저장(content_hash가 있는) 파일은 같은 트랜잭션에서 FileBlobStore 참조만 해제
+              (참조가 0이 된 blob은 유예 시간 뒤 FileBlobStore.collectGarbage가 삭제)
+        - 운영 트래픽 보호
+            - chunk 사이에 pause-ms 만큼 쉬고, 초당 max-boards-per-second를 넘지 않도록 추가로 대기
+            - 한 번 실행에 max-boards-per-run 까지만 처리하고 나머지는 다음 주기로 넘김
+            - chunk가 실패하면 이번 실행을 중단하고 다음 주기에 다시 시도
+        - 실행 스레드
+            - 스케줄러 스레드는 실행 요청만 하고 바로 돌아감 (다른 @Scheduled 작업이 기본 단일 스케줄러 스레드를 공유하므로
+              chunk 사이 대기(sleep)로 조회수/좋아요 flush 등을 멈추지 않도록)
+            - 실제 삭제는 전용 스레드(board-purge) 하나에서 실행, 이전 실행이 끝나지 않았으면 이번 주기는 건너뜀
+            - 종료 시(@PreDestroy) 전용 스레드를 인터럽트하여 대기 중인 실행을 멈춤
+        - 지표 (actuator /metrics)
+            - board.purge.boards / board.purge.comments / board.purge.files : 삭제한 수 (처리량은 증가율로 확인)
+            - board.purge.chunk : chunk 하나의 처리 시간
+            - board.purge.last-run.boards, board.purge.last-run.boards-per-second : 마지막 실행 결과
+        - 설정
+            - board.purge.interval-ms : 실행 주기 (기본 1시간)
+            - board.purge.retention-days : 삭제 후 보관 기간 (기본 30일)
+            - board.purge.chunk-size : 한 트랜잭션에서 삭제할 게시글 수 (기본 200)
+            - board.purge.pause-ms : chunk 사이 최소 대기 시간 (기본 200ms)
+            - board.purge.max-boards-per-second : 초당 최대 삭제 게시글 수 (기본 500)
+            - board.purge.max-boards-per-run : 한 번 실행에 삭제할 최대 게시글 수 (기본 100000)
+ */
+@Slf4j
+@Component
+public class BoardPurgeJob {
+    private static final String SELECT_EXPIRED_SQL = "SELECT id FROM board WHERE status = 'DELETED' AND updated_at < ? ORDER BY id LIMIT ?";
+    private static final String SELECT_FILES_SQL = "SELECT file_path, stored_file_name, content_hash FROM board_file WHERE board_id IN (:ids)";
+    private static final String DELETE_COMMENTS_SQL = "DELETE FROM comment WHERE board_id IN (:ids)";
+    private static final String DELETE_LIKES_SQL = "DELETE FROM board_like WHERE board_id IN (:ids)";
+    private static final String DELETE_FILES_SQL = "DELETE FROM board_file WHERE board_id IN (:ids)";
+    private static final String DELETE_BOARDS_SQL = "DELETE FROM board WHERE id IN (:ids) AND status = 'DELETED'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FileStorageService fileStorageService;
+    private final FileBlobStore fileBlobStore;
+    private final BoardStatistics boardStatistics;
+    private final Counter purgedBoards;
+    private final Counter purgedComments;
+    private final Counter purgedFiles;
+    private final Timer chunkTimer;
+    private final AtomicLong lastRunBoards = new AtomicLong();
+    private final AtomicLong lastRunBoardsPerSecond = new AtomicLong();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "board-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 전용 스레드에서 실행 중이거나 실행 대기 중인지
+    private final AtomicBoolean running = new AtomicBoolean();
+    @Value("${board.purge.retention-days:30}")
+    private int retentionDays;
+    @Value("${board.purge.chunk-size:200}")
+    private int chunkSize;
+    @Value("${board.purge.pause-ms:200}")
+    private long pauseMillis;
+    @Value("${board.purge.max-boards-per-second:500}")
+    private int maxBoardsPerSecond;
+    @Value("${board.purge.max-boards-per-run:100000}")
+    private int maxBoardsPerRun;
+
+    public BoardPurgeJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, FileStorageService fileStorageService,
+                         FileBlobStore fileBlobStore, BoardStatistics boardStatistics, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.fileStorageService = fileStorageService;
+        this.fileBlobStore = fileBlobStore;
+        this.boardStatistics = boardStatistics;
+        this.purgedBoards = Counter.builder("board.purge.boards").register(meterRegistry);
+        this.purgedComments = Counter.builder("board.purge.comments").register(meterRegistry);
+        this.purgedFiles = Counter.builder("board.purge.files").register(meterRegistry);
+        this.chunkTimer = Timer.builder("board.purge.chunk").register(meterRegistry);
+        meterRegistry.gauge("board.purge.last-run.boards", lastRunBoards);
+        meterRegistry.gauge("board.purge.last-run.boards-per-second", lastRunBoardsPerSecond);
+    }
+
+    /*
+        주기마다 전용 스레드에 purge 실행을 요청 (스케줄러 스레드는 기다리지 않음)
+        @return 실행을 요청했으면 true, 이전 실행이 아직 진행 중이거나 종료 중이면 false
+     */
+    @Scheduled(initialDelayString = "${board.purge.interval-ms:3600000}", fixedDelayString = "${board.purge.interval-ms:3600000}")
+    public boolean schedulePurge() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("이전 purge 실행이 진행 중이므로 이번 주기는 건너뜀");
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    purge();
+                } catch (RuntimeException e) {
+                    log.error("삭제 게시글 purge 실패", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /*
+        보관 기간이 지난 삭제 게시글을 chunk 단위로 영구 삭제 (호출한 스레드에서 실행)
+        @return 이번 실행에서 삭제한 게시글 수
+     */
+    public synchronized int purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        long startedAt = System.nanoTime();
+        int total = 0;
+        while (total < maxBoardsPerRun) {
+            List<Long> boardIds = jdbcTemplate.queryForList(SELECT_EXPIRED_SQL, Long.class, cutoff, Math.min(chunkSize, maxBoardsPerRun - total));
+            if (boardIds.isEmpty()) {
+                break;
+            }
+            long chunkStartedAt = System.nanoTime();
+            int purged;
+            try {
+                purged = chunkTimer.record(() -> purgeChunk(boardIds));
+            } catch (DataAccessException | TransactionException e) {
+                log.error("삭제 게시글 purge 실패 - 다음 주기에 재시도 (게시글 ID {} ~ {})", boardIds.get(0), boardIds.get(boardIds.size() - 1), e);
+                break;
+            }
+            total += purged;
+            log.debug("삭제 게시글 purge 진행 - 누적 {}건", total);
+            if (boardIds.size() < chunkSize || !throttle(boardIds.size(), chunkStartedAt)) {
+                break;
+            }
+        }
+        double seconds = Math.max((System.nanoTime() - startedAt) / 1e9, 0.001);
+        lastRunBoards.set(total);
+        lastRunBoardsPerSecond.set(Math.round(total / seconds));
+        if (total > 0) {
+            log.info("삭제 게시글 purge 완료 - {}건, {}초 ({}건/초)", total, String.format("%.1f", seconds), lastRunBoardsPerSecond.get());
+        }
+        return total;
+    }
+
+    // chunk 하나 삭제 (한 트랜잭션) 후 업로드 파일 삭제
+    private int purgeChunk(List<Long> boardIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", boardIds);
+        ChunkResult result = transactionTemplate.execute(status -> {
+            List<StoredFile> files = namedJdbcTemplate.query(SELECT_FILES_SQL, params,
+                    (rs, rowNum) -> new StoredFile(rs.getString(1), rs.getString(2), rs.getString(3)));
+            int comments = namedJdbcTemplate.update(DELETE_COMMENTS_SQL, params);
+            namedJdbcTemplate.update(DELETE_LIKES_SQL, params);
+            namedJdbcTemplate.update(DELETE_FILES_SQL, params);
+            int boards = namedJdbcTemplate.update(DELETE_BOARDS_SQL, params);
+            files.stream().filter(file -> file.contentHash != null)
+                    .forEach(file -> fileBlobStore.delete(file.filePath, file.storedFileName, file.contentHash));
+            return new ChunkResult(boards, comments, files);
+        });
+        // 커밋된 뒤에만 실제 파일 삭제
+        result.files.stream().filter(file -> file.contentHash == null)
+                .forEach(file -> fileStorageService.deleteFile(file.filePath, file.storedFileName));
+        boardStatistics.onPurged(result.boards);
+        purgedBoards.increment(result.boards);
+        purgedComments.increment(result.comments);
+        purgedFiles.increment(result.files.size());
+        return result.boards;
+    }
+
+    /*
+        chunk 사이 대기
+            - 최소 pause-ms, 그리고 초당 처리량이 max-boards-per-second 이하가 되도록 남은 시간만큼 더 대기
+            - 인터럽트되면(종료 중) false를 반환하여 이번 실행을 멈춤
+     */
+    private boolean throttle(int boards, long chunkStartedAt) {
+        long minChunkMillis = maxBoardsPerSecond > 0 ? TimeUnit.SECONDS.toMillis(boards) / maxBoardsPerSecond : 0;
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStartedAt);
+        long sleepMillis = Math.max(pauseMillis, minChunkMillis - elapsedMillis);
+        try {
+            Thread.sleep(sleepMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class StoredFile {
+        private final String filePath;
+        private final String storedFileName;
+        private final String contentHash;
+    }
+
+    @AllArgsConstructor
+    private static class ChunkResult {
+        private final int boards;
+        private final int comments;
+        private final List<StoredFile> files;
+    }
+}
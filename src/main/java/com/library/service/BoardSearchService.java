@@ -0,0 +1,176 @@
+package com.library.service;
+
+import com.library.dto.board.BoardSearchResultDto;
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardStatus;
+import com.library.event.BoardChangedEvent;
+import com.library.repository.BoardRepository;
+import com.library.search.BoardSearchIndex;
+import com.library.search.SearchHighlighter;
+import com.library.search.SearchHits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+    게시글 검색 Service
+        - BoardSearchIndex(역색인)로 게시글 ID를 찾고, 해당 페이지의 게시글만 DB에서 조회함
+            - LIKE '%검색어%' 전체 스캔 없음
+        - 색인 갱신
+            - BoardChangedEvent(커밋 이후)를 받아 생성/수정/삭제/숨김을 색인에 반영
+        - 초기 구축
+            - 구축 완료 표시(BoardSearchIndex 상태 파일)가 없으면 애플리케이션 시작 후 DB에서 처음부터 색인함
+                - 최초 실행뿐 아니라 구축 도중 종료된 경우도 포함 (반쯤 만든 색인을 그대로 쓰지 않음)
+            - 이후 재시작 시에는 디스크 세그먼트를 그대로 열고,
+              마지막 flush(checkpoint) 이후 수정된 게시글만 다시 색인함 (flush 전에 종료되어 사라진 변경 복구)
+        - 설정
+            - search.index.build-chunk-size : 초기 구축/복구 시 한 번에 읽을 게시글 수 (기본 500)
+            - search.index.recovery-margin-ms : checkpoint보다 이만큼 앞선 수정부터 다시 색인 (기본 60초)
+                - updated_at은 커밋 전에 기록되고 색인은 커밋 후 반영되므로, 커밋이 오래 걸린 변경을 놓치지 않기 위함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoardSearchService {
+    private static final int SNIPPET_LENGTH = 120;
+    private final BoardSearchIndex boardSearchIndex;
+    private final BoardRepository boardRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    @Value("${search.index.build-chunk-size:500}")
+    private int buildChunkSize;
+    @Value("${search.index.recovery-margin-ms:60000}")
+    private long recoveryMarginMillis;
+
+    /*
+        게시글 검색 (BM25 점수순)
+            - 색인에서 현재 페이지의 게시글 ID만 받아 ACTIVE 게시글을 한 번에 조회
+            - 색인 순서(점수순)대로 정렬하고 제목/본문 요약에 검색어 하이라이트
+        @param query 검색어
+        @param page 조회할 페이지 번호(0부터 시작)
+        @param size 페이지당 게시글 수
+     */
+    @Transactional(readOnly = true)
+    public Page<BoardSearchResultDto> search(String query, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        SearchHits hits = boardSearchIndex.search(query, (int) pageable.getOffset(), size);
+        if (hits.getBoardIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotalHits());
+        }
+        Map<Long, Board> boards = boardRepository.findAllByIdInAndStatusWithAuthor(hits.getBoardIds(), BoardStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(Board::getId, Function.identity()));
+        List<BoardSearchResultDto> content = hits.getBoardIds().stream()
+                .map(boards::get)
+                .filter(Objects::nonNull)
+                .map(board -> toResult(board, hits.getTerms()))
+                .toList();
+        return new PageImpl<>(content, pageable, hits.getTotalHits());
+    }
+
+    // 게시글 변경을 색인에 반영 (트랜잭션 커밋 이후에만 호출됨)
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> boardSearchIndex.add(event.getBoardId(), event.getTitle(), event.getContent());
+            case UPDATED -> boardSearchIndex.update(event.getBoardId(), event.getTitle(), event.getContent());
+            case DELETED, HIDDEN -> boardSearchIndex.remove(event.getBoardId());
+        }
+    }
+
+    /*
+        색인 준비 (애플리케이션 시작 후 한 번)
+            - 구축이 끝난 색인이면 checkpoint 이후 수정된 게시글만 다시 색인, 아니면 처음부터 구축
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareIndex() throws IOException {
+        if (boardSearchIndex.isBuilt()) {
+            recoverIndex();
+        } else {
+            buildIndex();
+        }
+    }
+
+    /*
+        색인 초기 구축
+            - 기존 세그먼트를 지우고 ACTIVE 게시글을 ID 순으로 chunk 단위(Keyset)로 읽어 색인
+            - chunk마다 세그먼트 파일로 기록하여 메모리 버퍼가 커지지 않도록 하고, 병합은 끝난 뒤 한 번만 수행
+            - 마지막에 구축 완료를 기록함 (그 전에 종료되면 다음 시작 시 다시 구축)
+     */
+    public void buildIndex() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        boardSearchIndex.startBuild();
+        long lastId = 0L;
+        int indexed = 0;
+        List<BoardRepository.SearchDocument> documents;
+        do {
+            documents = boardRepository.findSearchDocumentsAfter(BoardStatus.ACTIVE, lastId, PageRequest.of(0, buildChunkSize));
+            for (BoardRepository.SearchDocument document : documents) {
+                boardSearchIndex.add(document.getId(), document.getTitle(), document.getContent());
+                lastId = document.getId();
+            }
+            indexed += documents.size();
+            boardSearchIndex.flush();
+        } while (documents.size() == buildChunkSize);
+        boardSearchIndex.finishBuild(startedAt);
+        log.info("검색 색인 초기 구축 완료 - 게시글 {}건", indexed);
+    }
+
+    /*
+        색인 복구
+            - checkpoint(마지막 flush) - recovery-margin 이후 수정된 게시글을 다시 색인
+                - ACTIVE : 재색인 (이전 문서는 삭제 마커로 무효화되므로 이미 색인된 게시글이어도 중복되지 않음)
+                - 삭제/숨김 : 색인에서 제거
+     */
+    public void recoverIndex() {
+        LocalDateTime since = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(boardSearchIndex.getCheckpoint() - recoveryMarginMillis), ZoneId.systemDefault());
+        long lastId = 0L;
+        int recovered = 0;
+        List<BoardRepository.ChangedSearchDocument> documents;
+        do {
+            documents = boardRepository.findSearchDocumentsUpdatedAfter(since, lastId, PageRequest.of(0, buildChunkSize));
+            for (BoardRepository.ChangedSearchDocument document : documents) {
+                if (document.getStatus() == BoardStatus.ACTIVE) {
+                    boardSearchIndex.update(document.getId(), document.getTitle(), document.getContent());
+                } else {
+                    boardSearchIndex.remove(document.getId());
+                }
+                lastId = document.getId();
+            }
+            recovered += documents.size();
+        } while (documents.size() == buildChunkSize);
+        boardSearchIndex.flush();
+        log.info("검색 색인 복구 완료 - {} 이후 수정된 게시글 {}건", since, recovered);
+    }
+
+    private BoardSearchResultDto toResult(Board board, List<String> terms) {
+        return BoardSearchResultDto.builder()
+                .id(board.getId())
+                .titleHtml(SearchHighlighter.highlight(board.getTitle(), terms))
+                .snippetHtml(SearchHighlighter.snippet(board.getContent(), terms, SNIPPET_LENGTH))
+                .category(board.getCategory())
+                .authorName(board.getAuthor().getName())
+                .createdAt(board.getCreatedAt())
+                .viewCount(board.getViewCount() + viewCountBuffer.pending(board.getId()))
+                .commentCount(board.getCommentCount())
+                .build();
+    }
+}
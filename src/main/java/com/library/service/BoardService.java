@@ -1,22 +1,40 @@
 package com.library.service;
 
 import com.library.dto.board.BoardCreateDto;
+import com.library.dto.board.BoardCursorPageDto;
 import com.library.dto.board.BoardDetailDto;
+import com.library.dto.board.BoardDetailVersion;
 import com.library.dto.board.BoardListDto;
 import com.library.dto.board.BoardUpdateDto;
 import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
 import com.library.entity.board.BoardFile;
 import com.library.entity.board.BoardStatus;
 import com.library.entity.member.Member;
+import com.library.event.BoardActivityEvent;
+import com.library.event.AttachmentStoredEvent;
+import com.library.event.BoardChangedEvent;
 import com.library.repository.BoardRepository;
 import com.library.repository.MemberRepository;
+import com.library.trending.TrendingBoardRanker;
+import com.library.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 /*
     게시글 Service
@@ -33,50 +51,149 @@ public class BoardService {
     private final BoardRepository boardRepository;
     private final MemberRepository memberRepository;
     private final FileStorageService fileStorageService;
+    private final FileBlobStore fileBlobStore;
+    private final AttachmentIngestor attachmentIngestor;
+    private final TransactionTemplate transactionTemplate;
+    private final ViewCountBuffer viewCountBuffer;
+    private final BoardLikeStore boardLikeStore;
+    private final BoardStatistics boardStatistics;
+    private final BoardListCache boardListCache;
+    private final BoardDetailCache boardDetailCache;
+    private final TrendingBoardRanker trendingBoardRanker;
+    private final ApplicationEventPublisher eventPublisher;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
     /*
         게시글 목록 조회(페이징)
             - ACTIVE 상태의 게시글만 조회하며 최신순으로 정렬함
-            - Entity를 DTO로 변환하여 반환
-            - N+1 문제 해결
-                - findByStatusWithAuthor() 메소드 사용
-                - Board와 Member를 Join으로 한 번에 조회
-                - BoardListDto 변환시 author.getName() 호출해도 추가 쿼리 없음
+            - Projection 쿼리로 BoardListDto를 직접 조회함
+                - findListByStatus() 메소드 사용
+                - Board와 Member를 Join으로 한 번에 조회 (N+1 없음)
+                - 본문(content) 컬럼은 읽지 않고, 엔티티도 영속성 컨텍스트에 올리지 않음
+            - category가 있으면 해당 카테고리만 조회
+                - findListByStatusAndCategory() : (status, category, created_at) 인덱스 사용
+            - 앞쪽 페이지는 BoardListCache에 캐시된 결과 사용 (전체/카테고리 목록 모두)
         @param page 조회할 페이지 변호(0부터 시작)
         @param size 페이지당 게시글 수
+        @param category 조회할 카테고리 (null이면 전체)
         @return 페이징 된 게시글 목록(BoardListDto)
      */
-    public Page<BoardListDto> getBoardList(int page, int size) {
+    public Page<BoardListDto> getBoardList(int page, int size, BoardCategory category) {
+        /*
+            ACTIVE상태의 게시글 조회 (DB에서 바로 DTO로 생성됨)
+         */
         /*
-            ACTIVE상태의 게시글 조회
-            Entity -> DTO
-            page.map() : page 내부의 각 board entity를 BoardListDto로 변환
-            BoardListDto::from - 메소드 레퍼런스 (Board -> BoardListDto.from(board))
+            전체 개수는 count 쿼리 대신 BoardStatistics의 집계값 사용
+            PageImpl(content, pageable, total) 로 기존과 같은 Page 형태로 반환
          */
-    	return boardRepository.findByStatusWithAuthor(BoardStatus.ACTIVE,PageRequest.of(page, size, Sort.by("createdAt").descending())).map(BoardListDto::from);
+        Pageable pageable = PageRequest.of(page, size);
+        Supplier<List<BoardListDto>> loader = category == null
+                ? () -> boardRepository.findListByStatus(BoardStatus.ACTIVE, pageable).getContent()
+                : () -> boardRepository.findListByStatusAndCategory(BoardStatus.ACTIVE, category, pageable).getContent();
+        // 앞쪽 페이지는 BoardListCache에서 조회 (없으면 loader로 DB 조회)
+        List<BoardListDto> rows = boardListCache.getPage(category, page, size, loader);
+        long total = category == null ? boardStatistics.countActive() : boardStatistics.countActive(category);
+        List<BoardListDto> content = rows.stream()
+                .map(dto -> dto.withViewCount(dto.getViewCount() + viewCountBuffer.pending(dto.getId())))
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+    /*
+        게시글 목록 조회(커서 기반, Keyset 페이지네이션)
+            - 페이지 번호 대신 "마지막으로 본 게시글"의 커서를 받아 그 다음부터 조회함
+            - OFFSET, count 쿼리가 없어 게시글이 많아져도 깊은 페이지가 느려지지 않음
+        @param cursor 이전 페이지의 nextCursor (null 또는 빈 값이면 첫 페이지)
+        @param size 페이지당 게시글 수 (최대 MAX_CURSOR_PAGE_SIZE)
+     */
+    public BoardCursorPageDto getBoardListByCursor(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize);
+        Slice<BoardListDto> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = boardRepository.findListByStatus(BoardStatus.ACTIVE, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            slice = boardRepository.findListSliceAfter(BoardStatus.ACTIVE, after.getCreatedAt(), after.getId(), limit);
+        }
+        List<BoardListDto> content = slice.getContent().stream()
+                .map(dto -> dto.withViewCount(dto.getViewCount() + viewCountBuffer.pending(dto.getId())))
+                .toList();
+        // 다음 페이지가 있을 때만 마지막 행으로 커서 생성
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            BoardListDto last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new BoardCursorPageDto(content, nextCursor, slice.hasNext());
+    }
+    // 카테고리별 게시글 수 (네비게이션 표시용, count 쿼리 없이 집계값 사용)
+    public Map<BoardCategory, Long> getCategoryCounts() {
+        return boardStatistics.activeCategoryCounts();
+    }
+    /*
+        인기 게시글 목록 (시간 감쇠 점수 순)
+            - 순위는 TrendingBoardRanker가 메모리에서 계산한 게시글 ID 목록을 사용 (ORDER BY 전체 스캔 없음)
+            - 표시 정보는 PK IN 조회 한 번으로 가져와 순위 순서대로 정렬
+            - 순위 반영 전 삭제/숨김된 게시글은 조회 조건(ACTIVE)에서 빠짐
+            - 조회 결과는 BoardListCache에 순위 정리 주기(maintain)마다 보관 (목록 화면마다 IN 조회하지 않도록)
+            - 조회수/좋아요 수는 캐시 값 + 아직 반영되지 않은 증감량
+        @param category 카테고리 (null이면 전체)
+     */
+    public List<BoardListDto> getTrendingBoards(BoardCategory category, int limit) {
+        List<BoardListDto> rows = boardListCache.getTrending(category, limit, trendingBoardRanker.generation(), () -> {
+            List<Long> ids = trendingBoardRanker.top(category, limit);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, BoardListDto> boards = new HashMap<>();
+            for (BoardListDto board : boardRepository.findListByIdIn(ids, BoardStatus.ACTIVE)) {
+                boards.put(board.getId(), board);
+            }
+            return ids.stream().map(boards::get).filter(Objects::nonNull).toList();
+        });
+        return rows.stream()
+                .map(dto -> dto.withViewCount(dto.getViewCount() + viewCountBuffer.pending(dto.getId()))
+                        .withLikeCount(dto.getLikeCount() + boardLikeStore.pendingDelta(dto.getId())))
+                .toList();
     }
     /*
         게시글 상세 조회
             - ACTIVE 상태의 게시글만 조회
-            - 조회수를 1 증가시킴 (더티 체킹으로 자동 반영)
             - 존재하지 않거나 삭제된 게시글은 예외 발생
-        @Transactional (더티 체킹의 핵심 키워드)
-            - readOnly = false (기본값)
-                - 조회수 증가를 위한 쓰기 작업이 필요하므로 readOnly를 사용하지 않음
-                - 트랜젝션 내에서 엔티티 변경 => 더티 체킹으로 자동 UPDATE
+            - 조회수 증가는 recordView로 따로 기록 (304 응답에도 조회수를 올리기 위해 컨트롤러가 먼저 호출)
+        조회수/좋아요 수 표시
+            - 화면에 보여줄 조회수 = DB 값 + 아직 반영되지 않은 조회수 (ViewCountBuffer)
+            - 좋아요 수도 같은 방식으로 BoardLikeStore의 미반영 증감량을 더함
+        상세 캐시
+            - 변환된 BoardDetailDto 스냅샷은 BoardDetailCache에서 가져옴 (없을 때만 DB 조회)
+            - 스냅샷은 공유 객체이므로 보정 값은 with로 복사본에만 반영
      */
-    @Transactional  // 더티 체킹을 위해 필요함
     public BoardDetailDto getBoard(Long id) {
-        // 1. DB 게시글 조회
-        Board board = boardRepository.findByIdAndStatusWithAuthor(id, BoardStatus.ACTIVE).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
-        // 2. 조회수 증가(메모리 상에서만)
-        board.increaseViewCount();
-        // 3. 변환
-        return BoardDetailDto.from(board);
-        // 4. 메소드 종료 - 트랜잭션 커밋 직전 더티 체킹 실행
-        /*
-            JPA가 스냅샷과 현재 엔티티를 비교하여 viewCount 변경 감지
-            UPDATE board Set view_count=?,...
-         */
+        BoardDetailDto dto = loadDetail(id);
+        return dto.withViewCount(dto.getViewCount() + viewCountBuffer.pending(id))
+                .withLikeCount(dto.getLikeCount() + boardLikeStore.pendingDelta(id));
+    }
+    /*
+        게시글 상세 검증값 조회 (HTTP 조건부 요청용)
+            - 상세 캐시에 스냅샷이 있으면 스냅샷 값 사용 (SQL 없음)
+            - 없으면 board 행의 updatedAt/카운터만 조회 (본문/작성자/첨부파일 조회와 DTO 변환 없음)
+            - 좋아요 수는 getBoard와 같이 미반영 증감량을 더함
+     */
+    public BoardDetailVersion getBoardVersion(Long id) {
+        BoardDetailDto cached = boardDetailCache.peek(id);
+        BoardDetailVersion version = cached != null
+                ? BoardDetailVersion.from(cached)
+                : boardRepository.findDetailVersion(id, BoardStatus.ACTIVE).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+        return version.withLikeCount(version.getLikeCount() + boardLikeStore.pendingDelta(id));
+    }
+    /*
+        조회수 증가 기록 (쓰기 지연)
+            - 조회할 때마다 board 행을 UPDATE 하지 않고 ViewCountBuffer에 +1만 기록
+            - 버퍼가 주기적으로 batch UPDATE 하므로 DB 접근 없음
+            - 인기 게시글 점수 반영 (BoardActivityEvent)
+     */
+    public void recordView(Long id, BoardCategory category) {
+        viewCountBuffer.increase(id);
+        eventPublisher.publishEvent(BoardActivityEvent.viewed(id, category));
     }
     /*
         게시글 작성
@@ -85,56 +202,65 @@ public class BoardService {
                 - spring security에서 현재 로그인한 사용자의 이메일 가져옮
             - 첨부파일이 있으면 같이 저장
             - 초기 상태는 ACTIVE, 조회수, 좋아요는 0으로 설정
-            - @Transactional
-                - readOnly = false 기본값
-                - 쓰기 작업이므로 트랜잭션 필요
-                - save() 호출 후 자동으로 커밋
+            - 트랜잭션
+                - 첨부파일은 트랜잭션을 열기 전에 AttachmentIngestor로 병렬 저장 (디스크 쓰기 동안 DB 커넥션을 잡지 않음)
+                - 이후 TransactionTemplate으로 게시글 + BoardFile 메타데이터만 저장
+                - SUPPORTS : 바깥 트랜잭션이 없으면 트랜잭션 없이 시작 (클래스의 readOnly 트랜잭션을 열지 않기 위함)
             - 동작 과정
                 1) spring security(securityContext)에서 현재 사용자 이메일 추출
-                2) 이메일로 Member 조회
-                3) dto 데이터 + member로 board 엔티티 생성
-                4) 첨부파일이 있으면
-                    - 각 파일을 서버에 저장
-                    - boardFile 엔티티 생성
-                    - board에 파일 추가(양방향 관계)
-                5) boardRepository.save로 db 저장
-                6) 쿼리 실행
+                2) 첨부파일이 있으면 각 파일을 서버에 저장 (병렬)
+                3) 이메일로 Member 조회
+                4) dto 데이터 + member로 board 엔티티 생성
+                5) 첨부파일마다 boardFile 엔티티 생성, board에 파일 추가(양방향 관계)
+                6) boardRepository.save로 db 저장
                 7) 생성된 게시글 id 반환
+                - 저장에 실패하면 2)에서 저장한 파일을 삭제
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long createBoard(BoardCreateDto boardCreateDto, String userEmail) {
-        // 1) 현재 로그인한 사용자 정보 조회
-        Member author = memberRepository.findByEmail(userEmail).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-        // 2) Board 엔티티 생성
-        Board board = Board.builder()
-                .title(boardCreateDto.getTitle())
-                .content(boardCreateDto.getContent())
-                .category(boardCreateDto.getCategory())
-                .author(author)
-                .build();
-        // 3) 첨부파일 처리
-        if (boardCreateDto.getFiles() != null && !boardCreateDto.getFiles().isEmpty()) {
-            for (MultipartFile file : boardCreateDto.getFiles()) {
-                if (file.isEmpty()) {
-                    continue;
-                }
-                String[] fileInfo = fileStorageService.storeFile(file, "boards");
-                String storedFileName = fileInfo[0];    // UUID.extension
-                String filePath = fileInfo[1];          // 전체 경로
-                BoardFile boardFile = BoardFile.builder()
-                        .originalFileName(file.getOriginalFilename())
-                        .storedFileName(storedFileName)
-                        .filePath(filePath)
-                        .fileSize(file.getSize())
-                        .fileExtension(fileStorageService.getFileExtension(file.getOriginalFilename()))
-                        .mimeType(file.getContentType())    // 파일 mime 타입
+        // 1) 첨부파일 저장 (트랜잭션 밖)
+        List<StoredAttachment> attachments = attachmentIngestor.ingest(boardCreateDto.getFiles(), "boards");
+        try {
+            return transactionTemplate.execute(status -> {
+                // 2) 현재 로그인한 사용자 정보 조회
+                Member author = memberRepository.findByEmail(userEmail).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                // 3) Board 엔티티 생성
+                Board board = Board.builder()
+                        .title(boardCreateDto.getTitle())
+                        .content(boardCreateDto.getContent())
+                        .category(boardCreateDto.getCategory())
+                        .author(author)
                         .build();
-                board.addFile(boardFile);   // 양방향 관계 설정
-            }
+                // 4) 첨부파일 메타데이터
+                attachments.forEach(attachment -> board.addFile(toBoardFile(attachment)));   // 양방향 관계 설정
+                // db 저장
+                Board saved = boardRepository.save(board);
+                eventPublisher.publishEvent(BoardChangedEvent.created(saved));
+                return saved.getId();
+            });
+        } catch (RuntimeException e) {
+            attachmentIngestor.discard(attachments);
+            throw e;
         }
-        // db 저장
-        Board saved = boardRepository.save(board);
-        return saved.getId();
+    }
+    /*
+        저장된 첨부파일 -> BoardFile (중복 제거 저장이면 이 시점에 blob 참조 획득)
+            - 커밋 이후 이미지 썸네일 생성을 위해 AttachmentStoredEvent 발행
+     */
+    private BoardFile toBoardFile(StoredAttachment attachment) {
+        String[] fileInfo = fileBlobStore.attach(attachment);
+        String extension = fileStorageService.getFileExtension(attachment.getOriginalFileName());
+        eventPublisher.publishEvent(new AttachmentStoredEvent(fileInfo[1], fileInfo[0], extension));
+        return BoardFile.builder()
+                .originalFileName(attachment.getOriginalFileName())
+                .storedFileName(fileInfo[0])    // UUID.extension 또는 내용 해시
+                .filePath(fileInfo[1])          // 상대 경로
+                .fileSize(attachment.getFileSize())
+                .fileExtension(extension)
+                .mimeType(attachment.getContentType())    // 파일 mime 타입
+                .contentHash(fileInfo[2])                 // 중복 제거 저장일 때 내용 해시
+                .downloadCount(0L)
+                .build();
     }
     /*
         게시글 삭제 soft delete
@@ -153,81 +279,102 @@ public class BoardService {
         }
         // 3) soft delete 상태만 변경
         board.delete();
+        eventPublisher.publishEvent(BoardChangedEvent.deleted(board));
         // 4) 메소드 종료 - 트랜잭션 커밋 직전 더티체킹 실행
         /*
             JPA가 스냅샷과 현재 엔티티를 비교하여 status 변경 감지
             UPDATE SQL 쿼리 실행
          */
     }
+    /*
+        게시글 숨김
+            - 삭제와 같은 방식(상태 변경)으로 처리하되 HIDDEN 상태로 남김
+            - 작성자 본인만 숨길 수 있음
+     */
+    @Transactional
+    public void hideBoard(Long id, String userEmail) {
+        Board board = boardRepository.findByIdAndStatusWithAuthor(id, BoardStatus.ACTIVE).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+        if (!board.getAuthor().getEmail().equals(userEmail)) {
+            throw new RuntimeException("게시글을 숨길 권한이 없습니다.");
+        }
+        board.hide();
+        eventPublisher.publishEvent(BoardChangedEvent.hidden(board));
+    }
     /*
         게시글 수정용 조회
             - 수정 폼에 표시할 게시글 정보 조회
             - 작성자 본인만 조회 가능
             - Active 상태만
+            - 상세 조회와 같은 스냅샷(BoardDetailCache)을 사용하므로 캐시에 있으면 SQL 없음
      */
     @Transactional(readOnly = true)
     public BoardDetailDto getBoardForEdit(Long id, String userEmail) {
-        // 1) 게시글 조회 (작성자 정보 포함)
-        Board board = boardRepository.findByIdAndStatusWithAuthor(id, BoardStatus.ACTIVE).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+        // 1) 게시글 조회 (작성자 + 첨부파일 포함)
+        BoardDetailDto board = loadDetail(id);
         // 2) 권한 검증 - 작성자 본인만 수정 가능
-        if (!board.getAuthor().getEmail().equals(userEmail)) {
+        if (!board.getAuthorEmail().equals(userEmail)) {
             throw new RuntimeException("게시글을 수정 할 권한이 없습니다.");
         }
-        // 3) DTO로 변환하여 반환
-        return BoardDetailDto.from(board);
+        return board;
     }
     /*
         게시글 수정
             - 제목, 내용, 카테고리 수정
             - 기존 파일 삭제 및 새 파일 추가 처리
             - 작성자 본인만 수정 가능
-            - Transactional 처리
+            - 새 첨부파일은 트랜잭션 전에 병렬 저장하고, 트랜잭션(TransactionTemplate)에서는 메타데이터만 처리
+                - 저장 전에 게시글 상태/작성자를 먼저 확인 (권한 없는 요청이 디스크에 파일을 쓰지 못하도록)
+                - 수정에 실패하면 저장한 새 파일 삭제
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateBoard(Long id, String userEmail, BoardUpdateDto boardUpdateDto) {
-        // 1) 게시글 조회
-        Board board = boardRepository.findByIdAndStatusWithAuthor(id, BoardStatus.ACTIVE).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+        // 0) 새 첨부파일이 있으면 권한 확인 후 저장 (트랜잭션 밖, 트랜잭션 안에서 다시 확인함)
+        if (boardUpdateDto.getFiles() != null && boardUpdateDto.getFiles().stream().anyMatch(file -> !file.isEmpty())) {
+            String authorEmail = boardRepository.findAuthorEmailByIdAndStatus(id, BoardStatus.ACTIVE)
+                    .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+            if (!authorEmail.equals(userEmail)) {
+                throw new RuntimeException("게시글을 수정 할 권한이 없습니다.");
+            }
+        }
+        List<StoredAttachment> attachments = attachmentIngestor.ingest(boardUpdateDto.getFiles(), "boards");
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyUpdate(id, userEmail, boardUpdateDto, attachments));
+        } catch (RuntimeException e) {
+            attachmentIngestor.discard(attachments);
+            throw e;
+        }
+    }
+    private void applyUpdate(Long id, String userEmail, BoardUpdateDto boardUpdateDto, List<StoredAttachment> attachments) {
+        // 1) 게시글 조회 (첨부파일 삭제/추가를 위해 첨부파일까지 한 번에)
+        Board board = boardRepository.findDetailByIdAndStatus(id, BoardStatus.ACTIVE).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
         // 2) 권한 검증
         if (!board.getAuthor().getEmail().equals(userEmail)) {
             throw new RuntimeException("게시글을 수정 할 권한이 없습니다.");
         }
         // 3) 게시글 기본 정보 수정 (더티 체킹으로 자동 update)
+        BoardCategory previousCategory = board.getCategory();
         board.update(boardUpdateDto);
         // 4) 기존 파일 삭제 처리
         if (boardUpdateDto.getFiles() != null && !boardUpdateDto.getFiles().isEmpty()) {
             // 삭제 할 파일 ID 목록을 순회
             for (Long fileId : boardUpdateDto.getDeleteFileIds()) {
                 board.getFiles().stream().filter(file -> file.getId().equals(fileId)).findFirst().ifPresent(file -> {
-                    // 물리적 파일 삭제
-                    fileStorageService.deleteFile(file.getFilePath(), file.getStoredFileName());
+                    // 물리적 파일 삭제 (중복 제거 저장이면 blob 참조 해제)
+                    fileBlobStore.delete(file.getFilePath(), file.getStoredFileName(), file.getContentHash());
                     // 컬렉션에서 제거 -- DB에서도 삭제
                     board.getFiles().remove(file);
                 });
             }
         }
-        // 5) 새파일 추가 처리
-        if (boardUpdateDto.getFiles() != null && !boardUpdateDto.getFiles().isEmpty()) {
-            for (MultipartFile file : boardUpdateDto.getFiles()) {
-                // 빈 파일 건너 뛰기
-                if (file.isEmpty()) {
-                    continue;
-                }
-                String[] fileInfo = fileStorageService.storeFile(file, "boards");
-                String storedFileName = fileInfo[0];
-                String filePath = fileInfo[1];
-                BoardFile boardFile = BoardFile.builder()
-                        .originalFileName(file.getOriginalFilename())
-                        .storedFileName(storedFileName)
-                        .filePath(filePath)
-                        .fileSize(file.getSize())
-                        .fileExtension(fileStorageService.getFileExtension(file.getOriginalFilename()))
-                        .mimeType(file.getContentType())
-                        .downloadCount(0L)
-                        .build();
-                board.addFile(boardFile);
-            }
-        }
+        // 5) 새파일 추가 처리 (이미 저장된 파일의 메타데이터)
+        attachments.forEach(attachment -> board.addFile(toBoardFile(attachment)));
+        eventPublisher.publishEvent(BoardChangedEvent.updated(board, previousCategory));
         // 메소드 종료
         // JPA가 변경사항을 감지하여 자동으로 update 실행
     }
+    // 게시글 상세 스냅샷 (캐시에 없으면 작성자 + 첨부파일을 한 번의 SQL로 조회)
+    private BoardDetailDto loadDetail(Long id) {
+        return boardDetailCache.get(id, () -> BoardDetailDto.from(
+                boardRepository.findDetailByIdAndStatus(id, BoardStatus.ACTIVE).orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."))));
+    }
 }
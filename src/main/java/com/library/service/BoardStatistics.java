@@ -0,0 +1,142 @@
+package com.library.service;
+
+import com.library.entity.board.BoardCategory;
+import com.library.entity.board.BoardStatus;
+import com.library.event.BoardChangedEvent;
+import com.library.repository.BoardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    게시글 수 집계 (메모리 유지)
+        - 기존 방식의 문제
+            - 목록 페이지를 열 때마다 count(b) 쿼리로 전체 게시글을 세야 했음 (게시글이 많을수록 느려짐)
+        - 변경 후
+            - 상태별(ACTIVE/DELETED/HIDDEN), 카테고리별(ACTIVE 게시글) 개수를 메모리에 유지
+            - BoardChangedEvent(커밋 이후)를 받아 증감만 반영 => 목록 조회 시 count 쿼리 없음
+            - 카테고리별 개수도 공짜로 얻을 수 있으므로 네비게이션에 표시 가능
+        - 주기적 보정(reconcile)
+            - 여러 서버 운영, 직접 DB 수정 등으로 생기는 오차를 group by 쿼리 한 번으로 맞춤
+            - 집계값을 DB 값으로 덮어쓰지 않고, 쿼리 시작 시점에 읽어 둔 값과의 차이만큼만 더함
+                - 쿼리 도중 커밋 이후 이벤트로 반영된 증감은 그대로 남음
+                - 쿼리 전에 커밋되었지만 이벤트가 쿼리 시작 후에 반영된 변경만 두 번 세어지며, 다음 보정 때 맞춰짐
+            - 최초 로드 전에도 이벤트를 반영해 두므로 최초 보정 도중 들어온 변경도 유실되지 않음
+        - 설정
+            - board.statistics.reconcile-interval-ms : 보정 주기 (기본 10분)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardStatistics {
+    private final BoardRepository boardRepository;
+    private final Map<BoardStatus, AtomicLong> statusTotals = newCounters(BoardStatus.class);
+    private final Map<BoardCategory, AtomicLong> activeCategoryTotals = newCounters(BoardCategory.class);
+    private volatile boolean loaded = false;
+
+    // ACTIVE 상태 게시글 수
+    public long countActive() {
+        ensureLoaded();
+        return statusTotals.get(BoardStatus.ACTIVE).get();
+    }
+
+    // 카테고리별 ACTIVE 게시글 수
+    public long countActive(BoardCategory category) {
+        ensureLoaded();
+        return activeCategoryTotals.get(category).get();
+    }
+
+    // 카테고리별 ACTIVE 게시글 수 (네비게이션 표시용, 카테고리 선언 순서)
+    public Map<BoardCategory, Long> activeCategoryCounts() {
+        ensureLoaded();
+        Map<BoardCategory, Long> counts = new EnumMap<>(BoardCategory.class);
+        activeCategoryTotals.forEach((category, total) -> counts.put(category, total.get()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /*
+        게시글 변경 반영 (트랜잭션 커밋 이후에만 호출됨)
+            - 생성 : ACTIVE +1, 카테고리 +1
+            - 삭제/숨김 : ACTIVE -1, DELETED/HIDDEN +1, 카테고리 -1
+            - 수정 : 카테고리가 바뀐 경우만 이전 카테고리 -1, 새 카테고리 +1
+     */
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (!event.isCountChanged()) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED -> {
+                statusTotals.get(BoardStatus.ACTIVE).incrementAndGet();
+                activeCategoryTotals.get(event.getCategory()).incrementAndGet();
+            }
+            case DELETED, HIDDEN -> {
+                statusTotals.get(BoardStatus.ACTIVE).decrementAndGet();
+                statusTotals.get(event.getType() == BoardChangedEvent.Type.DELETED ? BoardStatus.DELETED : BoardStatus.HIDDEN).incrementAndGet();
+                activeCategoryTotals.get(event.getCategory()).decrementAndGet();
+            }
+            case UPDATED -> {
+                activeCategoryTotals.get(event.getPreviousCategory()).decrementAndGet();
+                activeCategoryTotals.get(event.getCategory()).incrementAndGet();
+            }
+        }
+    }
+
+    // 영구 삭제(BoardPurgeJob)된 DELETED 게시글 수 반영
+    public void onPurged(long count) {
+        if (count > 0) {
+            statusTotals.get(BoardStatus.DELETED).addAndGet(-count);
+        }
+    }
+
+    /*
+        DB 기준으로 집계 보정
+            - 상태 + 카테고리로 group by 한 결과 한 번으로 모든 집계를 다시 계산함
+            - 쿼리 시작 시점의 집계값을 먼저 읽어 두고 (DB 값 - 읽어 둔 값)만큼 더함
+              (set()으로 덮어쓰면 쿼리 도중 이벤트로 반영된 증감이 사라짐)
+     */
+    @Scheduled(initialDelayString = "${board.statistics.reconcile-interval-ms:600000}", fixedDelayString = "${board.statistics.reconcile-interval-ms:600000}")
+    public synchronized void reconcile() {
+        Map<BoardStatus, Long> statusSeen = snapshot(statusTotals, BoardStatus.class);
+        Map<BoardCategory, Long> categorySeen = snapshot(activeCategoryTotals, BoardCategory.class);
+        Map<BoardStatus, Long> statusCounts = new EnumMap<>(BoardStatus.class);
+        Map<BoardCategory, Long> categoryCounts = new EnumMap<>(BoardCategory.class);
+        for (BoardRepository.StatusCategoryCount row : boardRepository.countGroupByStatusAndCategory()) {
+            statusCounts.merge(row.getStatus(), row.getTotal(), Long::sum);
+            if (row.getStatus() == BoardStatus.ACTIVE) {
+                categoryCounts.merge(row.getCategory(), row.getTotal(), Long::sum);
+            }
+        }
+        statusTotals.forEach((status, total) -> total.addAndGet(statusCounts.getOrDefault(status, 0L) - statusSeen.get(status)));
+        activeCategoryTotals.forEach((category, total) -> total.addAndGet(categoryCounts.getOrDefault(category, 0L) - categorySeen.get(category)));
+        loaded = true;
+        log.debug("게시글 수 보정 완료 - 상태별 : {}, 카테고리별 : {}", statusCounts, categoryCounts);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reconcile();
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> snapshot(Map<E, AtomicLong> counters, Class<E> type) {
+        Map<E, Long> values = new EnumMap<>(type);
+        counters.forEach((key, counter) -> values.put(key, counter.get()));
+        return values;
+    }
+
+    private static <E extends Enum<E>> Map<E, AtomicLong> newCounters(Class<E> type) {
+        Map<E, AtomicLong> counters = new EnumMap<>(type);
+        for (E key : type.getEnumConstants()) {
+            counters.put(key, new AtomicLong());
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,48 @@
+package com.library.service;
+
+import com.library.repository.BoardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+    게시글 댓글 수(board.comment_count) 주기적 보정 작업
+        - 댓글 작성/삭제 시 원자적 UPDATE로 갱신하지만
+          직접 DB 수정, 장애 등으로 생길 수 있는 오차를 맞추기 위함
+        - 게시글을 ID 순으로 chunk-size 만큼 잘라서(Keyset) 처리
+            - chunk 하나당 저장값/실제값 비교 쿼리 1번 + 값이 다른 게시글만 차이만큼 증감 UPDATE
+            - chunk마다 별도 트랜잭션이므로 오래 락을 잡지 않음
+        - 설정
+            - comment.count.reconcile-interval-ms : 보정 주기 (기본 1시간)
+            - comment.count.reconcile-chunk-size : 한 번에 보정할 게시글 수 (기본 500)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentCountReconciler {
+    private final BoardRepository boardRepository;
+    private final CommentService commentService;
+    @Value("${comment.count.reconcile-chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(initialDelayString = "${comment.count.reconcile-interval-ms:3600000}", fixedDelayString = "${comment.count.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        long lastId = 0L;
+        int corrected = 0;
+        List<Long> boardIds;
+        do {
+            boardIds = boardRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+            if (boardIds.isEmpty()) {
+                break;
+            }
+            corrected += commentService.reconcileCommentCounts(boardIds);
+            lastId = boardIds.get(boardIds.size() - 1);
+        } while (boardIds.size() == chunkSize);
+        log.info("댓글 수 보정 완료 - 보정된 게시글 {}건", corrected);
+    }
+}
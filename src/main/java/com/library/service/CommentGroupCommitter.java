@@ -0,0 +1,349 @@
+package com.library.service;
+
+import com.library.config.ReplicaRoutingDataSource;
+import com.library.dto.comment.CommentCreateDTO;
+import com.library.dto.comment.CommentDTO;
+import com.library.entity.board.BoardCategory;
+import com.library.event.BoardActivityEvent;
+import com.library.event.CommentChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+    댓글 작성 그룹 커밋(group commit)
+        - 이벤트 중처럼 댓글이 몰리면 댓글마다 트랜잭션 하나(게시글 조회 + 회원 조회 + INSERT + 댓글 수 UPDATE)가 실행됨
+        - 그룹 커밋 모드에서는 동시에 들어온 작성 요청을 대기열에 모았다가 한 트랜잭션에서 함께 저장
+            - 게시글/회원 조회 : IN 조회 각 1번
+            - 댓글 저장 : JDBC batch INSERT 1번 (MySQL은 rewriteBatchedStatements=true면 multi-row INSERT로 전송)
+            - 댓글 수 : 게시글별로 합산하여 UPDATE
+        - 대기 방식
+            - 저장 스레드 하나가 대기열에 있는 요청을 batch-size까지 바로 가져오고,
+              모자라면 max-wait-ms 동안만 더 기다림 (한가할 때 지연 시간은 최대 max-wait-ms 증가)
+            - 이전 batch를 저장하는 동안 들어온 요청은 다음 batch로 모임
+        - 최상위 댓글만 처리 (답글은 부모 조회와 경로 지정이 필요하므로 컨트롤러가 CommentService로 바로 저장)
+        - 요청마다 결과를 따로 돌려줌
+            - 없는 게시글/회원 : 해당 요청만 IllegalArgumentException (기존 createComment와 같은 메시지)
+            - batch 트랜잭션이 실패하면 아직 결과가 없는 요청을 CommentService.createComment로 하나씩 다시 저장
+        - 작성 이벤트(BoardActivityEvent, CommentChangedEvent)는 트랜잭션 안에서 발행하므로 커밋 이후에 전달됨
+        - 지표
+            - comment.group-commit.batch : batch 크기 분포
+            - comment.group-commit.latency : 요청 대기 + 저장 시간
+            - comment.group-commit.fallbacks : batch 실패로 개별 저장한 횟수
+            - comment.group-commit.queue : 대기 중인 요청 수
+        - 설정
+            - comment.group-commit.enabled : 사용 여부 (기본 false, 끄면 기존처럼 요청마다 저장)
+            - comment.group-commit.batch-size : 한 트랜잭션에 저장할 최대 댓글 수 (기본 64)
+            - comment.group-commit.max-wait-ms : batch를 채우기 위해 기다리는 최대 시간 (기본 5ms, 0이면 기다리지 않음)
+            - comment.group-commit.queue-capacity : 대기열 크기, 가득 차면 요청 거절 (기본 4096)
+            - comment.group-commit.response-timeout-ms : 요청이 결과를 기다리는 최대 시간 (기본 10초)
+ */
+@Component
+@Slf4j
+public class CommentGroupCommitter {
+    private static final String SELECT_BOARDS_SQL = "SELECT id, category FROM board WHERE id IN (:ids)";
+    private static final String SELECT_MEMBERS_SQL = "SELECT member_id, email, name FROM members WHERE email IN (:emails)";
+    private static final String INSERT_COMMENT_SQL = "INSERT INTO comment (content, like_count, status, board_id, author_id, depth, created_at, updated_at) " +
+            "VALUES (?, 0, 'ACTIVE', ?, ?, 0, ?, ?)";
+    private static final String ADJUST_COMMENT_COUNT_SQL = "UPDATE board SET comment_count = comment_count + ? WHERE id = ?";
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CommentService commentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private BlockingQueue<Request> queue;
+    private Thread writer;
+    private volatile boolean running;
+    private DistributionSummary batchSizes;
+    private Timer latency;
+    private Counter fallbacks;
+    @Value("${comment.group-commit.enabled:false}")
+    private boolean enabled;
+    @Value("${comment.group-commit.batch-size:64}")
+    private int batchSize;
+    @Value("${comment.group-commit.max-wait-ms:5}")
+    private long maxWaitMillis;
+    @Value("${comment.group-commit.queue-capacity:4096}")
+    private int queueCapacity;
+    @Value("${comment.group-commit.response-timeout-ms:10000}")
+    private long responseTimeoutMillis;
+
+    public CommentGroupCommitter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, CommentService commentService,
+                                 ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.commentService = commentService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // 그룹 커밋 모드일 때만 대기열과 저장 스레드를 만듦
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        batchSizes = DistributionSummary.builder("comment.group-commit.batch").register(meterRegistry);
+        latency = Timer.builder("comment.group-commit.latency").register(meterRegistry);
+        fallbacks = Counter.builder("comment.group-commit.fallbacks").register(meterRegistry);
+        Gauge.builder("comment.group-commit.queue", queue, BlockingQueue::size).register(meterRegistry);
+        running = true;
+        writer = new Thread(this::run, "comment-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("댓글 그룹 커밋 사용 - batch-size {}, max-wait {}ms", batchSize, maxWaitMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+        댓글 작성 요청을 대기열에 넣고, 이 요청이 포함된 batch가 커밋될 때까지 기다림
+            - 트랜잭션 밖에서 호출해야 함 (기다리는 동안 DB 커넥션을 잡지 않도록)
+        @return 저장된 댓글 (실패하면 createComment와 같은 예외)
+     */
+    public CommentDTO submit(Long boardId, CommentCreateDTO createDTO, String loginId) {
+        Request request = new Request(boardId, createDTO.getContent(), loginId, System.nanoTime());
+        if (!running || !queue.offer(request)) {
+            throw new IllegalStateException("댓글 작성 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+        try {
+            return request.result.get(responseTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("댓글 저장 중 오류가 발생했습니다.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("댓글 저장이 지연되고 있습니다. 잠시 후 목록을 확인해주세요.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("댓글 저장 대기 중 중단되었습니다.", e);
+        } finally {
+            // 저장은 저장 스레드에서 하므로 요청 스레드에도 쓰기 표시 (PrimaryPinFilter가 작성자를 원본에 고정하도록)
+            //  - 시간 초과/중단이어도 나중에 커밋될 수 있으므로 표시
+            ReplicaRoutingDataSource.markWroteToPrimary();
+        }
+    }
+
+    // 종료 시 대기열에 남은 요청까지 저장한 뒤 스레드 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(request -> request.result.completeExceptionally(new IllegalStateException("댓글 저장이 중단되었습니다.")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("댓글 그룹 커밋 처리 실패", e);
+                batch.forEach(request -> request.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 이미 대기 중인 요청을 바로 가져오고, batch가 덜 찼으면 max-wait-ms 동안만 더 기다림
+    private void collect(List<Request> batch) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void write(List<Request> batch) {
+        batchSizes.record(batch.size());
+        List<Saved> saved;
+        try {
+            saved = transactionTemplate.execute(status -> insert(batch));
+        } catch (RuntimeException e) {
+            log.warn("댓글 그룹 커밋 실패 - {}건을 개별 저장으로 재시도", batch.size(), e);
+            fallbacks.increment();
+            for (Request request : batch) {
+                if (request.result.isDone()) {
+                    continue;
+                }
+                try {
+                    complete(request, commentService.createComment(request.boardId, CommentCreateDTO.builder().content(request.content).build(), request.loginId));
+                } catch (RuntimeException failure) {
+                    request.result.completeExceptionally(failure);
+                }
+            }
+            return;
+        }
+        // 커밋이 끝난 뒤에 각 요청에 결과 전달
+        saved.forEach(result -> complete(result.request, result.comment));
+    }
+
+    // batch 저장 (트랜잭션 안에서 실행), 없는 게시글/회원 요청은 바로 실패 처리
+    private List<Saved> insert(List<Request> batch) {
+        Set<Long> boardIds = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Request request : batch) {
+            boardIds.add(request.boardId);
+            emails.add(request.loginId);
+        }
+        Map<Long, BoardCategory> boards = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_BOARDS_SQL, new MapSqlParameterSource("ids", boardIds),
+                rs -> { boards.put(rs.getLong(1), BoardCategory.valueOf(rs.getString(2))); });
+        Map<String, Author> authors = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_MEMBERS_SQL, new MapSqlParameterSource("emails", emails),
+                rs -> { authors.put(rs.getString(2), new Author(rs.getLong(1), rs.getString(3))); });
+
+        List<Request> valid = new ArrayList<>(batch.size());
+        for (Request request : batch) {
+            if (!boards.containsKey(request.boardId)) {
+                request.result.completeExceptionally(new IllegalArgumentException("게시글을 찾을 수 없스니다."));
+            } else if (!authors.containsKey(request.loginId)) {
+                request.result.completeExceptionally(new IllegalArgumentException("회원을 찾을 수 없습니다."));
+            } else {
+                valid.add(request);
+            }
+        }
+        if (valid.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_COMMENT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Request request = valid.get(i);
+                        ps.setString(1, request.content);
+                        ps.setLong(2, request.boardId);
+                        ps.setLong(3, authors.get(request.loginId).id);
+                        ps.setTimestamp(4, createdAt);
+                        ps.setTimestamp(5, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return valid.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != valid.size()) {
+            throw new IllegalStateException("생성된 댓글 ID 수가 저장한 댓글 수와 다릅니다.");
+        }
+
+        // 게시글별 댓글 수 합산 후 UPDATE
+        Map<Long, Long> deltas = new HashMap<>();
+        valid.forEach(request -> deltas.merge(request.boardId, 1L, Long::sum));
+        List<Object[]> adjustments = new ArrayList<>(deltas.size());
+        deltas.forEach((boardId, delta) -> adjustments.add(new Object[]{delta, boardId}));
+        jdbcTemplate.batchUpdate(ADJUST_COMMENT_COUNT_SQL, adjustments);
+
+        List<Saved> saved = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            Request request = valid.get(i);
+            Author author = authors.get(request.loginId);
+            Long commentId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            CommentDTO comment = CommentDTO.of(commentId, request.content, author.name, request.loginId, now);
+            eventPublisher.publishEvent(BoardActivityEvent.commented(request.boardId, boards.get(request.boardId)));
+            eventPublisher.publishEvent(CommentChangedEvent.created(request.boardId, comment));
+            saved.add(new Saved(request, comment));
+        }
+        return saved;
+    }
+
+    private void complete(Request request, CommentDTO comment) {
+        latency.record(System.nanoTime() - request.enqueuedAt, TimeUnit.NANOSECONDS);
+        request.result.complete(comment);
+    }
+
+    private static final class Request {
+        private final Long boardId;
+        private final String content;
+        private final String loginId;
+        private final long enqueuedAt;
+        private final CompletableFuture<CommentDTO> result = new CompletableFuture<>();
+
+        private Request(Long boardId, String content, String loginId, long enqueuedAt) {
+            this.boardId = boardId;
+            this.content = content;
+            this.loginId = loginId;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Author {
+        private final Long id;
+        private final String name;
+    }
+
+    @AllArgsConstructor
+    private static class Saved {
+        private final Request request;
+        private final CommentDTO comment;
+    }
+}
@@ -1,21 +1,38 @@
 package com.library.service;
 
 import com.library.dto.comment.CommentCreateDTO;
+import com.library.dto.comment.CommentCursorPageDto;
 import com.library.dto.comment.CommentDTO;
+import com.library.dto.comment.CommentJsonWriter;
+import com.library.dto.comment.CommentRow;
 import com.library.dto.comment.CommentUpdateDto;
 import com.library.entity.board.Board;
+import com.library.entity.board.BoardStatus;
 import com.library.entity.comment.Comment;
 import com.library.entity.comment.CommentStatus;
 import com.library.entity.member.Member;
+import com.library.event.BoardActivityEvent;
+import com.library.event.CommentChangedEvent;
 import com.library.repository.BoardRepository;
 import com.library.repository.CommentRepository;
 import com.library.repository.MemberRepository;
+import com.library.util.KeysetCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /*
     댓글 서비스 - 댓글 관련 비지니르 로직을 처리함
@@ -25,30 +42,129 @@ import java.util.List;
 @Transactional(readOnly = true)
 @Slf4j
 public class CommentService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
     private final CommentRepository commentRepository;
     private final BoardRepository boardRepository;
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // 조회
+    // 조회 (전체, 댓글이 많으면 응답이 커지므로 커서 조회 사용 권장)
     public List<CommentDTO> getComments(Long boardId) {
         log.info("게시글 {}의 목록 조회", boardId);
         return commentRepository.findByBoardIdAndStatus(boardId, CommentStatus.ACTIVE).stream().map(CommentDTO::from).toList();
     }
-
+    /*
+        전체 댓글 목록을 JSON 배열로 바로 출력 (getComments와 같은 내용/순서)
+            - Projection 스트림에서 한 행씩 읽어 바로 출력하므로 댓글 수만큼의 Entity, DTO, 리스트를 만들지 않음
+            - 출력이 끝날 때까지 읽기 전용 트랜잭션(DB 커넥션)을 유지함
+        @return 출력한 댓글 수
+     */
+    public int writeComments(Long boardId, JsonGenerator generator) throws IOException {
+        try (Stream<CommentRow> rows = commentRepository.streamRowsByBoardIdAndStatus(boardId, CommentStatus.ACTIVE)) {
+            return new CommentJsonWriter(generator).writeArray(rows.iterator());
+        }
+    }
+    /*
+        댓글 목록 조회(커서 기반, Keyset 페이지네이션)
+            - 최상위 댓글을 오래된 순으로 size개씩 조회하고, 다음 요청은 마지막 최상위 댓글의 커서부터 이어서 조회
+            - 각 최상위 댓글 뒤에 depth 단계까지의 답글을 스레드 순서(path 순)로 붙여 평평한 목록으로 반환
+            - 쿼리 수 : 최상위 댓글 1번 + 답글 1번 (답글 깊이와 상관없음)
+        @param cursor 이전 페이지의 nextCursor (null 또는 빈 값이면 첫 페이지)
+        @param size 페이지당 최상위 댓글 수 (최대 MAX_CURSOR_PAGE_SIZE)
+        @param depth 포함할 답글 깊이 (0이면 답글 제외, 최대 Comment.MAX_DEPTH)
+     */
+    public CommentCursorPageDto getCommentsByCursor(Long boardId, String cursor, int size, int depth) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize);
+        Slice<Comment> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = commentRepository.findFirstSlice(boardId, CommentStatus.ACTIVE, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            slice = commentRepository.findSliceAfter(boardId, CommentStatus.ACTIVE, after.getCreatedAt(), after.getId(), limit);
+        }
+        List<Comment> roots = slice.getContent();
+        // 다음 페이지가 있을 때만 마지막 댓글로 커서 생성 (DTO의 작성일시는 분 단위 문자열이므로 Entity 값 사용)
+        String nextCursor = null;
+        if (slice.hasNext() && !roots.isEmpty()) {
+            Comment last = roots.get(roots.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CommentCursorPageDto(withReplies(roots, depth), nextCursor, slice.hasNext());
+    }
+    // 최상위 댓글 목록 + 답글 (답글은 path 순으로 조회되므로 스레드별로 묶기만 하면 됨)
+    private List<CommentDTO> withReplies(List<Comment> roots, int depth) {
+        int maxDepth = Math.min(depth, Comment.MAX_DEPTH);
+        if (roots.isEmpty() || maxDepth <= 0) {
+            return roots.stream().map(CommentDTO::from).toList();
+        }
+        List<Long> rootIds = roots.stream().map(Comment::getId).toList();
+        Map<Long, List<CommentDTO>> repliesByRoot = new HashMap<>();
+        for (Comment reply : commentRepository.findRepliesByRootIds(rootIds, CommentStatus.ACTIVE, maxDepth)) {
+            repliesByRoot.computeIfAbsent(reply.getRootId(), id -> new ArrayList<>()).add(CommentDTO.from(reply));
+        }
+        List<CommentDTO> content = new ArrayList<>();
+        for (Comment root : roots) {
+            content.add(CommentDTO.from(root));
+            content.addAll(repliesByRoot.getOrDefault(root.getId(), List.of()));
+        }
+        return content;
+    }
+    /*
+        답글(하위 트리) 조회
+            - 기준 댓글 아래의 답글을 depth 단계까지 스레드 순서로 조회 (인덱스 범위 쿼리 한 번)
+            - 삭제된 댓글이나 삭제/숨김된 게시글의 댓글은 기준으로 쓸 수 없음 (화면에 보이지 않는 스레드를 펼치지 않도록)
+        @param depth 기준 댓글로부터의 깊이 (1이면 바로 아래 답글만)
+     */
+    public List<CommentDTO> getReplies(Long commentId, int depth) {
+        Comment comment = commentRepository.findById(commentId).orElseThrow(() -> new IllegalArgumentException("댓글을 찾을 수 없습니다."));
+        if (comment.getStatus() != CommentStatus.ACTIVE || comment.getBoard().getStatus() != BoardStatus.ACTIVE) {
+            throw new IllegalArgumentException("답글을 조회할 수 없는 댓글입니다.");
+        }
+        int maxDepth = Math.min(comment.getDepth() + Math.max(depth, 1), Comment.MAX_DEPTH);
+        List<Comment> replies = comment.isReply()
+                ? commentRepository.findSubtree(comment.getRootId(), comment.threadPath() + "%", CommentStatus.ACTIVE, comment.getDepth(), maxDepth)
+                : commentRepository.findRepliesByRootIds(List.of(comment.getId()), CommentStatus.ACTIVE, maxDepth);
+        return replies.stream().map(CommentDTO::from).toList();
+    }
     // 작성
     @Transactional
     public CommentDTO createComment(Long boardId, CommentCreateDTO createDTO, String loginId) {
         log.info("게시글 {}의 댓글 작성 - 작성자 : {}", boardId, loginId);
         Board board = boardRepository.findById(boardId).orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없스니다."));
         Member author = memberRepository.findByEmail(loginId).orElseThrow(() -> new IllegalArgumentException("회원을 찾을 수 없습니다."));
+        Comment parent = createDTO.getParentId() == null ? null : findReplyParent(createDTO.getParentId(), boardId);
         Comment comment = Comment.builder()
                 .board(board)
                 .author(author)
                 .content(createDTO.getContent())
+                .parentId(parent == null ? null : parent.getId())
+                .rootId(parent == null ? null : (parent.isReply() ? parent.getRootId() : parent.getId()))
+                .depth(parent == null ? 0 : parent.getDepth() + 1)
                 .build();
         Comment saved = commentRepository.save(comment);
+        // 답글 경로는 생성된 ID가 필요하므로 저장 후 지정 (커밋 시 UPDATE)
+        if (parent != null) {
+            saved.assignPath(parent);
+        }
+        // 게시글 댓글 수 +1 (원자적 UPDATE)
+        boardRepository.adjustCommentCount(boardId, 1L);
+        eventPublisher.publishEvent(BoardActivityEvent.commented(boardId, board.getCategory()));
+        CommentDTO created = CommentDTO.from(saved);
+        eventPublisher.publishEvent(CommentChangedEvent.created(boardId, created));
         log.info("댓글 작성 완료 - 댓글 ID : {}", saved.getId());
-        return CommentDTO.from(saved);
+        return created;
+    }
+    // 답글을 달 부모 댓글 확인 (같은 게시글의 활성 댓글, 최대 깊이 미만)
+    private Comment findReplyParent(Long parentId, Long boardId) {
+        Comment parent = commentRepository.findById(parentId).orElseThrow(() -> new IllegalArgumentException("답글을 달 댓글을 찾을 수 없습니다."));
+        if (!parent.getBoard().getId().equals(boardId) || parent.getStatus() != CommentStatus.ACTIVE) {
+            throw new IllegalArgumentException("답글을 달 수 없는 댓글입니다.");
+        }
+        if (parent.getDepth() >= Comment.MAX_DEPTH) {
+            throw new IllegalArgumentException("답글은 " + Comment.MAX_DEPTH + "단계까지만 달 수 있습니다.");
+        }
+        return parent;
     }
     // 수정
     @Transactional
@@ -65,7 +181,9 @@ public class CommentService {
         comment.update(updateDTO.getContent());
         log.info("댓글 수정 완료 - 댓글 ID : {}", commentId);
         Comment saved = commentRepository.save(comment);
-        return CommentDTO.from(saved);
+        CommentDTO updated = CommentDTO.from(saved);
+        eventPublisher.publishEvent(CommentChangedEvent.updated(comment.getBoard().getId(), updated));
+        return updated;
     }
     @Transactional
     public void deleteComment(Long commentId, String loginId) {
@@ -74,10 +192,44 @@ public class CommentService {
         if (!comment.getAuthor().getEmail().equals(loginId)) {
             throw new IllegalArgumentException("댓글 작성자만 삭제할 수 있습니다.");
         }
-        comment.delete();
+        // 이미 삭제된 댓글이면 댓글 수를 다시 줄이지 않음
+        if (comment.getStatus() == CommentStatus.ACTIVE) {
+            comment.delete();
+            // 화면에서 함께 숨겨지는 답글도 삭제하여 댓글 수에서 빠지도록 함
+            Long rootId = comment.isReply() ? comment.getRootId() : comment.getId();
+            long removed = 1L + commentRepository.deleteSubtree(rootId, comment.threadPath() + "%", comment.getDepth());
+            boardRepository.adjustCommentCount(comment.getBoard().getId(), -removed);
+            eventPublisher.publishEvent(BoardActivityEvent.commentDeleted(comment.getBoard().getId(), comment.getBoard().getCategory()));
+            eventPublisher.publishEvent(CommentChangedEvent.deleted(comment.getBoard().getId(), commentId, removed));
+        }
         log.info("댓글 삭제 완료 - 댓글 ID : {}", commentId);
     }
+    // 댓글을 보여줄 수 있는 게시글인지 (삭제/숨김된 게시글이면 false)
+    public boolean isBoardActive(Long boardId) {
+        return boardRepository.existsByIdAndStatus(boardId, BoardStatus.ACTIVE);
+    }
     public Long countComments(Long boardId) {
         return commentRepository.countByBoardIdAndStatus(boardId, CommentStatus.ACTIVE);
     }
+    /*
+        게시글 댓글 수 보정
+            - 전달받은 게시글들의 저장된 board.comment_count와 실제 활성 댓글 수를 한 쿼리로 조회
+            - 값이 다른 게시글만 차이만큼 증감 UPDATE (덮어쓰지 않으므로 조회 이후 커밋된 댓글 작성/삭제가 유실되지 않음)
+        @return 보정된 게시글 수
+     */
+    @Transactional
+    public int reconcileCommentCounts(List<Long> boardIds) {
+        if (boardIds.isEmpty()) {
+            return 0;
+        }
+        int corrected = 0;
+        for (BoardRepository.CommentCountDrift row : boardRepository.findCommentCountDrift(boardIds, CommentStatus.ACTIVE)) {
+            long delta = row.getActual() - row.getStored();
+            if (delta != 0) {
+                boardRepository.adjustCommentCount(row.getBoardId(), delta);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
 }
@@ -0,0 +1,347 @@
+package com.library.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.event.CommentChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    게시글별 실시간 댓글 스트림(SSE) 구독 관리
+        - 상세 페이지가 댓글 API를 반복 호출(polling)하는 대신 연결 하나를 열어두고 변경분만 받음
+        - 구독 유지 비용
+            - SseEmitter는 서블릿 비동기 요청이므로 대기 중인 구독자는 요청 스레드를 점유하지 않음
+            - 구독자마다 SseEmitter + 고정 크기 전송 대기열(queue-capacity)만 메모리에 유지
+            - 게시글 ID -> 구독자 집합 (구독자가 없어지면 게시글 항목도 제거)
+        - 전송
+            - CommentChangedEvent(커밋 이후)를 JSON으로 한 번만 직렬화하고, 해당 게시글 구독자 대기열에 넣음
+            - 소수의 전송 스레드(sender-threads)가 대기열이 빈 구독자부터 순서대로 전송 (구독자당 동시에 하나의 작업만 실행)
+        - 느린 클라이언트 처리 (backpressure)
+            - 대기열이 가득 찬 구독자는 기다리지 않고 연결을 끊음
+                - 브라우저 EventSource가 자동으로 다시 연결하고, 상세 페이지(detail.html)가 다시 연결된 시점(onopen)에
+                  댓글 목록을 첫 페이지부터 다시 조회함 (이벤트 ID가 없으므로 끊긴 동안의 이벤트는 다시 보내지 않음)
+            - 전송 중 오류(연결 끊김 등)가 나면 즉시 제거
+            - 프레임 하나의 전송(emitter.send)이 send-timeout-ms를 넘으면 제거 (소켓 버퍼가 가득 찬 채 읽지 않는 클라이언트)
+                - send는 블로킹 쓰기라 전송 스레드가 그 구독자에 묶이므로, 감시 작업(send-check-ms 주기)이 찾아서
+                  구독을 해제하고 전송 스레드를 인터럽트함 (emitter 종료는 send가 끝난 뒤 전송 스레드에서)
+                - 묶인 전송 스레드 수만큼 전송 스레드를 임시로 늘려(최대 sender-threads개) 다른 구독자 전송이 밀리지 않도록 함
+            - heartbeat-ms 마다 주석 프레임을 보내 끊어진 연결을 찾아냄 (프록시 유휴 시간 초과 방지도 겸함)
+        - 구독자 수가 max-subscribers를 넘으면 새 구독을 거절함 (컨트롤러에서 503 응답)
+            - 구독자 수만큼 연결이 유지되므로 server.tomcat.max-connections도 함께 늘려야 함
+        - 지표
+            - comment.stream.subscribers : 현재 구독자 수
+            - comment.stream.events : 구독자에게 보낸 프레임 수
+            - comment.stream.evictions (reason = slow / error / stalled) : 강제로 끊은 구독자 수
+            - comment.stream.rejected : 구독자 수 제한으로 거절한 수
+        - 설정
+            - comment.stream.timeout-ms : 연결 유지 시간 (기본 30분, 이후 브라우저가 다시 연결)
+            - comment.stream.queue-capacity : 구독자별 전송 대기열 크기 (기본 32)
+            - comment.stream.max-subscribers : 최대 구독자 수 (기본 20000)
+            - comment.stream.sender-threads : 전송 스레드 수 (기본 4)
+            - comment.stream.heartbeat-ms : heartbeat 주기 (기본 25초)
+            - comment.stream.send-timeout-ms : 프레임 하나의 최대 전송 시간 (기본 5초)
+            - comment.stream.send-check-ms : 전송 시간 초과 감시 주기 (기본 1초)
+ */
+@Component
+@Slf4j
+public class CommentStreamRegistry {
+    private static final String EVENT_NAME = "comment";
+
+    private final Map<Long, Set<Subscriber>> boards = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final ExecutorService sender;
+    private final int senderThreads;
+    private int stalledSenders;
+    private final Counter sent;
+    private final Counter slowEvictions;
+    private final Counter errorEvictions;
+    private final Counter stalledEvictions;
+    private final Counter rejected;
+    @Value("${comment.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+    @Value("${comment.stream.queue-capacity:32}")
+    private int queueCapacity;
+    @Value("${comment.stream.max-subscribers:20000}")
+    private int maxSubscribers;
+    @Value("${comment.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    @Autowired
+    public CommentStreamRegistry(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                 @Value("${comment.stream.sender-threads:4}") int senderThreads) {
+        // 최대 스레드 수는 전송 시간 초과로 묶인 스레드를 대신할 여유분까지 (평소에는 core 수만 사용)
+        this(objectMapper, meterRegistry, new ThreadPoolExecutor(Math.max(1, senderThreads), Math.max(1, senderThreads) * 2,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), senderThreadFactory()));
+    }
+
+    // 테스트에서 전송 스레드를 대신할 ExecutorService를 지정할 때 사용
+    CommentStreamRegistry(ObjectMapper objectMapper, MeterRegistry meterRegistry, ExecutorService sender) {
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.senderThreads = sender instanceof ThreadPoolExecutor pool ? pool.getCorePoolSize() : 0;
+        this.sent = Counter.builder("comment.stream.events").register(meterRegistry);
+        this.slowEvictions = Counter.builder("comment.stream.evictions").tag("reason", "slow").register(meterRegistry);
+        this.errorEvictions = Counter.builder("comment.stream.evictions").tag("reason", "error").register(meterRegistry);
+        this.stalledEvictions = Counter.builder("comment.stream.evictions").tag("reason", "stalled").register(meterRegistry);
+        this.rejected = Counter.builder("comment.stream.rejected").register(meterRegistry);
+        Gauge.builder("comment.stream.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /*
+        게시글 댓글 스트림 구독
+        @return 구독용 SseEmitter, 구독자 수 제한을 넘으면 null
+     */
+    public SseEmitter subscribe(Long boardId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.increment();
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(boardId, newEmitter(), queueCapacity);
+        boards.compute(boardId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            set.add(subscriber);
+            return set;
+        });
+        // 정상 종료, 시간 초과, 연결 오류 모두 구독 해제
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        return subscriber.emitter;
+    }
+
+    // 테스트에서 전송이 멈추는 emitter로 바꿀 때 재정의
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // 댓글 변경을 해당 게시글 구독자에게 전달 (구독자가 없으면 직렬화도 하지 않음)
+    @TransactionalEventListener
+    public void onCommentChanged(CommentChangedEvent event) {
+        Set<Subscriber> subscribers = boards.get(event.getBoardId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("댓글 스트림 이벤트 직렬화 실패 - 게시글 ID : {}", event.getBoardId(), e);
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, frame);
+        }
+    }
+
+    // 모든 구독자에게 heartbeat(주석 프레임) 전송
+    @Scheduled(initialDelayString = "${comment.stream.heartbeat-ms:25000}", fixedDelayString = "${comment.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+        for (Set<Subscriber> subscribers : boards.values()) {
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, frame);
+            }
+        }
+    }
+
+    /*
+        전송 시간 초과 감시
+            - send-timeout-ms 넘게 send 중인 구독자를 제거하고 전송 스레드를 인터럽트
+            - 묶인 전송 스레드만큼 전송 스레드를 늘림 (send가 끝나면 drain에서 되돌림)
+     */
+    @Scheduled(initialDelayString = "${comment.stream.send-check-ms:1000}", fixedDelayString = "${comment.stream.send-check-ms:1000}")
+    public void evictStalledSends() {
+        long now = System.nanoTime();
+        long timeout = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (Set<Subscriber> subscribers : boards.values()) {
+            for (Subscriber subscriber : subscribers) {
+                synchronized (subscriber) {
+                    if (subscriber.sendingThread == null || now - subscriber.sendStartedAt < timeout || subscriber.stalled) {
+                        continue;
+                    }
+                    subscriber.stalled = true;
+                    if (remove(subscriber)) {
+                        stalledEvictions.increment();
+                        subscriber.queue.clear();
+                    }
+                    subscriber.sendingThread.interrupt();
+                }
+                resizeSender(1);
+                log.warn("댓글 스트림 전송 시간 초과로 구독 해제 - 게시글 ID : {}", subscriber.boardId);
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    int subscriberCount(Long boardId) {
+        Set<Subscriber> subscribers = boards.get(boardId);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdownNow();
+        for (Set<Subscriber> subscribers : boards.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (remove(subscriber)) {
+                    complete(subscriber);
+                }
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(frame)) {
+            // 대기열이 가득 참 => 읽는 속도가 너무 느린 클라이언트
+            evict(subscriber, slowEvictions);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    /*
+        구독자 대기열 전송 (전송 스레드에서 실행)
+            - 구독자당 draining 플래그로 동시에 하나의 작업만 실행하여 프레임 순서를 보장
+            - 플래그를 내린 뒤 그 사이에 들어온 프레임이 있으면 다시 전송
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while ((frame = subscriber.queue.poll()) != null) {
+                if (subscriber.closed.get()) {
+                    subscriber.queue.clear();
+                    break;
+                }
+                synchronized (subscriber) {
+                    subscriber.sendingThread = Thread.currentThread();
+                    subscriber.sendStartedAt = System.nanoTime();
+                }
+                try {
+                    subscriber.emitter.send(frame);
+                    sent.increment();
+                } catch (IOException | IllegalStateException e) {
+                    evict(subscriber, errorEvictions);
+                } finally {
+                    // 감시 작업의 인터럽트가 다음 구독자 전송에 남지 않도록 같은 락 안에서 지움
+                    synchronized (subscriber) {
+                        subscriber.sendingThread = null;
+                        Thread.interrupted();
+                    }
+                }
+                if (subscriber.stalled) {
+                    // 시간 초과로 이미 구독 해제됨 => send가 끝났으므로 여기서 emitter 종료, 늘린 전송 스레드 되돌림
+                    subscriber.queue.clear();
+                    complete(subscriber);
+                    resizeSender(-1);
+                    break;
+                }
+            }
+            subscriber.draining.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    // 전송 시간 초과로 묶인 전송 스레드 수만큼 core 스레드 수 조정 (최대 senderThreads개까지 늘림)
+    private synchronized void resizeSender(int delta) {
+        if (!(sender instanceof ThreadPoolExecutor pool)) {
+            return;
+        }
+        stalledSenders += delta;
+        int extra = Math.min(Math.max(stalledSenders, 0), Math.max(pool.getMaximumPoolSize() - senderThreads, 0));
+        pool.setCorePoolSize(senderThreads + extra);
+    }
+
+    private void evict(Subscriber subscriber, Counter reason) {
+        if (remove(subscriber)) {
+            reason.increment();
+            subscriber.queue.clear();
+            complete(subscriber);
+        }
+    }
+
+    // 구독자 제거 (여러 경로에서 호출되어도 한 번만 처리), @return 이번 호출에서 제거했으면 true
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        boards.computeIfPresent(subscriber.boardId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private static void complete(Subscriber subscriber) {
+        try {
+            subscriber.emitter.complete();
+        } catch (RuntimeException e) {
+            log.debug("댓글 스트림 종료 실패 - 게시글 ID : {}", subscriber.boardId, e);
+        }
+    }
+
+    private static ThreadFactory senderThreadFactory() {
+        AtomicLong sequence = new AtomicLong();
+        return task -> {
+            Thread thread = new Thread(task, "comment-stream-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+        private final Long boardId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // 전송 중인 스레드와 시작 시각 (전송 중이 아니면 null, 구독자 락으로 보호)
+        private Thread sendingThread;
+        private long sendStartedAt;
+        private volatile boolean stalled;
+
+        private Subscriber(Long boardId, SseEmitter emitter, int queueCapacity) {
+            this.boardId = boardId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.library.service;
+
+import com.library.util.DeltaCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+    첨부파일 다운로드 수 쓰기 지연(write-behind) 버퍼 (ViewCountBuffer와 같은 방식)
+        - 기존 방식의 문제
+            - 다운로드마다 쓰기 트랜잭션 + board_file 조회 + 더티 체킹 UPDATE
+            - 파일 전송이 끝날 때까지 트랜잭션(DB 커넥션)을 잡고 있음
+        - 변경 후
+            - 요청 스레드는 메모리(DeltaCounter)에만 +1 기록 (DB 접근 없음)
+            - 스케줄러가 주기적으로 누적값을 모아 batch UPDATE 한 번에 반영 (한 트랜잭션)
+                - 첨부파일 ID 순으로 실행됨 (DeltaCounter.drain()이 키 순 TreeMap을 반환하므로)
+                - UPDATE board_file SET download_count = download_count + ? WHERE id = ?
+            - 애플리케이션 종료 시(@PreDestroy) 남은 값을 마지막으로 flush
+        - 화면의 다운로드 수는 flush 주기 + 게시글 상세 캐시 유지 시간만큼 늦게 반영됨
+        - 설정
+            - file.download-count.flush-interval-ms : flush 주기 (기본 5초)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DownloadCountBuffer {
+    private static final String FLUSH_SQL = "UPDATE board_file SET download_count = download_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeltaCounter pending = new DeltaCounter();
+
+    // 다운로드 수 1 증가 기록 (메모리에만)
+    public void increase(Long fileId) {
+        pending.add(fileId, 1L);
+    }
+
+    // 아직 DB에 반영되지 않은 다운로드 수
+    public long pending(Long fileId) {
+        return pending.get(fileId);
+    }
+
+    /*
+        누적된 다운로드 수를 DB에 반영
+            - batch 전체를 한 트랜잭션으로 실행하고, 실패(롤백)하면 꺼냈던 값을 다시 버퍼에 돌려놓고 다음 주기에 재시도
+            - 그 사이 삭제된 첨부파일은 UPDATE 대상이 없으므로 그대로 버려짐
+     */
+    @Scheduled(fixedDelayString = "${file.download-count.flush-interval-ms:5000}")
+    public void flush() {
+        Map<Long, Long> deltas = pending.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = deltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+        try {
+            // 한 트랜잭션으로 실행해야 실패 시 앞쪽 UPDATE까지 롤백됨 (autocommit이면 이미 반영된 행을 restore로 다시 더하게 됨)
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs));
+            pending.complete();
+            log.debug("다운로드 수 flush 완료 - 첨부파일 {}건", deltas.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.error("다운로드 수 flush 실패 - 다음 주기에 재시도 (첨부파일 {}건)", deltas.size(), e);
+            pending.restore(deltas);
+        }
+    }
+
+    // 애플리케이션 종료 직전 남은 다운로드 수 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("애플리케이션 종료 - 남은 다운로드 수 flush");
+        flush();
+    }
+}
@@ -0,0 +1,144 @@
+package com.library.service;
+
+import com.library.config.ReplicaRoutingDataSource;
+import com.library.event.BoardChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+    다운로드용 첨부파일 메타데이터 조회 (읽기 전용 + 캐시)
+        - 다운로드/썸네일 요청에 필요한 값(경로, 저장 파일명, 원본 파일명, MIME 타입)만 JDBC로 조회
+            - 읽기 전용 트랜잭션이므로 복제본으로 라우팅됨 (방금 업로드한 사용자는 PrimaryPinFilter로 원본 사용)
+            - 조회가 끝나면 커넥션을 바로 반납하므로 파일 전송 중에는 DB 커넥션을 잡지 않음
+        - 첨부파일 행은 만들어진 뒤 바뀌지 않으므로(수정 시 삭제 후 새 행) 첨부파일 ID별로 캐시
+            - 최대 max-entries개, 가장 오래 사용하지 않은 것부터 제거 (LRU)
+            - 게시글이 수정/삭제/숨김되면(BoardChangedEvent, 커밋 이후) 그 게시글의 첨부파일 제거
+            - 이벤트가 없는 삭제(BoardPurgeJob)는 ttl-ms 이내로만 남음 (파일이 지워졌으면 전송 단계에서 실패)
+            - 조회 도중 무효화된 결과는 저장하지 않음 (버전 번호 비교)
+            - 무효화 후 datasource.replica.pin-after-write-ms 동안은 원본에서 조회 (복제 지연 중인 값을 다시 저장하지 않도록)
+        - 지표
+            - file.download.lookup (result = hit / miss)
+            - file.download.lookup.size
+        - 설정
+            - file.download.lookup.max-entries : 최대 캐시 수 (기본 10000)
+            - file.download.lookup.ttl-ms : 최대 유지 시간 (기본 10분)
+ */
+@Component
+public class DownloadFileLookup {
+    private static final String SELECT_SQL = "SELECT id, board_id, original_file_name, stored_file_name, file_path, file_extension, mime_type " +
+            "FROM board_file WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    // 접근 순서(access-order) LinkedHashMap, this로 동기화
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long version = 0;
+    private long invalidatedAt = 0;
+    private final Counter hits;
+    private final Counter misses;
+    @Value("${file.download.lookup.max-entries:10000}")
+    private int maxEntries;
+    @Value("${file.download.lookup.ttl-ms:600000}")
+    private long ttlMillis;
+    @Value("${datasource.replica.pin-after-write-ms:3000}")
+    private long primaryReadMillis;
+
+    public DownloadFileLookup(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.hits = Counter.builder("file.download.lookup").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("file.download.lookup").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("file.download.lookup.size", this, DownloadFileLookup::size).register(meterRegistry);
+    }
+
+    // 첨부파일 조회 (없으면 예외)
+    public DownloadFile find(Long fileId) {
+        long now = System.currentTimeMillis();
+        long loadVersion;
+        boolean primary;
+        synchronized (this) {
+            Entry entry = entries.get(fileId);
+            if (entry != null && now - entry.loadedAt < ttlMillis) {
+                hits.increment();
+                return entry.file;
+            }
+            loadVersion = version;
+            primary = now - invalidatedAt < primaryReadMillis;
+        }
+        misses.increment();
+        Supplier<List<DownloadFile>> query = () -> readOnlyTransaction.execute(status -> jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new DownloadFile(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), rs.getString(6), rs.getString(7)), fileId));
+        List<DownloadFile> rows = primary ? ReplicaRoutingDataSource.callOnPrimary(query) : query.get();
+        if (rows == null || rows.isEmpty()) {
+            throw new RuntimeException("파일을 찾을 수 없습니다.");
+        }
+        DownloadFile file = rows.get(0);
+        store(loadVersion, new Entry(file, now));
+        return file;
+    }
+
+    // 게시글 수정(첨부파일 변경 포함)/삭제/숨김 시 그 게시글의 첨부파일 제거 (트랜잭션 커밋 이후에만 호출됨)
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.getType() == BoardChangedEvent.Type.CREATED) {
+            return;
+        }
+        synchronized (this) {
+            version++;
+            invalidatedAt = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.file.boardId == event.getBoardId());
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // 조회 시작 후 무효화되지 않았을 때만 저장하고, 개수를 넘으면 오래된 것부터 제거
+    private synchronized void store(long loadVersion, Entry entry) {
+        if (version != loadVersion) {
+            return;
+        }
+        entries.put(entry.file.id, entry);
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class DownloadFile {
+        private final long id;
+        private final long boardId;
+        private final String originalFileName;
+        private final String storedFileName;
+        private final String filePath;
+        private final String fileExtension;
+        private final String mimeType;
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final DownloadFile file;
+        private final long loadedAt;
+    }
+}
@@ -0,0 +1,144 @@
+package com.library.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    기존 첨부파일 중복 제거 마이그레이션 (오프라인 1회 실행)
+        - 실행 : --file.dedup.migrate=true --spring.main.web-application-type=none
+            - 끝나면 애플리케이션을 종료함 (file.dedup.migrate-exit=false면 계속 실행)
+            - 마이그레이션 후에는 file.dedup.enabled=true로 운영해야 새 업로드도 중복 제거됨
+        - 대상 : content_hash가 없고 file_path가 {sub-directory}/로 시작하는 board_file 행 (기본 boards/)
+        - 동작 (chunk-size 행씩 한 트랜잭션, id 순서로 이어서 처리)
+            - 파일 SHA-256 계산 -> FileBlobStore로 blob 참조 획득
+                - 처음 보는 내용 : 기존 파일에 하드 링크로 blob 생성 (추가 디스크 사용 없음, 안 되면 복사)
+                - 이미 있는 내용 : ref_count + 1 (중복)
+            - board_file 행이 blob을 가리키도록 file_path, stored_file_name, content_hash 갱신
+            - 커밋 이후 기존 UUID 파일 삭제 (롤백되면 기존 파일과 행이 그대로 남으므로 다시 실행하면 됨)
+        - 파일이 없는 행은 건너뜀 (로그만 남김)
+        - 설정
+            - file.dedup.migrate-chunk-size : 한 트랜잭션에서 처리할 행 수 (기본 200)
+            - file.dedup.migrate-sub-directory : 대상 경로 (기본 boards)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.dedup.migrate", havingValue = "true")
+public class FileBlobMigration implements ApplicationRunner {
+    private static final String SELECT_SQL = "SELECT id, file_path, stored_file_name FROM board_file " +
+            "WHERE content_hash IS NULL AND file_path LIKE ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_SQL = "UPDATE board_file SET file_path = ?, stored_file_name = ?, content_hash = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FileStorageService fileStorageService;
+    private final FileBlobStore fileBlobStore;
+    private final ConfigurableApplicationContext context;
+    @Value("${file.dedup.migrate-chunk-size:200}")
+    private int chunkSize;
+    @Value("${file.dedup.migrate-sub-directory:boards}")
+    private String subDirectory;
+    @Value("${file.dedup.migrate-exit:true}")
+    private boolean exitAfterRun;
+
+    public FileBlobMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, FileStorageService fileStorageService,
+                             FileBlobStore fileBlobStore, ConfigurableApplicationContext context) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.fileStorageService = fileStorageService;
+        this.fileBlobStore = fileBlobStore;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MigrationResult result = migrate();
+        log.info("첨부파일 중복 제거 완료 - 처리 {}건, 중복 {}건, 확보 {} bytes, 파일 없음 {}건",
+                result.migrated, result.duplicates, result.reclaimedBytes, result.missing);
+        if (exitAfterRun) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    // 대상 행 전체를 chunk 단위로 처리
+    public MigrationResult migrate() {
+        MigrationResult result = new MigrationResult();
+        long lastId = 0;
+        while (true) {
+            List<Row> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2), rs.getString(3)),
+                    subDirectory + "/%", lastId, chunkSize);
+            if (rows.isEmpty()) {
+                return result;
+            }
+            List<Path> replaced = transactionTemplate.execute(status -> migrateChunk(rows, result));
+            // 커밋된 뒤에만 기존 파일 삭제
+            for (Path file : replaced) {
+                try {
+                    Files.deleteIfExists(file);
+                    fileStorageService.deleteThumbnails(file);
+                } catch (IOException e) {
+                    log.warn("기존 첨부파일 삭제 실패 : {}", file, e);
+                }
+            }
+            lastId = rows.get(rows.size() - 1).id;
+        }
+    }
+
+    // @return 커밋 이후 삭제할 기존 파일 목록
+    private List<Path> migrateChunk(List<Row> rows, MigrationResult result) {
+        List<Path> replaced = new ArrayList<>();
+        for (Row row : rows) {
+            Path file = fileStorageService.resolve(row.filePath, row.storedFileName);
+            if (!Files.isRegularFile(file)) {
+                log.warn("첨부파일 없음 - board_file ID {} ({})", row.id, file);
+                result.missing++;
+                continue;
+            }
+            try {
+                String hash = FileBlobStore.hash(file);
+                long size = Files.size(file);
+                if (!fileBlobStore.acquire(hash, size, file, true)) {
+                    result.duplicates++;
+                    result.reclaimedBytes += size;
+                }
+                jdbcTemplate.update(UPDATE_SQL, FileBlobStore.blobDirectory(hash), hash, hash, row.id);
+                replaced.add(file);
+                result.migrated++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("첨부파일 중복 제거 실패 - board_file ID " + row.id, e);
+            }
+        }
+        return replaced;
+    }
+
+    @AllArgsConstructor
+    private static class Row {
+        private final long id;
+        private final String filePath;
+        private final String storedFileName;
+    }
+
+    @Getter
+    public static class MigrationResult {
+        private int migrated;
+        private int duplicates;
+        private int missing;
+        private long reclaimedBytes;
+    }
+}
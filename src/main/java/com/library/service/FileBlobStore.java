@@ -0,0 +1,351 @@
+package com.library.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+/*
+    첨부파일 중복 제거 저장소 (내용 주소 방식, FileBlob)
+        - file.dedup.enabled=true 일 때 사용, false면 기존 FileStorageService(UUID 파일) 그대로 사용
+        - 저장은 두 단계로 나뉨 (디스크 쓰기는 트랜잭션 밖에서, DB 작업만 트랜잭션 안에서 하기 위함)
+            - prepare (트랜잭션 밖, AttachmentIngestor가 병렬 실행)
+                - 업로드를 임시 파일로 복사하면서 SHA-256을 함께 계산 (파일을 다시 읽지 않음)
+                - 중복 제거를 사용하지 않으면 기존 방식으로 최종 위치에 바로 저장
+            - attach (트랜잭션 안)
+                - 같은 해시의 행이 있으면(참조가 0인 행 포함) ref_count + 1 하고 임시 파일 삭제
+                - 없으면 file_blob 행을 먼저 추가(ref_count = 1)하고 임시 파일을 blobs/{해시 앞 2자리}/{해시} 로 옮김 (같은 디스크 안의 이름 변경)
+                - 호출한 트랜잭션이 롤백되면 파일을 바로 지우지 않고 참조 0인 행으로 남겨 정리 대상에 넣음
+                  (같은 내용을 동시에 올린 다른 요청이 그 파일을 쓰고 있을 수 있음)
+            - discard : 저장에 실패한 게시글의 준비된 파일 정리 (임시 파일 또는 기존 방식으로 저장된 파일)
+        - 삭제
+            - ref_count - 1만 하고, 0이 되면 released_at 기록 (행과 파일은 그대로 둠)
+            - 실제 삭제는 collectGarbage가 released_at 이후 gc-grace-ms가 지난 행만 행 단위 트랜잭션으로 처리
+                - 조건부 DELETE(ref_count = 0)로 행 잠금을 잡은 상태에서 파일을 지우고 커밋
+                - 같은 내용의 업로드(ref_count + 1)와는 같은 행 잠금으로 직렬화되므로,
+                  업로드가 먼저면 DELETE 대상이 없고, 정리가 먼저면 업로드는 행이 없으므로 새로 만듦
+            - 정리 도중 커밋에 실패해 파일만 사라진 blob은 다음 같은 내용 업로드 때 다시 채워짐
+        - 동시에 같은 새 내용이 올라오면 한쪽 INSERT가 기본 키 중복으로 실패하므로 ref_count + 1로 처리
+        - 지표 : file.blob.stored (result = new / duplicate), file.blob.deleted
+        - 설정
+            - file.dedup.enabled : 중복 제거 저장 사용 여부 (기본 false)
+            - file.dedup.gc-interval-ms : 참조가 없는 blob 정리 주기 (기본 1시간)
+            - file.dedup.gc-grace-ms : 참조가 0이 된 뒤 삭제까지 유예 시간 (기본 1시간)
+            - file.dedup.gc-batch-size : 한 번에 정리할 최대 blob 수 (기본 1000)
+ */
+@Service
+@Slf4j
+public class FileBlobStore {
+    static final String BLOB_DIRECTORY = "blobs";
+    private static final String INCREMENT_SQL = "UPDATE file_blob SET ref_count = ref_count + 1, released_at = NULL WHERE sha256 = ?";
+    private static final String INSERT_SQL = "INSERT INTO file_blob (sha256, file_path, stored_file_name, file_size, ref_count, created_at) VALUES (?, ?, ?, ?, 1, ?)";
+    private static final String INSERT_RELEASED_SQL = "INSERT INTO file_blob (sha256, file_path, stored_file_name, file_size, ref_count, created_at, released_at) " +
+            "VALUES (?, ?, ?, ?, 0, ?, ?)";
+    private static final String DECREMENT_SQL = "UPDATE file_blob SET ref_count = ref_count - 1 WHERE sha256 = ? AND ref_count > 0";
+    private static final String RELEASE_SQL = "UPDATE file_blob SET released_at = ? WHERE sha256 = ? AND ref_count = 0";
+    private static final String SELECT_GARBAGE_SQL = "SELECT sha256 FROM file_blob WHERE ref_count = 0 AND released_at < ? ORDER BY released_at LIMIT ?";
+    private static final String DELETE_GARBAGE_SQL = "DELETE FROM file_blob WHERE sha256 = ? AND ref_count = 0 AND released_at < ?";
+
+    private final FileStorageService fileStorageService;
+    private final JdbcTemplate jdbcTemplate;
+    // 호출한 트랜잭션과 별도로 실행 (롤백된 blob 기록, blob 하나씩 정리)
+    private final TransactionTemplate newTransaction;
+    private final Counter storedNew;
+    private final Counter storedDuplicate;
+    private final Counter deleted;
+    @Value("${file.dedup.enabled:false}")
+    private boolean enabled;
+    @Value("${file.dedup.gc-grace-ms:3600000}")
+    private long gcGraceMillis;
+    @Value("${file.dedup.gc-batch-size:1000}")
+    private int gcBatchSize;
+
+    public FileBlobStore(FileStorageService fileStorageService, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.fileStorageService = fileStorageService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.storedNew = Counter.builder("file.blob.stored").tag("result", "new").register(meterRegistry);
+        this.storedDuplicate = Counter.builder("file.blob.stored").tag("result", "duplicate").register(meterRegistry);
+        this.deleted = Counter.builder("file.blob.deleted").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+        첨부파일 저장 (prepare + attach를 한 번에, 호출한 트랜잭션 안에서 디스크 쓰기까지 실행)
+        @return [저장 파일명, 상대 경로, 내용 해시] (중복 제거를 사용하지 않으면 내용 해시는 null)
+     */
+    public String[] store(MultipartFile file, String subDirectory) {
+        StoredAttachment attachment = prepare(file, subDirectory);
+        try {
+            return attach(attachment);
+        } catch (RuntimeException e) {
+            discard(attachment);
+            throw e;
+        }
+    }
+
+    // 1단계 : 파일 검증 후 디스크에 쓰기 (DB 사용 없음, 트랜잭션 밖에서 호출)
+    public StoredAttachment prepare(MultipartFile file, String subDirectory) {
+        if (!enabled) {
+            String[] fileInfo = fileStorageService.storeFile(file, subDirectory);
+            return new StoredAttachment(file, fileInfo[0], fileInfo[1], null, null);
+        }
+        fileStorageService.validateFile(file);
+        Path staged = null;
+        try {
+            staged = Files.createTempFile(tempDirectory(), "upload-", ".tmp");
+            String hash;
+            try (InputStream in = file.getInputStream()) {
+                hash = copyAndHash(in, staged);
+            }
+            return new StoredAttachment(file, hash, blobDirectory(hash), hash, staged);
+        } catch (IOException e) {
+            deleteQuietly(staged);
+            log.error("파일 저장 실패 : {}", file.getOriginalFilename(), e);
+            throw new RuntimeException("파일을 저장하는 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /*
+        2단계 : blob 참조 획득 (트랜잭션 안에서 호출)
+        @return [저장 파일명, 상대 경로, 내용 해시] (중복 제거를 사용하지 않으면 내용 해시는 null)
+     */
+    public String[] attach(StoredAttachment attachment) {
+        if (attachment.getContentHash() != null) {
+            try {
+                acquire(attachment.getContentHash(), attachment.getFileSize(), attachment.getStagedFile(), false);
+            } catch (IOException e) {
+                log.error("파일 저장 실패 : {}", attachment.getOriginalFileName(), e);
+                throw new RuntimeException("파일을 저장하는 중 오류가 발생했습니다.", e);
+            } finally {
+                deleteQuietly(attachment.getStagedFile());
+            }
+            log.info("파일 저장 성공(중복 제거): {} (원본명: {}, 크기: {} bytes)", attachment.getContentHash(), attachment.getOriginalFileName(), attachment.getFileSize());
+        }
+        return new String[]{attachment.getStoredFileName(), attachment.getFilePath(), attachment.getContentHash()};
+    }
+
+    /*
+        준비한 파일 정리 (게시글 저장 실패 시)
+            - 중복 제거 : 임시 파일만 삭제
+                - attach 이후 롤백된 새 blob 파일은 여기서 지우지 않음
+                  (롤백 시점에 참조 0인 file_blob 행으로 기록되고, collectGarbage가 gc-grace-ms 뒤 행과 파일을 삭제)
+            - 기존 방식 : 저장된 파일 삭제
+     */
+    public void discard(StoredAttachment attachment) {
+        if (attachment.getContentHash() != null) {
+            deleteQuietly(attachment.getStagedFile());
+        } else {
+            fileStorageService.deleteFile(attachment.getFilePath(), attachment.getStoredFileName());
+        }
+    }
+
+    /*
+        첨부파일 삭제
+            - 내용 해시가 없으면(기존 방식) 파일을 바로 삭제
+            - 있으면 blob 참조만 해제 (마지막 참조면 released_at을 기록하고, 파일은 collectGarbage가 유예 시간 뒤 삭제)
+     */
+    public void delete(String filePath, String storedFileName, String contentHash) {
+        if (contentHash == null) {
+            fileStorageService.deleteFile(filePath, storedFileName);
+            return;
+        }
+        if (jdbcTemplate.update(DECREMENT_SQL, contentHash) > 0) {
+            jdbcTemplate.update(RELEASE_SQL, Timestamp.valueOf(LocalDateTime.now()), contentHash);
+        }
+    }
+
+    /*
+        참조가 0이 된 뒤 gc-grace-ms가 지난 blob의 행과 파일 삭제
+            - blob 하나가 한 트랜잭션 : 조건부 DELETE로 행을 잠근 채 파일을 지우고 커밋
+              (같은 내용의 업로드가 그 사이 ref_count + 1을 했으면 DELETE 대상이 없으므로 파일도 남김)
+        @return 삭제한 blob 수
+     */
+    @Scheduled(initialDelayString = "${file.dedup.gc-interval-ms:3600000}", fixedDelayString = "${file.dedup.gc-interval-ms:3600000}")
+    public int collectGarbage() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusNanos(gcGraceMillis * 1_000_000));
+        List<String> hashes = jdbcTemplate.queryForList(SELECT_GARBAGE_SQL, String.class, cutoff, gcBatchSize);
+        int collected = 0;
+        for (String hash : hashes) {
+            Boolean removed = newTransaction.execute(status -> {
+                if (jdbcTemplate.update(DELETE_GARBAGE_SQL, hash, cutoff) == 0) {
+                    return false;
+                }
+                Path blob = fileStorageService.resolve(blobDirectory(hash), hash);
+                deleteQuietly(blob);
+                fileStorageService.deleteThumbnails(blob);
+                return true;
+            });
+            if (Boolean.TRUE.equals(removed)) {
+                collected++;
+                deleted.increment();
+            }
+        }
+        if (collected > 0) {
+            log.info("참조가 없는 blob 정리 완료 - {}건", collected);
+        }
+        return collected;
+    }
+
+    /*
+        blob 참조 획득 (현재 트랜잭션에서 실행)
+        @param source 내용이 같은 원본 파일
+        @param keepSource true면 원본을 그대로 두고 하드 링크(안 되면 복사)로 blob을 만듦 (이전 파일 정리용),
+                          false면 원본(임시 파일)을 blob 위치로 옮김
+        @return 새 blob을 만들었으면 true, 기존 blob을 참조했으면 false
+     */
+    boolean acquire(String hash, long size, Path source, boolean keepSource) throws IOException {
+        String directory = blobDirectory(hash);
+        Path target = fileStorageService.resolve(directory, hash);
+        if (jdbcTemplate.update(INCREMENT_SQL, hash) > 0) {
+            if (!Files.exists(target)) {
+                // 파일이 유실된 blob은 같은 내용으로 다시 채움
+                place(source, target, keepSource);
+            }
+            storedDuplicate.increment();
+            return false;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, hash, directory, hash, size, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            // 다른 요청이 같은 내용을 먼저 저장함
+            jdbcTemplate.update(INCREMENT_SQL, hash);
+            if (!Files.exists(target)) {
+                place(source, target, keepSource);
+            }
+            storedDuplicate.increment();
+            return false;
+        }
+        // 롤백되면 파일을 지우지 않고 참조 0인 행으로 기록 (이미 다른 요청이 행을 만들었으면 그대로 둠)
+        afterRollback(() -> newTransaction.executeWithoutResult(status -> {
+            try {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.update(INSERT_RELEASED_SQL, hash, directory, hash, size, now, now);
+            } catch (DuplicateKeyException e) {
+                // 같은 내용을 다른 요청이 저장함
+            }
+        }));
+        place(source, target, keepSource);
+        storedNew.increment();
+        return true;
+    }
+
+    // blob 상대 경로 (기존 저장 경로와 같은 형식, "/"로 끝남)
+    static String blobDirectory(String hash) {
+        return BLOB_DIRECTORY + "/" + hash.substring(0, 2) + "/";
+    }
+
+    // 스트림을 파일로 복사하면서 SHA-256 계산, @return 16진수 해시
+    static String copyAndHash(InputStream in, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream digesting = new DigestInputStream(in, digest)) {
+            Files.copy(digesting, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // 파일 내용의 SHA-256 (16진수)
+    static String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    // blob 파일 배치 (같은 이름 = 같은 내용이므로 이미 있으면 그대로 사용)
+    private static void place(Path source, Path target, boolean keepSource) throws IOException {
+        Files.createDirectories(target.getParent());
+        if (keepSource) {
+            try {
+                Files.createLink(target, source);
+            } catch (FileAlreadyExistsException e) {
+                // 이미 있음
+            } catch (IOException | UnsupportedOperationException e) {
+                // 다른 파일 시스템 등 하드 링크를 만들 수 없는 경우
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return;
+        }
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (FileAlreadyExistsException e) {
+            // 이미 있음 (임시 파일은 호출한 쪽에서 삭제)
+        }
+    }
+
+    private Path tempDirectory() throws IOException {
+        Path directory = fileStorageService.resolve(BLOB_DIRECTORY, "tmp");
+        Files.createDirectories(directory);
+        return directory;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패 : {}", file, e);
+        }
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
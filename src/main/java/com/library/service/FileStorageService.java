@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /*
     파일 저장 service - 파일 관리 기능 제공
@@ -144,22 +145,61 @@ public class FileStorageService {
             throw new RuntimeException("파일을 로드하는 중 오류가 발생했습니다: " + storedFileName, e);
         }
     }
+    /*
+        파일 다운로드 - 저장된 파일의 경로 반환 (Range 응답 / sendfile 전송용)
+            - 경로 생성 방식은 loadFileAsResource와 같음
+            - 일반 파일이 아니거나 읽을 수 없으면 예외
+     */
+    public Path loadFilePath(String fileName, String storedFileName) {
+        Path filePath = this.uploadPath.resolve(fileName).resolve(storedFileName).normalize();
+        if (!filePath.startsWith(this.uploadPath) || !Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
+            log.error("파일을 찾을 수 없거나 읽을 수 없음: {} (경로: {})", fileName, filePath);
+            throw new RuntimeException("파일을 찾을 수 없습니다: " + storedFileName);
+        }
+        return filePath;
+    }
+    // 기본 경로 + 상대 경로 + 저장 파일명 -> 실제 경로 (FileBlobStore에서 사용)
+    Path resolve(String fileName, String storedFileName) {
+        return this.uploadPath.resolve(fileName).resolve(storedFileName).normalize();
+    }
     /*
         파일 삭제 - 물리적으로 파일을 디스크에서 삭제
             - 사용 시점
                 - 게시글 삭제 시 (연관된 파일을 모두 삭제)
                 - 파일 수정 시(기존 파일 삭제 후 새 파일 저장)
+                - 삭제된 게시글 영구 삭제 시 (BoardPurgeJob)
+            - 경로는 다운로드와 같이 기본 경로 + 상대 경로(fileName) + 저장 파일명
      */
     public void deleteFile(String fileName, String storedFileName) {
         try {
-            Path file = this.uploadPath.resolve(storedFileName).resolve(fileName).normalize();
+            Path file = this.uploadPath.resolve(fileName).resolve(storedFileName).normalize();
             // 파일 삭제(파일이 없어도 예외 발생하지 않음)
             Files.deleteIfExists(file);
+            deleteThumbnails(file);
             log.info("파일 삭제 완료 : {}", file);
         } catch (IOException e) {
             log.error("파일 삭제 실패 : {}", storedFileName,e);
         }
     }
+    // 썸네일 디렉토리 - 원본 옆의 {저장 파일명}.thumb/ (ThumbnailGenerator)
+    static Path thumbnailDirectory(Path file) {
+        return file.resolveSibling(file.getFileName() + ".thumb");
+    }
+    // 원본의 썸네일 삭제 (썸네일이 없으면 아무것도 하지 않음)
+    void deleteThumbnails(Path file) {
+        Path directory = thumbnailDirectory(file);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> thumbnails = Files.list(directory)) {
+            for (Path thumbnail : thumbnails.toList()) {
+                Files.deleteIfExists(thumbnail);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.error("썸네일 삭제 실패 : {}", directory, e);
+        }
+    }
 
     // 파일 확장자 추출 - 파일명에서 확장자를 추출하여 소문자로 변환
     public String getFileExtension(String originalFilename) {
@@ -0,0 +1,33 @@
+package com.library.service;
+
+import lombok.Getter;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+/*
+    디스크에 준비된 첨부파일 (FileBlobStore.prepare 결과)
+        - BoardFile 메타데이터에 필요한 값을 업로드 요청에서 미리 꺼내 둠
+        - 중복 제거 저장이면 contentHash와 임시 파일(stagedFile)이 있고, attach 때 blob 위치로 옮겨짐
+        - 기존 방식이면 storedFileName / filePath 위치에 이미 저장된 상태
+ */
+@Getter
+public class StoredAttachment {
+    private final String originalFileName;
+    private final String contentType;
+    private final long fileSize;
+    private final String storedFileName;
+    private final String filePath;
+    private final String contentHash;
+    private final Path stagedFile;
+
+    StoredAttachment(MultipartFile file, String storedFileName, String filePath, String contentHash, Path stagedFile) {
+        this.originalFileName = file.getOriginalFilename();
+        this.contentType = file.getContentType();
+        this.fileSize = file.getSize();
+        this.storedFileName = storedFileName;
+        this.filePath = filePath;
+        this.contentHash = contentHash;
+        this.stagedFile = stagedFile;
+    }
+}
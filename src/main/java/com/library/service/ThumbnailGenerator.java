@@ -0,0 +1,375 @@
+package com.library.service;
+
+import com.library.event.AttachmentStoredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+    이미지 첨부파일 썸네일 생성 (백그라운드)
+        - 이미지(jpg, jpeg, png, gif) 첨부파일이 커밋되면(AttachmentStoredEvent) 대기열에 넣고
+          생성 스레드가 순서대로 여러 크기의 썸네일을 만듦 (업로드 요청은 기다리지 않음)
+        - 저장 위치 : 원본 옆의 {저장 파일명}.thumb/{너비}.{jpg|png}
+            - 중복 제거 저장이면 blob 옆에 만들어지므로 같은 이미지는 한 번만 생성됨
+            - 원본이 삭제될 때 FileStorageService / FileBlobStore가 함께 삭제
+            - 생성 중에 원본이 삭제되면 생성한 썸네일을 다시 지움
+        - 생성 방식 (JDK ImageIO만 사용)
+            - 디코딩 전에 크기를 읽어 max-pixels를 넘으면 실패 처리 (압축 폭탄 방지)
+            - 가장 큰 썸네일의 2배 이상만 남도록 디코딩 단계에서 서브샘플링 (큰 사진도 메모리/CPU 사용량 제한)
+            - 큰 크기부터 만들고, 작은 크기는 바로 앞 결과를 축소 (단계마다 최대 1/2씩 bilinear 축소)
+            - 원본보다 큰 크기는 확대하지 않고 원본 크기로 저장
+            - jpg는 jpg(품질 0.85), png/gif는 png(투명도 유지)로 저장, 임시 파일에 쓴 뒤 이동하여 부분 파일이 보이지 않음
+        - 실패한 원본(손상된 이미지 등)은 failed 표시 파일을 남겨 다시 대기열에 넣지 않음
+        - 기존 첨부파일처럼 썸네일이 없으면 조회(find) 시점에 생성을 요청
+        - 지표
+            - file.thumbnail.generated : 원본 한 개 처리 횟수 (result = success / failure / dropped)
+            - file.thumbnail.duration : 원본 한 개의 전체 크기 생성 시간
+            - file.thumbnail.queue : 대기 중인 원본 수
+        - 설정
+            - file.thumbnail.enabled : 사용 여부 (기본 true)
+            - file.thumbnail.sizes : 썸네일 너비 목록 (기본 160,480,960)
+            - file.thumbnail.threads : 생성 스레드 수 (기본 1)
+            - file.thumbnail.queue-capacity : 대기열 크기, 가득 차면 버림 (기본 1000, 조회 시 다시 요청됨)
+            - file.thumbnail.max-pixels : 처리할 최대 원본 픽셀 수 (기본 1억)
+ */
+@Component
+@Slf4j
+public class ThumbnailGenerator {
+    private static final Set<String> SUPPORTED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif");
+    private static final String FAILED_MARKER = "failed";
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final long IDLE_POLL_MILLIS = 500;
+
+    private final FileStorageService fileStorageService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int[] sizes;
+    private final int threads;
+    private final long maxPixels;
+    private final BlockingQueue<Task> queue;
+    // 대기 중이거나 생성 중인 원본 (같은 원본을 중복으로 넣지 않기 위함)
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+    private Counter succeeded;
+    private Counter failed;
+    private Counter dropped;
+    private Timer duration;
+
+    @Autowired
+    public ThumbnailGenerator(FileStorageService fileStorageService, MeterRegistry meterRegistry,
+                              @Value("${file.thumbnail.enabled:true}") boolean enabled,
+                              @Value("${file.thumbnail.sizes:160,480,960}") int[] sizes,
+                              @Value("${file.thumbnail.threads:1}") int threads,
+                              @Value("${file.thumbnail.queue-capacity:1000}") int queueCapacity,
+                              @Value("${file.thumbnail.max-pixels:100000000}") long maxPixels) {
+        this.fileStorageService = fileStorageService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        // 큰 크기부터 생성하므로 내림차순 정렬
+        this.sizes = Arrays.stream(sizes).filter(size -> size > 0).boxed()
+                .sorted((a, b) -> b - a).mapToInt(Integer::intValue).distinct().toArray();
+        this.threads = Math.max(1, threads);
+        this.maxPixels = maxPixels;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    public void start() {
+        succeeded = Counter.builder("file.thumbnail.generated").tag("result", "success").register(meterRegistry);
+        failed = Counter.builder("file.thumbnail.generated").tag("result", "failure").register(meterRegistry);
+        dropped = Counter.builder("file.thumbnail.generated").tag("result", "dropped").register(meterRegistry);
+        duration = Timer.builder("file.thumbnail.duration").register(meterRegistry);
+        Gauge.builder("file.thumbnail.queue", queue, BlockingQueue::size).register(meterRegistry);
+        if (!enabled || sizes.length == 0) {
+            return;
+        }
+        running = true;
+        for (int i = 1; i <= threads; i++) {
+            Thread worker = new Thread(this::run, "thumbnail-generator-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    // 썸네일을 만들 수 있는 확장자인지 (BoardFileDto.getFileType의 image와 같음)
+    public static boolean supports(String extension) {
+        return extension != null && SUPPORTED_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT));
+    }
+
+    // 썸네일 Content-Type (jpg는 jpg, 나머지는 png로 저장)
+    public static String contentType(String extension) {
+        return "png".equals(format(extension)) ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+    }
+
+    /*
+        파일 내용으로 확인한 이미지 Content-Type (썸네일이 없을 때 원본을 inline으로 보내기 전에 사용)
+            - ImageIO 리더가 jpeg / png / gif로 인식한 경우만 반환 (업로드 시 받은 MIME 타입은 검증되지 않았으므로 사용하지 않음)
+        @return image/jpeg, image/png, image/gif 또는 이미지가 아니면 null
+     */
+    public static String detectContentType(Path file) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                return switch (reader.getFormatName().toLowerCase(Locale.ROOT)) {
+                    case "jpeg", "jpg" -> MediaType.IMAGE_JPEG_VALUE;
+                    case "png" -> MediaType.IMAGE_PNG_VALUE;
+                    case "gif" -> MediaType.IMAGE_GIF_VALUE;
+                    default -> null;
+                };
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // 첨부파일이 커밋되면 이미지만 생성 대기열에 넣음
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachmentStored(AttachmentStoredEvent event) {
+        if (supports(event.getFileExtension())) {
+            enqueue(fileStorageService.resolve(event.getFilePath(), event.getStoredFileName()), event.getFileExtension());
+        }
+    }
+
+    /*
+        요청 너비에 맞는 썸네일 조회
+            - width 이상인 가장 작은 크기 (없으면 가장 큰 크기)
+        @return 썸네일 경로, 아직 없으면 null (생성 대기열에 넣음, 실패한 원본이면 넣지 않음)
+     */
+    public Path find(Path original, String extension, int width) {
+        if (!enabled || sizes.length == 0 || !supports(extension)) {
+            return null;
+        }
+        int selected = sizes[0];
+        for (int size : sizes) {
+            if (size >= width) {
+                selected = size;
+            }
+        }
+        Path directory = FileStorageService.thumbnailDirectory(original);
+        Path thumbnail = directory.resolve(selected + "." + format(extension));
+        if (Files.isRegularFile(thumbnail)) {
+            return thumbnail;
+        }
+        if (!Files.exists(directory.resolve(FAILED_MARKER))) {
+            enqueue(original, extension);
+        }
+        return null;
+    }
+
+    private void enqueue(Path original, String extension) {
+        if (!running || !pending.add(original)) {
+            return;
+        }
+        if (!queue.offer(new Task(original, extension))) {
+            pending.remove(original);
+            dropped.increment();
+            log.warn("썸네일 대기열이 가득 차 생성 요청을 버림 : {}", original);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            Task task;
+            try {
+                task = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (task == null) {
+                continue;
+            }
+            long startedAt = System.nanoTime();
+            try {
+                generate(task.original, task.extension);
+                succeeded.increment();
+            } catch (IOException | RuntimeException e) {
+                failed.increment();
+                markFailed(task.original);
+                log.warn("썸네일 생성 실패 : {}", task.original, e);
+            } finally {
+                duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                // 생성이 끝난 뒤에 제거 (생성 중인 원본을 조회해도 다시 대기열에 넣지 않음)
+                pending.remove(task.original);
+            }
+        }
+    }
+
+    // 원본 하나의 모든 크기 썸네일 생성 (이미 모두 있으면 건너뜀)
+    void generate(Path original, String extension) throws IOException {
+        String format = format(extension);
+        Path directory = FileStorageService.thumbnailDirectory(original);
+        if (Arrays.stream(sizes).allMatch(size -> Files.isRegularFile(directory.resolve(size + "." + format)))) {
+            return;
+        }
+        BufferedImage image = read(original, sizes[0] * 2);
+        Files.createDirectories(directory);
+        boolean alpha = "png".equals(format);
+        for (int size : sizes) {
+            image = scale(image, size, alpha);
+            write(image, format, directory.resolve(size + "." + format));
+        }
+        // 생성 중에 원본이 삭제됐으면 남은 썸네일 정리
+        if (!Files.exists(original)) {
+            fileStorageService.deleteThumbnails(original);
+        }
+    }
+
+    private BufferedImage read(Path original, int minWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("이미지를 읽을 수 없습니다: " + original);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("이미지가 너무 큽니다: " + width + "x" + height);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, width / Math.max(1, minWidth));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // width 이하로 축소 (비율 유지, 단계마다 최대 1/2)
+    static BufferedImage scale(BufferedImage image, int width, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int targetWidth = Math.min(width, image.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+        BufferedImage current = image;
+        do {
+            boolean last = current.getWidth() / 2 <= targetWidth;
+            int nextWidth = last ? targetWidth : current.getWidth() / 2;
+            int nextHeight = last ? targetHeight : Math.max(1, current.getHeight() / 2);
+            if (last && current.getType() == type && current.getWidth() == nextWidth) {
+                return current;
+            }
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                if (!alpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, nextWidth, nextHeight);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != targetWidth);
+        return current;
+    }
+
+    // 임시 파일에 쓴 뒤 이동 (조회 요청에 쓰는 중인 파일이 보이지 않도록)
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if ("jpg".equals(format)) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(JPEG_QUALITY);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void markFailed(Path original) {
+        try {
+            Path directory = FileStorageService.thumbnailDirectory(original);
+            if (Files.exists(original)) {
+                Files.createDirectories(directory);
+                Files.write(directory.resolve(FAILED_MARKER), new byte[0]);
+            }
+        } catch (IOException e) {
+            log.warn("썸네일 실패 표시 저장 실패 : {}", original, e);
+        }
+    }
+
+    private static String format(String extension) {
+        String lower = extension == null ? "" : extension.toLowerCase(Locale.ROOT);
+        return lower.equals("jpg") || lower.equals("jpeg") ? "jpg" : "png";
+    }
+
+    @AllArgsConstructor
+    private static class Task {
+        private final Path original;
+        private final String extension;
+    }
+}
@@ -0,0 +1,88 @@
+package com.library.service;
+
+import com.library.event.BoardCountersFlushedEvent;
+import com.library.util.DeltaCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+    게시글 조회수 쓰기 지연(write-behind) 버퍼
+        - 기존 방식의 문제
+            - 상세 조회마다 쓰기 트랜잭션 + board 행 UPDATE (행 락)
+            - 인기 게시글에 요청이 몰리면 같은 행에 락 경합이 생기고 커넥션을 오래 점유함
+        - 변경 후
+            - 요청 스레드는 메모리(DeltaCounter)에만 +1 기록 (DB 접근 없음)
+            - 스케줄러가 주기적으로 누적값을 모아 batch UPDATE 한 번에 반영
+                - UPDATE board SET view_count = view_count + ? WHERE id = ?
+                - 상대값으로 더하므로 여러 서버가 동시에 flush해도 값이 덮어써지지 않음
+            - 애플리케이션 종료 시(@PreDestroy) 남은 값을 마지막으로 flush
+            - flush 성공 시 BoardCountersFlushedEvent 발행 (조회수 스냅샷을 가진 캐시 무효화용)
+        - 화면에 표시되는 조회수 = DB 값 + 아직 반영되지 않은 증감량(pending, flush 중인 값은 반영이 끝날 때까지 포함)
+        - 설정
+            - board.view-count.flush-interval-ms : flush 주기 (기본 5초)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewCountBuffer {
+    private static final String FLUSH_SQL = "UPDATE board SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeltaCounter pending = new DeltaCounter();
+
+    // 조회수 1 증가 기록 (메모리에만)
+    public void increase(Long boardId) {
+        pending.add(boardId, 1L);
+    }
+
+    // 아직 DB에 반영되지 않은 조회수
+    public long pending(Long boardId) {
+        return pending.get(boardId);
+    }
+
+    /*
+        누적된 조회수를 DB에 반영
+            - 게시글 ID 순으로 정렬된 batch UPDATE 실행 (DeltaCounter.drain()이 키 순 TreeMap을 반환하므로)
+            - batch 전체를 한 트랜잭션으로 실행하고, 실패(롤백)하면 꺼냈던 값을 다시 버퍼에 돌려놓고 다음 주기에 재시도
+     */
+    @Scheduled(fixedDelayString = "${board.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        Map<Long, Long> deltas = pending.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = deltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+        try {
+            // 한 트랜잭션으로 실행해야 실패 시 앞쪽 UPDATE까지 롤백됨 (autocommit이면 이미 반영된 행을 restore로 다시 더하게 됨)
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs));
+            pending.complete();
+            eventPublisher.publishEvent(new BoardCountersFlushedEvent(BoardCountersFlushedEvent.Counter.VIEW, deltas.keySet()));
+            log.debug("조회수 flush 완료 - 게시글 {}건", deltas.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.error("조회수 flush 실패 - 다음 주기에 재시도 (게시글 {}건)", deltas.size(), e);
+            pending.restore(deltas);
+        }
+    }
+
+    // 애플리케이션 종료 직전 남은 조회수 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("애플리케이션 종료 - 남은 조회수 flush");
+        flush();
+    }
+}
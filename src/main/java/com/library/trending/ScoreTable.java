@@ -0,0 +1,181 @@
+package com.library.trending;
+
+import java.util.Arrays;
+
+/*
+    게시글 ID(long) => 점수(double) + 카테고리 번호(byte) 맵
+        - HashMap<Long, ...> 대신 기본형 배열(open addressing, linear probing)을 사용
+            - 키/값 박싱, 엔트리 객체가 없으므로 게시글 수십만 개도 메모리와 GC 부담이 작음
+        - 키 0은 빈 칸 표시로 사용하므로 저장할 수 없음 (게시글 ID는 1부터 시작)
+        - 삭제는 backward shift 방식 (삭제 표시(tombstone) 없이 뒤따르는 키를 당겨옴)
+        - 스레드 안전하지 않음 (TrendingBoardRanker의 락 안에서만 사용)
+ */
+class ScoreTable {
+    static final byte NO_CATEGORY = -1;
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] keys;
+    private double[] scores;
+    private byte[] categories;
+    private int mask;
+    private int size = 0;
+
+    ScoreTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // 키의 슬롯 번호 (없으면 -1)
+    int find(long key) {
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /*
+        키의 슬롯 번호 (없으면 점수 0, 카테고리 없음으로 추가)
+            - 추가 시 크기가 늘어날 수 있으므로 이전에 받은 슬롯 번호는 더 이상 사용하지 않아야 함
+     */
+    int insert(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("0은 키로 사용할 수 없습니다.");
+        }
+        if (size + 1 > keys.length * MAX_LOAD) {
+            resize(keys.length << 1);
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        scores[slot] = 0.0;
+        categories[slot] = NO_CATEGORY;
+        size++;
+        return slot;
+    }
+
+    long key(int slot) {
+        return keys[slot];
+    }
+
+    double score(int slot) {
+        return scores[slot];
+    }
+
+    void setScore(int slot, double score) {
+        scores[slot] = score;
+    }
+
+    byte category(int slot) {
+        return categories[slot];
+    }
+
+    void setCategory(int slot, byte category) {
+        categories[slot] = category;
+    }
+
+    boolean remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        // 뒤따르는 키 중 원래 자리가 빈 칸 이전인 키를 당겨와 탐색 경로가 끊기지 않게 함
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slotOf(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                scores[gap] = scores[next];
+                categories[gap] = categories[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    // 모든 점수에 같은 값을 곱함 (forward decay 기준 시각 이동용)
+    void scale(double factor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                scores[slot] *= factor;
+            }
+        }
+    }
+
+    // 점수가 minScore 미만인 항목 제거 (제거된 수 반환)
+    int prune(double minScore) {
+        int before = size;
+        long[] oldKeys = keys;
+        double[] oldScores = scores;
+        byte[] oldCategories = categories;
+        allocate(keys.length);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY && oldScores[slot] >= minScore) {
+                put(oldKeys[slot], oldScores[slot], oldCategories[slot]);
+            }
+        }
+        return before - size;
+    }
+
+    void forEach(EntryVisitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                visitor.visit(keys[slot], categories[slot], scores[slot]);
+            }
+        }
+    }
+
+    void put(long key, double score, byte category) {
+        int slot = insert(key);
+        scores[slot] = score;
+        categories[slot] = category;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldScores = scores;
+        byte[] oldCategories = categories;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                put(oldKeys[slot], oldScores[slot], oldCategories[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        scores = new double[capacity];
+        categories = new byte[capacity];
+        Arrays.fill(categories, NO_CATEGORY);
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    // 연속된 ID가 한 곳에 몰리지 않도록 섞어서 슬롯 계산
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    interface EntryVisitor {
+        void visit(long key, byte category, double score);
+    }
+}
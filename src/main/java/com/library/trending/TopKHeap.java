@@ -0,0 +1,135 @@
+package com.library.trending;
+
+/*
+    점수 상위 K개 게시글을 유지하는 최소 힙 (크기 고정)
+        - 루트가 K개 중 가장 낮은 점수이므로 새 점수와 루트만 비교해서 교체 여부를 결정
+        - 이미 들어있는 게시글의 점수 변경은 위치를 찾아(O(K)) 다시 정렬(O(log K))
+            - K는 수십 개 수준이라 선형 탐색이 별도 색인 유지보다 싸고 단순함
+        - 점수가 내려간 게시글은 더 높은 게시글이 들어올 때까지 남아있을 수 있음
+          (주기적인 전체 재구성(TrendingBoardRanker.maintain)에서 바로잡힘)
+        - 스레드 안전하지 않음 (TrendingBoardRanker의 락 안에서만 사용)
+ */
+class TopKHeap {
+    private final long[] ids;
+    private final double[] scores;
+    private int size = 0;
+
+    TopKHeap(int capacity) {
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int index) {
+        return ids[index];
+    }
+
+    double score(int index) {
+        return scores[index];
+    }
+
+    // 게시글 점수 반영 (있으면 갱신, 없으면 자리가 있거나 최저 점수보다 높을 때만 추가)
+    void offer(long id, double score) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            double previous = scores[index];
+            scores[index] = score;
+            if (score < previous) {
+                siftDown(index);
+            } else {
+                siftUp(index);
+            }
+        } else {
+            offerAbsent(id, score);
+        }
+    }
+
+    // 힙에 없는 게시글임이 확실할 때(전체 재구성) 위치 탐색 없이 추가
+    void offerAbsent(long id, double score) {
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    void remove(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return;
+        }
+        size--;
+        if (index == size) {
+            return;
+        }
+        ids[index] = ids[size];
+        scores[index] = scores[size];
+        siftDown(index);
+        siftUp(index);
+    }
+
+    void scale(double factor) {
+        for (int i = 0; i < size; i++) {
+            scores[i] *= factor;
+        }
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                break;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(smallest, index);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
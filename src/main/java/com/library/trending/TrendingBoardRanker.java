@@ -0,0 +1,322 @@
+package com.library.trending;
+
+import com.library.entity.board.BoardCategory;
+import com.library.event.BoardActivityEvent;
+import com.library.event.BoardChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+    인기 게시글 순위 (시간 감쇠 점수 + 카테고리별 상위 K개)
+        - ORDER BY (조회수, 좋아요, 댓글 수) 는 매 요청마다 전체 스캔이 필요하므로
+          활동 이벤트(BoardActivityEvent)를 받아 메모리에서 점수를 누적함
+        - 점수 = Σ 가중치 × 2^(-(지금 - 활동 시각) / 반감기)
+            - forward decay : 활동 시점에 가중치 × e^(λ(t - 기준 시각))을 더해두면
+              모든 게시글이 같은 비율로 감쇠하므로 순서 비교에 현재 시각이 필요 없음 (저장값을 그대로 비교)
+            - 지수가 커지면(RENORMALIZE_EXPONENT) 기준 시각을 현재로 옮기고 전체 점수에 같은 값을 곱함
+            - 좋아요 취소/댓글 삭제는 현재 시점 가중치만큼 빼고 0 미만은 0으로 둠 (근사)
+        - 구성
+            - ScoreTable : 게시글 ID => 점수, 카테고리 (기본형 배열 맵)
+            - TopKHeap : 카테고리별 상위 K개 (최소 힙), 조회는 힙 K개만 정렬하면 됨
+                - 전체 순위는 카테고리별 상위 K개를 합쳐서 계산 (전체 상위 K개는 반드시 그 안에 있음)
+            - 카테고리를 모르는 게시글(좋아요만 받은 경우)은 조회/댓글 이벤트로 카테고리를 알게 될 때 순위에 들어감
+        - 주기 작업(maintain) : 기준 시각 이동 -> 점수가 MIN_SCORE 미만인 게시글 제거 -> 힙 재구성 -> 스냅샷 저장
+            - 끝나면 정리 주기 번호(generation)를 올림 (BoardListCache가 인기 게시글 목록을 다시 조회하는 기준)
+            - 스냅샷 파일(임시 파일에 쓴 뒤 원자적 교체)은 시작 시 다시 읽으므로 재시작해도 순위가 유지됨
+            - 저장값이 기준 시각 기준이라 꺼져 있던 시간만큼 자연스럽게 감쇠됨
+        - 삭제/숨김된 게시글은 BoardChangedEvent로 제거, 카테고리 변경도 반영
+        - 설정
+            - board.trending.half-life-minutes : 점수 반감기 (기본 360분)
+            - board.trending.top-k : 카테고리별 유지할 게시글 수 (기본 50)
+            - board.trending.view-weight / like-weight / comment-weight : 활동별 가중치 (기본 1 / 5 / 3)
+            - board.trending.snapshot-file : 스냅샷 파일 (기본 trending-snapshot.bin)
+            - board.trending.snapshot-interval-ms : 정리 + 스냅샷 주기 (기본 1분)
+ */
+@Slf4j
+@Component
+public class TrendingBoardRanker {
+    private static final int MAGIC = 0x54524E31;    // "TRN1"
+    private static final double RENORMALIZE_EXPONENT = 40.0;
+    private static final double MIN_SCORE = 0.01;
+
+    private final Path snapshotFile;
+    private final int topK;
+    private final double decayPerMillis;
+    private final TopKHeap[] heaps;
+    private ScoreTable table = new ScoreTable(1024);
+    private long landmark;
+    private volatile long generation;
+    private Clock clock = Clock.systemUTC();
+    @Value("${board.trending.view-weight:1}")
+    private double viewWeight;
+    @Value("${board.trending.like-weight:5}")
+    private double likeWeight;
+    @Value("${board.trending.comment-weight:3}")
+    private double commentWeight;
+
+    @Autowired
+    public TrendingBoardRanker(@Value("${board.trending.snapshot-file:trending-snapshot.bin}") String snapshotFile,
+                               @Value("${board.trending.top-k:50}") int topK,
+                               @Value("${board.trending.half-life-minutes:360}") long halfLifeMinutes) {
+        this.snapshotFile = Paths.get(snapshotFile).toAbsolutePath().normalize();
+        this.topK = Math.max(1, topK);
+        this.decayPerMillis = Math.log(2) / (halfLifeMinutes * 60_000.0);
+        this.heaps = new TopKHeap[BoardCategory.values().length];
+        for (int i = 0; i < heaps.length; i++) {
+            heaps[i] = new TopKHeap(this.topK);
+        }
+        this.landmark = clock.millis();
+    }
+
+    // 스냅샷 파일이 있으면 점수 복원 (없거나 손상되었으면 빈 상태로 시작)
+    @PostConstruct
+    public synchronized void load() {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("인기 게시글 스냅샷 파일 형식이 아닙니다: " + snapshotFile);
+            }
+            long savedLandmark = in.readLong();
+            int count = in.readInt();
+            ScoreTable loaded = new ScoreTable(count);
+            for (int i = 0; i < count; i++) {
+                long boardId = in.readLong();
+                byte category = in.readByte();
+                double score = in.readDouble();
+                loaded.put(boardId, score, category < heaps.length ? category : ScoreTable.NO_CATEGORY);
+            }
+            table = loaded;
+            landmark = savedLandmark;
+            rebuildHeaps();
+            log.info("인기 게시글 스냅샷 복원 - 게시글 {}건", count);
+        } catch (IOException e) {
+            log.warn("인기 게시글 스냅샷 복원 실패 - 빈 상태로 시작", e);
+        }
+    }
+
+    /*
+        활동 점수 반영
+        @param category 게시글 카테고리 (모르면 null, 이전에 알려진 카테고리를 유지)
+        @param weight 가중치 (음수면 점수 차감)
+     */
+    public synchronized void record(long boardId, BoardCategory category, double weight) {
+        long now = clock.millis();
+        if (decayPerMillis * (now - landmark) > RENORMALIZE_EXPONENT) {
+            rebase(now);
+        }
+        int slot = table.insert(boardId);
+        double score = Math.max(0.0, table.score(slot) + weight * Math.exp(decayPerMillis * (now - landmark)));
+        table.setScore(slot, score);
+        byte current = table.category(slot);
+        if (category != null && category.ordinal() != current) {
+            if (current != ScoreTable.NO_CATEGORY) {
+                heaps[current].remove(boardId);
+            }
+            current = (byte) category.ordinal();
+            table.setCategory(slot, current);
+        }
+        if (current != ScoreTable.NO_CATEGORY) {
+            heaps[current].offer(boardId, score);
+        }
+    }
+
+    /*
+        인기 게시글 ID 목록 (점수 높은 순)
+        @param category 카테고리 (null이면 전체)
+        @param limit 최대 개수 (top-k 보다 클 수 없음)
+     */
+    public synchronized List<Long> top(BoardCategory category, int limit) {
+        List<Ranked> ranked = new ArrayList<>();
+        for (int i = 0; i < heaps.length; i++) {
+            if (category == null || category.ordinal() == i) {
+                TopKHeap heap = heaps[i];
+                for (int j = 0; j < heap.size(); j++) {
+                    ranked.add(new Ranked(heap.id(j), heap.score(j)));
+                }
+            }
+        }
+        ranked.sort(Comparator.comparingDouble((Ranked entry) -> entry.score).reversed().thenComparingLong(entry -> entry.boardId));
+        return ranked.stream().limit(Math.min(limit, topK)).map(entry -> entry.boardId).toList();
+    }
+
+    // 현재 시각 기준 감쇠된 점수 (없으면 0)
+    public synchronized double currentScore(long boardId) {
+        int slot = table.find(boardId);
+        if (slot < 0) {
+            return 0.0;
+        }
+        return table.score(slot) * Math.exp(-decayPerMillis * (clock.millis() - landmark));
+    }
+
+    public synchronized void remove(long boardId) {
+        int slot = table.find(boardId);
+        if (slot < 0) {
+            return;
+        }
+        byte category = table.category(slot);
+        if (category != ScoreTable.NO_CATEGORY) {
+            heaps[category].remove(boardId);
+        }
+        table.remove(boardId);
+    }
+
+    // 조회/좋아요/댓글 반영 (트랜잭션이 있으면 커밋 이후, 없으면 바로)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(BoardActivityEvent event) {
+        double weight = switch (event.getType()) {
+            case VIEWED -> viewWeight;
+            case LIKED -> likeWeight;
+            case UNLIKED -> -likeWeight;
+            case COMMENTED -> commentWeight;
+            case COMMENT_DELETED -> -commentWeight;
+        };
+        record(event.getBoardId(), event.getCategory(), weight);
+    }
+
+    // 삭제/숨김된 게시글 제거, 카테고리 변경 반영 (트랜잭션 커밋 이후에만 호출됨)
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        switch (event.getType()) {
+            case DELETED, HIDDEN -> remove(event.getBoardId());
+            case UPDATED -> {
+                if (event.getPreviousCategory() != event.getCategory()) {
+                    moveCategory(event.getBoardId(), event.getCategory());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /*
+        주기 정리 + 스냅샷 저장
+            - 락 안에서는 정리와 배열 복사만 하고, 파일 쓰기는 락 밖에서 수행
+     */
+    @Scheduled(initialDelayString = "${board.trending.snapshot-interval-ms:60000}", fixedDelayString = "${board.trending.snapshot-interval-ms:60000}")
+    public void maintain() {
+        long savedLandmark;
+        long[] boardIds;
+        byte[] categories;
+        double[] scores;
+        synchronized (this) {
+            rebase(clock.millis());
+            int pruned = table.prune(MIN_SCORE);
+            rebuildHeaps();
+            savedLandmark = landmark;
+            boardIds = new long[table.size()];
+            categories = new byte[table.size()];
+            scores = new double[table.size()];
+            int[] index = {0};
+            table.forEach((boardId, category, score) -> {
+                boardIds[index[0]] = boardId;
+                categories[index[0]] = category;
+                scores[index[0]++] = score;
+            });
+            generation++;
+            log.debug("인기 게시글 정리 - 유지 {}건, 제거 {}건", table.size(), pruned);
+        }
+        try {
+            writeSnapshot(savedLandmark, boardIds, categories, scores);
+        } catch (IOException e) {
+            log.error("인기 게시글 스냅샷 저장 실패: {}", snapshotFile, e);
+        }
+    }
+
+    // 정리 주기 번호 (maintain이 끝날 때마다 증가)
+    public long generation() {
+        return generation;
+    }
+
+    @PreDestroy
+    public void close() {
+        maintain();
+    }
+
+    private synchronized void moveCategory(long boardId, BoardCategory category) {
+        int slot = table.find(boardId);
+        if (slot < 0) {
+            return;
+        }
+        byte previous = table.category(slot);
+        if (previous != ScoreTable.NO_CATEGORY) {
+            heaps[previous].remove(boardId);
+        }
+        table.setCategory(slot, (byte) category.ordinal());
+        heaps[category.ordinal()].offer(boardId, table.score(slot));
+    }
+
+    // 기준 시각을 now로 옮기고 모든 점수에 같은 감쇠를 곱함 (순서는 그대로)
+    private void rebase(long now) {
+        double factor = Math.exp(-decayPerMillis * (now - landmark));
+        table.scale(factor);
+        for (TopKHeap heap : heaps) {
+            heap.scale(factor);
+        }
+        landmark = now;
+    }
+
+    private void rebuildHeaps() {
+        for (TopKHeap heap : heaps) {
+            heap.clear();
+        }
+        table.forEach((boardId, category, score) -> {
+            if (category != ScoreTable.NO_CATEGORY) {
+                heaps[category].offerAbsent(boardId, score);
+            }
+        });
+    }
+
+    // 임시 파일에 쓰고 fsync 후 원자적으로 교체 (쓰는 도중 종료되어도 이전 스냅샷 유지)
+    private void writeSnapshot(long savedLandmark, long[] boardIds, byte[] categories, double[] scores) throws IOException {
+        Files.createDirectories(snapshotFile.getParent());
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(MAGIC);
+            out.writeLong(savedLandmark);
+            out.writeInt(boardIds.length);
+            for (int i = 0; i < boardIds.length; i++) {
+                out.writeLong(boardIds[i]);
+                out.writeByte(categories[i]);
+                out.writeDouble(scores[i]);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @AllArgsConstructor
+    private static class Ranked {
+        private final long boardId;
+        private final double score;
+    }
+}
@@ -0,0 +1,119 @@
+package com.library.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    키(ID)별 증감량을 메모리에 누적하는 카운터
+        - 조회수, 다운로드 수처럼 "자주 증가하고, 정확한 값은 나중에 반영해도 되는" 값에 사용
+        - ConcurrentHashMap + LongAdder
+            - LongAdder는 내부 셀을 여러 개로 나눠(striping) 누적하므로
+              같은 키에 요청이 몰려도 하나의 CAS 지점에서 경합하지 않음
+        - drain() : 지금까지 누적된 증감량을 꺼내고 초기화 (주기적 flush 용)
+            - 꺼낸 값은 complete() / restore() 전까지 반영 중(flushing)으로 get()에 계속 포함됨
+              (DB 커밋 전에 화면 값이 잠깐 줄어들지 않도록)
+        - complete() : 반영 성공, 반영 중인 값 제거
+        - restore() : flush 실패 시 꺼냈던 증감량을 되돌림
+    맵 교체 방식(세대, Generation)
+        - drain() 시 현재 세대의 맵을 새 세대로 교체한 뒤, 이전 세대에 더하고 있는 스레드가 끝날 때까지 기다렸다가 전부 꺼냄
+            - add()는 세대의 진행 중 표시(writers)를 올린 뒤 그 세대가 아직 현재 세대인지 확인하고 더함
+              (이미 교체되었으면 표시를 내리고 새 세대에서 다시 시도)
+            - 따라서 꺼낸 뒤의 맵에는 아무도 더하지 않음 (스레드가 오래 멈춰 있어도 유실 없음)
+            - 진행 중 표시는 스레드별 칸(stripe)에 나눠 기록하므로 add()끼리 한 지점에서 경합하지 않음
+        - get()은 교체 도중 잠깐 많게 보일 수는 있어도 적게 보이지 않음
+        - 꺼낸 맵은 버리므로 더 이상 증가하지 않는 키는 메모리에 남지 않음
+ */
+public class DeltaCounter {
+    private volatile Generation current = new Generation();
+    // 교체된 뒤 아직 꺼내지 않은 이전 세대의 맵 (drain 도중에만 값이 있음)
+    private volatile Map<Long, LongAdder> retired = Map.of();
+    // drain으로 꺼냈지만 아직 complete / restore 되지 않은 증감량 (drain 쪽에서만 교체)
+    private volatile Map<Long, Long> flushing = Map.of();
+
+    // 증감량 누적 (요청 스레드에서 호출, DB 접근 없음)
+    public void add(Long key, long delta) {
+        int slot = Generation.slot();
+        while (true) {
+            Generation generation = current;
+            generation.writers.incrementAndGet(slot);
+            try {
+                if (generation == current) {
+                    generation.counts.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+                    return;
+                }
+            } finally {
+                generation.writers.decrementAndGet(slot);
+            }
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 증감량 (반영 중인 값 포함)
+    public long get(Long key) {
+        // drain()이 바꾸는 순서(current -> retired -> flushing)대로 읽어야 적게 보이지 않음
+        long active = sumOf(current.counts.get(key));
+        long draining = sumOf(retired.get(key));
+        return active + draining + flushing.getOrDefault(key, 0L);
+    }
+
+    /*
+        누적된 증감량을 꺼내고 초기화
+            - 반환 맵은 키 순서로 정렬됨 (UPDATE 순서를 고정해서 데드락 방지)
+            - 증감량이 0인 키는 포함하지 않음
+            - 이전에 꺼낸 값이 아직 complete / restore 되지 않았으면 함께 반환함
+     */
+    public synchronized Map<Long, Long> drain() {
+        Generation previous = current;
+        retired = previous.counts;
+        current = new Generation();
+        previous.awaitWriters();
+
+        Map<Long, Long> drained = new TreeMap<>(flushing);
+        previous.counts.forEach((key, adder) -> drained.merge(key, adder.sum(), Long::sum));
+        drained.values().removeIf(delta -> delta == 0);
+        flushing = Map.copyOf(drained);
+        retired = Map.of();
+        return drained;
+    }
+
+    // 반영 성공 (꺼낸 값을 반영 중 목록에서 제거)
+    public synchronized void complete() {
+        flushing = Map.of();
+    }
+
+    // flush 실패 시 증감량 복구 (되돌린 뒤에 반영 중 목록에서 제거)
+    public synchronized void restore(Map<Long, Long> deltas) {
+        deltas.forEach(this::add);
+        flushing = Map.of();
+    }
+
+    private static long sumOf(LongAdder adder) {
+        return adder == null ? 0L : adder.sum();
+    }
+
+    // 한 번의 drain 주기 동안 사용하는 맵과 진행 중인 add() 수
+    private static final class Generation {
+        private static final int STRIPES = 64;
+        // 칸 사이를 캐시 라인(64바이트)만큼 띄워서 서로 다른 칸끼리 false sharing이 생기지 않게 함
+        private static final int PADDING = 8;
+
+        private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+        private final AtomicLongArray writers = new AtomicLongArray(STRIPES * PADDING);
+
+        // 같은 스레드는 항상 같은 칸을 올리고 내리므로 각 칸은 음수가 되지 않음
+        private static int slot() {
+            return (int) (Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+        }
+
+        // 교체 전에 이 세대를 확인한 add()가 모두 끝날 때까지 대기 (맵에 한 번 더하는 짧은 구간)
+        private void awaitWriters() {
+            for (int slot = 0; slot < STRIPES * PADDING; slot += PADDING) {
+                while (writers.get(slot) != 0) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
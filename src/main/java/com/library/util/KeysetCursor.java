@@ -0,0 +1,47 @@
+package com.library.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/*
+    Keyset(Seek) 페이지네이션 커서
+        - OFFSET 방식의 문제
+            - OFFSET 100000 이면 DB가 앞의 10만 건을 읽고 버림 => 뒤 페이지일수록 느려짐
+        - Keyset 방식
+            - "마지막으로 본 행의 (createdAt, id)" 다음부터 읽음
+            - (createdAt, id) 인덱스를 타고 바로 시작 위치로 이동하므로 페이지 깊이와 무관하게 일정한 속도
+            - createdAt이 같은 행이 있을 수 있으므로 id를 보조 정렬 키로 함께 사용
+        - URL에는 "createdAt|id"를 Base64(URL-safe)로 인코딩한 문자열로 전달
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    // 커서 -> URL 문자열
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // URL 문자열 -> 커서 (형식이 잘못되면 IllegalArgumentException)
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separatorIndex));
+            Long id = Long.valueOf(raw.substring(separatorIndex + 1));
+            return new KeysetCursor(createdAt, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서 값입니다: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.library.board;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.library.dto.board.BoardDetailDto;
+import com.library.dto.board.BoardDetailVersion;
+import com.library.dto.board.BoardUpdateDto;
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
+import com.library.entity.board.BoardFile;
+import com.library.entity.member.Member;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+import com.library.service.BoardDetailCache;
+import com.library.service.BoardLikeStore;
+import com.library.service.BoardListCache;
+import com.library.service.BoardService;
+import com.library.service.BoardStatistics;
+import com.library.service.AttachmentIngestor;
+import com.library.service.FileBlobStore;
+import com.library.service.FileStorageService;
+import com.library.service.ViewCountBuffer;
+import com.library.trending.TrendingBoardRanker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    게시글 상세/수정 흐름 SQL 횟수 테스트
+        - 목적 : 상세 조회, 수정 폼 조회, 수정 처리가 정해진 횟수 이상의 SQL을 실행하지 않는지 검증
+            - 첨부파일 지연 로딩, 같은 게시글 중복 조회가 다시 생기면 실패함
+        - 테스트 항목
+            - 상세 조회 : 게시글 + 작성자 + 첨부파일을 SQL 1번으로 조회하는가? (두 번째는 캐시)
+            - 상세 검증값(304 판단) : 캐시가 없으면 board 행만 1번, 캐시가 있으면 SQL 없이 조회하는가?
+            - 수정 폼 조회 : SQL 1번, 권한이 없으면 추가 SQL 없이 실패하는가?
+            - 수정 처리 : 조회 1번 + UPDATE 1번
+        - 영속성 컨텍스트를 비운 뒤 측정하여 실제 요청과 같은 조건으로 검증
+        - SqlStatementRecorder로 실제 실행된 SQL을 기록하여 검증
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.library.board.SqlStatementRecorder",
+        "file.upload-dir=build/test-uploads",
+        "file.max-size=10485760",
+        "file.allowed-extensions=jpg,png,pdf,txt",
+        "board.trending.snapshot-file=build/test-trending.bin"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({BoardService.class, BoardDetailCache.class, BoardListCache.class, BoardStatistics.class, BoardLikeStore.class,
+        ViewCountBuffer.class, FileStorageService.class, FileBlobStore.class, AttachmentIngestor.class, TrendingBoardRanker.class, SimpleMeterRegistry.class})
+public class BoardDetailQueryCountTest {
+    private static final int MAX_DETAIL_STATEMENTS = 1;
+    private static final int MAX_UPDATE_STATEMENTS = 2;
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    private Member author;
+    private Board board;
+
+    @BeforeEach
+    void setup() {
+        author = memberRepository.save(Member.builder()
+                .name("Detail Author")
+                .password("password")
+                .email("detail@test.test")
+                .build());
+        board = Board.builder()
+                .title("상세 게시글")
+                .content("상세 본문")
+                .author(author)
+                .category(BoardCategory.FREE)
+                .build();
+        for (int i = 0; i < 2; i++) {
+            board.addFile(BoardFile.builder()
+                    .originalFileName("file" + i + ".txt")
+                    .storedFileName("stored-" + i + ".txt")
+                    .filePath("boards")
+                    .fileSize(10L)
+                    .fileExtension("txt")
+                    .mimeType("text/plain")
+                    .build());
+        }
+        boardRepository.save(board);
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.clear();
+    }
+
+    @Test
+    void 상세_조회_SQL_횟수() {
+        BoardDetailDto detail = boardService.getBoard(board.getId());
+        assertThat(SqlStatementRecorder.statements()).hasSizeLessThanOrEqualTo(MAX_DETAIL_STATEMENTS);
+        assertThat(detail.getFiles()).hasSize(2);
+        assertThat(detail.getAuthorName()).isEqualTo("Detail Author");
+
+        boardService.getBoard(board.getId());
+        assertThat(SqlStatementRecorder.statements()).hasSizeLessThanOrEqualTo(MAX_DETAIL_STATEMENTS);
+    }
+
+    @Test
+    void 상세_검증값_SQL_횟수() {
+        BoardDetailVersion version = boardService.getBoardVersion(board.getId());
+        // 캐시에 스냅샷이 없으면 board 행만 조회 (첨부파일/작성자 조인 없음)
+        assertThat(SqlStatementRecorder.statements()).hasSize(1);
+        assertThat(SqlStatementRecorder.statements().get(0)).doesNotContainIgnoringCase("board_file").doesNotContainIgnoringCase("members");
+        assertThat(version.getUpdatedAt()).isNotNull();
+
+        boardService.getBoard(board.getId());
+        SqlStatementRecorder.clear();
+        assertThat(boardService.getBoardVersion(board.getId()).getUpdatedAt()).isEqualTo(version.getUpdatedAt());
+        // 스냅샷이 있으면 SQL 없음
+        assertThat(SqlStatementRecorder.statements()).isEmpty();
+    }
+
+    @Test
+    void 수정폼_조회_SQL_횟수() {
+        BoardDetailDto detail = boardService.getBoardForEdit(board.getId(), author.getEmail());
+        assertThat(detail.getFiles()).hasSize(2);
+        assertThatThrownBy(() -> boardService.getBoardForEdit(board.getId(), "other@test.test"))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(SqlStatementRecorder.statements()).hasSizeLessThanOrEqualTo(MAX_DETAIL_STATEMENTS);
+    }
+
+    @Test
+    void 수정_처리_SQL_횟수() {
+        BoardUpdateDto updateDto = BoardUpdateDto.builder()
+                .title("수정된 제목")
+                .content("수정된 본문")
+                .category(BoardCategory.FREE)
+                .build();
+
+        boardService.updateBoard(board.getId(), author.getEmail(), updateDto);
+        entityManager.flush();
+
+        assertThat(SqlStatementRecorder.statements()).hasSizeLessThanOrEqualTo(MAX_UPDATE_STATEMENTS);
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.board;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.entity.board.Board;
+import com.library.entity.member.Member;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+import com.library.service.BoardLikeStore;
+
+/*
+    BoardLikeStore flush 실패 처리 테스트 클래스
+        - 목적 : 반영할 수 없는 요청 하나가 대기 목록 전체를 막지 않는지 검증
+        - 테스트 항목
+            - 없는 회원의 좋아요는 버리고 같은 게시글의 나머지 요청은 반영되는가?
+            - 버린 요청은 메모리 상태에서도 되돌려지고 다음 flush에서 다시 시도하지 않는가?
+        - flush의 트랜잭션 롤백을 실제와 같게 확인하기 위해 테스트 트랜잭션을 사용하지 않고 직접 정리함
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(BoardLikeStore.class)
+public class BoardLikeStoreFlushTest {
+    @Autowired
+    private BoardLikeStore boardLikeStore;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private Board board;
+    private Member member;
+
+    @BeforeEach
+    void setup() {
+        member = memberRepository.save(Member.builder().name("회원").password("password").email("like-flush@test.test").build());
+        board = boardRepository.save(Board.builder().title("제목").content("본문").author(member).build());
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM board_like");
+        jdbcTemplate.update("DELETE FROM board");
+        jdbcTemplate.update("DELETE FROM members");
+    }
+
+    private long likeRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM board_like WHERE board_id = ?", Long.class, board.getId());
+    }
+
+    private long likeCount() {
+        return jdbcTemplate.queryForObject("SELECT like_count FROM board WHERE id = ?", Long.class, board.getId());
+    }
+
+    @Test
+    public void rejectedLikeIsDroppedOthersWritten() {
+        long missingMemberId = member.getId() + 1000;
+        boardLikeStore.like(board.getId(), member.getId());
+        boardLikeStore.like(board.getId(), missingMemberId);
+
+        boardLikeStore.flush();
+
+        assertThat(likeRows()).isEqualTo(1);
+        assertThat(likeCount()).isEqualTo(1);
+        assertThat(boardLikeStore.isLiked(board.getId(), member.getId())).isTrue();
+        assertThat(boardLikeStore.isLiked(board.getId(), missingMemberId)).isFalse();
+        assertThat(boardLikeStore.pendingDelta(board.getId())).isZero();
+
+        // 버린 요청은 다음 flush에서 다시 시도하지 않음
+        boardLikeStore.flush();
+        assertThat(likeCount()).isEqualTo(1);
+    }
+}
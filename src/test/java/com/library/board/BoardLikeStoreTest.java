@@ -0,0 +1,102 @@
+package com.library.board;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.library.entity.board.Board;
+import com.library.entity.member.Member;
+import com.library.repository.BoardLikeRepository;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+import com.library.service.BoardLikeStore;
+
+/*
+    BoardLikeStore 테스트 클래스
+        - 목적 : 좋아요 중복 방지와 batch 반영 검증
+        - 테스트 항목
+            - 같은 회원의 중복 좋아요가 무시되는가?
+            - flush 시 board_like 행과 like_count가 함께 반영되는가?
+            - 좋아요 -> 취소처럼 상쇄되는 요청은 DB에 아무것도 쓰지 않는가?
+            - 이미 있는 행은 다시 넣지 않고 like_count도 늘리지 않는가?
+        - H2 In-memory DB 사용, 테스트마다 트랜잭션 롤백
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(BoardLikeStore.class)
+public class BoardLikeStoreTest {
+    @Autowired
+    private BoardLikeStore boardLikeStore;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private BoardLikeRepository boardLikeRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private Board board;
+    private Member first;
+    private Member second;
+
+    @BeforeEach
+    void setup() {
+        first = memberRepository.save(Member.builder().name("회원1").password("password").email("like1@test.test").build());
+        second = memberRepository.save(Member.builder().name("회원2").password("password").email("like2@test.test").build());
+        board = boardRepository.save(Board.builder().title("제목").content("본문").author(first).build());
+        entityManager.flush();
+    }
+
+    @Test
+    public void likeOncePerMember() {
+        assertThat(boardLikeStore.like(board.getId(), first.getId())).isTrue();
+        assertThat(boardLikeStore.like(board.getId(), first.getId())).isFalse();
+        assertThat(boardLikeStore.like(board.getId(), second.getId())).isTrue();
+        assertThat(boardLikeStore.isLiked(board.getId(), first.getId())).isTrue();
+        assertThat(boardLikeStore.pendingDelta(board.getId())).isEqualTo(2);
+
+        boardLikeStore.flush();
+        entityManager.clear();
+
+        assertThat(boardLikeRepository.countByBoardId(board.getId())).isEqualTo(2);
+        assertThat(boardRepository.findById(board.getId()).orElseThrow().getLikeCount()).isEqualTo(2);
+        assertThat(boardLikeStore.pendingDelta(board.getId())).isZero();
+    }
+
+    @Test
+    public void likeThenUnlikeCancelsOut() {
+        boardLikeStore.like(board.getId(), first.getId());
+        boardLikeStore.unlike(board.getId(), first.getId());
+
+        boardLikeStore.flush();
+        entityManager.clear();
+
+        assertThat(boardLikeRepository.countByBoardId(board.getId())).isZero();
+        assertThat(boardRepository.findById(board.getId()).orElseThrow().getLikeCount()).isZero();
+        assertThat(boardLikeStore.isLiked(board.getId(), first.getId())).isFalse();
+    }
+
+    @Test
+    public void existingRowIsNotInsertedTwice() {
+        // 메모리에 적재된 뒤 다른 경로로 같은 행이 생긴 경우
+        assertThat(boardLikeStore.isLiked(board.getId(), second.getId())).isFalse();
+        jdbcTemplate.update("INSERT INTO board_like (board_id, member_id, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                board.getId(), second.getId());
+        boardLikeStore.like(board.getId(), second.getId());
+
+        boardLikeStore.flush();
+        entityManager.clear();
+
+        assertThat(boardLikeRepository.countByBoardId(board.getId())).isEqualTo(1);
+        assertThat(boardRepository.findById(board.getId()).orElseThrow().getLikeCount()).isZero();
+    }
+}
@@ -0,0 +1,110 @@
+package com.library.board;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardFile;
+import com.library.entity.comment.Comment;
+import com.library.entity.member.Member;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+import com.library.service.BoardPurgeJob;
+import com.library.service.BoardStatistics;
+import com.library.service.FileBlobStore;
+import com.library.service.FileStorageService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    BoardPurgeJob 테스트 클래스
+        - 목적 : 삭제 게시글 영구 삭제 대상과 연관 데이터 삭제 검증
+        - 테스트 항목
+            - 보관 기간이 지난 DELETED 게시글만 삭제되는가? (최근 삭제, ACTIVE 게시글은 유지)
+            - 댓글, 첨부파일 행, 업로드 파일이 함께 삭제되는가?
+        - H2 In-memory DB 사용, 테스트마다 트랜잭션 롤백
+ */
+@DataJpaTest(properties = {
+        "file.upload-dir=build/test-uploads",
+        "file.max-size=10485760",
+        "file.allowed-extensions=jpg,png,pdf,txt",
+        "board.purge.pause-ms=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({BoardPurgeJob.class, BoardStatistics.class, FileStorageService.class, FileBlobStore.class, SimpleMeterRegistry.class})
+public class BoardPurgeJobTest {
+    @Autowired
+    private BoardPurgeJob boardPurgeJob;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager entityManager;
+    private Member author;
+    private Path storedFile;
+
+    @BeforeEach
+    void setup() throws Exception {
+        author = memberRepository.save(Member.builder().name("작성자").password("password").email("purge@test.test").build());
+        storedFile = Paths.get("build/test-uploads/boards/purge-test/stored.txt");
+        Files.createDirectories(storedFile.getParent());
+        Files.writeString(storedFile, "첨부파일");
+    }
+
+    private Board saveBoard(boolean deleted, int deletedDaysAgo) {
+        Board board = Board.builder().title("제목").content("본문").author(author).build();
+        board.addFile(BoardFile.builder()
+                .originalFileName("file.txt")
+                .storedFileName("stored.txt")
+                .filePath("boards/purge-test/")
+                .fileSize(12L)
+                .fileExtension("txt")
+                .mimeType("text/plain")
+                .build());
+        boardRepository.save(board);
+        entityManager.persist(Comment.builder().content("댓글").board(board).author(author).build());
+        if (deleted) {
+            board.delete();
+        }
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE board SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(deletedDaysAgo)), board.getId());
+        return board;
+    }
+
+    @Test
+    public void purgeExpiredDeletedBoards() {
+        Board expired = saveBoard(true, 40);
+        Board recent = saveBoard(true, 1);
+        Board active = saveBoard(false, 40);
+        entityManager.clear();
+
+        int purged = boardPurgeJob.purge();
+
+        assertThat(purged).isEqualTo(1);
+        assertThat(boardRepository.findById(expired.getId())).isEmpty();
+        assertThat(boardRepository.findById(recent.getId())).isPresent();
+        assertThat(boardRepository.findById(active.getId())).isPresent();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comment WHERE board_id = ?", Long.class, expired.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM board_file WHERE board_id = ?", Long.class, expired.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comment", Long.class)).isEqualTo(2);
+        assertThat(storedFile).doesNotExist();
+    }
+}
@@ -0,0 +1,190 @@
+package com.library.board;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import com.library.dto.board.BoardListDto;
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
+import com.library.entity.board.BoardStatus;
+import com.library.entity.comment.Comment;
+import com.library.entity.comment.CommentStatus;
+import com.library.entity.member.Member;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+
+/*
+    BoardRepository 테스트 클래스
+        - 목적 : 게시글 목록 조회 쿼리 검증
+        - 테스트 항목
+            - Keyset(커서) 페이지네이션 : 중복/누락 없이 최신순으로 이어지는가?
+            - 목록 Projection 조회 : 본문(content) 컬럼을 읽지 않는가?
+            - 카테고리별 목록 조회 : 해당 카테고리의 ACTIVE 게시글만 최신순으로 나오는가?
+            - 검색 색인 복구 조회 : 기준 시각 이후 수정된 게시글이 상태와 함께 나오는가?
+            - 댓글 수 보정 조회 : 저장된 댓글 수와 실제 활성 댓글 수를 함께 조회하는가?
+        - H2 In-memory DB 사용, 테스트마다 트랜잭션 롤백
+        - SqlStatementRecorder로 실제 실행된 SQL을 기록하여 검증
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.library.board.SqlStatementRecorder")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+public class BoardRepositoryTest {
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    private Member testAuthor;
+
+    @BeforeEach
+    void setup() {
+        testAuthor = Member.builder()
+                .name("Test Author")
+                .password("password")
+                .email("board@test.test")
+                .build();
+        memberRepository.save(testAuthor);
+        for (int i = 0; i < 5; i++) {
+            boardRepository.save(Board.builder()
+                    .title("게시글 " + i)
+                    .content("본문 " + i)
+                    .author(testAuthor)
+                    .build());
+        }
+        // 삭제된 게시글은 목록에 나오지 않아야 함
+        Board deleted = Board.builder()
+                .title("삭제된 게시글")
+                .content("본문")
+                .author(testAuthor)
+                .build();
+        deleted.delete();
+        boardRepository.save(deleted);
+    }
+
+    /*
+        Keyset 페이지네이션
+            - 2건씩 끝까지 이어서 조회했을 때
+                - ACTIVE 게시글 5건이 모두 한 번씩만 나오는가?
+                - (createdAt, id) 내림차순인가?
+     */
+    @Test
+    public void findListSliceAfter() {
+        List<BoardListDto> visited = new ArrayList<>();
+        Slice<BoardListDto> slice = boardRepository.findListByStatus(BoardStatus.ACTIVE, PageRequest.of(0, 2));
+        visited.addAll(slice.getContent());
+        while (slice.hasNext()) {
+            BoardListDto last = slice.getContent().get(slice.getContent().size() - 1);
+            slice = boardRepository.findListSliceAfter(BoardStatus.ACTIVE, last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+            visited.addAll(slice.getContent());
+        }
+        assertThat(visited).hasSize(5);
+        assertThat(visited).extracting(BoardListDto::getId).doesNotHaveDuplicates();
+        assertThat(visited).noneMatch(board -> board.getTitle().equals("삭제된 게시글"));
+        for (int i = 1; i < visited.size(); i++) {
+            BoardListDto prev = visited.get(i - 1);
+            BoardListDto curr = visited.get(i);
+            boolean ordered = prev.getCreatedAt().isAfter(curr.getCreatedAt())
+                    || (prev.getCreatedAt().isEqual(curr.getCreatedAt()) && prev.getId() > curr.getId());
+            assertThat(ordered).isTrue();
+        }
+    }
+
+    /*
+        목록 Projection 조회
+            - SQL 1번으로 작성자 이름까지 조회하는가? (N+1 없음)
+            - select 절에 본문(content) 컬럼이 없는가?
+            - 결과가 엔티티가 아닌 DTO라서 영속성 컨텍스트에 Board가 올라가지 않는가?
+     */
+    @Test
+    public void findListByStatus() {
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.clear();
+
+        List<BoardListDto> boards = boardRepository.findListByStatus(BoardStatus.ACTIVE, Pageable.ofSize(10)).getContent();
+
+        assertThat(boards).hasSize(5);
+        assertThat(boards).allMatch(board -> board.getAuthorName().equals("Test Author"));
+        List<String> statements = SqlStatementRecorder.statements();
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0).toLowerCase()).doesNotContain(".content");
+        // 영속성 컨텍스트에 관리 중인 엔티티가 없어야 함
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    /*
+        카테고리별 목록 조회
+            - QNA 게시글 2건만 최신순으로 나오는가? (기본 카테고리 FREE 게시글은 제외)
+     */
+    @Test
+    public void findListByStatusAndCategory() {
+        Board older = boardRepository.save(Board.builder()
+                .title("질문 1")
+                .content("본문")
+                .category(BoardCategory.QNA)
+                .author(testAuthor)
+                .build());
+        Board newer = boardRepository.save(Board.builder()
+                .title("질문 2")
+                .content("본문")
+                .category(BoardCategory.QNA)
+                .author(testAuthor)
+                .build());
+
+        List<BoardListDto> boards = boardRepository.findListByStatusAndCategory(BoardStatus.ACTIVE, BoardCategory.QNA, Pageable.ofSize(10)).getContent();
+
+        assertThat(boards).extracting(BoardListDto::getId).containsExactly(newer.getId(), older.getId());
+        assertThat(boards).allMatch(board -> board.getCategory() == BoardCategory.QNA);
+    }
+
+    /*
+        검색 색인 복구 조회
+            - 기준 시각 이후 수정된 게시글만, 삭제된 게시글도 상태와 함께 ID 순으로 나오는가?
+     */
+    @Test
+    public void findSearchDocumentsUpdatedAfter() {
+        entityManager.flush();
+        List<BoardRepository.ChangedSearchDocument> all = boardRepository.findSearchDocumentsUpdatedAfter(
+                LocalDateTime.now().minusMinutes(1), 0L, PageRequest.of(0, 10));
+        assertThat(all).hasSize(6);
+        assertThat(all).extracting(BoardRepository.ChangedSearchDocument::getId).isSorted();
+        assertThat(all).extracting(BoardRepository.ChangedSearchDocument::getStatus).contains(BoardStatus.DELETED);
+
+        assertThat(boardRepository.findSearchDocumentsUpdatedAfter(LocalDateTime.now().plusMinutes(1), 0L, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    /*
+        댓글 수 보정 조회
+            - 저장된 댓글 수와 실제 활성 댓글 수(삭제된 댓글 제외)를 게시글별로 함께 조회하는가?
+            - 댓글이 없는 게시글은 실제 댓글 수 0으로 나오는가?
+     */
+    @Test
+    public void findCommentCountDrift() {
+        Board board = boardRepository.save(Board.builder().title("댓글 게시글").content("본문").author(testAuthor).build());
+        Board empty = boardRepository.save(Board.builder().title("빈 게시글").content("본문").author(testAuthor).build());
+        entityManager.persist(Comment.builder().content("댓글").board(board).author(testAuthor).build());
+        entityManager.persist(Comment.builder().content("삭제된 댓글").board(board).author(testAuthor).status(CommentStatus.DELETED).build());
+        entityManager.flush();
+        boardRepository.adjustCommentCount(empty.getId(), 3);
+
+        List<BoardRepository.CommentCountDrift> drift = boardRepository.findCommentCountDrift(List.of(board.getId(), empty.getId()), CommentStatus.ACTIVE);
+
+        assertThat(drift).extracting(BoardRepository.CommentCountDrift::getBoardId, BoardRepository.CommentCountDrift::getStored, BoardRepository.CommentCountDrift::getActual)
+                .containsExactlyInAnyOrder(tuple(board.getId(), 0L, 1L), tuple(empty.getId(), 3L, 0L));
+    }
+}
@@ -0,0 +1,32 @@
+package com.library.board;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/*
+    테스트용 SQL 기록기
+        - Hibernate가 실행하는 모든 SQL을 가로채서 기록함 (SQL 자체는 변경하지 않음)
+        - hibernate.session_factory.statement_inspector 설정으로 등록
+        - 검증 용도
+            - 어떤 컬럼을 읽었는지 (예: 목록 조회에서 content를 읽지 않는가?)
+            - 몇 번의 SQL이 실행됐는지 (N+1, 중복 조회 방지)
+ */
+public class SqlStatementRecorder implements StatementInspector {
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        statements.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(statements);
+    }
+}
@@ -0,0 +1,193 @@
+package com.library.comment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.config.ReplicaRoutingDataSource;
+import com.library.dto.comment.CommentCreateDTO;
+import com.library.dto.comment.CommentDTO;
+import com.library.entity.board.Board;
+import com.library.entity.member.Member;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+import com.library.service.CommentGroupCommitter;
+import com.library.service.CommentService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    CommentGroupCommitter 테스트 클래스
+        - 목적 : 동시에 들어온 댓글 작성 요청이 한 트랜잭션으로 묶여 저장되고, 요청마다 결과를 받는지 검증
+        - 테스트 항목
+            - 동시 요청이 batch로 묶이고, 요청마다 서로 다른 댓글 ID를 받는가? 게시글 댓글 수가 맞는가?
+            - 없는 게시글 요청만 실패하고 같은 batch의 나머지는 저장되는가?
+            - DB 오류(컬럼 길이 초과)가 난 batch는 개별 저장으로 재시도되어 해당 요청만 실패하는가?
+            - 저장 스레드가 저장해도 요청 스레드가 원본에 쓴 것으로 표시되는가?
+            - 동시 작성자 1 / 16 / 256명일 때 초당 저장 수 (기존 방식과 비교 로그, benchmark 태그라 gradle benchmark로만 실행)
+        - 저장 스레드가 별도 트랜잭션으로 커밋하므로 테스트 트랜잭션을 사용하지 않고 직접 정리함
+ */
+@DataJpaTest(properties = {
+        "comment.group-commit.enabled=true",
+        "comment.group-commit.batch-size=64",
+        "comment.group-commit.max-wait-ms=5"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CommentGroupCommitter.class, CommentService.class, SimpleMeterRegistry.class})
+public class CommentGroupCommitterTest {
+    private static final Logger log = LoggerFactory.getLogger(CommentGroupCommitterTest.class);
+
+    @Autowired
+    private CommentGroupCommitter committer;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private Member author;
+    private Board board;
+
+    @BeforeEach
+    void setup() {
+        author = memberRepository.save(Member.builder().name("작성자").password("password").email("group@test.test").build());
+        board = boardRepository.save(Board.builder().title("제목").content("본문").author(author).build());
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM comment");
+        jdbcTemplate.update("DELETE FROM board");
+        jdbcTemplate.update("DELETE FROM members");
+    }
+
+    private static CommentCreateDTO content(String content) {
+        return CommentCreateDTO.builder().content(content).build();
+    }
+
+    private long storedCommentCount() {
+        return jdbcTemplate.queryForObject("SELECT comment_count FROM board WHERE id = ?", Long.class, board.getId());
+    }
+
+    // writers개 스레드가 동시에 각 perWriter개씩 작성, @return 초당 저장 수
+    private double write(int writers, int perWriter, Function<String, CommentDTO> writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Callable<CommentDTO>> tasks = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                for (int i = 0; i < perWriter; i++) {
+                    String text = "댓글 " + w + "-" + i;
+                    tasks.add(() -> writer.apply(text));
+                }
+            }
+            long startedAt = System.nanoTime();
+            for (Future<CommentDTO> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            return tasks.size() / ((System.nanoTime() - startedAt) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void 동시요청_그룹저장() throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        write(32, 4, text -> {
+            CommentDTO comment = committer.submit(board.getId(), content(text), author.getEmail());
+            ids.add(comment.getId());
+            assertThat(comment.getContent()).isEqualTo(text);
+            assertThat(comment.getAuthorName()).isEqualTo("작성자");
+            return comment;
+        });
+
+        assertThat(ids).hasSize(128);
+        assertThat(storedCommentCount()).isEqualTo(128L);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM comment WHERE board_id = ?", Long.class, board.getId())).isEqualTo(128L);
+        // 128건이 128번보다 적은 트랜잭션으로 저장됨
+        assertThat(meterRegistry.get("comment.group-commit.batch").summary().count()).isLessThan(128L);
+    }
+
+    @Test
+    void 없는게시글_해당요청만_실패() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CommentDTO> missing = executor.submit(() -> committer.submit(-1L, content("없는 게시글"), author.getEmail()));
+            Future<CommentDTO> valid = executor.submit(() -> committer.submit(board.getId(), content("정상 댓글"), author.getEmail()));
+
+            assertThat(valid.get().getId()).isNotNull();
+            assertThatThrownBy(missing::get).hasCauseInstanceOf(IllegalArgumentException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(storedCommentCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void 배치실패_개별재시도() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // comment.content 컬럼 길이(100) 초과 => batch INSERT 실패
+            Future<CommentDTO> tooLong = executor.submit(() -> committer.submit(board.getId(), content("가".repeat(200)), author.getEmail()));
+            Future<CommentDTO> valid = executor.submit(() -> committer.submit(board.getId(), content("정상 댓글"), author.getEmail()));
+
+            assertThat(valid.get().getContent()).isEqualTo("정상 댓글");
+            assertThatThrownBy(tooLong::get).isNotNull();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(storedCommentCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void 요청스레드_원본쓰기_표시() {
+        try {
+            committer.submit(board.getId(), content("정상 댓글"), author.getEmail());
+            // 저장은 저장 스레드에서 했지만 요청 스레드도 쓴 것으로 표시됨 (작성자를 원본에 고정하기 위함)
+            assertThat(ReplicaRoutingDataSource.wroteToPrimary()).isTrue();
+        } finally {
+            ReplicaRoutingDataSource.reset();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void 동시작성자별_초당저장수() throws Exception {
+        int total = 512;
+        for (int writers : new int[]{1, 16, 256}) {
+            double direct = write(writers, total / writers, text -> commentService.createComment(board.getId(), content(text), author.getEmail()));
+            double grouped = write(writers, total / writers, text -> committer.submit(board.getId(), content(text), author.getEmail()));
+            log.info("댓글 저장 - 동시 작성자 {}명 : 개별 {}건/초, 그룹 커밋 {}건/초", writers, Math.round(direct), Math.round(grouped));
+        }
+        assertThat(storedCommentCount()).isEqualTo(total * 2L * 3);
+    }
+}
@@ -0,0 +1,124 @@
+package com.library.comment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.dto.comment.CommentDTO;
+import com.library.dto.comment.CommentJsonWriter;
+import com.library.dto.comment.CommentRow;
+
+/*
+    CommentJsonWriter 테스트
+        - 테스트 항목
+            - 스트리밍 출력 결과가 기존 방식(CommentDTO 리스트를 Jackson으로 직렬화)과 같은가?
+            - 댓글 1건당 할당 바이트와 처리량 비교 로그 (benchmark 태그라 기본 test에서는 제외, gradle benchmark로 실행)
+                - JMH 대신 현재 스레드의 할당 바이트(ThreadMXBean)와 경과 시간으로 측정
+                - 측정값은 JVM/GC 설정에 따라 달라지므로 검증하지 않고, 두 방식의 출력이 같은지만 확인
+ */
+public class CommentJsonWriterTest {
+    private static final Logger log = LoggerFactory.getLogger(CommentJsonWriterTest.class);
+    private static final int COMMENTS = 20_000;
+    private static final int ROUNDS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static List<CommentRow> rows(int count) {
+        List<CommentRow> rows = new ArrayList<>(count);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+        for (int i = 0; i < count; i++) {
+            rows.add(new CommentRow((long) i, "댓글 \"내용\" " + i, "작성자" + (i % 50), "user" + (i % 50) + "@test.test",
+                    base.plusMinutes(i), base.plusMinutes(i).plusSeconds(30), i % 3 == 2 ? (long) (i - 1) : null, i % 3 == 2 ? 1 : 0));
+        }
+        return rows;
+    }
+
+    // 기존 방식 : 댓글마다 포맷터와 DTO를 만들고 리스트 전체를 Jackson으로 직렬화
+    private void writeWithDtoList(List<CommentRow> rows, OutputStream out) throws IOException {
+        List<CommentDTO> comments = new ArrayList<>();
+        for (CommentRow row : rows) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+            comments.add(CommentDTO.builder()
+                    .id(row.getId())
+                    .content(row.getContent())
+                    .authorName(row.getAuthorName())
+                    .authorEmail(row.getAuthorEmail())
+                    .createdAt(row.getCreatedAt().format(formatter))
+                    .updatedAt(row.getUpdatedAt().format(formatter))
+                    .parentId(row.getParentId())
+                    .depth(row.getDepth())
+                    .build());
+        }
+        objectMapper.writeValue(out, comments);
+    }
+
+    private void writeStreaming(List<CommentRow> rows, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            new CommentJsonWriter(generator).writeArray(rows.iterator());
+        }
+    }
+
+    @Test
+    void 기존방식과_같은_JSON() throws IOException {
+        List<CommentRow> rows = rows(3);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+
+        writeWithDtoList(rows, expected);
+        writeStreaming(rows, actual);
+
+        assertThat(actual.toString()).isEqualTo(expected.toString());
+        assertThat(actual.toString()).contains("\"createdAt\":\"2025-01-02 03:04\"");
+    }
+
+    private interface Path {
+        void write(List<CommentRow> rows, OutputStream out) throws IOException;
+    }
+
+    // [댓글 1건당 할당 바이트, 초당 댓글 수] (워밍업 후 ROUNDS번 중 마지막 측정값)
+    private static double[] measure(Path path, List<CommentRow> rows) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        double[] result = new double[2];
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long startedAt = System.nanoTime();
+            path.write(rows, OutputStream.nullOutputStream());
+            long elapsed = System.nanoTime() - startedAt;
+            result[0] = (double) (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / rows.size();
+            result[1] = rows.size() / (elapsed / 1e9);
+        }
+        return result;
+    }
+
+    @Test
+    @Tag("benchmark")
+    void 댓글당_할당량_비교() throws IOException {
+        List<CommentRow> rows = rows(COMMENTS);
+
+        double[] dtoList = measure(this::writeWithDtoList, rows);
+        double[] streaming = measure(this::writeStreaming, rows);
+
+        log.info("댓글 JSON 출력 - DTO 리스트 : {} bytes/건, {}건/초 / 스트리밍 : {} bytes/건, {}건/초",
+                Math.round(dtoList[0]), Math.round(dtoList[1]), Math.round(streaming[0]), Math.round(streaming[1]));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        writeWithDtoList(rows, expected);
+        writeStreaming(rows, actual);
+        assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+}
@@ -4,13 +4,18 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
+import com.library.dto.comment.CommentRow;
 import com.library.entity.board.Board;
 import com.library.entity.comment.Comment;
 import com.library.entity.comment.CommentStatus;
@@ -38,6 +43,8 @@ public class CommentRepositoryTest {
     private BoardRepository boardRepository;
     @Autowired
     private MemberRepository memberRepository;
+    @Autowired
+    private TestEntityManager entityManager;
     private Member testAuthor;
     private Comment testComment;
     private Board testBoard;
@@ -116,9 +123,176 @@ public class CommentRepositoryTest {
         assertThat(commentNum).isEqualTo(4);
         assertThat(commentRepository.countByBoardIdAndStatus(testBoard.getId(), CommentStatus.DELETED)).isEqualTo(1);
     }
+    /*
+        여러 게시글의 댓글 수를 group by 한 번으로 조회
+            - 게시글별 활성 댓글 수가 정확한가?
+            - 댓글이 없는 게시글은 결과에 없는가?
+     */
+    @Test
+    public void countGroupByBoardIds(){
+        Board emptyBoard = boardRepository.save(Board.builder()
+                .title("Empty Board")
+                .content("no comments")
+                .author(testAuthor)
+                .build());
+        commentRepository.save(Comment.builder()
+                .content("두번째 댓글")
+                .board(testBoard)
+                .author(testAuthor)
+                .build());
+        commentRepository.save(Comment.builder()
+                .content("삭제된 댓글")
+                .board(testBoard)
+                .author(testAuthor)
+                .status(CommentStatus.DELETED)
+                .build());
+        List<CommentRepository.BoardCommentCount> counts = commentRepository.countGroupByBoardIds(List.of(testBoard.getId(), emptyBoard.getId()), CommentStatus.ACTIVE);
+        assertThat(counts.size()).isEqualTo(1);
+        assertThat(counts.get(0).getBoardId()).isEqualTo(testBoard.getId());
+        assertThat(counts.get(0).getTotal()).isEqualTo(2L);
+    }
     @Test
     public void countByBoardAndStatus(){
         long deletedCommentNum = commentRepository.countByBoardAndStatus(testBoard, CommentStatus.DELETED);
         assertThat(deletedCommentNum).isEqualTo(0);
     }
+    /*
+        댓글 Keyset(커서) 조회로 전체 댓글을 순서대로 빠짐없이 넘겨볼 수 있는지 검증
+            - 페이지 크기만큼만 조회되고 다음 페이지 여부가 맞는가?
+            - 다음 페이지는 이전 페이지 마지막 댓글 바로 뒤부터 시작하는가?
+            - 삭제된 댓글은 제외되는가?
+     */
+    @Test
+    public void findSliceAfter(){
+        for (int i = 0; i < 4; i++) {
+            commentRepository.save(Comment.builder()
+                    .content("댓글 " + i)
+                    .board(testBoard)
+                    .author(testAuthor)
+                    .build());
+        }
+        commentRepository.save(Comment.builder()
+                .content("삭제된 댓글")
+                .board(testBoard)
+                .author(testAuthor)
+                .status(CommentStatus.DELETED)
+                .build());
+        // 커서 값은 DB에 저장된 작성일시(마이크로초 단위)로 만들어지므로 영속성 컨텍스트를 비우고 다시 읽음
+        entityManager.flush();
+        entityManager.clear();
+        Slice<Comment> first = commentRepository.findFirstSlice(testBoard.getId(), CommentStatus.ACTIVE, PageRequest.of(0, 2));
+        assertThat(first.getContent()).extracting(Comment::getContent).containsExactly("This is a test comment", "댓글 0");
+        assertThat(first.hasNext()).isTrue();
+
+        Comment last = first.getContent().get(1);
+        Slice<Comment> second = commentRepository.findSliceAfter(testBoard.getId(), CommentStatus.ACTIVE, last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+        assertThat(second.getContent()).extracting(Comment::getContent).containsExactly("댓글 1", "댓글 2");
+        assertThat(second.hasNext()).isTrue();
+
+        last = second.getContent().get(1);
+        Slice<Comment> third = commentRepository.findSliceAfter(testBoard.getId(), CommentStatus.ACTIVE, last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+        assertThat(third.getContent()).extracting(Comment::getContent).containsExactly("댓글 3");
+        assertThat(third.hasNext()).isFalse();
+    }
+    /*
+        전체 목록 출력용 Projection 스트림 검증
+            - 활성 댓글만 작성 순서대로 작성자 정보와 함께 조회되는가?
+     */
+    @Test
+    public void streamRowsByBoardIdAndStatus(){
+        commentRepository.save(Comment.builder()
+                .content("두번째 댓글")
+                .board(testBoard)
+                .author(testAuthor)
+                .build());
+        commentRepository.save(Comment.builder()
+                .content("삭제된 댓글")
+                .board(testBoard)
+                .author(testAuthor)
+                .status(CommentStatus.DELETED)
+                .build());
+        try (Stream<CommentRow> rows = commentRepository.streamRowsByBoardIdAndStatus(testBoard.getId(), CommentStatus.ACTIVE)) {
+            List<CommentRow> list = rows.toList();
+            assertThat(list).extracting(CommentRow::getContent).containsExactly("This is a test comment", "두번째 댓글");
+            assertThat(list.get(0).getAuthorEmail()).isEqualTo("test@test.test");
+            assertThat(list.get(0).getCreatedAt()).isNotNull();
+        }
+    }
+    // 답글 저장 (CommentService.createComment와 같은 방식으로 부모 정보와 경로 지정)
+    private Comment reply(Comment parent, String content) {
+        Comment reply = commentRepository.save(Comment.builder()
+                .content(content)
+                .board(testBoard)
+                .author(testAuthor)
+                .parentId(parent.getId())
+                .rootId(parent.isReply() ? parent.getRootId() : parent.getId())
+                .depth(parent.getDepth() + 1)
+                .build());
+        reply.assignPath(parent);
+        return reply;
+    }
+    /*
+        답글(스레드) 조회 검증
+            - 최상위 댓글 페이지에는 답글이 포함되지 않는가?
+            - 여러 스레드의 답글이 한 번에, 스레드별로 부모 다음에 자식 순서(깊이 우선)로 조회되는가?
+            - 깊이 제한이 적용되는가?
+            - 특정 답글의 하위 트리만 조회되는가? (기준 답글과 형제 답글 제외)
+     */
+    @Test
+    public void findRepliesByRootIds(){
+        Comment secondRoot = commentRepository.save(Comment.builder()
+                .content("두번째 댓글")
+                .board(testBoard)
+                .author(testAuthor)
+                .build());
+        Comment a = reply(testComment, "A");
+        Comment b = reply(testComment, "B");
+        Comment a1 = reply(a, "A-1");
+        reply(a1, "A-1-x");
+        reply(secondRoot, "C");
+        entityManager.flush();
+        entityManager.clear();
+
+        Slice<Comment> roots = commentRepository.findFirstSlice(testBoard.getId(), CommentStatus.ACTIVE, PageRequest.of(0, 10));
+        assertThat(roots.getContent()).extracting(Comment::getContent).containsExactly("This is a test comment", "두번째 댓글");
+
+        List<Comment> replies = commentRepository.findRepliesByRootIds(List.of(testComment.getId(), secondRoot.getId()), CommentStatus.ACTIVE, Comment.MAX_DEPTH);
+        assertThat(replies).extracting(Comment::getContent).containsExactly("A", "A-1", "A-1-x", "B", "C");
+
+        List<Comment> shallow = commentRepository.findRepliesByRootIds(List.of(testComment.getId()), CommentStatus.ACTIVE, 1);
+        assertThat(shallow).extracting(Comment::getContent).containsExactly("A", "B");
+
+        List<Comment> subtree = commentRepository.findSubtree(testComment.getId(), a.threadPath() + "%", CommentStatus.ACTIVE, a.getDepth(), Comment.MAX_DEPTH);
+        assertThat(subtree).extracting(Comment::getContent).containsExactly("A-1", "A-1-x");
+        assertThat(b.threadPath()).startsWith(testComment.threadPath());
+    }
+    /*
+        하위 트리 일괄 삭제 검증
+            - 기준 댓글 아래의 답글만 DELETED로 바뀌는가? (기준 댓글 자신, 형제 답글, 다른 스레드 제외)
+            - 최상위 댓글 기준이면 스레드의 답글 전체가 삭제되는가?
+     */
+    @Test
+    public void deleteSubtree(){
+        Comment secondRoot = commentRepository.save(Comment.builder()
+                .content("두번째 댓글")
+                .board(testBoard)
+                .author(testAuthor)
+                .build());
+        Comment a = reply(testComment, "A");
+        reply(testComment, "B");
+        Comment a1 = reply(a, "A-1");
+        reply(a1, "A-1-x");
+        reply(secondRoot, "C");
+        entityManager.flush();
+
+        assertThat(commentRepository.deleteSubtree(testComment.getId(), a.threadPath() + "%", a.getDepth())).isEqualTo(2);
+        entityManager.clear();
+        List<Comment> remaining = commentRepository.findRepliesByRootIds(List.of(testComment.getId(), secondRoot.getId()), CommentStatus.ACTIVE, Comment.MAX_DEPTH);
+        assertThat(remaining).extracting(Comment::getContent).containsExactly("A", "B", "C");
+
+        assertThat(commentRepository.deleteSubtree(testComment.getId(), testComment.threadPath() + "%", testComment.getDepth())).isEqualTo(2);
+        entityManager.clear();
+        assertThat(commentRepository.findRepliesByRootIds(List.of(testComment.getId()), CommentStatus.ACTIVE, Comment.MAX_DEPTH)).isEmpty();
+        assertThat(commentRepository.findById(testComment.getId()).orElseThrow().getStatus()).isEqualTo(CommentStatus.ACTIVE);
+    }
 }
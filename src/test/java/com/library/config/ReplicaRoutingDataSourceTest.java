@@ -0,0 +1,107 @@
+package com.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+    ReplicaRoutingDataSource / PrimaryPinFilter 단위 테스트
+        - MySQL 복제 환경 대신 H2 메모리 DB 2개를 원본/복제본으로 사용
+            - 각 DB의 marker 테이블에 서로 다른 값을 넣어 어느 쪽에서 읽었는지 확인
+        - 테스트 항목
+            - 읽기 전용 트랜잭션은 복제본에서 읽는가?
+            - 쓰기 트랜잭션은 원본을 쓰고 쓰기 기록이 남는가?
+            - 원본에 고정된 스레드는 읽기 전용이어도 원본에서 읽는가?
+            - callOnPrimary는 실행 동안만 원본에서 읽고 이전 상태로 되돌리는가?
+            - 쓰기 후 고정 시간이 지나면 고정이 풀리는가?
+ */
+public class ReplicaRoutingDataSourceTest {
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, List.of(replica)));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void cleanup() {
+        ReplicaRoutingDataSource.reset();
+    }
+
+    private DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists marker (name varchar(20))");
+        template.update("delete from marker");
+        template.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    @Test
+    void 읽기전용_복제본() {
+        String read = readOnly.execute(status -> marker());
+        assertThat(read).isEqualTo("replica");
+        assertThat(ReplicaRoutingDataSource.wroteToPrimary()).isFalse();
+    }
+
+    @Test
+    void 쓰기_원본() {
+        String read = readWrite.execute(status -> marker());
+        assertThat(read).isEqualTo("primary");
+        assertThat(ReplicaRoutingDataSource.wroteToPrimary()).isTrue();
+    }
+
+    @Test
+    void 원본고정_읽기전용도_원본() {
+        ReplicaRoutingDataSource.pinToPrimary(true);
+        String read = readOnly.execute(status -> marker());
+        assertThat(read).isEqualTo("primary");
+    }
+
+    @Test
+    void 한작업만_원본() {
+        String read = ReplicaRoutingDataSource.callOnPrimary(() -> readOnly.execute(status -> marker()));
+        String after = readOnly.execute(status -> marker());
+
+        assertThat(read).isEqualTo("primary");
+        assertThat(after).isEqualTo("replica");
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void 쓰기후_고정시간() throws InterruptedException {
+        PrimaryPinFilter filter = new PrimaryPinFilter(50);
+        assertThat(filter.isPinned("user:member@test.test")).isFalse();
+
+        filter.pin("user:member@test.test");
+        assertThat(filter.isPinned("user:member@test.test")).isTrue();
+        assertThat(filter.isPinned("user:other@test.test")).isFalse();
+
+        Thread.sleep(100);
+        assertThat(filter.isPinned("user:member@test.test")).isFalse();
+    }
+}
@@ -0,0 +1,82 @@
+package com.library.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.library.dto.board.BoardDetailVersion;
+import com.library.entity.board.BoardCategory;
+import com.library.service.BoardListCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    BoardHttpCache 단위 테스트
+        - Spring Context 없이 Mock 요청/응답으로 ETag 검증 규칙만 테스트
+        - 테스트 항목
+            - 같은 ETag로 다시 요청하면 304 인가? 목록이 바뀌면 200 인가?
+            - 게시글 좋아요 수가 바뀌면 상세 ETag가 바뀌는가?
+            - 비로그인 응답에 private Cache-Control이 붙는가?
+ */
+public class BoardHttpCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private BoardListCache boardListCache;
+    private BoardHttpCache httpCache;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        boardListCache = new BoardListCache(meterRegistry);
+        httpCache = new BoardHttpCache(boardListCache, meterRegistry);
+        ReflectionTestUtils.setField(httpCache, "anonymousMaxAgeSeconds", 10L);
+        ReflectionTestUtils.setField(httpCache, "listStalenessMillis", 3_600_000L);
+    }
+
+    private ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/boards");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private String etagOf(ServletWebRequest request) {
+        return ((MockHttpServletResponse) request.getResponse()).getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void 목록_변경전_304() {
+        ServletWebRequest first = request(null);
+        assertThat(httpCache.listNotModified(first, null, BoardCategory.FREE, 1, 10)).isFalse();
+        String etag = etagOf(first);
+        assertThat(((MockHttpServletResponse) first.getResponse()).getHeader(HttpHeaders.CACHE_CONTROL)).contains("private");
+
+        ServletWebRequest revisit = request(etag);
+        assertThat(httpCache.listNotModified(revisit, null, BoardCategory.FREE, 1, 10)).isTrue();
+        assertThat(((MockHttpServletResponse) revisit.getResponse()).getStatus()).isEqualTo(304);
+
+        boardListCache.invalidateScope(BoardCategory.FREE);
+        assertThat(httpCache.listNotModified(request(etag), null, BoardCategory.FREE, 1, 10)).isFalse();
+        assertThat(meterRegistry.get("board.http.conditional").tag("result", "not-modified").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 상세_좋아요_변경시_200() {
+        BoardDetailVersion board = new BoardDetailVersion(1L, BoardCategory.FREE, LocalDateTime.now(), 3L, 0L);
+        ServletWebRequest first = request(null);
+        httpCache.detailNotModified(first, null, board);
+        String etag = etagOf(first);
+
+        assertThat(httpCache.detailNotModified(request(etag), null, board)).isTrue();
+        assertThat(httpCache.detailNotModified(request(etag), null, board.withLikeCount(4L))).isFalse();
+        assertThat(httpCache.detailNotModified(request(etag), () -> "member@test.test", board)).isFalse();
+    }
+}
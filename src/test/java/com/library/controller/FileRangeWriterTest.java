@@ -0,0 +1,222 @@
+package com.library.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    FileRangeWriter 단위 테스트
+        - 서블릿 컨테이너 없이 Mock 요청/응답으로 Range 처리 검증
+        - 테스트 항목
+            - Range가 없으면 200 + 전체 파일 + 실제 MIME 타입인가?
+            - 범위 1개 / 여러 개(multipart/byteranges) 요청에 206과 정확한 바이트를 보내는가?
+            - 만족할 수 없는 범위는 416인가? If-Range가 다르면 전체를 보내는가?
+            - sendfile을 지원하는 커넥터면 본문을 쓰지 않고 Tomcat에 파일 범위를 넘기는가?
+            - 1GB 파일 전송 : 힙 버퍼 복사(기존 Resource 응답 방식) vs transferTo(sendfile) 처리량/CPU 시간 비교 로그
+                - benchmark 태그라 기본 test에서는 제외 (gradle benchmark로 실행)
+                - Tomcat 없이 loopback 소켓으로 측정 (SocketChannel 대상 transferTo = 커널 sendfile)
+ */
+public class FileRangeWriterTest {
+    private static final Logger log = LoggerFactory.getLogger(FileRangeWriterTest.class);
+    private static final long BENCHMARK_FILE_SIZE = 1024L * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FileRangeWriter writer;
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    void setup() throws IOException {
+        writer = new FileRangeWriter(meterRegistry);
+        ReflectionTestUtils.setField(writer, "sendfileMinBytes", 49152L);
+        content = new byte[100_000];
+        new Random(1).nextBytes(content);
+        file = Files.write(tempDir.resolve("file.pdf"), content);
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(request, response, file, "application/pdf", "attachment; filename=\"file.pdf\"");
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/download/1");
+        if (range != null) {
+            request.addHeader("Range", range);
+        }
+        return request;
+    }
+
+    @Test
+    void 전체파일_200() throws IOException {
+        MockHttpServletResponse response = download(request(null));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getContentLengthLong()).isEqualTo(content.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void 범위하나_206() throws IOException {
+        MockHttpServletResponse response = download(request("bytes=100-199"));
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 100-199/" + content.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+
+        // 끝에서부터 n바이트 (suffix range)
+        MockHttpServletResponse suffix = download(request("bytes=-10"));
+        assertThat(suffix.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, content.length - 10, content.length));
+    }
+
+    @Test
+    void 여러범위_multipart() throws IOException {
+        MockHttpServletResponse response = download(request("bytes=0-9,50-59"));
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        String boundary = response.getContentType().substring(response.getContentType().indexOf('=') + 1);
+        byte[] body = response.getContentAsByteArray();
+        assertThat(response.getContentLengthLong()).isEqualTo(body.length);
+
+        String text = new String(body, StandardCharsets.ISO_8859_1);
+        assertThat(text).contains("Content-Range: bytes 0-9/" + content.length, "Content-Range: bytes 50-59/" + content.length);
+        assertThat(text).endsWith("\r\n--" + boundary + "--\r\n");
+        int firstPart = text.indexOf("\r\n\r\n") + 4;
+        assertThat(Arrays.copyOfRange(body, firstPart, firstPart + 10)).isEqualTo(Arrays.copyOfRange(content, 0, 10));
+    }
+
+    @Test
+    void 범위오류_416() throws IOException {
+        MockHttpServletResponse outside = download(request("bytes=" + content.length + "-"));
+        assertThat(outside.getStatus()).isEqualTo(416);
+        assertThat(outside.getHeader("Content-Range")).isEqualTo("bytes */" + content.length);
+
+        // 겹치는 범위로 파일보다 많이 보내게 하는 요청
+        assertThat(download(request("bytes=0-,0-")).getStatus()).isEqualTo(416);
+        assertThat(download(request("lines=1-2")).getStatus()).isEqualTo(416);
+    }
+
+    @Test
+    void IfRange_불일치_전체파일() throws IOException {
+        MockHttpServletRequest request = request("bytes=100-199");
+        request.addHeader("If-Range", "\"changed\"");
+
+        MockHttpServletResponse response = download(request);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).hasSize(content.length);
+
+        // 현재 ETag와 같으면 범위 적용
+        MockHttpServletRequest same = request("bytes=100-199");
+        same.addHeader("If-Range", response.getHeader("ETag"));
+        assertThat(download(same).getStatus()).isEqualTo(206);
+    }
+
+    @Test
+    void sendfile_지원시_Tomcat에_위임() throws IOException {
+        MockHttpServletRequest request = request("bytes=1000-");
+        request.setAttribute(FileRangeWriter.SENDFILE_SUPPORTED, Boolean.TRUE);
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(content.length - 1000);
+        assertThat(request.getAttribute(FileRangeWriter.SENDFILE_FILENAME)).isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute(FileRangeWriter.SENDFILE_START)).isEqualTo(1000L);
+        assertThat(request.getAttribute(FileRangeWriter.SENDFILE_END)).isEqualTo((long) content.length);
+        assertThat(meterRegistry.get("file.download").tag("mode", "sendfile").counter().count()).isEqualTo(1.0);
+    }
+
+    // 1GB 파일을 loopback 소켓으로 보내며 보내는 스레드의 경과 시간/CPU 시간 측정
+    @Test
+    @Tag("benchmark")
+    void 대용량파일_전송방식별_처리량() throws Exception {
+        Path large = tempDir.resolve("large.bin");
+        try (RandomAccessFile raf = new RandomAccessFile(large.toFile(), "rw")) {
+            // 디스크를 쓰지 않도록 sparse 파일 사용 (읽기는 페이지 캐시에서 0으로 채워짐)
+            raf.setLength(BENCHMARK_FILE_SIZE);
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        ExecutorService receiver = Executors.newSingleThreadExecutor();
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            for (String mode : new String[]{"heap-copy", "transferTo", "heap-copy", "transferTo"}) {
+                try (SocketChannel client = SocketChannel.open(server.getLocalAddress())) {
+                    Future<Long> received = receiver.submit(() -> drain(server));
+                    long cpuBefore = threads.getCurrentThreadCpuTime();
+                    long startedAt = System.nanoTime();
+                    if (mode.equals("heap-copy")) {
+                        // 기존 방식 : Resource InputStream -> 힙 버퍼 -> 응답 스트림
+                        try (InputStream in = Files.newInputStream(large)) {
+                            OutputStream out = Channels.newOutputStream(client);
+                            StreamUtils.copy(in, out);
+                        }
+                    } else {
+                        try (FileChannel channel = FileChannel.open(large, StandardOpenOption.READ)) {
+                            FileRangeWriter.transfer(channel, 0, BENCHMARK_FILE_SIZE, client);
+                        }
+                    }
+                    client.shutdownOutput();
+                    assertThat(received.get()).isEqualTo(BENCHMARK_FILE_SIZE);
+                    double seconds = (System.nanoTime() - startedAt) / 1e9;
+                    long cpuMillis = (threads.getCurrentThreadCpuTime() - cpuBefore) / 1_000_000;
+                    log.info("1GB 전송 - {} : {} MB/s, 보내는 스레드 CPU {} ms", mode, Math.round(BENCHMARK_FILE_SIZE / 1048576.0 / seconds), cpuMillis);
+                }
+            }
+        } finally {
+            receiver.shutdownNow();
+        }
+    }
+
+    private static long drain(ServerSocketChannel server) throws IOException {
+        try (SocketChannel socket = server.accept()) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            long total = 0;
+            int read;
+            while ((read = socket.read(buffer)) >= 0) {
+                total += read;
+                buffer.clear();
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.library.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+    BoardSearchIndex 테스트 클래스
+        - 목적 : 검색 색인 동작 검증 (Spring Context 없이 단위 테스트)
+        - 테스트 항목
+            - 토큰화 : 한글은 2-gram, 영문은 단어 단위로 자르는가?
+            - 검색 : 조사가 붙은 단어도 찾고, 제목 일치가 더 높은 점수인가?
+            - 수정/삭제 : 이전 내용이 검색되지 않는가?
+            - 영속성 : flush 후 다시 열었을 때 DB 없이 검색되는가?
+            - 병합 : 세그먼트 병합 후에도 결과가 같은가?
+            - 초기 구축 : 구축 중에는 병합하지 않고 끝난 뒤 한 번만 병합하는가? 구축 완료 표시와 checkpoint가 남는가?
+            - 구축 도중 종료 : 완료 표시가 없어 다시 구축 대상이 되고, 다시 구축하면 이전 세그먼트가 지워지는가?
+        - @TempDir로 테스트마다 별도 색인 디렉토리 사용
+ */
+public class BoardSearchIndexTest {
+    @TempDir
+    Path indexDir;
+
+    private BoardSearchIndex openIndex(int maxSegments) throws Exception {
+        BoardSearchIndex index = new BoardSearchIndex(indexDir.toString(), maxSegments);
+        index.open();
+        return index;
+    }
+
+    @Test
+    public void tokenize() {
+        assertThat(BigramTokenizer.tokenize("도서관에서 Spring부트")).containsExactly("도서", "서관", "관에", "에서", "spring", "부트");
+        assertThat(BigramTokenizer.tokenize("책")).containsExactly("책");
+        assertThat(BigramTokenizer.tokenize("  ,. ")).isEmpty();
+    }
+
+    @Test
+    public void searchRanksTitleMatchFirst() throws Exception {
+        BoardSearchIndex index = openIndex(8);
+        index.add(1L, "자유 게시글", "오늘 도서관에서 책을 빌렸습니다.");
+        index.add(2L, "도서관 이용 안내", "운영 시간은 9시부터입니다.");
+        index.add(3L, "질문", "관련 없는 내용");
+
+        SearchHits hits = index.search("도서관", 0, 10);
+
+        assertThat(hits.getTotalHits()).isEqualTo(2);
+        assertThat(hits.getBoardIds()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void updateAndRemove() throws Exception {
+        BoardSearchIndex index = openIndex(8);
+        index.add(1L, "스프링 입문", "내용");
+        index.add(2L, "스프링 심화", "내용");
+        index.flush();
+
+        index.update(1L, "자바 입문", "내용");
+        index.remove(2L);
+
+        assertThat(index.search("스프링", 0, 10).getBoardIds()).isEmpty();
+        assertThat(index.search("자바", 0, 10).getBoardIds()).containsExactly(1L);
+    }
+
+    @Test
+    public void reopenAfterFlush() throws Exception {
+        BoardSearchIndex index = openIndex(8);
+        index.add(1L, "스프링 입문", "내용");
+        index.add(2L, "스프링 심화", "내용");
+        index.flush();
+        index.remove(1L);
+        index.flush();
+
+        BoardSearchIndex reopened = openIndex(8);
+
+        assertThat(reopened.isEmpty()).isFalse();
+        assertThat(reopened.search("스프링", 0, 10).getBoardIds()).containsExactly(2L);
+    }
+
+    @Test
+    public void mergeSegments() throws Exception {
+        BoardSearchIndex index = openIndex(2);
+        for (long id = 1; id <= 4; id++) {
+            index.add(id, "게시글 " + id, "공통 본문");
+            index.flush();
+        }
+        index.update(1L, "수정된 글", "다른 본문");
+        index.flush();
+
+        List<Long> merged = index.search("공통", 0, 10).getBoardIds();
+        try (var files = Files.list(indexDir)) {
+            assertThat(files.count()).isLessThanOrEqualTo(2);
+        }
+        assertThat(merged).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(openIndex(2).search("공통", 0, 10).getBoardIds()).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    private long segmentFiles() throws Exception {
+        try (var files = Files.list(indexDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".idx")).count();
+        }
+    }
+
+    @Test
+    public void buildMergesOnceAtEnd() throws Exception {
+        BoardSearchIndex index = openIndex(2);
+        long startedAt = System.currentTimeMillis();
+        index.startBuild();
+        for (long id = 1; id <= 4; id++) {
+            index.add(id, "게시글 " + id, "공통 본문");
+            index.flush();
+        }
+        assertThat(segmentFiles()).isEqualTo(4);
+        assertThat(index.isBuilt()).isFalse();
+
+        index.finishBuild(startedAt);
+
+        assertThat(segmentFiles()).isEqualTo(1);
+        assertThat(index.isBuilt()).isTrue();
+        assertThat(index.getCheckpoint()).isGreaterThanOrEqualTo(startedAt);
+        BoardSearchIndex reopened = openIndex(2);
+        assertThat(reopened.isBuilt()).isTrue();
+        assertThat(reopened.getCheckpoint()).isEqualTo(index.getCheckpoint());
+        assertThat(reopened.search("공통", 0, 10).getBoardIds()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    public void unfinishedBuildIsRebuilt() throws Exception {
+        BoardSearchIndex index = openIndex(8);
+        index.startBuild();
+        index.add(1L, "스프링 입문", "내용");
+        index.flush();
+
+        // 완료 표시 전에 종료된 경우
+        BoardSearchIndex reopened = openIndex(8);
+        assertThat(reopened.isEmpty()).isFalse();
+        assertThat(reopened.isBuilt()).isFalse();
+
+        reopened.startBuild();
+        reopened.add(2L, "자바 입문", "내용");
+        reopened.finishBuild(System.currentTimeMillis());
+
+        assertThat(reopened.search("입문", 0, 10).getBoardIds()).containsExactly(2L);
+        assertThat(openIndex(8).search("입문", 0, 10).getBoardIds()).containsExactly(2L);
+    }
+}
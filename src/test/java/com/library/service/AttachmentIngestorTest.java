@@ -0,0 +1,317 @@
+package com.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.library.dto.board.BoardCreateDto;
+import com.library.dto.board.BoardUpdateDto;
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
+import com.library.entity.board.BoardFile;
+import com.library.entity.member.Member;
+import com.library.exception.InvalidFileException;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+import com.library.trending.TrendingBoardRanker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    AttachmentIngestor / 게시글 작성 첨부파일 저장 테스트
+        - 테스트 항목
+            - 여러 첨부파일을 병렬로 저장해도 요청 순서대로 BoardFile이 만들어지는가?
+            - 일부 파일이 실패하면 먼저 저장된 파일을 지우고 원래 예외(InvalidFileException)를 던지는가?
+            - 게시글 저장(트랜잭션)이 실패하면 저장한 파일을 지우는가?
+            - 기다리는 중 인터럽트되어도 이미 저장된 파일을 놓치지 않고 지우는가?
+            - 작성자가 아닌 회원의 수정 요청은 첨부파일을 디스크에 쓰기 전에 거절되는가?
+            - 첨부파일은 트랜잭션이 시작되기 전에 모두 디스크에 저장되고, 게시글은 트랜잭션 1번으로 저장되는가?
+            - 트랜잭션(커넥션) 점유 시간 : 트랜잭션 안에서 파일을 순서대로 저장하던 기존 방식 vs 변경 후 (로그)
+                - benchmark 태그라 기본 test에서는 제외 (gradle benchmark로 실행)
+        - 트랜잭션 시작 시점/점유 시간은 트랜잭션 매니저의 TransactionExecutionListener로 확인
+        - 커밋 이후 동작을 확인하기 위해 테스트 트랜잭션을 사용하지 않고 직접 정리함
+ */
+@DataJpaTest(properties = {
+        "file.upload-dir=build/test-uploads-ingest",
+        "file.max-size=10485760",
+        "file.allowed-extensions=jpg,png,pdf,txt"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BoardService.class, BoardDetailCache.class, BoardListCache.class, BoardStatistics.class, BoardLikeStore.class,
+        ViewCountBuffer.class, FileStorageService.class, FileBlobStore.class, AttachmentIngestor.class, TrendingBoardRanker.class, SimpleMeterRegistry.class})
+public class AttachmentIngestorTest {
+    private static final Logger log = LoggerFactory.getLogger(AttachmentIngestorTest.class);
+    private static final Path UPLOAD_DIR = Paths.get("build/test-uploads-ingest");
+    private static final String EMAIL = "ingest@test.test";
+    private static final int FILE_COUNT = 10;
+    private static final int FILE_SIZE = 8 * 1024 * 1024;
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private FileBlobStore fileBlobStore;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private AttachmentIngestor attachmentIngestor;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final TransactionHoldTime holdTime = new TransactionHoldTime();
+
+    @BeforeEach
+    void setup() throws IOException {
+        deleteUploads();
+        memberRepository.save(Member.builder().name("작성자").password("password").email(EMAIL).build());
+        AbstractPlatformTransactionManager manager = (AbstractPlatformTransactionManager) transactionManager;
+        manager.getTransactionExecutionListeners().removeIf(TransactionHoldTime.class::isInstance);
+        manager.addListener(holdTime);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        ((AbstractPlatformTransactionManager) transactionManager).getTransactionExecutionListeners().remove(holdTime);
+        jdbcTemplate.update("DELETE FROM board_file");
+        jdbcTemplate.update("DELETE FROM board");
+        jdbcTemplate.update("DELETE FROM members");
+        deleteUploads();
+    }
+
+    private static void deleteUploads() throws IOException {
+        if (!Files.exists(UPLOAD_DIR)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(UPLOAD_DIR)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static long storedFiles() throws IOException {
+        if (!Files.exists(UPLOAD_DIR)) {
+            return 0;
+        }
+        try (Stream<Path> paths = Files.walk(UPLOAD_DIR)) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static MockMultipartFile upload(String name, String content) {
+        return new MockMultipartFile("files", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BoardCreateDto post(List<MultipartFile> files) {
+        return BoardCreateDto.builder().title("제목").content("본문").category(BoardCategory.FREE).files(files).build();
+    }
+
+    @Test
+    void 병렬저장_요청순서_유지() throws IOException {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            files.add(upload("file-" + i + ".txt", "내용 " + i));
+        }
+
+        Long boardId = boardService.createBoard(post(files), EMAIL);
+
+        List<BoardFile> saved = transactionTemplate.execute(status -> {
+            Board board = boardRepository.findById(boardId).orElseThrow();
+            return List.copyOf(board.getFiles());
+        });
+        assertThat(saved).extracting(BoardFile::getOriginalFileName)
+                .containsExactly("file-0.txt", "file-1.txt", "file-2.txt", "file-3.txt", "file-4.txt", "file-5.txt");
+        for (int i = 0; i < saved.size(); i++) {
+            BoardFile file = saved.get(i);
+            assertThat(Files.readString(UPLOAD_DIR.resolve(file.getFilePath()).resolve(file.getStoredFileName()))).isEqualTo("내용 " + i);
+        }
+    }
+
+    @Test
+    void 일부실패_저장된파일_삭제() throws IOException {
+        List<MultipartFile> files = List.of(upload("a.txt", "a"), upload("b.txt", "b"), upload("virus.exe", "x"), upload("c.txt", "c"));
+
+        assertThatThrownBy(() -> boardService.createBoard(post(files), EMAIL)).isInstanceOf(InvalidFileException.class);
+
+        // 파일 저장에서 실패하면 트랜잭션을 열지도 않음
+        assertThat(holdTime.transactions.get()).isZero();
+        assertThat(storedFiles()).isZero();
+        assertThat(boardRepository.count()).isZero();
+    }
+
+    @Test
+    void 게시글저장_실패시_파일삭제() throws IOException {
+        List<MultipartFile> files = List.of(upload("a.txt", "a"), upload("b.txt", "b"));
+
+        assertThatThrownBy(() -> boardService.createBoard(post(files), "unknown@test.test"))
+                .hasMessage("사용자를 찾을 수 없습니다.");
+
+        assertThat(storedFiles()).isZero();
+        assertThat(boardRepository.count()).isZero();
+    }
+
+    @Test
+    void 인터럽트시_저장된파일_삭제() throws IOException {
+        List<MultipartFile> files = List.of(upload("a.txt", "a"), upload("b.txt", "b"), upload("c.txt", "c"));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> attachmentIngestor.ingest(files, "boards")).hasMessage("파일 저장이 중단되었습니다.");
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(storedFiles()).isZero();
+    }
+
+    @Test
+    void 권한없는_수정_파일저장안함() throws IOException {
+        Long boardId = boardService.createBoard(post(List.of()), EMAIL);
+        long ingested = meterRegistry.timer("file.ingest").count();
+        BoardUpdateDto updateDto = BoardUpdateDto.builder().title("수정").content("본문").category(BoardCategory.FREE)
+                .files(List.of(upload("a.txt", "a"), upload("b.txt", "b"))).build();
+
+        assertThatThrownBy(() -> boardService.updateBoard(boardId, "other@test.test", updateDto))
+                .hasMessage("게시글을 수정 할 권한이 없습니다.");
+        assertThatThrownBy(() -> boardService.updateBoard(boardId + 1, EMAIL, updateDto))
+                .hasMessage("게시글을 찾을 수 없습니다.");
+
+        assertThat(meterRegistry.timer("file.ingest").count()).isEqualTo(ingested);
+        assertThat(storedFiles()).isZero();
+    }
+
+    @Test
+    void 첨부파일_트랜잭션전_저장() throws IOException {
+        List<MultipartFile> files = List.of(upload("a.txt", "a"), upload("b.txt", "b"), upload("c.txt", "c"));
+
+        holdTime.reset();
+        boardService.createBoard(post(files), EMAIL);
+
+        assertThat(holdTime.transactions.get()).isEqualTo(1);
+        assertThat(holdTime.filesAtBegin.get()).isEqualTo(3);
+        assertThat(storedFiles()).isEqualTo(3);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void 트랜잭션_점유시간_비교() {
+        byte[] content = new byte[FILE_SIZE];
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < FILE_COUNT; i++) {
+            files.add(new MockMultipartFile("files", "large-" + i + ".pdf", "application/pdf", content));
+        }
+
+        // 기존 : 트랜잭션 안에서 파일을 하나씩 저장
+        holdTime.reset();
+        transactionTemplate.executeWithoutResult(status -> {
+            Member author = memberRepository.findByEmail(EMAIL).orElseThrow();
+            Board board = Board.builder().title("기존").content("본문").category(BoardCategory.FREE).author(author).build();
+            for (MultipartFile file : files) {
+                String[] fileInfo = fileBlobStore.store(file, "boards");
+                board.addFile(BoardFile.builder()
+                        .originalFileName(file.getOriginalFilename())
+                        .storedFileName(fileInfo[0])
+                        .filePath(fileInfo[1])
+                        .fileSize(file.getSize())
+                        .fileExtension("pdf")
+                        .mimeType(file.getContentType())
+                        .build());
+            }
+            boardRepository.save(board);
+        });
+        long before = holdTime.nanos.get();
+
+        // 변경 : 파일은 트랜잭션 전에 병렬 저장, 트랜잭션에서는 메타데이터만 저장
+        holdTime.reset();
+        boardService.createBoard(post(files), EMAIL);
+        long after = holdTime.nanos.get();
+
+        log.info("게시글 1건 (첨부 {}개 x {}MB) 트랜잭션 점유 시간 - 기존 {} ms, 변경 {} ms",
+                FILE_COUNT, FILE_SIZE / 1024 / 1024, TimeUnit.NANOSECONDS.toMillis(before), TimeUnit.NANOSECONDS.toMillis(after));
+    }
+
+    // 새 트랜잭션의 begin ~ commit/rollback 시간 합계, 트랜잭션 수, 마지막 트랜잭션 시작 시점의 저장된 파일 수
+    private static class TransactionHoldTime implements TransactionExecutionListener {
+        private final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+        private final AtomicLong nanos = new AtomicLong();
+        private final AtomicLong transactions = new AtomicLong();
+        private final AtomicLong filesAtBegin = new AtomicLong(-1);
+
+        void reset() {
+            nanos.set(0);
+            transactions.set(0);
+            filesAtBegin.set(-1);
+        }
+
+        @Override
+        public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+            startedAt.set(System.nanoTime());
+            transactions.incrementAndGet();
+            try {
+                filesAtBegin.set(storedFiles());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+            finish();
+        }
+
+        @Override
+        public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+            finish();
+        }
+
+        private void finish() {
+            Long start = startedAt.get();
+            if (start != null) {
+                nanos.addAndGet(System.nanoTime() - start);
+                startedAt.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.library.service;
+
+import com.library.config.ReplicaRoutingDataSource;
+import com.library.dto.board.BoardDetailDto;
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
+import com.library.event.BoardChangedEvent;
+import com.library.event.BoardCountersFlushedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    BoardDetailCache 단위 테스트
+        - Spring Context 없이 캐시 적중/무효화/크기 제한 규칙만 테스트
+        - loader 호출 횟수로 DB 조회 여부를 확인함
+ */
+public class BoardDetailCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private BoardDetailCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new BoardDetailCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxBytes", 16L * 1024 * 1024);
+        ReflectionTestUtils.setField(cache, "maxStalenessMillis", 60_000L);
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<BoardDetailDto> loader(Long id, String content) {
+        return () -> {
+            loads.incrementAndGet();
+            return BoardDetailDto.builder().id(id).title("제목").content(content).viewCount(0L).likeCount(0L).build();
+        };
+    }
+
+    /*
+        캐시 적중 + 수정 이벤트
+            - 같은 게시글을 두 번 조회하면 DB 조회는 1번만 하는가?
+            - 수정된 게시글만 다시 조회하는가?
+     */
+    @Test
+    void 수정시_해당_게시글만_무효화() {
+        cache.get(1L, loader(1L, "본문"));
+        cache.get(1L, loader(1L, "본문"));
+        cache.get(2L, loader(2L, "본문"));
+        Board board = Board.builder().id(1L).category(BoardCategory.FREE).build();
+
+        cache.onBoardChanged(BoardChangedEvent.updated(board, BoardCategory.FREE));
+        BoardDetailDto reloaded = cache.get(1L, loader(1L, "수정된 본문"));
+        cache.get(2L, loader(2L, "본문"));
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(reloaded.getContent()).isEqualTo("수정된 본문");
+        assertThat(meterRegistry.get("board.detail.cache").tag("result", "hit").counter().count()).isEqualTo(2.0);
+    }
+
+    /*
+        조회수/좋아요 flush
+            - 조회수 flush는 스냅샷을 유지하는가?
+            - 좋아요 flush된 게시글의 스냅샷을 버리는가?
+            - 조회 도중 무효화된 결과는 저장하지 않는가?
+     */
+    @Test
+    void 카운터_flush시_무효화() {
+        cache.get(1L, loader(1L, "본문"));
+        cache.onCountersFlushed(new BoardCountersFlushedEvent(BoardCountersFlushedEvent.Counter.VIEW, Set.of(1L)));
+        cache.get(1L, loader(1L, "본문"));
+        assertThat(loads.get()).isEqualTo(1);
+
+        cache.onCountersFlushed(new BoardCountersFlushedEvent(BoardCountersFlushedEvent.Counter.LIKE, Set.of(1L)));
+        cache.get(1L, () -> {
+            cache.invalidate(1L);   // 조회 중 flush가 일어난 상황
+            return loader(1L, "본문").get();
+        });
+        cache.get(1L, loader(1L, "본문"));
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    /*
+        크기 제한
+            - 합계가 max-bytes를 넘으면 가장 오래 사용하지 않은 게시글부터 제거하는가?
+     */
+    @Test
+    void 크기_초과시_LRU_제거() {
+        ReflectionTestUtils.setField(cache, "maxBytes", 3_000L);
+        String content = "가".repeat(500);     // 약 1KB
+        cache.get(1L, loader(1L, content));
+        cache.get(2L, loader(2L, content));
+        cache.get(1L, loader(1L, content));     // 1번을 최근 사용으로
+        cache.get(3L, loader(3L, content));     // 2번이 제거되어야 함
+
+        assertThat(cache.bytes()).isLessThanOrEqualTo(3_000L);
+        cache.get(1L, loader(1L, content));
+        cache.get(2L, loader(2L, content));
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("board.detail.cache.evictions").counter().count()).isGreaterThanOrEqualTo(1.0);
+    }
+
+    /*
+        복제 지연 대응
+            - 무효화 직후 다시 채우는 조회는 원본에 고정하여 실행하고, 끝나면 고정을 푸는가?
+            - 무효화되지 않은 게시글의 조회는 고정하지 않는가?
+     */
+    @Test
+    void 무효화직후_원본에서_다시채움() {
+        ReflectionTestUtils.setField(cache, "primaryReadMillis", 60_000L);
+        List<Boolean> pinned = new ArrayList<>();
+        Supplier<BoardDetailDto> recording = () -> {
+            pinned.add(ReplicaRoutingDataSource.isPinnedToPrimary());
+            return loader(1L, "본문").get();
+        };
+
+        cache.get(1L, recording);
+        cache.invalidate(1L);
+        cache.get(1L, recording);
+
+        assertThat(pinned).containsExactly(false, true);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+        // 원본에서 읽은 값은 저장됨
+        cache.get(1L, recording);
+        assertThat(pinned).hasSize(2);
+    }
+}
@@ -0,0 +1,147 @@
+package com.library.service;
+
+import com.library.config.ReplicaRoutingDataSource;
+import com.library.dto.board.BoardListDto;
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
+import com.library.event.BoardChangedEvent;
+import com.library.event.BoardCountersFlushedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    BoardListCache 단위 테스트
+        - Spring Context 없이 캐시 적중/무효화 규칙만 테스트
+        - loader 호출 횟수로 DB 조회 여부를 확인함
+ */
+public class BoardListCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private BoardListCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new BoardListCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "pageSize", 10);
+        ReflectionTestUtils.setField(cache, "pages", 3);
+        ReflectionTestUtils.setField(cache, "maxStalenessMillis", 60_000L);
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<List<BoardListDto>> loader(Long... ids) {
+        return () -> {
+            loads.incrementAndGet();
+            return Arrays.stream(ids).map(id -> BoardListDto.builder().id(id).viewCount(0L).build()).toList();
+        };
+    }
+
+    /*
+        캐시 적중
+            - 같은 페이지를 두 번 조회하면 DB 조회는 1번만 하는가?
+            - 캐시 대상이 아닌 페이지/크기는 매번 조회하는가?
+     */
+    @Test
+    void 앞쪽_페이지_캐시() {
+        cache.getPage(null, 0, 10, loader(3L, 2L));
+        cache.getPage(null, 0, 10, loader(3L, 2L));
+        cache.getPage(null, 5, 10, loader(1L));
+        cache.getPage(null, 0, 20, loader(3L, 2L));
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("board.list.cache").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    /*
+        수정 이벤트
+            - 수정된 게시글이 들어있는 페이지만 다시 조회하는가?
+     */
+    @Test
+    void 수정시_해당_페이지만_무효화() {
+        cache.getPage(null, 0, 10, loader(3L, 2L));
+        cache.getPage(null, 1, 10, loader(1L));
+        Board board = Board.builder().id(1L).category(BoardCategory.FREE).build();
+
+        cache.onBoardChanged(BoardChangedEvent.updated(board, BoardCategory.FREE));
+        cache.getPage(null, 0, 10, loader(3L, 2L));
+        cache.getPage(null, 1, 10, loader(1L));
+
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    /*
+        생성 이벤트
+            - 전체 목록과 해당 카테고리 목록은 무효화하고, 다른 카테고리 목록은 유지하는가?
+     */
+    @Test
+    void 생성시_목록_범위_무효화() {
+        cache.getPage(null, 0, 10, loader(2L));
+        cache.getPage(BoardCategory.FREE, 0, 10, loader(2L));
+        cache.getPage(BoardCategory.QNA, 0, 10, loader(1L));
+        Board board = Board.builder().id(3L).category(BoardCategory.FREE).build();
+
+        cache.onBoardChanged(BoardChangedEvent.created(board));
+        cache.getPage(null, 0, 10, loader(3L, 2L));
+        cache.getPage(BoardCategory.FREE, 0, 10, loader(3L, 2L));
+        cache.getPage(BoardCategory.QNA, 0, 10, loader(1L));
+
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    /*
+        복제 지연 대응
+            - 무효화 직후 다시 채우는 목록 조회는 원본에 고정하여 실행하는가?
+     */
+    @Test
+    void 무효화직후_원본에서_다시채움() {
+        ReflectionTestUtils.setField(cache, "primaryReadMillis", 60_000L);
+        List<Boolean> pinned = new ArrayList<>();
+        Supplier<List<BoardListDto>> recording = () -> {
+            pinned.add(ReplicaRoutingDataSource.isPinnedToPrimary());
+            return loader(3L, 2L).get();
+        };
+
+        cache.getPage(null, 0, 10, recording);
+        cache.invalidateScope(null);
+        cache.getPage(null, 0, 10, recording);
+        cache.getPage(null, 0, 10, recording);
+
+        assertThat(pinned).containsExactly(false, true);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+    }
+
+    /*
+        인기 게시글 목록
+            - 같은 정리 주기에는 DB 조회를 1번만 하고, 주기가 바뀌면 다시 조회하는가?
+            - 게시글 변경, 들어있는 게시글의 좋아요 수 flush 때 다시 조회하는가? (조회수 flush는 유지)
+     */
+    @Test
+    void 인기게시글_정리주기별_캐시() {
+        cache.getTrending(null, 5, 1L, loader(3L, 2L));
+        cache.getTrending(null, 5, 1L, loader(3L, 2L));
+        cache.getTrending(null, 5, 2L, loader(2L, 3L));
+        assertThat(loads.get()).isEqualTo(2);
+
+        cache.onCountersFlushed(new BoardCountersFlushedEvent(BoardCountersFlushedEvent.Counter.VIEW, Set.of(2L)));
+        cache.onCountersFlushed(new BoardCountersFlushedEvent(BoardCountersFlushedEvent.Counter.LIKE, Set.of(9L)));
+        cache.getTrending(null, 5, 2L, loader(2L, 3L));
+        assertThat(loads.get()).isEqualTo(2);
+
+        cache.onCountersFlushed(new BoardCountersFlushedEvent(BoardCountersFlushedEvent.Counter.LIKE, Set.of(2L)));
+        cache.getTrending(null, 5, 2L, loader(2L, 3L));
+        cache.onBoardChanged(BoardChangedEvent.updated(Board.builder().id(9L).category(BoardCategory.FREE).build(), BoardCategory.FREE));
+        cache.getTrending(null, 5, 2L, loader(2L, 3L));
+        assertThat(loads.get()).isEqualTo(4);
+    }
+}
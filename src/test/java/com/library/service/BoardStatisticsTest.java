@@ -0,0 +1,128 @@
+package com.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
+import com.library.entity.board.BoardStatus;
+import com.library.event.BoardChangedEvent;
+import com.library.repository.BoardRepository;
+
+/*
+    BoardStatistics 단위 테스트
+        - Mockito로 group by 쿼리 결과를 대신함
+        - 테스트 항목
+            - 생성/삭제/숨김/카테고리 변경 이벤트가 상태별, 카테고리별 집계에 반영되는가?
+            - 보정(reconcile)이 DB 값으로 집계를 맞추는가?
+            - 보정 쿼리 도중 들어온 이벤트의 증감이 보정 결과에 덮어써지지 않는가?
+ */
+@ExtendWith(MockitoExtension.class)
+public class BoardStatisticsTest {
+    @Mock
+    private BoardRepository boardRepository;
+    @InjectMocks
+    private BoardStatistics boardStatistics;
+
+    private static BoardRepository.StatusCategoryCount row(BoardStatus status, BoardCategory category, long total) {
+        return new BoardRepository.StatusCategoryCount() {
+            @Override
+            public BoardStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public BoardCategory getCategory() {
+                return category;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static Board board(long id, BoardCategory category) {
+        return Board.builder().id(id).title("제목").content("본문").category(category).build();
+    }
+
+    @Test
+    void 이벤트로_집계_증감() {
+        when(boardRepository.countGroupByStatusAndCategory()).thenReturn(List.of(
+                row(BoardStatus.ACTIVE, BoardCategory.FREE, 3),
+                row(BoardStatus.ACTIVE, BoardCategory.QNA, 1)));
+        assertThat(boardStatistics.countActive()).isEqualTo(4);
+
+        boardStatistics.onBoardChanged(BoardChangedEvent.created(board(10, BoardCategory.NOTICE)));
+        boardStatistics.onBoardChanged(BoardChangedEvent.deleted(board(11, BoardCategory.FREE)));
+        boardStatistics.onBoardChanged(BoardChangedEvent.hidden(board(12, BoardCategory.QNA)));
+        boardStatistics.onBoardChanged(BoardChangedEvent.updated(board(13, BoardCategory.REVIEW), BoardCategory.FREE));
+        // 카테고리가 그대로인 수정은 집계에 영향 없음
+        boardStatistics.onBoardChanged(BoardChangedEvent.updated(board(14, BoardCategory.FREE), BoardCategory.FREE));
+
+        assertThat(boardStatistics.countActive()).isEqualTo(3);
+        assertThat(boardStatistics.countActive(BoardCategory.NOTICE)).isEqualTo(1);
+        assertThat(boardStatistics.countActive(BoardCategory.FREE)).isEqualTo(1);
+        assertThat(boardStatistics.countActive(BoardCategory.QNA)).isZero();
+        assertThat(boardStatistics.countActive(BoardCategory.REVIEW)).isEqualTo(1);
+    }
+
+    @Test
+    void 보정시_DB값으로_맞춤() {
+        when(boardRepository.countGroupByStatusAndCategory())
+                .thenReturn(List.of(row(BoardStatus.ACTIVE, BoardCategory.FREE, 5)))
+                .thenReturn(List.of(
+                        row(BoardStatus.ACTIVE, BoardCategory.FREE, 2),
+                        row(BoardStatus.ACTIVE, BoardCategory.REVIEW, 1),
+                        row(BoardStatus.DELETED, BoardCategory.FREE, 4)));
+        assertThat(boardStatistics.countActive()).isEqualTo(5);
+        // 다른 서버에서 생긴 변경 등으로 어긋난 상태
+        boardStatistics.onBoardChanged(BoardChangedEvent.created(board(1, BoardCategory.FREE)));
+
+        boardStatistics.reconcile();
+
+        assertThat(boardStatistics.countActive()).isEqualTo(3);
+        assertThat(boardStatistics.activeCategoryCounts())
+                .containsEntry(BoardCategory.FREE, 2L)
+                .containsEntry(BoardCategory.REVIEW, 1L)
+                .containsEntry(BoardCategory.NOTICE, 0L);
+    }
+
+    @Test
+    void 보정도중_들어온_이벤트_유지() {
+        when(boardRepository.countGroupByStatusAndCategory())
+                .thenReturn(List.of(row(BoardStatus.ACTIVE, BoardCategory.FREE, 5)))
+                .thenAnswer(invocation -> {
+                    // 쿼리가 읽은 시점 이후에 커밋된 생성/삭제 (쿼리 결과에는 없음)
+                    boardStatistics.onBoardChanged(BoardChangedEvent.created(board(6, BoardCategory.QNA)));
+                    boardStatistics.onBoardChanged(BoardChangedEvent.deleted(board(1, BoardCategory.FREE)));
+                    return List.of(row(BoardStatus.ACTIVE, BoardCategory.FREE, 5));
+                });
+        assertThat(boardStatistics.countActive()).isEqualTo(5);
+
+        boardStatistics.reconcile();
+
+        assertThat(boardStatistics.countActive()).isEqualTo(5);
+        assertThat(boardStatistics.countActive(BoardCategory.FREE)).isEqualTo(4);
+        assertThat(boardStatistics.countActive(BoardCategory.QNA)).isEqualTo(1);
+    }
+
+    @Test
+    void 최초로드_도중_들어온_이벤트_유지() {
+        when(boardRepository.countGroupByStatusAndCategory()).thenAnswer(invocation -> {
+            boardStatistics.onBoardChanged(BoardChangedEvent.created(board(3, BoardCategory.FREE)));
+            return List.of(row(BoardStatus.ACTIVE, BoardCategory.FREE, 2));
+        });
+
+        assertThat(boardStatistics.countActive()).isEqualTo(3);
+    }
+}
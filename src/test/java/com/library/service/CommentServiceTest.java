@@ -3,8 +3,11 @@ package com.library.service;
 import com.library.dto.comment.CommentCreateDTO;
 import com.library.dto.comment.CommentDTO;
 import com.library.entity.board.Board;
+import com.library.entity.board.BoardStatus;
 import com.library.entity.comment.Comment;
+import com.library.entity.comment.CommentStatus;
 import com.library.entity.member.Member;
+import com.library.event.CommentChangedEvent;
 import com.library.repository.BoardRepository;
 import com.library.repository.CommentRepository;
 import com.library.repository.MemberRepository;
@@ -13,13 +16,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /*
@@ -36,6 +43,8 @@ public class CommentServiceTest {
     private BoardRepository boardRepository;
     @Mock
     private MemberRepository memberRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks    // 테스트 대상 : Mock 객체들이 주입된 실제 Service
     private CommentService commentService;
 
@@ -45,6 +54,7 @@ public class CommentServiceTest {
                 - 게시글과 작성자가 존재할 떄 댓글이 정상생성되는가?
                 - 생성된 댓글의 내용이 올바른가?
                 - Repository.save 메소드가 정확히 1번 호출되는가?
+                - 게시글 댓글 수 증가가 호출되는가?
      */
     @Test
     void 댓글_정상작성() {
@@ -68,6 +78,71 @@ public class CommentServiceTest {
         // Then : 결과 검증
         assertThat(result.getContent()).isEqualTo(content);
         verify(commentRepository, times(1)).save(any(Comment.class));
+        // 게시글 댓글 수가 원자적 UPDATE로 1 증가하는가?
+        verify(boardRepository, times(1)).adjustCommentCount(boardId, 1L);
+    }
+
+    /*
+        답글 작성
+            - 최대 깊이의 답글에는 더 이상 답글을 달 수 없는가? (저장하지 않음)
+     */
+    @Test
+    void 답글_최대깊이_초과() {
+        Long boardId = 1L;
+        String loginId = "test@test.test";
+        Board board = Board.builder().id(boardId).build();
+        Member author = Member.builder().email(loginId).name("test").build();
+        Comment parent = Comment.builder().id(9L).content("답글").board(board).author(author)
+                .parentId(8L).rootId(1L).depth(Comment.MAX_DEPTH).build();
+        when(boardRepository.findById(boardId)).thenReturn(Optional.of(board));
+        when(memberRepository.findByEmail(loginId)).thenReturn(Optional.of(author));
+        when(commentRepository.findById(9L)).thenReturn(Optional.of(parent));
+
+        CommentCreateDTO createDTO = CommentCreateDTO.builder().content("답글의 답글").parentId(9L).build();
+        assertThatThrownBy(() -> commentService.createComment(boardId, createDTO, loginId))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    /*
+        댓글 삭제
+            - 답글이 달린 댓글을 삭제하면 하위 답글도 함께 삭제되고, 그 수만큼 게시글 댓글 수가 줄어드는가?
+            - 스트림 이벤트에 줄어든 댓글 수가 담기는가?
+     */
+    @Test
+    void 댓글_삭제시_답글도_삭제() {
+        String loginId = "test@test.test";
+        Board board = Board.builder().id(1L).build();
+        Member author = Member.builder().email(loginId).name("test").build();
+        Comment reply = Comment.builder().id(5L).content("답글").board(board).author(author)
+                .parentId(1L).rootId(1L).depth(1).path(Comment.pathSegment(1L) + Comment.pathSegment(5L)).build();
+        when(commentRepository.findById(5L)).thenReturn(Optional.of(reply));
+        when(commentRepository.deleteSubtree(1L, reply.getPath() + "%", 1)).thenReturn(2);
+
+        commentService.deleteComment(5L, loginId);
+
+        assertThat(reply.getStatus()).isEqualTo(CommentStatus.DELETED);
+        verify(boardRepository).adjustCommentCount(1L, -3L);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof CommentChangedEvent changed && changed.getRemoved() == 3L));
+    }
+
+    /*
+        답글 조회
+            - 삭제된 댓글이나 삭제된 게시글의 댓글을 기준으로 답글을 조회하면 예외가 발생하는가?
+     */
+    @Test
+    void 삭제된_댓글의_답글_조회불가() {
+        Board board = Board.builder().id(1L).build();
+        Board deletedBoard = Board.builder().id(2L).status(BoardStatus.DELETED).build();
+        Comment deleted = Comment.builder().id(1L).content("삭제").board(board).status(CommentStatus.DELETED).build();
+        Comment onDeletedBoard = Comment.builder().id(2L).content("댓글").board(deletedBoard).build();
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(deleted));
+        when(commentRepository.findById(2L)).thenReturn(Optional.of(onDeletedBoard));
+
+        assertThatThrownBy(() -> commentService.getReplies(1L, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> commentService.getReplies(2L, 3)).isInstanceOf(IllegalArgumentException.class);
+        verify(commentRepository, never()).findRepliesByRootIds(any(), any(), anyInt());
     }
 
     private Comment createCommentWithDates(Long id, String content, Board board, Member author, LocalDateTime createdAt, LocalDateTime updatedAt) {
@@ -0,0 +1,206 @@
+package com.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.dto.comment.CommentDTO;
+import com.library.event.CommentChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    CommentStreamRegistry 단위 테스트
+        - 서블릿 컨테이너 없이 구독 관리/전송 대기열 동작만 테스트
+            - 연결되지 않은 SseEmitter는 보낸 프레임을 내부에 보관하므로 전송 지표로 확인
+        - 테스트 항목
+            - 대기 중인 구독자 10,000명의 메모리 사용량이 제한 이내인가? 스레드를 점유하지 않는가?
+            - 댓글 변경이 해당 게시글 구독자에게만 전달되는가?
+            - 대기열이 가득 찬 느린 구독자는 제거되는가?
+            - 전송이 멈춘 구독자는 제거되고, 다른 구독자 전송은 계속되는가?
+            - 구독자 수 제한을 넘으면 거절되는가?
+ */
+public class CommentStreamRegistryTest {
+    private static final int IDLE_SUBSCRIBERS = 10_000;
+    // 구독자 1명당 허용하는 최대 힙 사용량 (SseEmitter + 대기열 + 집합 항목)
+    private static final long MAX_BYTES_PER_SUBSCRIBER = 4 * 1024;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService sender;
+    private CommentStreamRegistry registry;
+
+    private CommentStreamRegistry registry(ExecutorService sender, int queueCapacity, int maxSubscribers) {
+        this.sender = sender;
+        CommentStreamRegistry registry = new CommentStreamRegistry(new ObjectMapper(), meterRegistry, sender);
+        ReflectionTestUtils.setField(registry, "timeoutMillis", 1_800_000L);
+        ReflectionTestUtils.setField(registry, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(registry, "maxSubscribers", maxSubscribers);
+        return registry;
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (registry != null) {
+            registry.close();
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static CommentChangedEvent created(Long boardId, Long commentId) {
+        return CommentChangedEvent.created(boardId, CommentDTO.builder().id(commentId).content("댓글").authorName("test").build());
+    }
+
+    @Test
+    void 대기구독자_만명_메모리() throws InterruptedException {
+        registry = registry(Executors.newFixedThreadPool(2), 32, 20_000);
+        int threadsBefore = Thread.activeCount();
+        long before = usedHeap();
+
+        for (int i = 0; i < IDLE_SUBSCRIBERS; i++) {
+            assertThat(registry.subscribe((long) (i % 100))).isNotNull();
+        }
+
+        long after = usedHeap();
+        assertThat(registry.subscriberCount()).isEqualTo(IDLE_SUBSCRIBERS);
+        assertThat(meterRegistry.get("comment.stream.subscribers").gauge().value()).isEqualTo(IDLE_SUBSCRIBERS);
+        assertThat((after - before) / IDLE_SUBSCRIBERS).isLessThan(MAX_BYTES_PER_SUBSCRIBER);
+        // 대기 중인 구독자는 스레드를 만들지 않음
+        assertThat(Thread.activeCount() - threadsBefore).isLessThan(10);
+    }
+
+    @Test
+    void 해당게시글_구독자에게만_전달() throws InterruptedException {
+        registry = registry(Executors.newFixedThreadPool(2), 32, 20_000);
+        for (int i = 0; i < 300; i++) {
+            registry.subscribe((long) (i % 3));
+        }
+
+        registry.onCommentChanged(created(1L, 10L));
+        registry.onCommentChanged(CommentChangedEvent.deleted(1L, 10L, 1L));
+        sender.shutdown();
+        assertThat(sender.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // 게시글 1 구독자 100명 x 이벤트 2개
+        assertThat(meterRegistry.get("comment.stream.events").counter().count()).isEqualTo(200.0);
+    }
+
+    @Test
+    void 느린구독자_제거() throws InterruptedException {
+        // 전송 스레드를 막아두어 대기열이 비워지지 않는 상황을 만듦
+        CountDownLatch blocked = new CountDownLatch(1);
+        ExecutorService stalled = Executors.newSingleThreadExecutor();
+        stalled.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        registry = registry(stalled, 4, 20_000);
+        registry.subscribe(1L);
+        registry.subscribe(2L);
+
+        for (long i = 0; i < 5; i++) {
+            registry.onCommentChanged(created(1L, i));
+        }
+
+        assertThat(registry.subscriberCount(1L)).isZero();
+        assertThat(registry.subscriberCount(2L)).isEqualTo(1);
+        assertThat(meterRegistry.get("comment.stream.evictions").tag("reason", "slow").counter().count()).isEqualTo(1.0);
+        blocked.countDown();
+    }
+
+    @Test
+    void 전송시간초과_구독자_제거() throws Exception {
+        // 게시글 1 구독자의 send는 인터럽트에도 풀리지 않고 release까지 멈춤 (읽지 않는 클라이언트)
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch stalled = new CountDownLatch(1);
+        this.sender = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        registry = new CommentStreamRegistry(new ObjectMapper(), meterRegistry, sender) {
+            private int created;
+
+            @Override
+            SseEmitter newEmitter() {
+                if (created++ > 0) {
+                    return super.newEmitter();
+                }
+                return new SseEmitter() {
+                    @Override
+                    public void send(Set<DataWithMediaType> items) throws IOException {
+                        stalled.countDown();
+                        while (release.getCount() > 0) {
+                            try {
+                                release.await();
+                            } catch (InterruptedException ignored) {
+                                // 블로킹 소켓 쓰기처럼 인터럽트로 풀리지 않음
+                            }
+                        }
+                        throw new IOException("연결 끊김");
+                    }
+                };
+            }
+        };
+        ReflectionTestUtils.setField(registry, "timeoutMillis", 1_800_000L);
+        ReflectionTestUtils.setField(registry, "queueCapacity", 32);
+        ReflectionTestUtils.setField(registry, "maxSubscribers", 20_000);
+        ReflectionTestUtils.setField(registry, "sendTimeoutMillis", 50L);
+        registry.subscribe(1L);
+        registry.subscribe(2L);
+
+        registry.onCommentChanged(created(1L, 10L));
+        assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        registry.evictStalledSends();
+
+        // 전송 스레드 1개가 묶여 있어도 다른 게시글 구독자에게는 전달됨
+        registry.onCommentChanged(created(2L, 11L));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get("comment.stream.events").counter().count() < 1.0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get("comment.stream.events").counter().count()).isEqualTo(1.0);
+        assertThat(registry.subscriberCount(1L)).isZero();
+        assertThat(meterRegistry.get("comment.stream.evictions").tag("reason", "stalled").counter().count()).isEqualTo(1.0);
+
+        // send가 끝나면 늘렸던 전송 스레드 수를 되돌림
+        release.countDown();
+        deadline = System.currentTimeMillis() + 5_000;
+        while (((ThreadPoolExecutor) sender).getCorePoolSize() != 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(((ThreadPoolExecutor) sender).getCorePoolSize()).isEqualTo(1);
+    }
+
+    @Test
+    void 구독자수_제한() {
+        registry = registry(Executors.newSingleThreadExecutor(), 32, 2);
+
+        assertThat(registry.subscribe(1L)).isNotNull();
+        assertThat(registry.subscribe(1L)).isNotNull();
+        assertThat(registry.subscribe(1L)).isNull();
+
+        assertThat(registry.subscriberCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("comment.stream.rejected").counter().count()).isEqualTo(1.0);
+    }
+}
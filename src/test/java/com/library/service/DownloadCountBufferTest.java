@@ -0,0 +1,129 @@
+package com.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
+import com.library.entity.board.BoardFile;
+import com.library.entity.member.Member;
+import com.library.event.BoardChangedEvent;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    DownloadCountBuffer / DownloadFileLookup 테스트
+        - 테스트 항목
+            - 다운로드 수가 메모리에만 쌓이고, flush 한 번에 여러 첨부파일이 함께 반영되는가?
+            - 메타데이터 조회가 캐시되고, 게시글 변경 이벤트로 그 게시글의 첨부파일이 제거되는가?
+        - flush(JDBC)는 테스트 트랜잭션 밖에서 확인하기 위해 테스트 트랜잭션을 사용하지 않고 직접 정리함
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DownloadCountBuffer.class, DownloadFileLookup.class, SimpleMeterRegistry.class})
+public class DownloadCountBufferTest {
+    @Autowired
+    private DownloadCountBuffer downloadCountBuffer;
+    @Autowired
+    private DownloadFileLookup downloadFileLookup;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Board board;
+
+    @BeforeEach
+    void setup() {
+        Member author = memberRepository.save(Member.builder().name("작성자").password("password").email("download@test.test").build());
+        Board created = Board.builder().title("제목").content("본문").category(BoardCategory.FREE).author(author).build();
+        for (String name : new String[]{"a.pdf", "b.pdf"}) {
+            created.addFile(BoardFile.builder()
+                    .originalFileName(name)
+                    .storedFileName("uuid-" + name)
+                    .filePath("boards/2025-01-01/")
+                    .fileSize(10L)
+                    .fileExtension("pdf")
+                    .mimeType("application/pdf")
+                    .build());
+        }
+        board = boardRepository.save(created);
+    }
+
+    @AfterEach
+    void cleanup() {
+        downloadCountBuffer.flush();
+        jdbcTemplate.update("DELETE FROM board_file");
+        jdbcTemplate.update("DELETE FROM board");
+        jdbcTemplate.update("DELETE FROM members");
+    }
+
+    private long downloadCount(Long fileId) {
+        return jdbcTemplate.queryForObject("SELECT download_count FROM board_file WHERE id = ?", Long.class, fileId);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("file.download.lookup").tag("result", result).counter().count();
+    }
+
+    @Test
+    void 다운로드수_모아서_반영() {
+        Long first = board.getFiles().get(0).getId();
+        Long second = board.getFiles().get(1).getId();
+
+        for (int i = 0; i < 3; i++) {
+            downloadCountBuffer.increase(first);
+        }
+        downloadCountBuffer.increase(second);
+
+        // flush 전에는 DB에 쓰지 않음
+        assertThat(downloadCount(first)).isZero();
+        assertThat(downloadCountBuffer.pending(first)).isEqualTo(3L);
+
+        downloadCountBuffer.flush();
+
+        assertThat(downloadCount(first)).isEqualTo(3L);
+        assertThat(downloadCount(second)).isEqualTo(1L);
+        assertThat(downloadCountBuffer.pending(first)).isZero();
+    }
+
+    @Test
+    void 메타데이터_캐시_게시글변경시_제거() {
+        Long fileId = board.getFiles().get(0).getId();
+        double hitsBefore = lookups("hit");
+        double missesBefore = lookups("miss");
+
+        DownloadFileLookup.DownloadFile file = downloadFileLookup.find(fileId);
+        assertThat(file.getOriginalFileName()).isEqualTo("a.pdf");
+        assertThat(file.getBoardId()).isEqualTo(board.getId());
+
+        // 행을 지워도 캐시된 값으로 응답 (DB 조회 없음)
+        jdbcTemplate.update("DELETE FROM board_file WHERE id = ?", fileId);
+        assertThat(downloadFileLookup.find(fileId).getStoredFileName()).isEqualTo("uuid-a.pdf");
+        assertThat(lookups("miss") - missesBefore).isEqualTo(1.0);
+        assertThat(lookups("hit") - hitsBefore).isEqualTo(1.0);
+
+        // 게시글이 수정되면 그 게시글의 첨부파일은 다시 조회
+        downloadFileLookup.onBoardChanged(BoardChangedEvent.updated(board, board.getCategory()));
+        assertThatThrownBy(() -> downloadFileLookup.find(fileId)).hasMessage("파일을 찾을 수 없습니다.");
+    }
+}
@@ -0,0 +1,227 @@
+package com.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardFile;
+import com.library.entity.member.Member;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    FileBlobStore / FileBlobMigration 테스트
+        - 테스트 항목
+            - 같은 내용을 두 번 올리면 파일 하나를 참조 수 2로 공유하는가? 다른 내용은 따로 저장되는가?
+            - 마지막 참조가 삭제되어도 유예 시간 동안은 남고, 그 뒤 정리(collectGarbage)될 때만 파일이 삭제되는가?
+            - 유예 시간 안에 같은 내용이 다시 올라오면 정리되지 않고 다시 참조되는가?
+            - 저장한 트랜잭션이 롤백되면 새로 만든 blob이 정리 대상으로 남았다가 삭제되는가?
+            - 마이그레이션이 기존 UUID 파일의 중복을 blob 하나로 합치고 board_file 행을 옮기는가?
+        - 커밋 이후 동작(파일 삭제)을 확인하기 위해 테스트 트랜잭션을 사용하지 않고 직접 정리함
+ */
+@DataJpaTest(properties = {
+        "file.upload-dir=build/test-uploads-dedup",
+        "file.max-size=10485760",
+        "file.allowed-extensions=jpg,png,pdf,txt",
+        "file.dedup.enabled=true",
+        "file.dedup.migrate=true",
+        "file.dedup.migrate-exit=false",
+        "file.dedup.gc-grace-ms=60000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({FileBlobStore.class, FileBlobMigration.class, FileStorageService.class, SimpleMeterRegistry.class})
+public class FileBlobStoreTest {
+    private static final Path UPLOAD_DIR = Paths.get("build/test-uploads-dedup");
+
+    @Autowired
+    private FileBlobStore fileBlobStore;
+    @Autowired
+    private FileBlobMigration fileBlobMigration;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() throws IOException {
+        deleteUploads();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        jdbcTemplate.update("DELETE FROM board_file");
+        jdbcTemplate.update("DELETE FROM board");
+        jdbcTemplate.update("DELETE FROM members");
+        jdbcTemplate.update("DELETE FROM file_blob");
+        deleteUploads();
+    }
+
+    private static void deleteUploads() throws IOException {
+        if (!Files.exists(UPLOAD_DIR)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(UPLOAD_DIR)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static MockMultipartFile upload(String name, String content) {
+        return new MockMultipartFile("files", name, "application/pdf", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long refCount(String hash) {
+        return jdbcTemplate.queryForObject("SELECT ref_count FROM file_blob WHERE sha256 = ?", Long.class, hash);
+    }
+
+    // 유예 시간이 지난 것처럼 released_at을 과거로 옮김
+    private void expireGrace(String hash) {
+        jdbcTemplate.update("UPDATE file_blob SET released_at = DATEADD('HOUR', -2, released_at) WHERE sha256 = ?", hash);
+    }
+
+    private static long blobFiles() throws IOException {
+        Path blobs = UPLOAD_DIR.resolve(FileBlobStore.BLOB_DIRECTORY);
+        try (Stream<Path> paths = Files.walk(blobs)) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void 같은내용_하나의파일_공유() throws IOException {
+        String[] first = fileBlobStore.store(upload("a.pdf", "같은 내용"), "boards");
+        String[] second = fileBlobStore.store(upload("b.pdf", "같은 내용"), "boards");
+        String[] other = fileBlobStore.store(upload("c.pdf", "다른 내용"), "boards");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first[2]).hasSize(64);
+        assertThat(other[2]).isNotEqualTo(first[2]);
+        assertThat(refCount(first[2])).isEqualTo(2L);
+        // blob 2개만 남고 임시 파일은 없음
+        assertThat(blobFiles()).isEqualTo(2L);
+        assertThat(Files.readString(UPLOAD_DIR.resolve(first[1]).resolve(first[0]))).isEqualTo("같은 내용");
+    }
+
+    @Test
+    void 마지막참조_삭제시_파일삭제() {
+        String[] first = fileBlobStore.store(upload("a.pdf", "공유 파일"), "boards");
+        fileBlobStore.store(upload("b.pdf", "공유 파일"), "boards");
+        Path blob = UPLOAD_DIR.resolve(first[1]).resolve(first[0]);
+
+        fileBlobStore.delete(first[1], first[0], first[2]);
+        assertThat(refCount(first[2])).isEqualTo(1L);
+        assertThat(blob).exists();
+
+        fileBlobStore.delete(first[1], first[0], first[2]);
+        assertThat(refCount(first[2])).isZero();
+        // 유예 시간 안에는 정리하지 않음
+        assertThat(fileBlobStore.collectGarbage()).isZero();
+        assertThat(blob).exists();
+
+        expireGrace(first[2]);
+        assertThat(fileBlobStore.collectGarbage()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM file_blob", Long.class)).isZero();
+        assertThat(blob).doesNotExist();
+    }
+
+    @Test
+    void 유예시간안에_다시올리면_유지() {
+        String[] first = fileBlobStore.store(upload("a.pdf", "다시 올릴 파일"), "boards");
+        fileBlobStore.delete(first[1], first[0], first[2]);
+        expireGrace(first[2]);
+
+        // 정리 전에 같은 내용이 올라오면 참조 0인 행을 다시 사용
+        String[] again = fileBlobStore.store(upload("b.pdf", "다시 올릴 파일"), "boards");
+
+        assertThat(again).isEqualTo(first);
+        assertThat(refCount(first[2])).isEqualTo(1L);
+        assertThat(fileBlobStore.collectGarbage()).isZero();
+        assertThat(UPLOAD_DIR.resolve(first[1]).resolve(first[0])).exists();
+    }
+
+    @Test
+    void 롤백시_새blob_정리대상() throws IOException {
+        String[] stored = transactionTemplate.execute(status -> {
+            String[] fileInfo = fileBlobStore.store(upload("a.pdf", "롤백될 파일"), "boards");
+            status.setRollbackOnly();
+            return fileInfo;
+        });
+
+        // 같은 내용을 동시에 올린 요청이 있을 수 있으므로 바로 지우지 않고 참조 0으로 남김
+        assertThat(refCount(stored[2])).isZero();
+        assertThat(blobFiles()).isEqualTo(1L);
+
+        expireGrace(stored[2]);
+        assertThat(fileBlobStore.collectGarbage()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM file_blob", Long.class)).isZero();
+        assertThat(UPLOAD_DIR.resolve(stored[1]).resolve(stored[0])).doesNotExist();
+        assertThat(blobFiles()).isZero();
+    }
+
+    @Test
+    void 마이그레이션_기존중복_합치기() throws IOException {
+        Member author = memberRepository.save(Member.builder().name("작성자").password("password").email("dedup@test.test").build());
+        Board board = Board.builder().title("제목").content("본문").author(author).build();
+        String[][] legacy = {{"uuid-1.pdf", "중복 파일"}, {"uuid-2.pdf", "중복 파일"}, {"uuid-3.pdf", "다른 파일"}};
+        Path legacyDir = UPLOAD_DIR.resolve("boards/2025-01-01");
+        Files.createDirectories(legacyDir);
+        for (String[] file : legacy) {
+            Files.writeString(legacyDir.resolve(file[0]), file[1]);
+            board.addFile(BoardFile.builder()
+                    .originalFileName(file[0])
+                    .storedFileName(file[0])
+                    .filePath("boards/2025-01-01/")
+                    .fileSize((long) file[1].getBytes(StandardCharsets.UTF_8).length)
+                    .fileExtension("pdf")
+                    .mimeType("application/pdf")
+                    .build());
+        }
+        boardRepository.save(board);
+
+        FileBlobMigration.MigrationResult result = fileBlobMigration.migrate();
+
+        assertThat(result.getMigrated()).isEqualTo(3);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(blobFiles()).isEqualTo(2L);
+        try (Stream<Path> remaining = Files.list(legacyDir)) {
+            assertThat(remaining).isEmpty();
+        }
+        // 모든 행이 blob을 가리키고, 같은 내용은 같은 blob
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT content_hash) FROM board_file", Long.class)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM board_file WHERE content_hash IS NULL", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(ref_count) FROM file_blob", Long.class)).isEqualTo(2L);
+        for (String[] row : jdbcTemplate.query("SELECT file_path, stored_file_name FROM board_file",
+                (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)})) {
+            assertThat(UPLOAD_DIR.resolve(row[0]).resolve(row[1])).exists();
+        }
+        // 다시 실행해도 대상이 없음
+        assertThat(fileBlobMigration.migrate().getMigrated()).isZero();
+    }
+}
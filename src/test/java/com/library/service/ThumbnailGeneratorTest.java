@@ -0,0 +1,181 @@
+package com.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.library.event.AttachmentStoredEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+    ThumbnailGenerator 테스트
+        - 테스트 항목
+            - 모든 크기를 비율을 유지하여 만들고, png는 투명도를 유지하는가? 원본보다 크게 확대하지 않는가?
+            - 첨부파일 이벤트를 받으면 백그라운드에서 생성되고, find가 요청 너비에 맞는 크기를 고르는가?
+            - 손상된 이미지는 실패로 기록되고 다시 대기열에 들어가지 않는가?
+            - 원본을 삭제하면 썸네일도 삭제되는가?
+        - 업로드 디렉토리는 임시 디렉토리를 사용 (Spring 컨텍스트 없이 직접 생성)
+ */
+public class ThumbnailGeneratorTest {
+    @TempDir
+    Path uploadDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FileStorageService fileStorageService;
+    private ThumbnailGenerator thumbnailGenerator;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        fileStorageService = new FileStorageService(uploadDir.toString(), 10485760, new String[]{"jpg", "png", "gif"});
+        thumbnailGenerator = new ThumbnailGenerator(fileStorageService, meterRegistry, true, new int[]{160, 480, 960}, 1, 10, 100_000_000);
+        thumbnailGenerator.start();
+    }
+
+    @AfterEach
+    void cleanup() {
+        thumbnailGenerator.stop();
+    }
+
+    private Path image(String name, int width, int height, boolean alpha, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        Path directory = uploadDir.resolve("boards/2025-01-01");
+        Files.createDirectories(directory);
+        Path file = directory.resolve(name);
+        ImageIO.write(image, format, file.toFile());
+        return file;
+    }
+
+    private static BufferedImage thumbnail(Path original, String name) throws IOException {
+        return ImageIO.read(FileStorageService.thumbnailDirectory(original).resolve(name).toFile());
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("file.thumbnail.generated").tag("result", result).counter().count();
+    }
+
+    private Path await(Path original, String extension, int width) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        Path found;
+        while ((found = thumbnailGenerator.find(original, extension, width)) == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return found;
+    }
+
+    @Test
+    void 모든크기_비율유지() throws IOException {
+        Path png = image("a.png", 1200, 800, true, "png");
+        Path jpg = image("b.jpg", 4000, 1000, false, "jpg");
+
+        thumbnailGenerator.generate(png, "png");
+        thumbnailGenerator.generate(jpg, "jpg");
+
+        assertThat(thumbnail(png, "960.png").getWidth()).isEqualTo(960);
+        assertThat(thumbnail(png, "960.png").getHeight()).isEqualTo(640);
+        assertThat(thumbnail(png, "480.png").getHeight()).isEqualTo(320);
+        assertThat(thumbnail(png, "160.png").getHeight()).isEqualTo(107);
+        assertThat(thumbnail(png, "160.png").getColorModel().hasAlpha()).isTrue();
+        // 서브샘플링으로 읽어도 최종 크기는 같음
+        assertThat(thumbnail(jpg, "960.jpg").getWidth()).isEqualTo(960);
+        assertThat(thumbnail(jpg, "960.jpg").getHeight()).isEqualTo(240);
+        assertThat(thumbnail(jpg, "160.jpg").getHeight()).isEqualTo(40);
+    }
+
+    @Test
+    void 작은원본_확대안함() throws IOException {
+        Path gif = image("small.gif", 100, 50, false, "gif");
+
+        thumbnailGenerator.generate(gif, "gif");
+
+        for (String name : new String[]{"160.png", "480.png", "960.png"}) {
+            assertThat(thumbnail(gif, name).getWidth()).isEqualTo(100);
+            assertThat(thumbnail(gif, name).getHeight()).isEqualTo(50);
+        }
+    }
+
+    @Test
+    void 이벤트_백그라운드생성_크기선택() throws Exception {
+        Path original = image("event.jpg", 1600, 1200, false, "jpg");
+
+        thumbnailGenerator.onAttachmentStored(new AttachmentStoredEvent("boards/2025-01-01/", "event.jpg", "jpg"));
+
+        // 큰 크기부터 만들어지므로 가장 작은 크기가 보이면 모두 생성된 상태
+        Path smallest = await(original, "jpg", 100);
+        assertThat(smallest).isNotNull();
+        assertThat(smallest.getFileName().toString()).isEqualTo("160.jpg");
+        assertThat(thumbnailGenerator.find(original, "jpg", 300).getFileName().toString()).isEqualTo("480.jpg");
+        assertThat(thumbnailGenerator.find(original, "jpg", 2000).getFileName().toString()).isEqualTo("960.jpg");
+        // 지표는 마지막 파일이 쓰인 뒤에 기록되므로 잠시 기다림
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count("success") == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(count("success")).isEqualTo(1.0);
+        assertThat(ThumbnailGenerator.contentType("jpg")).isEqualTo("image/jpeg");
+        assertThat(ThumbnailGenerator.contentType("gif")).isEqualTo("image/png");
+    }
+
+    @Test
+    void 손상이미지_다시생성안함() throws Exception {
+        Path directory = uploadDir.resolve("boards/2025-01-01");
+        Files.createDirectories(directory);
+        Path broken = Files.write(directory.resolve("broken.png"), new byte[]{1, 2, 3, 4});
+
+        assertThat(thumbnailGenerator.find(broken, "png", 160)).isNull();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count("failure") == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(count("failure")).isEqualTo(1.0);
+
+        // 실패 표시가 있으면 다시 요청하지 않음
+        Thread.sleep(50);
+        assertThat(thumbnailGenerator.find(broken, "png", 160)).isNull();
+        Thread.sleep(200);
+        assertThat(count("failure")).isEqualTo(1.0);
+    }
+
+    @Test
+    void 내용으로_이미지타입_확인() throws IOException {
+        Path png = image("real.png", 10, 10, true, "png");
+        Path gif = image("real.gif", 10, 10, false, "gif");
+        Path directory = uploadDir.resolve("boards/2025-01-01");
+        // 확장자만 이미지인 HTML (업로드 시 Content-Type: text/html)
+        Path html = Files.writeString(directory.resolve("evil.png"), "<html><script>alert(1)</script></html>");
+
+        assertThat(ThumbnailGenerator.detectContentType(png)).isEqualTo("image/png");
+        assertThat(ThumbnailGenerator.detectContentType(gif)).isEqualTo("image/gif");
+        assertThat(ThumbnailGenerator.detectContentType(html)).isNull();
+    }
+
+    @Test
+    void 원본삭제시_썸네일삭제() throws IOException {
+        Path original = image("delete.png", 800, 600, false, "png");
+        thumbnailGenerator.generate(original, "png");
+        assertThat(FileStorageService.thumbnailDirectory(original)).isDirectory();
+
+        fileStorageService.deleteFile("boards/2025-01-01/", "delete.png");
+
+        assertThat(original).doesNotExist();
+        assertThat(FileStorageService.thumbnailDirectory(original)).doesNotExist();
+    }
+}
@@ -0,0 +1,83 @@
+package com.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+    ViewCountBuffer 단위 테스트
+        - Mockito로 JdbcTemplate을 대신하여 flush 실패/재시도만 테스트
+        - 테스트 항목
+            - batch UPDATE가 실패하면 트랜잭션이 롤백된 뒤 조회수가 버퍼로 돌아오고, 다음 flush에서 그 사이 늘어난 값과 함께 반영되는가?
+            - 실패한 flush 동안에도 화면 조회수(pending)가 줄어들지 않는가?
+ */
+@ExtendWith(MockitoExtension.class)
+public class ViewCountBufferTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private ViewCountBuffer viewCountBuffer;
+
+    @BeforeEach
+    void setup() {
+        viewCountBuffer = new ViewCountBuffer(jdbcTemplate, new TransactionTemplate(transactionManager), eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 실패한_batch_다음flush에_재시도() {
+        viewCountBuffer.increase(1L);
+        viewCountBuffer.increase(1L);
+        viewCountBuffer.increase(2L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenAnswer(invocation -> {
+                    // flush 중에도 화면 조회수는 그대로
+                    assertThat(viewCountBuffer.pending(1L)).isEqualTo(2L);
+                    viewCountBuffer.increase(1L);
+                    throw new QueryTimeoutException("timeout");
+                })
+                .thenReturn(new int[]{1, 1});
+
+        viewCountBuffer.flush();
+
+        assertThat(viewCountBuffer.pending(1L)).isEqualTo(3L);
+        assertThat(viewCountBuffer.pending(2L)).isEqualTo(1L);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        viewCountBuffer.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        List<Object[]> retried = batch.getAllValues().get(1);
+        assertThat(retried).hasSize(2);
+        assertThat(retried.get(0)).containsExactly(3L, 1L);
+        assertThat(retried.get(1)).containsExactly(1L, 2L);
+        assertThat(viewCountBuffer.pending(1L)).isZero();
+        verify(transactionManager).commit(any());
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+}
@@ -0,0 +1,104 @@
+package com.library.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.library.entity.board.Board;
+import com.library.entity.board.BoardCategory;
+import com.library.event.BoardActivityEvent;
+import com.library.event.BoardChangedEvent;
+
+/*
+    TrendingBoardRanker 테스트 클래스
+        - 목적 : 인기 게시글 순위 계산 검증 (Spring Context 없이 단위 테스트)
+        - 테스트 항목
+            - 가중치 : 좋아요/댓글이 조회보다 높게 반영되고, 카테고리별/전체 순위가 맞는가?
+            - 감쇠 : 같은 활동이라도 오래된 활동이 더 낮은 점수인가?
+            - 영속성 : 스냅샷 저장 후 다시 열었을 때 순위가 유지되는가?
+            - 삭제 : 삭제된 게시글이 순위에서 빠지는가?
+        - 시각은 고정 Clock으로 제어, @TempDir로 테스트마다 별도 스냅샷 파일 사용
+ */
+public class TrendingBoardRankerTest {
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path snapshotDir;
+
+    private TrendingBoardRanker openRanker() {
+        TrendingBoardRanker ranker = new TrendingBoardRanker(snapshotDir.resolve("trending.bin").toString(), 10, 60);
+        ReflectionTestUtils.setField(ranker, "viewWeight", 1.0);
+        ReflectionTestUtils.setField(ranker, "likeWeight", 5.0);
+        ReflectionTestUtils.setField(ranker, "commentWeight", 3.0);
+        setTime(ranker, START);
+        ReflectionTestUtils.setField(ranker, "landmark", START.toEpochMilli());
+        ranker.load();
+        return ranker;
+    }
+
+    private void setTime(TrendingBoardRanker ranker, Instant now) {
+        ReflectionTestUtils.setField(ranker, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void rankByWeightedActivity() {
+        TrendingBoardRanker ranker = openRanker();
+        for (int i = 0; i < 3; i++) {
+            ranker.onActivity(BoardActivityEvent.viewed(1L, BoardCategory.FREE));
+        }
+        ranker.onActivity(BoardActivityEvent.viewed(2L, BoardCategory.FREE));
+        ranker.onActivity(BoardActivityEvent.liked(2L));
+        ranker.onActivity(BoardActivityEvent.commented(3L, BoardCategory.QNA));
+
+        assertThat(ranker.top(BoardCategory.FREE, 10)).containsExactly(2L, 1L);
+        assertThat(ranker.top(BoardCategory.QNA, 10)).containsExactly(3L);
+        assertThat(ranker.top(null, 10)).containsExactly(2L, 1L, 3L);
+        assertThat(ranker.top(null, 2)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void olderActivityDecays() {
+        TrendingBoardRanker ranker = openRanker();
+        ranker.onActivity(BoardActivityEvent.commented(1L, BoardCategory.FREE));
+        setTime(ranker, START.plus(Duration.ofMinutes(60)));     // 반감기 1번
+        ranker.onActivity(BoardActivityEvent.commented(2L, BoardCategory.FREE));
+
+        assertThat(ranker.top(BoardCategory.FREE, 10)).containsExactly(2L, 1L);
+        assertThat(ranker.currentScore(1L)).isCloseTo(1.5, offset(1e-9));
+        assertThat(ranker.currentScore(2L)).isCloseTo(3.0, offset(1e-9));
+    }
+
+    @Test
+    public void restoreFromSnapshot() {
+        TrendingBoardRanker ranker = openRanker();
+        ranker.onActivity(BoardActivityEvent.viewed(1L, BoardCategory.FREE));
+        ranker.onActivity(BoardActivityEvent.commented(2L, BoardCategory.NOTICE));
+        ranker.maintain();
+
+        TrendingBoardRanker reopened = openRanker();
+
+        assertThat(reopened.top(null, 10)).containsExactly(2L, 1L);
+        assertThat(reopened.top(BoardCategory.FREE, 10)).containsExactly(1L);
+    }
+
+    @Test
+    public void removeDeletedBoard() {
+        TrendingBoardRanker ranker = openRanker();
+        ranker.onActivity(BoardActivityEvent.viewed(1L, BoardCategory.FREE));
+        ranker.onActivity(BoardActivityEvent.viewed(2L, BoardCategory.FREE));
+
+        ranker.onBoardChanged(BoardChangedEvent.deleted(Board.builder().id(1L).category(BoardCategory.FREE).build()));
+
+        assertThat(ranker.top(null, 10)).containsExactly(2L);
+        assertThat(ranker.currentScore(1L)).isZero();
+    }
+}
@@ -0,0 +1,117 @@
+package com.library.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/*
+    DeltaCounter 단위 테스트
+        - 테스트 항목
+            - 여러 스레드가 더하는 동안 drain을 반복해도 유실/중복 없이 합계가 맞는가?
+            - flush 실패 후 restore하면 다음 drain에서 같은 값이 다시 나오는가?
+            - drain한 값은 complete / restore 전까지 get()에 포함되고, 두 번 더해지지 않는가?
+ */
+public class DeltaCounterTest {
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 50_000;
+    private static final long[] KEYS = {1L, 2L, 3L};
+
+    @Test
+    void 동시_증가중_drain_유실없음() throws Exception {
+        DeltaCounter counter = new DeltaCounter();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean adding = new AtomicBoolean(true);
+        long[] flushed = new long[KEYS.length];
+        try {
+            List<Future<?>> adders = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                adders.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                        counter.add(KEYS[i % KEYS.length], 1L);
+                    }
+                    return null;
+                }));
+            }
+            Thread drainer = new Thread(() -> {
+                while (adding.get()) {
+                    drainInto(counter, flushed);
+                }
+            });
+            drainer.start();
+            start.countDown();
+            for (Future<?> adder : adders) {
+                adder.get(30, TimeUnit.SECONDS);
+            }
+            adding.set(false);
+            drainer.join(TimeUnit.SECONDS.toMillis(30));
+        } finally {
+            executor.shutdownNow();
+        }
+        // 마지막 drain 이후에 더해진 값 회수
+        drainInto(counter, flushed);
+
+        long total = 0;
+        for (long value : flushed) {
+            total += value;
+        }
+        assertThat(total).isEqualTo((long) THREADS * ADDS_PER_THREAD);
+        for (long key : KEYS) {
+            assertThat(counter.get(key)).isZero();
+        }
+    }
+
+    @Test
+    void 실패후_restore_다음drain에_포함() {
+        DeltaCounter counter = new DeltaCounter();
+        counter.add(1L, 3L);
+        counter.add(2L, 1L);
+
+        Map<Long, Long> failed = counter.drain();
+        counter.add(1L, 2L);        // flush 중에 들어온 값
+        counter.restore(failed);
+
+        assertThat(counter.get(1L)).isEqualTo(5L);
+        Map<Long, Long> retried = counter.drain();
+        assertThat(retried).containsExactly(Map.entry(1L, 5L), Map.entry(2L, 1L));
+        counter.complete();
+        assertThat(counter.get(1L)).isZero();
+        assertThat(counter.drain()).isEmpty();
+    }
+
+    @Test
+    void drain중_get에_반영중인값_포함() {
+        DeltaCounter counter = new DeltaCounter();
+        counter.add(1L, 5L);
+
+        Map<Long, Long> drained = counter.drain();
+        // DB에 반영되기 전까지는 화면 값이 줄어들지 않음
+        assertThat(drained).containsExactly(Map.entry(1L, 5L));
+        assertThat(counter.get(1L)).isEqualTo(5L);
+        counter.add(1L, 2L);
+        assertThat(counter.get(1L)).isEqualTo(7L);
+
+        counter.complete();
+        assertThat(counter.get(1L)).isEqualTo(2L);
+        assertThat(counter.drain()).containsExactly(Map.entry(1L, 2L));
+    }
+
+    private static void drainInto(DeltaCounter counter, long[] flushed) {
+        Map<Long, Long> drained = counter.drain();
+        for (int i = 0; i < KEYS.length; i++) {
+            flushed[i] += drained.getOrDefault(KEYS[i], 0L);
+        }
+        counter.complete();
+    }
+}
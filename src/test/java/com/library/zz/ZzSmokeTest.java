@@ -0,0 +1,45 @@
+package com.library.zz;
+
+import com.library.entity.board.Board;
+import com.library.entity.member.Member;
+import com.library.repository.BoardRepository;
+import com.library.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {"file.upload-dir=build/smoke-uploads", "file.max-size=10485760", "file.allowed-extensions=jpg,png,pdf,txt",
+        "spring.jpa.hibernate.ddl-auto=create-drop", "search.index-dir=build/smoke-index", "board.trending.snapshot-file=build/smoke-trending.bin"})
+@AutoConfigureMockMvc
+class ZzSmokeTest {
+    @Autowired MockMvc mvc;
+    @Autowired MemberRepository memberRepository;
+    @Autowired BoardRepository boardRepository;
+    @Autowired org.springframework.context.ApplicationContext ctx;
+
+    @Test
+    void smoke() throws Exception {
+        Member m = memberRepository.save(Member.builder().name("홍길동").password("p").email("a@a.a").build());
+        Long id = null;
+        for (int i = 0; i < 25; i++) {
+            id = boardRepository.save(Board.builder().title("안녕하세요 게시판 " + i).content("도서관 대출 안내 내용 " + i).author(m).build()).getId();
+        }
+        for (String bean : ctx.getBeanDefinitionNames()) {
+            Object b = ctx.getBean(bean);
+            for (java.lang.reflect.Method mm : org.springframework.aop.support.AopUtils.getTargetClass(b).getMethods()) {
+                if (mm.getName().equals("buildIndexIfEmpty")) mm.invoke(b);
+            }
+        }
+        for (String url : java.net.URLDecoder.decode(System.getProperty("smoke.urls", "/boards,/boards/scroll,/boards/" + id), "UTF-8").split(",")) {
+            MvcResult r = mvc.perform(get(url.replace("{id}", String.valueOf(id)))).andReturn();
+            String body = r.getResponse().getContentAsString(); System.out.println("SMOKE " + url + " -> " + r.getResponse().getStatus() + " len=" + body.length() + " grep=" + java.util.Arrays.stream(java.net.URLDecoder.decode(System.getProperty("smoke.grep", "strong>25<"), "UTF-8").split(";")).filter(body::contains).toList());
+            String et = r.getResponse().getHeader("ETag"); if (et != null) { MvcResult r2 = mvc.perform(get(url.replace("{id}", String.valueOf(id))).header("If-None-Match", et)).andReturn(); System.out.println("SMOKE304 " + url + " etag=" + et + " cc=" + r.getResponse().getHeader("Cache-Control") + " -> " + r2.getResponse().getStatus() + " len=" + r2.getResponse().getContentAsString().length() + " cc2=" + r2.getResponse().getHeader("Cache-Control")); }
+            if (r.getResponse().getStatus() >= 400) System.out.println(r.getResponse().getContentAsString().substring(0, Math.min(3000, r.getResponse().getContentAsString().length())));
+        }
+    }
+}